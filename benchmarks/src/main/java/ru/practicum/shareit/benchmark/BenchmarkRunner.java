@@ -0,0 +1,39 @@
+package ru.practicum.shareit.benchmark;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.File;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * Запуск бенчмарков с профилировщиком GC и сохранением результатов в JSON.
+ * По умолчанию результаты пишутся в results/jmh-yyyyMMdd-HHmmss.json, чтобы прогоны можно было сравнивать
+ * между собой. Все стандартные аргументы JMH (-f, -wi, -i, -p, -rf, -rff, регулярка бенчмарков) поддерживаются.
+ */
+public class BenchmarkRunner {
+    private static final DateTimeFormatter RESULT_NAME = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss");
+
+    public static void main(String[] args) throws RunnerException, CommandLineOptionException {
+        CommandLineOptions commandLine = new CommandLineOptions(args);
+        ChainedOptionsBuilder options = new OptionsBuilder()
+                .parent(commandLine)
+                .addProfiler(GCProfiler.class);
+        if (!commandLine.getResultFormat().hasValue()) {
+            options.resultFormat(ResultFormatType.JSON);
+        }
+        if (!commandLine.getResult().hasValue()) {
+            File results = new File("results");
+            results.mkdirs();
+            options.result(new File(results, "jmh-" + LocalDateTime.now().format(RESULT_NAME) + ".json").getPath());
+        }
+        new Runner(options.build()).run();
+    }
+}
@@ -0,0 +1,251 @@
+package ru.practicum.shareit.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.client.AbstractClientHttpRequest;
+import org.springframework.http.client.ClientHttpRequestFactory;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.http.converter.ByteArrayHttpMessageConverter;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.web.client.HttpStatusCodeException;
+import org.springframework.web.client.RestTemplate;
+import org.springframework.web.util.DefaultUriBuilderFactory;
+import ru.practicum.shareit.booking.dto.BookingResponseDto;
+import ru.practicum.shareit.booking.enums.StatusType;
+import ru.practicum.shareit.booking.mapper.BookingMapper;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.client.BaseClient;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.user.model.User;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.URI;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Проксирование GET /bookings через клиент gateway: RestTemplate читает ответ server из заглушки
+ * ClientHttpRequestFactory, затем тело пишется конвертером Spring MVC, как в ответ клиенту.
+ * objectTree — прежний BaseClient: ответ разбирается в дерево LinkedHashMap/ArrayList и сериализуется заново
+ * Jackson-конвертером. passthrough — нынешний BaseClient: байты тела отдаются ByteArrayHttpMessageConverter как есть.
+ * size — число бронирований в ответе.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class GatewayProxyBenchmark {
+    private static final String PATH = "?state={state}&from={from}&size={size}";
+
+    @Param({"10", "100", "1000"})
+    private int size;
+
+    private final ObjectMapper objectMapper = new ObjectMapper()
+            .findAndRegisterModules()
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+    private final MappingJackson2HttpMessageConverter jsonConverter = new MappingJackson2HttpMessageConverter(objectMapper);
+    private final ByteArrayHttpMessageConverter bytesConverter = new ByteArrayHttpMessageConverter();
+    private final ByteArrayOutputStream output = new ByteArrayOutputStream();
+    private final HttpOutputMessage outputMessage = new HttpOutputMessage() {
+        private final HttpHeaders headers = new HttpHeaders();
+
+        @Override
+        public OutputStream getBody() {
+            return output;
+        }
+
+        @Override
+        public HttpHeaders getHeaders() {
+            return headers;
+        }
+    };
+
+    private byte[] serverResponse;
+    private Map<String, Object> parameters;
+    private ObjectTreeClient objectTreeClient;
+    private PassthroughClient passthroughClient;
+
+    @Setup
+    public void setUp() throws IOException {
+        LocalDateTime start = LocalDateTime.of(2030, 1, 1, 10, 0);
+        User owner = new User(1L, "Иван", "ivan@yandex.ru");
+        User booker = new User(2L, "Петр", "petr@yandex.ru");
+        List<BookingResponseDto> bookings = new ArrayList<>(size);
+        for (long i = 1; i <= size; i++) {
+            Item item = new Item(i, "Дрель " + i, "Аккумуляторная дрель " + i, true, owner, i);
+            bookings.add(BookingMapper.bookingToResponse(
+                    new Booking(i, start.plusDays(i), start.plusDays(i + 1), item, booker, StatusType.APPROVED)));
+        }
+        serverResponse = objectMapper.writeValueAsBytes(bookings);
+        parameters = Map.of("state", "ALL", "from", 0, "size", size);
+
+        ClientHttpRequestFactory server = (uri, method) -> new StubRequest(uri, method, serverResponse);
+        objectTreeClient = new ObjectTreeClient(restTemplate(server));
+        passthroughClient = new PassthroughClient(restTemplate(server));
+    }
+
+    @Benchmark
+    public int objectTree() throws IOException {
+        output.reset();
+        ResponseEntity<Object> response = objectTreeClient.getBookings(2L, parameters);
+        jsonConverter.write(response.getBody(), MediaType.APPLICATION_JSON, outputMessage);
+        return output.size();
+    }
+
+    @Benchmark
+    public int passthrough() throws IOException {
+        output.reset();
+        ResponseEntity<Object> response = passthroughClient.getBookings(2L, parameters);
+        bytesConverter.write((byte[]) response.getBody(), MediaType.APPLICATION_JSON, outputMessage);
+        return output.size();
+    }
+
+    private static RestTemplate restTemplate(ClientHttpRequestFactory requestFactory) {
+        return new RestTemplateBuilder()
+                .uriTemplateHandler(new DefaultUriBuilderFactory("http://localhost:9090/bookings"))
+                .requestFactory(() -> requestFactory)
+                .build();
+    }
+
+    /**
+     * BaseClient в нынешнем виде, как его использует BookingClient.
+     */
+    private static class PassthroughClient extends BaseClient {
+        PassthroughClient(RestTemplate rest) {
+            super(rest);
+        }
+
+        ResponseEntity<Object> getBookings(long userId, Map<String, Object> parameters) {
+            return get(PATH, userId, parameters);
+        }
+    }
+
+    /**
+     * Обмен BaseClient до передачи байт как есть: тело читается как Object.
+     */
+    private static class ObjectTreeClient extends BaseClient {
+        ObjectTreeClient(RestTemplate rest) {
+            super(rest);
+        }
+
+        ResponseEntity<Object> getBookings(long userId, Map<String, Object> parameters) {
+            HttpHeaders headers = new HttpHeaders();
+            headers.setContentType(MediaType.APPLICATION_JSON);
+            headers.setAccept(List.of(MediaType.APPLICATION_JSON));
+            headers.set("X-Sharer-User-Id", String.valueOf(userId));
+
+            ResponseEntity<Object> shareitServerResponse;
+            try {
+                shareitServerResponse = rest.exchange(PATH, HttpMethod.GET, new HttpEntity<>(null, headers),
+                        Object.class, parameters);
+            } catch (HttpStatusCodeException e) {
+                return ResponseEntity.status(e.getStatusCode()).body(e.getResponseBodyAsByteArray());
+            }
+            if (shareitServerResponse.getStatusCode().is2xxSuccessful()) {
+                return shareitServerResponse;
+            }
+            ResponseEntity.BodyBuilder responseBuilder = ResponseEntity.status(shareitServerResponse.getStatusCode());
+            if (shareitServerResponse.hasBody()) {
+                return responseBuilder.body(shareitServerResponse.getBody());
+            }
+            return responseBuilder.build();
+        }
+    }
+
+    /**
+     * Запрос к server, который не уходит в сеть: отвечает 200 и заранее сериализованным телом.
+     */
+    private static class StubRequest extends AbstractClientHttpRequest {
+        private final URI uri;
+        private final HttpMethod method;
+        private final byte[] responseBody;
+
+        StubRequest(URI uri, HttpMethod method, byte[] responseBody) {
+            this.uri = uri;
+            this.method = method;
+            this.responseBody = responseBody;
+        }
+
+        @Override
+        public HttpMethod getMethod() {
+            return method;
+        }
+
+        @Override
+        public URI getURI() {
+            return uri;
+        }
+
+        @Override
+        protected OutputStream getBodyInternal(HttpHeaders headers) {
+            return OutputStream.nullOutputStream();
+        }
+
+        @Override
+        protected ClientHttpResponse executeInternal(HttpHeaders headers) {
+            return new ClientHttpResponse() {
+                private final HttpHeaders responseHeaders = responseHeaders(responseBody.length);
+
+                @Override
+                public HttpStatusCode getStatusCode() {
+                    return HttpStatus.OK;
+                }
+
+                @Override
+                public String getStatusText() {
+                    return HttpStatus.OK.getReasonPhrase();
+                }
+
+                @Override
+                public HttpHeaders getHeaders() {
+                    return responseHeaders;
+                }
+
+                @Override
+                public InputStream getBody() {
+                    return new ByteArrayInputStream(responseBody);
+                }
+
+                @Override
+                public void close() {
+                }
+            };
+        }
+
+        private static HttpHeaders responseHeaders(int contentLength) {
+            HttpHeaders headers = new HttpHeaders();
+            headers.setContentType(MediaType.APPLICATION_JSON);
+            headers.setContentLength(contentLength);
+            return headers;
+        }
+    }
+}
@@ -0,0 +1,87 @@
+package ru.practicum.shareit.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import ru.practicum.shareit.booking.enums.StatusType;
+import ru.practicum.shareit.booking.mapper.BookingMapper;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.comment.CommentResponseDto;
+import ru.practicum.shareit.comment.mapper.CommentMapper;
+import ru.practicum.shareit.comment.model.Comment;
+import ru.practicum.shareit.item.dto.ItemResponseDto;
+import ru.practicum.shareit.item.mapper.ItemMapper;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.user.model.User;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Маппинг сущностей в DTO на горячих путях: список бронирований, карточка вещи владельца,
+ * отзывы и список вещей. size — число бронирований, вещей и отзывов в одном вызове.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MapperBenchmark {
+
+    @Param({"1", "10", "100"})
+    private int size;
+
+    private List<Booking> bookings;
+    private List<Item> items;
+    private List<Comment> comments;
+
+    @Setup
+    public void setUp() {
+        LocalDateTime start = LocalDateTime.of(2030, 1, 1, 10, 0);
+        User owner = new User(1L, "Иван", "ivan@yandex.ru");
+        User booker = new User(2L, "Петр", "petr@yandex.ru");
+        bookings = new ArrayList<>(size);
+        items = new ArrayList<>(size);
+        comments = new ArrayList<>(size);
+        for (long i = 1; i <= size; i++) {
+            Item item = new Item(i, "Дрель " + i, "Аккумуляторная дрель " + i, true, owner, i);
+            items.add(item);
+            bookings.add(new Booking(i, start.plusDays(i), start.plusDays(i + 1), item, booker, StatusType.APPROVED));
+            comments.add(new Comment(i, "Отличная дрель " + i, items.get(0), booker, start));
+        }
+    }
+
+    @Benchmark
+    public void bookingToResponse(Blackhole blackhole) {
+        for (Booking booking : bookings) {
+            blackhole.consume(BookingMapper.bookingToResponse(booking));
+        }
+    }
+
+    @Benchmark
+    public ItemResponseDto itemResponseDtoCreate() {
+        return ItemResponseDto.create(bookings.get(0), bookings.get(bookings.size() - 1), items.get(0), comments);
+    }
+
+    @Benchmark
+    public List<CommentResponseDto> commentsToCommentsResponses() {
+        return CommentMapper.commentsToCommentsResponses(comments);
+    }
+
+    @Benchmark
+    public List<ItemResponseDto> listItemsToListResponseDto() {
+        return ItemMapper.listItemsToListResponseDto(items);
+    }
+}
@@ -0,0 +1,70 @@
+package ru.practicum.shareit.booking;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.PositiveOrZero;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.web.bind.annotation.*;
+import ru.practicum.shareit.booking.dto.BookingRequestDto;
+import ru.practicum.shareit.booking.dto.BookingState;
+
+import java.time.LocalDateTime;
+
+/**
+ * Эндпоинты /bookings и правила валидации входных данных. Реализации отличаются только типом ответа:
+ * BookingController отвечает блокирующе, ReactiveBookingController (профиль reactive) возвращает Mono.
+ */
+@RequestMapping(path = "/bookings")
+public interface BookingApi<T> {
+	String USER_ID_HEADER = "X-Sharer-User-Id";
+
+	@GetMapping
+	T getBookings(@RequestHeader(USER_ID_HEADER) long userId,
+				  @RequestParam(name = "state", defaultValue = "all") String stateParam,
+				  @PositiveOrZero @RequestParam(name = "from", defaultValue = "0") Integer from,
+				  @Positive @RequestParam(name = "size", defaultValue = "10") Integer size,
+				  @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime afterStart,
+				  @Positive @RequestParam(required = false) Long afterId);
+
+	@PostMapping
+	T bookItem(@RequestHeader(USER_ID_HEADER) long userId, @RequestBody @Valid BookingRequestDto requestDto);
+
+	@GetMapping("/availability")
+	T getFreeIntervals(@RequestHeader(USER_ID_HEADER) long userId, @Positive @RequestParam long itemId,
+					   @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime start,
+					   @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime end);
+
+	@GetMapping("/{bookingId}")
+	T getBooking(@RequestHeader(USER_ID_HEADER) long userId, @PathVariable Long bookingId);
+
+	@PatchMapping("/{bookingId}")
+	T acceptBooking(@RequestHeader(USER_ID_HEADER) Long userId, @RequestParam boolean approved,
+					@PathVariable Long bookingId);
+
+	@GetMapping("/owner")
+	T findOwnerBookings(@RequestHeader(USER_ID_HEADER) Long userId,
+						@RequestParam(name = "state", defaultValue = "all") String stateParam,
+						@PositiveOrZero @RequestParam(name = "from", defaultValue = "0") Integer from,
+						@Positive @RequestParam(name = "size", defaultValue = "10") Integer size,
+						@RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+						LocalDateTime afterStart,
+						@Positive @RequestParam(required = false) Long afterId);
+
+	static BookingState parseState(String stateParam) {
+		return BookingState.from(stateParam)
+				.orElseThrow(() -> new IllegalArgumentException("Неопознаный статус: " + stateParam));
+	}
+
+	static void checkInterval(LocalDateTime start, LocalDateTime end) {
+		if (!start.isBefore(end)) {
+			throw new IllegalArgumentException("Начало интервала должно быть раньше его окончания");
+		}
+	}
+
+	static boolean isKeyset(LocalDateTime afterStart, Long afterId) {
+		if ((afterStart == null) != (afterId == null)) {
+			throw new IllegalArgumentException("Параметры afterStart и afterId передаются только вместе");
+		}
+		return afterStart != null;
+	}
+}
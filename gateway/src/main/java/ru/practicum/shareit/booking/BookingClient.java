@@ -5,13 +5,15 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.http.ResponseEntity;
-import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.http.client.ClientHttpRequestFactory;
 import org.springframework.stereotype.Service;
 import org.springframework.web.util.DefaultUriBuilderFactory;
 import ru.practicum.shareit.booking.dto.BookingRequestDto;
 import ru.practicum.shareit.booking.dto.BookingState;
 import ru.practicum.shareit.client.BaseClient;
+import ru.practicum.shareit.client.ServerResponseCache;
 
+import java.time.LocalDateTime;
 import java.util.Map;
 
 @Slf4j
@@ -19,14 +21,18 @@ import java.util.Map;
 public class BookingClient extends BaseClient {
     private static final String API_PREFIX = "/bookings";
 
+    private final ServerResponseCache responseCache;
+
     @Autowired
-    public BookingClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder) {
+    public BookingClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder,
+                         ClientHttpRequestFactory requestFactory, ServerResponseCache responseCache) {
         super(
                 builder
                         .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
-                        .requestFactory(() -> new HttpComponentsClientHttpRequestFactory())
+                        .requestFactory(() -> requestFactory)
                         .build()
         );
+        this.responseCache = responseCache;
     }
 
     public ResponseEntity<Object> getBookings(long userId, BookingState state, Integer from, Integer size) {
@@ -39,7 +45,18 @@ public class BookingClient extends BaseClient {
     }
 
     public ResponseEntity<Object> bookItem(long userId, BookingRequestDto requestDto) {
-        return post("", userId, requestDto);
+        ResponseEntity<Object> response = post("", userId, requestDto);
+        responseCache.evict("/items/" + requestDto.getItemId());
+        return response;
+    }
+
+    public ResponseEntity<Object> getFreeIntervals(long userId, long itemId, LocalDateTime start, LocalDateTime end) {
+        Map<String, Object> parameters = Map.of(
+                "itemId", itemId,
+                "start", start,
+                "end", end
+        );
+        return get("/availability?itemId={itemId}&start={start}&end={end}", userId, parameters);
     }
 
     public ResponseEntity<Object> getBooking(long userId, Long bookingId) {
@@ -47,13 +64,41 @@ public class BookingClient extends BaseClient {
     }
 
     public ResponseEntity<Object> acceptBooking(long userId, boolean approved, Long bookingId) {
-        return patch("/" + bookingId + "?" + "approved=" + approved, userId);
+        ResponseEntity<Object> response = patch("/" + bookingId + "?" + "approved=" + approved, userId);
+        // Подтверждение меняет lastBooking и nextBooking вещи, а её id gateway не знает.
+        responseCache.evictAll("/items");
+        return response;
+    }
+
+    public ResponseEntity<Object> getBookings(long userId, BookingState state, LocalDateTime afterStart, Long afterId,
+                                              Integer size) {
+        Map<String, Object> parameters = Map.of(
+                "state", state.name(),
+                "afterStart", afterStart,
+                "afterId", afterId,
+                "size", size
+        );
+        return get("?state={state}&afterStart={afterStart}&afterId={afterId}&size={size}", userId, parameters);
+    }
+
+    public ResponseEntity<Object> findOwnerBookings(Long userId, BookingState state, Integer from, Integer size) {
+        Map<String, Object> parameters = Map.of(
+                "state", state.name(),
+                "from", from,
+                "size", size
+        );
+        return get("/owner?state={state}&from={from}&size={size}", userId, parameters);
     }
 
-    public ResponseEntity<Object> findOwnerBookings(Long userId, BookingState state) {
+    public ResponseEntity<Object> findOwnerBookings(Long userId, BookingState state, LocalDateTime afterStart,
+                                                    Long afterId, Integer size) {
         Map<String, Object> parameters = Map.of(
-                "state", state.name()
+                "state", state.name(),
+                "afterStart", afterStart,
+                "afterId", afterId,
+                "size", size
         );
-        return get("/owner?state={state}", userId, parameters);
+        return get("/owner?state={state}&afterStart={afterStart}&afterId={afterId}&size={size}", userId,
+                parameters);
     }
 }
\ No newline at end of file
@@ -1,63 +1,66 @@
 package ru.practicum.shareit.booking;
 
-import jakarta.validation.Valid;
-import jakarta.validation.constraints.Positive;
-import jakarta.validation.constraints.PositiveOrZero;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Profile;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Controller;
 import org.springframework.validation.annotation.Validated;
-import org.springframework.web.bind.annotation.*;
 import ru.practicum.shareit.booking.dto.BookingRequestDto;
 import ru.practicum.shareit.booking.dto.BookingState;
 
+import java.time.LocalDateTime;
+
 @Controller
-@RequestMapping(path = "/bookings")
+@Profile("!reactive")
 @RequiredArgsConstructor
 @Slf4j
 @Validated
-public class BookingController {
+public class BookingController implements BookingApi<ResponseEntity<Object>> {
 	private final BookingClient bookingClient;
-	private static final String USER_ID_HEADER = "X-Sharer-User-Id";
-
-	@GetMapping
-	public ResponseEntity<Object> getBookings(@RequestHeader(USER_ID_HEADER) long userId,
-											  @RequestParam(name = "state", defaultValue = "all") String stateParam,
-											  @PositiveOrZero @RequestParam(name = "from", defaultValue = "0") Integer from,
-											  @Positive @RequestParam(name = "size", defaultValue = "10") Integer size) {
-		BookingState state = BookingState.from(stateParam)
-				.orElseThrow(() -> new IllegalArgumentException("Неопознаный статус: " + stateParam));
+
+	@Override
+	public ResponseEntity<Object> getBookings(long userId, String stateParam, Integer from, Integer size,
+											  LocalDateTime afterStart, Long afterId) {
+		BookingState state = BookingApi.parseState(stateParam);
 		log.info("Получение booking со статусом {}, userId={}, from={}, size={}", stateParam, userId, from, size);
+		if (BookingApi.isKeyset(afterStart, afterId)) {
+			return bookingClient.getBookings(userId, state, afterStart, afterId, size);
+		}
 		return bookingClient.getBookings(userId, state, from, size);
 	}
 
-	@PostMapping
-	public ResponseEntity<Object> bookItem(@RequestHeader(USER_ID_HEADER) long userId,
-										   @RequestBody @Valid BookingRequestDto requestDto) {
+	@Override
+	public ResponseEntity<Object> bookItem(long userId, BookingRequestDto requestDto) {
 		log.info("Создание booking {}, userId={}", requestDto, userId);
 		return bookingClient.bookItem(userId, requestDto);
 	}
 
-	@GetMapping("/{bookingId}")
-	public ResponseEntity<Object> getBooking(@RequestHeader(USER_ID_HEADER) long userId,
-											 @PathVariable Long bookingId) {
+	@Override
+	public ResponseEntity<Object> getFreeIntervals(long userId, long itemId, LocalDateTime start, LocalDateTime end) {
+		BookingApi.checkInterval(start, end);
+		log.info("Получение свободных окон вещи {} в интервале [{}, {}), userId={}", itemId, start, end, userId);
+		return bookingClient.getFreeIntervals(userId, itemId, start, end);
+	}
+
+	@Override
+	public ResponseEntity<Object> getBooking(long userId, Long bookingId) {
 		log.info("Получение booking {}, userId={}", bookingId, userId);
 		return bookingClient.getBooking(userId, bookingId);
 	}
 
-	@PatchMapping("/{bookingId}")
-	public ResponseEntity<Object> acceptBooking(@RequestHeader(USER_ID_HEADER) Long userId,
-												@RequestParam boolean approved, @PathVariable Long bookingId) {
+	@Override
+	public ResponseEntity<Object> acceptBooking(Long userId, boolean approved, Long bookingId) {
 		return bookingClient.acceptBooking(userId, approved, bookingId);
 	}
 
-	@GetMapping("/owner")
-	public ResponseEntity<Object> findOwnerBookings(@RequestHeader(USER_ID_HEADER) Long userId,
-													@RequestParam(name = "state", defaultValue = "all")
-													String stateParam) {
-		BookingState state = BookingState.from(stateParam)
-				.orElseThrow(() -> new IllegalArgumentException("Неопознаный статус: " + stateParam));
-		return bookingClient.findOwnerBookings(userId, state);
+	@Override
+	public ResponseEntity<Object> findOwnerBookings(Long userId, String stateParam, Integer from, Integer size,
+													LocalDateTime afterStart, Long afterId) {
+		BookingState state = BookingApi.parseState(stateParam);
+		if (BookingApi.isKeyset(afterStart, afterId)) {
+			return bookingClient.findOwnerBookings(userId, state, afterStart, afterId, size);
+		}
+		return bookingClient.findOwnerBookings(userId, state, from, size);
 	}
-}
\ No newline at end of file
+}
@@ -0,0 +1,95 @@
+package ru.practicum.shareit.booking;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.client.reactive.ClientHttpConnector;
+import org.springframework.stereotype.Service;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+import ru.practicum.shareit.booking.dto.BookingRequestDto;
+import ru.practicum.shareit.booking.dto.BookingState;
+import ru.practicum.shareit.client.ReactiveBaseClient;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+@Service
+@Profile("reactive")
+public class ReactiveBookingClient extends ReactiveBaseClient {
+    private static final String API_PREFIX = "/bookings";
+
+    public ReactiveBookingClient(@Value("${shareit-server.url}") String serverUrl, WebClient.Builder builder,
+                                 ClientHttpConnector connector) {
+        super(
+                builder
+                        .baseUrl(serverUrl + API_PREFIX)
+                        .clientConnector(connector)
+                        .build()
+        );
+    }
+
+    public Mono<ResponseEntity<Object>> getBookings(long userId, BookingState state, Integer from, Integer size) {
+        Map<String, Object> parameters = Map.of(
+                "state", state.name(),
+                "from", from,
+                "size", size
+        );
+        return get("?state={state}&from={from}&size={size}", userId, parameters);
+    }
+
+    public Mono<ResponseEntity<Object>> bookItem(long userId, BookingRequestDto requestDto) {
+        return post("", userId, requestDto);
+    }
+
+    public Mono<ResponseEntity<Object>> getFreeIntervals(long userId, long itemId, LocalDateTime start,
+                                                         LocalDateTime end) {
+        Map<String, Object> parameters = Map.of(
+                "itemId", itemId,
+                "start", start,
+                "end", end
+        );
+        return get("/availability?itemId={itemId}&start={start}&end={end}", userId, parameters);
+    }
+
+    public Mono<ResponseEntity<Object>> getBooking(long userId, Long bookingId) {
+        return get("/" + bookingId, userId);
+    }
+
+    public Mono<ResponseEntity<Object>> acceptBooking(long userId, boolean approved, Long bookingId) {
+        return patch("/" + bookingId + "?" + "approved=" + approved, userId);
+    }
+
+    public Mono<ResponseEntity<Object>> getBookings(long userId, BookingState state, LocalDateTime afterStart,
+                                                    Long afterId, Integer size) {
+        Map<String, Object> parameters = Map.of(
+                "state", state.name(),
+                "afterStart", afterStart,
+                "afterId", afterId,
+                "size", size
+        );
+        return get("?state={state}&afterStart={afterStart}&afterId={afterId}&size={size}", userId, parameters);
+    }
+
+    public Mono<ResponseEntity<Object>> findOwnerBookings(Long userId, BookingState state, Integer from,
+                                                          Integer size) {
+        Map<String, Object> parameters = Map.of(
+                "state", state.name(),
+                "from", from,
+                "size", size
+        );
+        return get("/owner?state={state}&from={from}&size={size}", userId, parameters);
+    }
+
+    public Mono<ResponseEntity<Object>> findOwnerBookings(Long userId, BookingState state, LocalDateTime afterStart,
+                                                          Long afterId, Integer size) {
+        Map<String, Object> parameters = Map.of(
+                "state", state.name(),
+                "afterStart", afterStart,
+                "afterId", afterId,
+                "size", size
+        );
+        return get("/owner?state={state}&afterStart={afterStart}&afterId={afterId}&size={size}", userId,
+                parameters);
+    }
+}
@@ -0,0 +1,67 @@
+package ru.practicum.shareit.booking;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Controller;
+import org.springframework.validation.annotation.Validated;
+import reactor.core.publisher.Mono;
+import ru.practicum.shareit.booking.dto.BookingRequestDto;
+import ru.practicum.shareit.booking.dto.BookingState;
+
+import java.time.LocalDateTime;
+
+@Controller
+@Profile("reactive")
+@RequiredArgsConstructor
+@Slf4j
+@Validated
+public class ReactiveBookingController implements BookingApi<Mono<ResponseEntity<Object>>> {
+	private final ReactiveBookingClient bookingClient;
+
+	@Override
+	public Mono<ResponseEntity<Object>> getBookings(long userId, String stateParam, Integer from, Integer size,
+													LocalDateTime afterStart, Long afterId) {
+		BookingState state = BookingApi.parseState(stateParam);
+		log.info("Получение booking со статусом {}, userId={}, from={}, size={}", stateParam, userId, from, size);
+		if (BookingApi.isKeyset(afterStart, afterId)) {
+			return bookingClient.getBookings(userId, state, afterStart, afterId, size);
+		}
+		return bookingClient.getBookings(userId, state, from, size);
+	}
+
+	@Override
+	public Mono<ResponseEntity<Object>> bookItem(long userId, BookingRequestDto requestDto) {
+		log.info("Создание booking {}, userId={}", requestDto, userId);
+		return bookingClient.bookItem(userId, requestDto);
+	}
+
+	@Override
+	public Mono<ResponseEntity<Object>> getFreeIntervals(long userId, long itemId, LocalDateTime start, LocalDateTime end) {
+		BookingApi.checkInterval(start, end);
+		log.info("Получение свободных окон вещи {} в интервале [{}, {}), userId={}", itemId, start, end, userId);
+		return bookingClient.getFreeIntervals(userId, itemId, start, end);
+	}
+
+	@Override
+	public Mono<ResponseEntity<Object>> getBooking(long userId, Long bookingId) {
+		log.info("Получение booking {}, userId={}", bookingId, userId);
+		return bookingClient.getBooking(userId, bookingId);
+	}
+
+	@Override
+	public Mono<ResponseEntity<Object>> acceptBooking(Long userId, boolean approved, Long bookingId) {
+		return bookingClient.acceptBooking(userId, approved, bookingId);
+	}
+
+	@Override
+	public Mono<ResponseEntity<Object>> findOwnerBookings(Long userId, String stateParam, Integer from, Integer size,
+														  LocalDateTime afterStart, Long afterId) {
+		BookingState state = BookingApi.parseState(stateParam);
+		if (BookingApi.isKeyset(afterStart, afterId)) {
+			return bookingClient.findOwnerBookings(userId, state, afterStart, afterId, size);
+		}
+		return bookingClient.findOwnerBookings(userId, state, from, size);
+	}
+}
@@ -7,10 +7,38 @@ import org.springframework.web.client.RestTemplate;
 
 import java.util.List;
 import java.util.Map;
-
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Проксирует запросы в shareit-server. Тело ответа не разбирается: статус, заголовки и байты тела
+ * передаются клиенту как есть, и Spring MVC пишет их в ответ без повторной сериализации JSON.
+ * Одинаковые GET одного пользователя, пришедшие, пока такой же запрос ещё выполняется, к server не уходят:
+ * они ждут уже отправленный запрос и получают его ответ (single-flight).
+ */
 public class BaseClient {
+    /**
+     * Заголовки одного соединения (RFC 9110, раздел 7.6.1) не пересылаются. Content-Length выставит
+     * конвертер массива байт.
+     */
+    private static final Set<String> NOT_RELAYED_HEADERS = Set.of("connection", "keep-alive", "proxy-authenticate",
+            "proxy-authorization", "te", "trailer", "transfer-encoding", "upgrade", "content-length");
+
+    /**
+     * Число завершённых запросов на запись через любой клиент. GET присоединяется к уже идущему запросу,
+     * только если с его отправки не завершилась ни одна запись: иначе пользователь, получивший ответ на PATCH,
+     * мог бы следом прочитать состояние до него.
+     */
+    private static final AtomicLong COMPLETED_WRITES = new AtomicLong();
+
     protected final RestTemplate rest;
 
+    private final ConcurrentMap<InFlightKey, InFlight> inFlightGets = new ConcurrentHashMap<>();
+
     public BaseClient(RestTemplate rest) {
         this.rest = rest;
     }
@@ -24,7 +52,23 @@ public class BaseClient {
     }
 
     protected ResponseEntity<Object> get(String path, Long userId, @Nullable Map<String, Object> parameters) {
-        return makeAndSendRequest(HttpMethod.GET, path, userId, parameters, null);
+        InFlightKey key = new InFlightKey(path, userId, parameters);
+        InFlight own = new InFlight(COMPLETED_WRITES.get());
+        InFlight leader = inFlightGets.merge(key, own,
+                (current, candidate) -> current.writesBefore() >= candidate.writesBefore() ? current : candidate);
+        if (leader != own) {
+            return await(leader.response());
+        }
+        try {
+            ResponseEntity<Object> response = makeAndSendRequest(HttpMethod.GET, path, userId, parameters, null);
+            own.response().complete(response);
+            return response;
+        } catch (RuntimeException e) {
+            own.response().completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlightGets.remove(key, own);
+        }
     }
 
     protected <T> ResponseEntity<Object> post(String path, T body) {
@@ -76,23 +120,34 @@ public class BaseClient {
     }
 
     private <T> ResponseEntity<Object> makeAndSendRequest(HttpMethod method, String path, Long userId, @Nullable Map<String, Object> parameters, @Nullable T body) {
+        try {
+            return exchange(method, path, userId, parameters, body);
+        } finally {
+            if (method != HttpMethod.GET) {
+                COMPLETED_WRITES.incrementAndGet();
+            }
+        }
+    }
+
+    private <T> ResponseEntity<Object> exchange(HttpMethod method, String path, Long userId, @Nullable Map<String, Object> parameters, @Nullable T body) {
         HttpEntity<T> requestEntity = new HttpEntity<>(body, defaultHeaders(userId));
 
-        ResponseEntity<Object> shareitServerResponse;
+        ResponseEntity<byte[]> shareitServerResponse;
         try {
             if (parameters != null) {
-                shareitServerResponse = rest.exchange(path, method, requestEntity, Object.class, parameters);
+                shareitServerResponse = rest.exchange(path, method, requestEntity, byte[].class, parameters);
 
             } else {
-                shareitServerResponse = rest.exchange(path, method, requestEntity, Object.class);
+                shareitServerResponse = rest.exchange(path, method, requestEntity, byte[].class);
             }
         } catch (HttpStatusCodeException e) {
-            return ResponseEntity.status(e.getStatusCode()).body(e.getResponseBodyAsByteArray());
+            return relay(e.getStatusCode(), e.getResponseHeaders(), e.getResponseBodyAsByteArray());
         }
-        return prepareGatewayResponse(shareitServerResponse);
+        return relay(shareitServerResponse.getStatusCode(), shareitServerResponse.getHeaders(),
+                shareitServerResponse.getBody());
     }
 
-    private HttpHeaders defaultHeaders(Long userId) {
+    static HttpHeaders defaultHeaders(Long userId) {
         HttpHeaders headers = new HttpHeaders();
         headers.setContentType(MediaType.APPLICATION_JSON);
         headers.setAccept(List.of(MediaType.APPLICATION_JSON));
@@ -102,17 +157,46 @@ public class BaseClient {
         return headers;
     }
 
-    private static ResponseEntity<Object> prepareGatewayResponse(ResponseEntity<Object> response) {
-        if (response.getStatusCode().is2xxSuccessful()) {
-            return response;
+    static ResponseEntity<Object> relay(HttpStatusCode status, @Nullable HttpHeaders serverHeaders,
+                                                @Nullable byte[] body) {
+        HttpHeaders headers = new HttpHeaders();
+        if (serverHeaders != null) {
+            serverHeaders.forEach((name, values) -> {
+                if (!NOT_RELAYED_HEADERS.contains(name.toLowerCase())) {
+                    headers.addAll(name, values);
+                }
+            });
         }
 
-        ResponseEntity.BodyBuilder responseBuilder = ResponseEntity.status(response.getStatusCode());
+        ResponseEntity.BodyBuilder responseBuilder = ResponseEntity.status(status).headers(headers);
 
-        if (response.hasBody()) {
-            return responseBuilder.body(response.getBody());
+        if (body != null && body.length > 0) {
+            return responseBuilder.body(body);
         }
 
         return responseBuilder.build();
     }
-}
\ No newline at end of file
+
+    private static ResponseEntity<Object> await(CompletableFuture<ResponseEntity<Object>> response) {
+        try {
+            return response.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    private record InFlightKey(String path, Long userId, @Nullable Map<String, Object> parameters) {
+    }
+
+    /**
+     * Выполняющийся GET: ответ для присоединившихся и число завершённых записей на момент отправки.
+     */
+    private record InFlight(long writesBefore, CompletableFuture<ResponseEntity<Object>> response) {
+        private InFlight(long writesBefore) {
+            this(writesBefore, new CompletableFuture<>());
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package ru.practicum.shareit.client;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+
+/**
+ * Исполнитель Tomcat на виртуальных потоках с ограничением числа одновременно обрабатываемых соединений.
+ * Стандартный VirtualThreadExecutor сразу запускает обработку каждого принятого соединения, и при всплеске
+ * на каждое создаётся Http11Processor с буферами. Здесь задача ждёт разрешения до начала обработки,
+ * поэтому ожидающее соединение занимает в куче только припаркованный виртуальный поток.
+ */
+public class BoundedVirtualThreadExecutor implements Executor {
+    private final ThreadFactory threadFactory;
+    private final Semaphore permits;
+
+    public BoundedVirtualThreadExecutor(String namePrefix, int maxConcurrentTasks) {
+        this.threadFactory = Thread.ofVirtual().name(namePrefix, 0).factory();
+        this.permits = new Semaphore(maxConcurrentTasks, true);
+    }
+
+    @Override
+    public void execute(Runnable command) {
+        threadFactory.newThread(() -> {
+            permits.acquireUninterruptibly();
+            try {
+                command.run();
+            } finally {
+                permits.release();
+            }
+        }).start();
+    }
+
+    public int getAvailablePermits() {
+        return permits.availablePermits();
+    }
+
+    public int getWaiting() {
+        return permits.getQueueLength();
+    }
+}
@@ -0,0 +1,108 @@
+package ru.practicum.shareit.client;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.httpcomponents.hc5.PoolingHttpClientConnectionManagerMetricsBinder;
+import org.apache.hc.client5.http.config.ConnectionConfig;
+import org.apache.hc.client5.http.config.RequestConfig;
+import org.apache.hc.client5.http.impl.DefaultConnectionKeepAliveStrategy;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManagerBuilder;
+import org.apache.hc.core5.http.HttpResponse;
+import org.apache.hc.core5.http.protocol.HttpContext;
+import org.apache.hc.core5.util.TimeValue;
+import org.apache.hc.core5.util.Timeout;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+
+import java.time.Duration;
+
+/**
+ * Один пул HttpClient 5 на все клиенты gateway: соединения с server переиспользуются между ItemClient,
+ * BookingClient и остальными, а лимиты и таймауты задаются в shareit-server.http-client.*.
+ * Число одновременных запросов ограничено размером пула до обращения к нему, см. BoundedClientHttpRequestFactory.
+ */
+@Configuration
+@EnableConfigurationProperties(HttpClientProperties.class)
+public class HttpClientConfig {
+
+    @Bean(destroyMethod = "close")
+    public PoolingHttpClientConnectionManager shareItServerConnectionManager(HttpClientProperties properties) {
+        return PoolingHttpClientConnectionManagerBuilder.create()
+                .setMaxConnTotal(properties.getMaxConnections())
+                .setMaxConnPerRoute(properties.getMaxConnectionsPerRoute())
+                .setDefaultConnectionConfig(ConnectionConfig.custom()
+                        .setConnectTimeout(timeout(properties.getConnectTimeout()))
+                        .setSocketTimeout(timeout(properties.getResponseTimeout()))
+                        .setTimeToLive(timeValue(properties.getTimeToLive()))
+                        .setValidateAfterInactivity(timeValue(properties.getValidateAfterInactivity()))
+                        .build())
+                .build();
+    }
+
+    @Bean(destroyMethod = "close")
+    public CloseableHttpClient shareItServerHttpClient(PoolingHttpClientConnectionManager connectionManager,
+                                                       HttpClientProperties properties) {
+        TimeValue keepAlive = timeValue(properties.getKeepAlive());
+        return HttpClients.custom()
+                .setConnectionManager(connectionManager)
+                .setDefaultRequestConfig(RequestConfig.custom()
+                        .setConnectionRequestTimeout(timeout(properties.getConnectionRequestTimeout()))
+                        .setResponseTimeout(timeout(properties.getResponseTimeout()))
+                        .build())
+                .setKeepAliveStrategy(new DefaultConnectionKeepAliveStrategy() {
+                    @Override
+                    public TimeValue getKeepAliveDuration(HttpResponse response, HttpContext context) {
+                        TimeValue fromServer = super.getKeepAliveDuration(response, context);
+                        return response.containsHeader("Keep-Alive") ? fromServer : keepAlive;
+                    }
+                })
+                .evictExpiredConnections()
+                .evictIdleConnections(timeValue(properties.getEvictIdleAfter()))
+                .build();
+    }
+
+    @Bean
+    public BoundedClientHttpRequestFactory shareItServerRequestFactory(CloseableHttpClient shareItServerHttpClient,
+                                                                       HttpClientProperties properties) {
+        return new BoundedClientHttpRequestFactory(new HttpComponentsClientHttpRequestFactory(shareItServerHttpClient),
+                properties.getMaxConnections(), properties.getConnectionRequestTimeout());
+    }
+
+    /**
+     * Метрики пула httpcomponents.httpclient.pool.* с тегом httpclient=shareit-server:
+     * занятые (leased), свободные (available) и ожидающие соединения (pending).
+     */
+    @Bean
+    public MeterBinder shareItServerConnectionPoolMetrics(PoolingHttpClientConnectionManager connectionManager) {
+        return new PoolingHttpClientConnectionManagerMetricsBinder(connectionManager, "shareit-server");
+    }
+
+    /**
+     * Запросы, ждущие разрешения перед пулом, и свободные разрешения.
+     */
+    @Bean
+    public MeterBinder shareItServerRequestLimitMetrics(BoundedClientHttpRequestFactory requestFactory) {
+        return registry -> {
+            Gauge.builder("shareit.server.client.waiting", requestFactory, BoundedClientHttpRequestFactory::getWaiting)
+                    .description("Запросы к shareit-server, ждущие свободного соединения")
+                    .register(registry);
+            Gauge.builder("shareit.server.client.permits.available", requestFactory,
+                            BoundedClientHttpRequestFactory::getAvailablePermits)
+                    .description("Свободные разрешения на запрос к shareit-server")
+                    .register(registry);
+        };
+    }
+
+    private static Timeout timeout(Duration duration) {
+        return Timeout.ofMilliseconds(duration.toMillis());
+    }
+
+    private static TimeValue timeValue(Duration duration) {
+        return TimeValue.ofMilliseconds(duration.toMillis());
+    }
+}
@@ -0,0 +1,57 @@
+package ru.practicum.shareit.client;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Настройки общего пула соединений gateway → shareit-server.
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "shareit-server.http-client")
+public class HttpClientProperties {
+    /**
+     * Всего соединений в пуле.
+     */
+    private int maxConnections = 200;
+    /**
+     * Соединений на один маршрут (хост и порт). Все клиенты ходят в один server, поэтому по умолчанию равно maxConnections.
+     */
+    private int maxConnectionsPerRoute = 200;
+    /**
+     * Таймаут установки TCP-соединения.
+     */
+    private Duration connectTimeout = Duration.ofSeconds(2);
+    /**
+     * Сколько ждать свободного соединения из пула.
+     */
+    private Duration connectionRequestTimeout = Duration.ofSeconds(2);
+    /**
+     * Таймаут ожидания ответа server.
+     */
+    private Duration responseTimeout = Duration.ofSeconds(30);
+    /**
+     * Сколько держать соединение открытым, если server не прислал заголовок Keep-Alive.
+     */
+    private Duration keepAlive = Duration.ofSeconds(30);
+    /**
+     * Максимальное время жизни соединения, после него оно закрывается при возврате в пул.
+     */
+    private Duration timeToLive = Duration.ofMinutes(5);
+    /**
+     * Соединение, простоявшее дольше, проверяется перед выдачей из пула.
+     */
+    private Duration validateAfterInactivity = Duration.ofSeconds(2);
+    /**
+     * Простаивающие дольше соединения закрываются фоновым потоком.
+     */
+    private Duration evictIdleAfter = Duration.ofSeconds(60);
+    /**
+     * Только при spring.threads.virtual.enabled=true: сколько соединений Tomcat обрабатывает одновременно,
+     * остальные ждут своей очереди. Заменяет ограничение server.tomcat.threads.max платформенного режима.
+     */
+    private int maxConcurrentRequests = 200;
+}
@@ -0,0 +1,29 @@
+package ru.practicum.shareit.client;
+
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@EnableConfigurationProperties(ResponseCacheProperties.class)
+public class ResponseCacheConfig {
+
+    @Bean
+    public ServerResponseCache serverResponseCache(ResponseCacheProperties properties) {
+        return new ServerResponseCache(properties);
+    }
+
+    /**
+     * Метрики cache.gets (result=hit|miss), cache.evictions, cache.size и другие с тегом cache=shareit-server.
+     */
+    @Bean
+    public MeterBinder serverResponseCacheMetrics(ServerResponseCache serverResponseCache) {
+        return registry -> {
+            if (serverResponseCache.getCache() != null) {
+                CaffeineCacheMetrics.monitor(registry, serverResponseCache.getCache(), "shareit-server");
+            }
+        };
+    }
+}
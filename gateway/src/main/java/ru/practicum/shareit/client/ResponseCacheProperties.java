@@ -0,0 +1,26 @@
+package ru.practicum.shareit.client;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Настройки кэша ответов server в gateway, см. ServerResponseCache.
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "shareit-server.response-cache")
+public class ResponseCacheProperties {
+    private boolean enabled = true;
+    /**
+     * Сколько ответов хранится одновременно, при переполнении вытесняются редко запрашиваемые.
+     */
+    private long maximumSize = 10_000;
+    /**
+     * Сколько живёт ответ после загрузки. Ограничивает устаревание полей, которые меняются со временем без записи,
+     * например lastBooking и nextBooking у вещи владельца.
+     */
+    private Duration ttl = Duration.ofSeconds(5);
+}
@@ -0,0 +1,94 @@
+package ru.practicum.shareit.client;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.http.ResponseEntity;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Кэш успешных ответов server на GET отдельных ресурсов (/items/{id}, /users/{id}, /requests/{id}).
+ * Ключ — путь server с query и X-Sharer-User-Id: один и тот же ресурс разные пользователи видят по-разному.
+ * Клиенты, пересылающие POST, PATCH и DELETE, сбрасывают записи затронутых ресурсов.
+ * Изменения, прошедшие мимо этого gateway, видны не позже чем через shareit-server.response-cache.ttl.
+ */
+public class ServerResponseCache {
+    private final Cache<Key, ResponseEntity<Object>> cache;
+    /**
+     * Увеличивается при каждом сбросе. Ответ, загрузка которого пересеклась со сбросом, не кэшируется:
+     * он мог быть прочитан до записи.
+     */
+    private final AtomicLong invalidations = new AtomicLong();
+
+    public ServerResponseCache(ResponseCacheProperties properties) {
+        this.cache = properties.isEnabled()
+                ? Caffeine.newBuilder()
+                .maximumSize(properties.getMaximumSize())
+                .expireAfterWrite(properties.getTtl())
+                .recordStats()
+                .build()
+                : null;
+    }
+
+    public static ServerResponseCache disabled() {
+        ResponseCacheProperties properties = new ResponseCacheProperties();
+        properties.setEnabled(false);
+        return new ServerResponseCache(properties);
+    }
+
+    public ResponseEntity<Object> get(String resource, Long userId, Supplier<ResponseEntity<Object>> loader) {
+        if (cache == null) {
+            return loader.get();
+        }
+        Key key = new Key(resource, userId);
+        ResponseEntity<Object> cached = cache.getIfPresent(key);
+        if (cached != null) {
+            return cached;
+        }
+        long invalidationsBefore = invalidations.get();
+        ResponseEntity<Object> response = loader.get();
+        if (response.getStatusCode().is2xxSuccessful() && invalidations.get() == invalidationsBefore) {
+            cache.put(key, response);
+        }
+        return response;
+    }
+
+    /**
+     * Сбрасывает ответы ресурса для всех пользователей, в том числе с любым query.
+     */
+    public void evict(String resource) {
+        if (cache == null) {
+            return;
+        }
+        invalidations.incrementAndGet();
+        cache.asMap().keySet().removeIf(key -> key.resource().equals(resource)
+                || key.resource().startsWith(resource + "?"));
+    }
+
+    /**
+     * Сбрасывает ответы всех ресурсов коллекции, например всех /items/{id}.
+     */
+    public void evictAll(String collection) {
+        if (cache == null) {
+            return;
+        }
+        invalidations.incrementAndGet();
+        cache.asMap().keySet().removeIf(key -> key.resource().startsWith(collection + "/"));
+    }
+
+    public void clear() {
+        if (cache == null) {
+            return;
+        }
+        invalidations.incrementAndGet();
+        cache.invalidateAll();
+    }
+
+    Cache<Key, ResponseEntity<Object>> getCache() {
+        return cache;
+    }
+
+    record Key(String resource, Long userId) {
+    }
+}
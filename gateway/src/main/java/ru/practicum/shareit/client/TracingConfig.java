@@ -0,0 +1,46 @@
+package ru.practicum.shareit.client;
+
+import io.micrometer.common.KeyValues;
+import io.opentelemetry.exporter.logging.LoggingSpanExporter;
+import io.opentelemetry.sdk.trace.export.SpanExporter;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.server.observation.DefaultServerRequestObservationConvention;
+import org.springframework.http.server.observation.ServerRequestObservationContext;
+import org.springframework.http.server.observation.ServerRequestObservationConvention;
+
+/**
+ * Трассировка gateway. RestTemplate и WebClient собираются из билдеров Spring Boot, поэтому каждый запрос
+ * в server получает свой спан и заголовок traceparent, и server продолжает трассу gateway.
+ */
+@Configuration
+public class TracingConfig {
+    static final String USER_ID = "shareit.user.id";
+    static final String USER_ID_HEADER = "X-Sharer-User-Id";
+
+    /**
+     * Пользователь запроса в спане http.server.requests. Высококардинальные значения попадают только в спаны.
+     */
+    @Bean
+    public ServerRequestObservationConvention serverRequestObservationConvention() {
+        return new DefaultServerRequestObservationConvention() {
+            @Override
+            public KeyValues getHighCardinalityKeyValues(ServerRequestObservationContext context) {
+                KeyValues keyValues = super.getHighCardinalityKeyValues(context);
+                String userId = context.getCarrier().getHeader(USER_ID_HEADER);
+                return userId == null ? keyValues : keyValues.and(USER_ID, userId);
+            }
+        };
+    }
+
+    /**
+     * Экспорт спанов без внешнего коллектора, как в server: каждый завершённый спан пишется в лог.
+     * Включается явно, shareit.tracing.exporter=logging или профилем tracing.
+     */
+    @Bean
+    @ConditionalOnProperty(name = "shareit.tracing.exporter", havingValue = "logging")
+    public SpanExporter loggingSpanExporter() {
+        return LoggingSpanExporter.create();
+    }
+}
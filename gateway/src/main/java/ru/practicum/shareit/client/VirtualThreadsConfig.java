@@ -0,0 +1,62 @@
+package ru.practicum.shareit.client;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.boot.web.embedded.tomcat.TomcatServletWebServerFactory;
+import org.springframework.boot.web.server.WebServerFactoryCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+/**
+ * Режим spring.threads.virtual.enabled=true. Поток запроса почти всё время ждёт ответа server в RestTemplate,
+ * и на виртуальном потоке это ожидание не занимает платформенный поток. Ограничение одновременных запросов,
+ * которое раньше давал server.tomcat.threads.max, задаёт shareit-server.http-client.max-concurrent-requests.
+ */
+@Configuration
+@ConditionalOnThreading(Threading.VIRTUAL)
+public class VirtualThreadsConfig {
+
+    @Bean
+    public BoundedVirtualThreadExecutor tomcatVirtualThreadExecutor(HttpClientProperties properties) {
+        return new BoundedVirtualThreadExecutor("tomcat-handler-", properties.getMaxConcurrentRequests());
+    }
+
+    @Bean
+    public BoundedVirtualThreadsCustomizer boundedVirtualThreadsCustomizer(
+            BoundedVirtualThreadExecutor tomcatVirtualThreadExecutor) {
+        return new BoundedVirtualThreadsCustomizer(tomcatVirtualThreadExecutor);
+    }
+
+    @Bean
+    public MeterBinder tomcatVirtualThreadExecutorMetrics(BoundedVirtualThreadExecutor tomcatVirtualThreadExecutor) {
+        return registry -> Gauge.builder("shareit.gateway.requests.waiting", tomcatVirtualThreadExecutor,
+                        BoundedVirtualThreadExecutor::getWaiting)
+                .description("Соединения, ждущие очереди на обработку")
+                .register(registry);
+    }
+
+    /**
+     * Выполняется после настройки Spring Boot, которая ставит Tomcat неограниченный VirtualThreadExecutor.
+     */
+    static class BoundedVirtualThreadsCustomizer
+            implements WebServerFactoryCustomizer<TomcatServletWebServerFactory>, Ordered {
+        private final BoundedVirtualThreadExecutor executor;
+
+        BoundedVirtualThreadsCustomizer(BoundedVirtualThreadExecutor executor) {
+            this.executor = executor;
+        }
+
+        @Override
+        public void customize(TomcatServletWebServerFactory factory) {
+            factory.addProtocolHandlerCustomizers(handler -> handler.setExecutor(executor));
+        }
+
+        @Override
+        public int getOrder() {
+            return Ordered.LOWEST_PRECEDENCE;
+        }
+    }
+}
@@ -0,0 +1,18 @@
+package ru.practicum.shareit.comment;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.Positive;
+import org.springframework.web.bind.annotation.*;
+
+/**
+ * Эндпоинт отзывов. Реализации: CommentController и ReactiveCommentController (профиль reactive).
+ */
+@RequestMapping("/items")
+public interface CommentApi<T> {
+    String USER_ID_HEADER = "X-Sharer-User-Id";
+
+    @PostMapping("/{itemId}/comment")
+    T addComment(@PathVariable("itemId") @Positive long itemId,
+                 @RequestHeader(value = USER_ID_HEADER) @Positive long userId,
+                 @Valid @RequestBody CommentDto commentDto);
+}
@@ -1,29 +1,25 @@
 package ru.practicum.shareit.comment;
 
-import jakarta.validation.Valid;
-import jakarta.validation.constraints.Positive;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Profile;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
-import org.springframework.web.bind.annotation.*;
+import org.springframework.web.bind.annotation.RestController;
 
 @Slf4j
 @Validated
 @RestController
+@Profile("!reactive")
 @RequiredArgsConstructor
-@RequestMapping("/items")
-public class CommentController {
+public class CommentController implements CommentApi<ResponseEntity<Object>> {
     private final CommentClient commentClient;
-    private static final String USER_ID_HEADER = "X-Sharer-User-Id";
 
-    @PostMapping("/{itemId}/comment")
-    public ResponseEntity<Object> addComment(@PathVariable("itemId") @Positive long itemId,
-                                             @RequestHeader(value = USER_ID_HEADER) @Positive long userId,
-                                             @Valid @RequestBody CommentDto commentDto) {
+    @Override
+    public ResponseEntity<Object> addComment(long itemId, long userId, CommentDto commentDto) {
         log.info("Получен POST запрос по эндпоинту /items/{}/comment от User c ID {} на создание Comment {}.", itemId,
                 userId, commentDto);
 
         return commentClient.addComment(itemId, userId, commentDto);
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,26 @@
+package ru.practicum.shareit.comment;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.ResponseEntity;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Mono;
+
+@Slf4j
+@Validated
+@RestController
+@Profile("reactive")
+@RequiredArgsConstructor
+public class ReactiveCommentController implements CommentApi<Mono<ResponseEntity<Object>>> {
+    private final ReactiveCommentClient commentClient;
+
+    @Override
+    public Mono<ResponseEntity<Object>> addComment(long itemId, long userId, CommentDto commentDto) {
+        log.info("Получен POST запрос по эндпоинту /items/{}/comment от User c ID {} на создание Comment {}.", itemId,
+                userId, commentDto);
+
+        return commentClient.addComment(itemId, userId, commentDto);
+    }
+}
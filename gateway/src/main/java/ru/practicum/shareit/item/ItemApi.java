@@ -0,0 +1,50 @@
+package ru.practicum.shareit.item;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.PositiveOrZero;
+import jakarta.validation.constraints.Size;
+import org.springframework.web.bind.annotation.*;
+import ru.practicum.shareit.item.dto.ItemDto;
+
+import java.util.List;
+
+/**
+ * Эндпоинты /items и правила валидации. Реализации: ItemController и ReactiveItemController (профиль reactive).
+ */
+@RequestMapping("/items")
+public interface ItemApi<T> {
+    String USER_ID_HEADER = "X-Sharer-User-Id";
+
+    @GetMapping
+    T getItemsOfUser(@RequestParam(defaultValue = "0", required = false) @PositiveOrZero int from,
+                     @RequestParam(defaultValue = "10", required = false) @Positive int size,
+                     @RequestHeader(value = USER_ID_HEADER) Long userId);
+
+    /**
+     * Несколько вещей за один запрос: найденные в порядке ids и список id, которых нет.
+     */
+    @GetMapping(params = "ids")
+    T getItems(@RequestParam @NotEmpty @Size(max = 100) List<@Positive Long> ids,
+               @RequestHeader(value = USER_ID_HEADER) Long userId);
+
+    @GetMapping("/{id}")
+    T getItem(@PathVariable Long id, @RequestHeader(value = USER_ID_HEADER) Long userId);
+
+    @PostMapping
+    T createItem(@Valid @RequestBody ItemDto itemDto, @RequestHeader(value = USER_ID_HEADER) Long userId);
+
+    @PatchMapping("/{id}")
+    T updateItem(@PathVariable Long id, @RequestBody ItemDto itemDto,
+                 @RequestHeader(value = USER_ID_HEADER) Long userId);
+
+    @DeleteMapping("/{id}")
+    T deleteItem(@PathVariable Long id, @RequestHeader(value = USER_ID_HEADER) Long userId);
+
+    @GetMapping("/search")
+    T searchItem(@RequestParam(defaultValue = "0", required = false) @PositiveOrZero int from,
+                 @RequestParam(defaultValue = "10", required = false) @Positive int size,
+                 @RequestParam(name = "text") String text,
+                 @RequestHeader(value = USER_ID_HEADER) Long userId);
+}
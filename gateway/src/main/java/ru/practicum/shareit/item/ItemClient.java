@@ -5,35 +5,53 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.http.ResponseEntity;
-import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.http.client.ClientHttpRequestFactory;
 import org.springframework.stereotype.Service;
 import org.springframework.web.util.DefaultUriBuilderFactory;
 import ru.practicum.shareit.client.BaseClient;
+import ru.practicum.shareit.client.ServerResponseCache;
 import ru.practicum.shareit.item.dto.ItemDto;
 
+import java.util.List;
 import java.util.Map;
+import java.util.stream.Collectors;
 
 @Slf4j
 @Service
 public class ItemClient extends BaseClient {
     private static final String API_PREFIX = "/items";
 
+    private final ServerResponseCache responseCache;
+
     @Autowired
-    public ItemClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder) {
+    public ItemClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder,
+                      ClientHttpRequestFactory requestFactory, ServerResponseCache responseCache) {
         super(
                 builder
                         .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
-                        .requestFactory(() -> new HttpComponentsClientHttpRequestFactory())
+                        .requestFactory(() -> requestFactory)
                         .build()
         );
+        this.responseCache = responseCache;
     }
 
     public ResponseEntity<Object> createNewItem(ItemDto itemDto, Long userOwnerId) {
-        return post("", userOwnerId, itemDto);
+        ResponseEntity<Object> response = post("", userOwnerId, itemDto);
+        if (itemDto.getRequestId() != null) {
+            responseCache.evict("/requests/" + itemDto.getRequestId());
+        }
+        return response;
     }
 
     public ResponseEntity<Object> getItemById(Long id, Long userId) {
-        return get("/" + id, userId);
+        return responseCache.get(API_PREFIX + "/" + id, userId, () -> get("/" + id, userId));
+    }
+
+    public ResponseEntity<Object> getItemsByIds(List<Long> ids, Long userId) {
+        Map<String, Object> parameters = Map.of(
+                "ids", ids.stream().map(String::valueOf).collect(Collectors.joining(","))
+        );
+        return get("?ids={ids}", userId, parameters);
     }
 
     public ResponseEntity<Object> getItemsOfUserById(int from, int size, Long userOwnerId) {
@@ -45,11 +63,15 @@ public class ItemClient extends BaseClient {
     }
 
     public ResponseEntity<Object> deleteItemOfUserById(Long id, Long userOwnerId) {
-        return delete("/" + id, userOwnerId);
+        ResponseEntity<Object> response = delete("/" + id, userOwnerId);
+        evictItem(id);
+        return response;
     }
 
     public ResponseEntity<Object> updateItemOfUserById(Long id, ItemDto itemDto, Long userOwnerId) {
-        return patch("/" + id, userOwnerId, itemDto);
+        ResponseEntity<Object> response = patch("/" + id, userOwnerId, itemDto);
+        evictItem(id);
+        return response;
     }
 
     public ResponseEntity<Object> findItemsOfUser(int from, int size, String searchText, Long userId) {
@@ -61,4 +83,12 @@ public class ItemClient extends BaseClient {
 
         return get("/search?text={text}&from={from}&size={size}", userId, parameters);
     }
-}
\ No newline at end of file
+
+    /**
+     * Вещь входит в ответ на запрос, к которому она создана, поэтому сбрасываются и все /requests/{id}.
+     */
+    private void evictItem(Long id) {
+        responseCache.evict(API_PREFIX + "/" + id);
+        responseCache.evictAll("/requests");
+    }
+}
@@ -1,65 +1,65 @@
 package ru.practicum.shareit.item;
 
-import jakarta.validation.Valid;
-import jakarta.validation.constraints.Positive;
-import jakarta.validation.constraints.PositiveOrZero;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Profile;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
-import org.springframework.web.bind.annotation.*;
+import org.springframework.web.bind.annotation.RestController;
 import ru.practicum.shareit.item.dto.ItemDto;
 
+import java.util.List;
+
 @Slf4j
 @Validated
 @RestController
+@Profile("!reactive")
 @RequiredArgsConstructor
-@RequestMapping("/items")
-public class ItemController {
+public class ItemController implements ItemApi<ResponseEntity<Object>> {
     private final ItemClient itemClient;
-    private static final String USER_ID_HEADER = "X-Sharer-User-Id";
 
-    @GetMapping
-    public ResponseEntity<Object> getItemsOfUser(
-            @RequestParam(defaultValue = "0", required = false) @PositiveOrZero int from,
-            @RequestParam(defaultValue = "10", required = false) @Positive int size,
-            @RequestHeader(value = USER_ID_HEADER) Long userId) {
+    @Override
+    public ResponseEntity<Object> getItemsOfUser(int from, int size, Long userId) {
         log.info("Эндпоинт /items. Получен GET запрос по  от пользователя c id {} на получение всех своих вещей.",
                 userId);
         return itemClient.getItemsOfUserById(from, size, userId);
     }
 
-    @GetMapping("/{id}")
-    public ResponseEntity<Object> getItem(@PathVariable Long id,
-                                                   @RequestHeader(value = USER_ID_HEADER) Long userId) {
+    @Override
+    public ResponseEntity<Object> getItem(Long id, Long userId) {
         log.info("Эндпоинт /items/{}. Получен GET запрос от пользователя c id {} на получение вещи с id {}.",
                 id, userId);
 
         return itemClient.getItemById(id, userId);
     }
 
-    @PostMapping
-    public ResponseEntity<Object> createItem(@Valid @RequestBody ItemDto itemDto,
-                                              @RequestHeader(value = USER_ID_HEADER) Long userId) {
+    @Override
+    public ResponseEntity<Object> getItems(List<Long> ids, Long userId) {
+        log.info("Эндпоинт /items. Получен GET запрос от пользователя c id {} на получение вещей с id {}.",
+                userId, ids);
+
+        return itemClient.getItemsByIds(ids, userId);
+    }
+
+    @Override
+    public ResponseEntity<Object> createItem(ItemDto itemDto, Long userId) {
         log.info("Эндпоинт /items. Получен POST запрос от пользователя c id {} на добавление новой вещи {}.",
                 userId, itemDto);
 
         return itemClient.createNewItem(itemDto, userId);
     }
 
-    @PatchMapping("/{id}")
-    public ResponseEntity<?> updateItem(@PathVariable Long id, @RequestBody ItemDto itemDto,
-                                        @RequestHeader(value = USER_ID_HEADER) Long userId) {
+    @Override
+    public ResponseEntity<Object> updateItem(Long id, ItemDto itemDto, Long userId) {
         log.info("Эндпоинт /items/{}. Получен PATCH запрос  от пользователя c id {} на обновление" +
                 " обновление вещи  {}.", id, userId, itemDto);
 
         return itemClient.updateItemOfUserById(id, itemDto, userId);
     }
 
-    @DeleteMapping("/{id}")
-    public ResponseEntity<?> deleteItem(@PathVariable Long id,
-                                        @RequestHeader(value = USER_ID_HEADER) Long userId) {
+    @Override
+    public ResponseEntity<Object> deleteItem(Long id, Long userId) {
         log.info("Эндпоинт /items/{}. Получен DELETE запрос  от пользователя c id {} на удаление вещи с id {}.",
                 id, userId, id);
         itemClient.deleteItemOfUserById(id, userId);
@@ -67,14 +67,10 @@ public class ItemController {
         return new ResponseEntity<>(HttpStatus.OK);
     }
 
-    @GetMapping("/search")
-        public ResponseEntity<Object> searchItem(
-        @RequestParam(defaultValue = "0", required = false) @PositiveOrZero int from,
-        @RequestParam(defaultValue = "10", required = false) @Positive int size,
-        @RequestParam(name = "text") String text,
-        @RequestHeader(value = USER_ID_HEADER) Long userId) {
+    @Override
+    public ResponseEntity<Object> searchItem(int from, int size, String text, Long userId) {
         log.info("Эндпоинт /items/search. Получен GET запрос от пользователя c id {} на получение списка вещей" +
                 " по запросу '{}'.", userId, text);
-            return itemClient.findItemsOfUser(from, size, text, userId);
+        return itemClient.findItemsOfUser(from, size, text, userId);
     }
-}
\ No newline at end of file
+}
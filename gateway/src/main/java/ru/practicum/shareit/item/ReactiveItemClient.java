@@ -0,0 +1,72 @@
+package ru.practicum.shareit.item;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.client.reactive.ClientHttpConnector;
+import org.springframework.stereotype.Service;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+import ru.practicum.shareit.client.ReactiveBaseClient;
+import ru.practicum.shareit.item.dto.ItemDto;
+
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+@Service
+@Profile("reactive")
+public class ReactiveItemClient extends ReactiveBaseClient {
+    private static final String API_PREFIX = "/items";
+
+    public ReactiveItemClient(@Value("${shareit-server.url}") String serverUrl, WebClient.Builder builder,
+                              ClientHttpConnector connector) {
+        super(
+                builder
+                        .baseUrl(serverUrl + API_PREFIX)
+                        .clientConnector(connector)
+                        .build()
+        );
+    }
+
+    public Mono<ResponseEntity<Object>> createNewItem(ItemDto itemDto, Long userOwnerId) {
+        return post("", userOwnerId, itemDto);
+    }
+
+    public Mono<ResponseEntity<Object>> getItemById(Long id, Long userId) {
+        return get("/" + id, userId);
+    }
+
+    public Mono<ResponseEntity<Object>> getItemsByIds(List<Long> ids, Long userId) {
+        Map<String, Object> parameters = Map.of(
+                "ids", ids.stream().map(String::valueOf).collect(Collectors.joining(","))
+        );
+        return get("?ids={ids}", userId, parameters);
+    }
+
+    public Mono<ResponseEntity<Object>> getItemsOfUserById(int from, int size, Long userOwnerId) {
+        Map<String, Object> parameters = Map.of(
+                "from", from,
+                "size", size
+        );
+        return get("?from={from}&size={size}", userOwnerId, parameters);
+    }
+
+    public Mono<ResponseEntity<Object>> deleteItemOfUserById(Long id, Long userOwnerId) {
+        return delete("/" + id, userOwnerId);
+    }
+
+    public Mono<ResponseEntity<Object>> updateItemOfUserById(Long id, ItemDto itemDto, Long userOwnerId) {
+        return patch("/" + id, userOwnerId, itemDto);
+    }
+
+    public Mono<ResponseEntity<Object>> findItemsOfUser(int from, int size, String searchText, Long userId) {
+        Map<String, Object> parameters = Map.of(
+                "text", searchText,
+                "from", from,
+                "size", size
+        );
+
+        return get("/search?text={text}&from={from}&size={size}", userId, parameters);
+    }
+}
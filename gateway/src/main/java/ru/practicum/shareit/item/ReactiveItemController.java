@@ -0,0 +1,76 @@
+package ru.practicum.shareit.item;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Mono;
+import ru.practicum.shareit.item.dto.ItemDto;
+
+import java.util.List;
+
+@Slf4j
+@Validated
+@RestController
+@Profile("reactive")
+@RequiredArgsConstructor
+public class ReactiveItemController implements ItemApi<Mono<ResponseEntity<Object>>> {
+    private final ReactiveItemClient itemClient;
+
+    @Override
+    public Mono<ResponseEntity<Object>> getItemsOfUser(int from, int size, Long userId) {
+        log.info("Эндпоинт /items. Получен GET запрос по  от пользователя c id {} на получение всех своих вещей.",
+                userId);
+        return itemClient.getItemsOfUserById(from, size, userId);
+    }
+
+    @Override
+    public Mono<ResponseEntity<Object>> getItem(Long id, Long userId) {
+        log.info("Эндпоинт /items/{}. Получен GET запрос от пользователя c id {} на получение вещи с id {}.",
+                id, userId);
+
+        return itemClient.getItemById(id, userId);
+    }
+
+    @Override
+    public Mono<ResponseEntity<Object>> getItems(List<Long> ids, Long userId) {
+        log.info("Эндпоинт /items. Получен GET запрос от пользователя c id {} на получение вещей с id {}.",
+                userId, ids);
+
+        return itemClient.getItemsByIds(ids, userId);
+    }
+
+    @Override
+    public Mono<ResponseEntity<Object>> createItem(ItemDto itemDto, Long userId) {
+        log.info("Эндпоинт /items. Получен POST запрос от пользователя c id {} на добавление новой вещи {}.",
+                userId, itemDto);
+
+        return itemClient.createNewItem(itemDto, userId);
+    }
+
+    @Override
+    public Mono<ResponseEntity<Object>> updateItem(Long id, ItemDto itemDto, Long userId) {
+        log.info("Эндпоинт /items/{}. Получен PATCH запрос  от пользователя c id {} на обновление" +
+                " обновление вещи  {}.", id, userId, itemDto);
+
+        return itemClient.updateItemOfUserById(id, itemDto, userId);
+    }
+
+    @Override
+    public Mono<ResponseEntity<Object>> deleteItem(Long id, Long userId) {
+        log.info("Эндпоинт /items/{}. Получен DELETE запрос  от пользователя c id {} на удаление вещи с id {}.",
+                id, userId, id);
+
+        return itemClient.deleteItemOfUserById(id, userId).thenReturn(new ResponseEntity<>(HttpStatus.OK));
+    }
+
+    @Override
+    public Mono<ResponseEntity<Object>> searchItem(int from, int size, String text, Long userId) {
+        log.info("Эндпоинт /items/search. Получен GET запрос от пользователя c id {} на получение списка вещей" +
+                " по запросу '{}'.", userId, text);
+        return itemClient.findItemsOfUser(from, size, text, userId);
+    }
+}
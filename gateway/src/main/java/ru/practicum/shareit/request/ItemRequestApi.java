@@ -0,0 +1,31 @@
+package ru.practicum.shareit.request;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.PositiveOrZero;
+import org.springframework.web.bind.annotation.*;
+import ru.practicum.shareit.request.dto.ItemRequestDto;
+
+/**
+ * Эндпоинты /requests и правила валидации. Реализации: ItemRequestController и ReactiveItemRequestController
+ * (профиль reactive).
+ */
+@RequestMapping(path = "/requests")
+public interface ItemRequestApi<T> {
+    String USER_ID_HEADER = "X-Sharer-User-Id";
+
+    @PostMapping
+    T createRequest(@Valid @RequestBody ItemRequestDto itemRequestDto,
+                    @RequestHeader(value = USER_ID_HEADER) @Positive Long userId);
+
+    @GetMapping
+    T getAllForRequestor(@RequestHeader(value = USER_ID_HEADER) @Positive Long userId);
+
+    @GetMapping("/all")
+    T getAll(@RequestParam(defaultValue = "0", required = false) @PositiveOrZero int from,
+             @RequestParam(defaultValue = "20", required = false) @Positive int size,
+             @RequestHeader(value = USER_ID_HEADER) @Positive Long userId);
+
+    @GetMapping("/{requestId}")
+    T getById(@PathVariable @Positive long requestId, @RequestHeader(value = USER_ID_HEADER) @Positive Long userId);
+}
@@ -1,56 +1,47 @@
 package ru.practicum.shareit.request;
 
-import jakarta.validation.Valid;
-import jakarta.validation.constraints.Positive;
-import jakarta.validation.constraints.PositiveOrZero;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Profile;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
-import org.springframework.web.bind.annotation.*;
+import org.springframework.web.bind.annotation.RestController;
 import ru.practicum.shareit.request.dto.ItemRequestDto;
 
 @Slf4j
 @Validated
 @RestController
+@Profile("!reactive")
 @RequiredArgsConstructor
-@RequestMapping(path = "/requests")
-public class ItemRequestController {
+public class ItemRequestController implements ItemRequestApi<ResponseEntity<Object>> {
 
     private final ItemRequestClient itemRequestClient;
-    private static final String USER_ID_HEADER = "X-Sharer-User-Id";
 
-    @PostMapping
-    public ResponseEntity<Object> createRequest(@Valid @RequestBody ItemRequestDto itemRequestDto,
-                                                @RequestHeader(value = USER_ID_HEADER) @Positive Long userId) {
+    @Override
+    public ResponseEntity<Object> createRequest(ItemRequestDto itemRequestDto, Long userId) {
         log.info("Получен POST запрос по эндпоинту /requests на добавление нового ItemRequest {} от User с ID {}.",
                 itemRequestDto, userId);
         return itemRequestClient.createRequest(itemRequestDto, userId);
     }
 
-    @GetMapping
-    public ResponseEntity<Object> getAllForRequestor(
-            @RequestHeader(value = USER_ID_HEADER) @Positive Long userId) {
+    @Override
+    public ResponseEntity<Object> getAllForRequestor(Long userId) {
         log.info("Получен GET запрос по эндпоинту /requests на получение всех ItemRequest с данными об ответах "
                 + "на них для User с ID {}.", userId);
         return itemRequestClient.getAllForRequestor(userId);
     }
 
-    @GetMapping("/all")
-    public ResponseEntity<Object> getAll(
-            @RequestParam(defaultValue = "0", required = false) @PositiveOrZero int from,
-            @RequestParam(defaultValue = "20", required = false) @Positive int size,
-            @RequestHeader(value = USER_ID_HEADER) @Positive Long userId) {
+    @Override
+    public ResponseEntity<Object> getAll(int from, int size, Long userId) {
         log.info("Получен GET запрос по эндпоинту /requests/all на получение всех ItemRequest для User с ID {}.",
                 userId);
         return itemRequestClient.getAll(from, size, userId);
     }
 
-    @GetMapping("/{requestId}")
-    public ResponseEntity<Object> getById(@PathVariable @Positive long requestId,
-                                          @RequestHeader(value = USER_ID_HEADER) @Positive Long userId) {
+    @Override
+    public ResponseEntity<Object> getById(long requestId, Long userId) {
         log.info("Получен GET запрос по эндпоинту /requests/{} на получение ItemRequest c ID {} для User с ID {}.",
                 requestId, requestId, userId);
         return itemRequestClient.getById(requestId, userId);
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,48 @@
+package ru.practicum.shareit.request;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.ResponseEntity;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Mono;
+import ru.practicum.shareit.request.dto.ItemRequestDto;
+
+@Slf4j
+@Validated
+@RestController
+@Profile("reactive")
+@RequiredArgsConstructor
+public class ReactiveItemRequestController implements ItemRequestApi<Mono<ResponseEntity<Object>>> {
+
+    private final ReactiveItemRequestClient itemRequestClient;
+
+    @Override
+    public Mono<ResponseEntity<Object>> createRequest(ItemRequestDto itemRequestDto, Long userId) {
+        log.info("Получен POST запрос по эндпоинту /requests на добавление нового ItemRequest {} от User с ID {}.",
+                itemRequestDto, userId);
+        return itemRequestClient.createRequest(itemRequestDto, userId);
+    }
+
+    @Override
+    public Mono<ResponseEntity<Object>> getAllForRequestor(Long userId) {
+        log.info("Получен GET запрос по эндпоинту /requests на получение всех ItemRequest с данными об ответах "
+                + "на них для User с ID {}.", userId);
+        return itemRequestClient.getAllForRequestor(userId);
+    }
+
+    @Override
+    public Mono<ResponseEntity<Object>> getAll(int from, int size, Long userId) {
+        log.info("Получен GET запрос по эндпоинту /requests/all на получение всех ItemRequest для User с ID {}.",
+                userId);
+        return itemRequestClient.getAll(from, size, userId);
+    }
+
+    @Override
+    public Mono<ResponseEntity<Object>> getById(long requestId, Long userId) {
+        log.info("Получен GET запрос по эндпоинту /requests/{} на получение ItemRequest c ID {} для User с ID {}.",
+                requestId, requestId, userId);
+        return itemRequestClient.getById(requestId, userId);
+    }
+}
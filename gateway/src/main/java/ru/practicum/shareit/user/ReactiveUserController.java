@@ -0,0 +1,63 @@
+package ru.practicum.shareit.user;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.ResponseEntity;
+import org.springframework.validation.BindingResult;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Mono;
+import ru.practicum.shareit.user.dto.UserDto;
+
+import java.util.List;
+
+@RestController
+@Profile("reactive")
+@Slf4j
+@Validated
+public class ReactiveUserController implements UserApi<Mono<ResponseEntity<Object>>> {
+    private final ReactiveUserClient userClient;
+
+    public ReactiveUserController(ReactiveUserClient userClient) {
+        this.userClient = userClient;
+    }
+
+    @Override
+    public Mono<ResponseEntity<Object>> userCreate(UserDto userDto, BindingResult bindingResult) {
+        if (bindingResult.hasErrors()) {
+            return Mono.just(ResponseEntity.badRequest().body(UserApi.errorMessages(bindingResult)));
+        }
+        log.info("Получен POST запрос по эндпоинту /users на добавление User {}.", userDto);
+        return userClient.createNewUser(userDto);
+    }
+
+    @Override
+    public Mono<ResponseEntity<Object>> getUserById(Long id) {
+        log.info("Получен GET запрос по эндпоинту /users/{} на получение User с ID {}.", id, id);
+        return userClient.getUserById(id);
+    }
+
+    @Override
+    public Mono<ResponseEntity<Object>> geAllUsers() {
+        log.info("Получен GET запрос по эндпоинту /users на получение всех существующих Users.");
+        return userClient.getAllUsers();
+    }
+
+    @Override
+    public Mono<ResponseEntity<Object>> getUsers(List<Long> ids) {
+        log.info("Получен GET запрос по эндпоинту /users на получение Users с ID {}.", ids);
+        return userClient.getUsersByIds(ids);
+    }
+
+    @Override
+    public Mono<ResponseEntity<Object>> deleteUser(Long id) {
+        log.info("Получен DELETE запрос по эндпоинту /users/{} на удаление User с ID {}.", id, id);
+        return userClient.deleteUserById(id);
+    }
+
+    @Override
+    public Mono<ResponseEntity<Object>> updateUser(Long id, UserDto userDto) {
+        log.info("Получен PATCH запрос по эндпоинту /users/{} на одновление данных User с ID {}.", id, id);
+        return userClient.updateUserById(id, userDto);
+    }
+}
@@ -0,0 +1,49 @@
+package ru.practicum.shareit.user;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.Size;
+import org.springframework.validation.BindingResult;
+import org.springframework.validation.FieldError;
+import org.springframework.web.bind.annotation.*;
+import ru.practicum.shareit.user.dto.UserDto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Эндпоинты /users и правила валидации. Реализации: UserController и ReactiveUserController (профиль reactive).
+ */
+@RequestMapping(path = "/users")
+public interface UserApi<T> {
+
+    @PostMapping
+    T userCreate(@Valid @RequestBody UserDto userDto, BindingResult bindingResult);
+
+    @GetMapping("/{id}")
+    T getUserById(@PathVariable @Positive Long id);
+
+    @GetMapping
+    T geAllUsers();
+
+    /**
+     * Несколько пользователей за один запрос: найденные в порядке ids и список id, которых нет.
+     */
+    @GetMapping(params = "ids")
+    T getUsers(@RequestParam @NotEmpty @Size(max = 100) List<@Positive Long> ids);
+
+    @DeleteMapping("/{id}")
+    T deleteUser(@PathVariable @Positive Long id);
+
+    @PatchMapping("/{id}")
+    T updateUser(@PathVariable @Positive Long id, @RequestBody UserDto userDto);
+
+    static List<String> errorMessages(BindingResult bindingResult) {
+        List<String> errors = new ArrayList<>();
+        for (FieldError error : bindingResult.getFieldErrors()) {
+            errors.add(error.getDefaultMessage());
+        }
+        return errors;
+    }
+}
@@ -4,24 +4,33 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.http.ResponseEntity;
-import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.http.client.ClientHttpRequestFactory;
 import org.springframework.stereotype.Service;
 import org.springframework.web.util.DefaultUriBuilderFactory;
 import ru.practicum.shareit.client.BaseClient;
+import ru.practicum.shareit.client.ServerResponseCache;
 import ru.practicum.shareit.user.dto.UserDto;
 
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
 @Service
 @Slf4j
 public class UserClient extends BaseClient {
     private static final String API_PREFIX = "/users";
 
-    public UserClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder) {
+    private final ServerResponseCache responseCache;
+
+    public UserClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder,
+                      ClientHttpRequestFactory requestFactory, ServerResponseCache responseCache) {
         super(
                 builder
                         .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
-                        .requestFactory(() -> new HttpComponentsClientHttpRequestFactory())
+                        .requestFactory(() -> requestFactory)
                         .build()
         );
+        this.responseCache = responseCache;
     }
 
     public ResponseEntity<Object> createNewUser(UserDto userDto) {
@@ -29,18 +38,32 @@ public class UserClient extends BaseClient {
     }
 
     public ResponseEntity<Object> getUserById(Long id) {
-        return get("/" + id);
+        return responseCache.get(API_PREFIX + "/" + id, null, () -> get("/" + id));
     }
 
     public ResponseEntity<Object> getAllUsers() {
         return get("");
     }
 
+    public ResponseEntity<Object> getUsersByIds(List<Long> ids) {
+        Map<String, Object> parameters = Map.of(
+                "ids", ids.stream().map(String::valueOf).collect(Collectors.joining(","))
+        );
+        return get("?ids={ids}", null, parameters);
+    }
+
     public ResponseEntity<Object> deleteUserById(Long id) {
-        return delete("/" + id);
+        ResponseEntity<Object> response = delete("/" + id);
+        // Вместе с пользователем удаляются его вещи, запросы и бронирования.
+        responseCache.clear();
+        return response;
     }
 
     public ResponseEntity<Object> updateUserById(Long id, UserDto userDto) {
-        return patch("/" + id, userDto);
+        ResponseEntity<Object> response = patch("/" + id, userDto);
+        responseCache.evict(API_PREFIX + "/" + id);
+        // Имя пользователя показывается в отзывах к вещам.
+        responseCache.evictAll("/items");
+        return response;
     }
 }
\ No newline at end of file
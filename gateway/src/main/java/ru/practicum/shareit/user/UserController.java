@@ -1,64 +1,62 @@
 package ru.practicum.shareit.user;
 
-import jakarta.validation.Valid;
-import jakarta.validation.constraints.Positive;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Profile;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.BindingResult;
-import org.springframework.validation.FieldError;
 import org.springframework.validation.annotation.Validated;
-import org.springframework.web.bind.annotation.*;
+import org.springframework.web.bind.annotation.RestController;
 import ru.practicum.shareit.user.dto.UserDto;
 
-import java.util.ArrayList;
 import java.util.List;
 
 @RestController
-@RequestMapping(path = "/users")
+@Profile("!reactive")
 @Slf4j
 @Validated
-public class UserController {
+public class UserController implements UserApi<ResponseEntity<Object>> {
     private final UserClient userClient;
 
     public UserController(UserClient userClient) {
         this.userClient = userClient;
     }
 
-    @PostMapping
-    public ResponseEntity<Object> userCreate(@Valid @RequestBody UserDto userDto, BindingResult bindingResult) {
+    @Override
+    public ResponseEntity<Object> userCreate(UserDto userDto, BindingResult bindingResult) {
         if (bindingResult.hasErrors()) {
-            List<String> errors = new ArrayList<>();
-            for (FieldError error : bindingResult.getFieldErrors()) {
-                errors.add(error.getDefaultMessage());
-            }
-
-            return ResponseEntity.badRequest().body(errors);
+            return ResponseEntity.badRequest().body(UserApi.errorMessages(bindingResult));
         }
         log.info("Получен POST запрос по эндпоинту /users на добавление User {}.", userDto);
         return userClient.createNewUser(userDto);
     }
 
-    @GetMapping("/{id}")
-    public ResponseEntity<Object> getUserById(@PathVariable @Positive Long id) {
+    @Override
+    public ResponseEntity<Object> getUserById(Long id) {
         log.info("Получен GET запрос по эндпоинту /users/{} на получение User с ID {}.", id, id);
         return userClient.getUserById(id);
     }
 
-    @GetMapping
+    @Override
     public ResponseEntity<Object> geAllUsers() {
         log.info("Получен GET запрос по эндпоинту /users на получение всех существующих Users.");
         return userClient.getAllUsers();
     }
 
-    @DeleteMapping("/{id}")
-    public ResponseEntity<Object> deleteUser(@PathVariable @Positive Long id) {
+    @Override
+    public ResponseEntity<Object> getUsers(List<Long> ids) {
+        log.info("Получен GET запрос по эндпоинту /users на получение Users с ID {}.", ids);
+        return userClient.getUsersByIds(ids);
+    }
+
+    @Override
+    public ResponseEntity<Object> deleteUser(Long id) {
         log.info("Получен DELETE запрос по эндпоинту /users/{} на удаление User с ID {}.", id, id);
         return userClient.deleteUserById(id);
     }
 
-    @PatchMapping("/{id}")
-    public ResponseEntity<Object> updateUser(@PathVariable @Positive Long id, @RequestBody UserDto userDto) {
+    @Override
+    public ResponseEntity<Object> updateUser(Long id, UserDto userDto) {
         log.info("Получен PATCH запрос по эндпоинту /users/{} на одновление данных User с ID {}.", id, id);
         return userClient.updateUserById(id, userDto);
     }
-}
\ No newline at end of file
+}
@@ -1,5 +1,7 @@
 package ru.practicum.shareit.boking;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -8,7 +10,9 @@ import org.mockito.Mockito;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.http.*;
+import org.springframework.http.client.ClientHttpRequestFactory;
 import org.springframework.web.client.RestTemplate;
+import ru.practicum.shareit.client.ServerResponseCache;
 import ru.practicum.shareit.booking.BookingClient;
 import ru.practicum.shareit.booking.Status;
 import ru.practicum.shareit.booking.dto.BookingDto;
@@ -34,6 +38,11 @@ class BookingClientTest {
     @Mock
     private RestTemplate restTemplate;
 
+    @Mock
+    private ClientHttpRequestFactory requestFactory;
+
+    private final ObjectMapper mapper = new ObjectMapper().findAndRegisterModules();
+
     private BookingClient bookingClient;
 
     private BookingRequestDto bookingRequestDto = BookingRequestDto.builder()
@@ -54,18 +63,18 @@ class BookingClientTest {
         when(builder.uriTemplateHandler(any())).thenReturn(builder);
         when(builder.requestFactory(any(Supplier.class))).thenReturn(builder);
         when(builder.build()).thenReturn(restTemplate);
-        bookingClient = new BookingClient("", builder);
+        bookingClient = new BookingClient("", builder, requestFactory, ServerResponseCache.disabled());
     }
 
     @Test
     void testPostBooking() {
         Mockito
                 .when(restTemplate.exchange("", HttpMethod.POST, new HttpEntity<>(bookingRequestDto,
-                        defaultHeaders(1L)), Object.class))
-                .thenReturn(ResponseEntity.ok(bookingDto));
+                        defaultHeaders(1L)), byte[].class))
+                .thenReturn(ResponseEntity.ok(json(bookingDto)));
         ResponseEntity<Object> response = bookingClient.bookItem(1L, bookingRequestDto);
         assertThat(response.getStatusCode(), equalTo(HttpStatus.OK));
-        assertThat(response.getBody(), equalTo(bookingDto));
+        assertThat(response.getBody(), equalTo(json(bookingDto)));
     }
 
     @Test
@@ -80,48 +89,97 @@ class BookingClientTest {
         Mockito
                 .when(restTemplate.exchange("?state={state}&from={from}&size={size}",
                         HttpMethod.GET, new HttpEntity<>(null,
-                                defaultHeaders(1L)), Object.class, parameters))
-                .thenReturn(ResponseEntity.ok(bookings));
+                                defaultHeaders(1L)), byte[].class, parameters))
+                .thenReturn(ResponseEntity.ok(json(bookings)));
         ResponseEntity<Object> response = bookingClient.getBookings(1L, BookingState.WAITING, 0, 10);
         assertThat(response.getStatusCode(), equalTo(HttpStatus.OK));
-        assertThat(response.getBody(), equalTo(bookings));
+        assertThat(response.getBody(), equalTo(json(bookings)));
     }
 
     @Test
     void testGetBooking() {
         Mockito
                 .when(restTemplate.exchange("/2", HttpMethod.GET, new HttpEntity<>(null,
-                        defaultHeaders(1L)), Object.class))
-                .thenReturn(ResponseEntity.ok(bookingDto));
+                        defaultHeaders(1L)), byte[].class))
+                .thenReturn(ResponseEntity.ok(json(bookingDto)));
         ResponseEntity<Object> response = bookingClient.getBooking(1L, 2L);
         assertThat(response.getStatusCode(), equalTo(HttpStatus.OK));
-        assertThat(response.getBody(), equalTo(bookingDto));
+        assertThat(response.getBody(), equalTo(json(bookingDto)));
+    }
+
+    @Test
+    void testGetFreeIntervals() {
+        LocalDateTime start = LocalDateTime.of(2030, 1, 1, 0, 0);
+        LocalDateTime end = start.plusDays(10);
+        Map<String, Object> parameters = Map.of(
+                "itemId", 2L,
+                "start", start,
+                "end", end
+        );
+        List<Map<String, String>> intervals = List.of(Map.of("start", "2030-01-02T00:00:00",
+                "end", "2030-01-04T00:00:00"));
+        Mockito
+                .when(restTemplate.exchange("/availability?itemId={itemId}&start={start}&end={end}",
+                        HttpMethod.GET, new HttpEntity<>(null, defaultHeaders(1L)), byte[].class, parameters))
+                .thenReturn(ResponseEntity.ok(json(intervals)));
+        ResponseEntity<Object> response = bookingClient.getFreeIntervals(1L, 2L, start, end);
+        assertThat(response.getStatusCode(), equalTo(HttpStatus.OK));
+        assertThat(response.getBody(), equalTo(json(intervals)));
     }
 
     @Test
     void testAcceptBooking() {
         Mockito
                 .when(restTemplate.exchange("/2?approved=true", HttpMethod.PATCH, new HttpEntity<>(null,
-                        defaultHeaders(1L)), Object.class))
-                .thenReturn(ResponseEntity.ok(bookingDto));
+                        defaultHeaders(1L)), byte[].class))
+                .thenReturn(ResponseEntity.ok(json(bookingDto)));
         ResponseEntity<Object> response = bookingClient.acceptBooking(1L, true, 2L);
         assertThat(response.getStatusCode(), equalTo(HttpStatus.OK));
-        assertThat(response.getBody(), equalTo(bookingDto));
+        assertThat(response.getBody(), equalTo(json(bookingDto)));
     }
 
     @Test
     void findOwnerBookings() {
         Map<String, Object> parameters = Map.of(
-                "state", BookingState.WAITING.name()
+                "state", BookingState.WAITING.name(),
+                "from", 0,
+                "size", 10
         );
         List<BookingDto> bookings = List.of(bookingDto);
         Mockito
-                .when(restTemplate.exchange("/owner?state={state}", HttpMethod.GET, new HttpEntity<>(null,
-                        defaultHeaders(1L)), Object.class, parameters))
-                .thenReturn(ResponseEntity.ok(bookings));
-        ResponseEntity<Object> response = bookingClient.findOwnerBookings(1L, BookingState.WAITING);
+                .when(restTemplate.exchange("/owner?state={state}&from={from}&size={size}", HttpMethod.GET,
+                        new HttpEntity<>(null, defaultHeaders(1L)), byte[].class, parameters))
+                .thenReturn(ResponseEntity.ok(json(bookings)));
+        ResponseEntity<Object> response = bookingClient.findOwnerBookings(1L, BookingState.WAITING, 0, 10);
         assertThat(response.getStatusCode(), equalTo(HttpStatus.OK));
-        assertThat(response.getBody(), equalTo(bookings));
+        assertThat(response.getBody(), equalTo(json(bookings)));
+    }
+
+    @Test
+    void findOwnerBookingsAfterCursor() {
+        LocalDateTime afterStart = LocalDateTime.of(2030, 1, 1, 10, 0);
+        Map<String, Object> parameters = Map.of(
+                "state", BookingState.ALL.name(),
+                "afterStart", afterStart,
+                "afterId", 7L,
+                "size", 10
+        );
+        List<BookingDto> bookings = List.of(bookingDto);
+        Mockito
+                .when(restTemplate.exchange("/owner?state={state}&afterStart={afterStart}&afterId={afterId}&size={size}",
+                        HttpMethod.GET, new HttpEntity<>(null, defaultHeaders(1L)), byte[].class, parameters))
+                .thenReturn(ResponseEntity.ok(json(bookings)));
+        ResponseEntity<Object> response = bookingClient.findOwnerBookings(1L, BookingState.ALL, afterStart, 7L, 10);
+        assertThat(response.getStatusCode(), equalTo(HttpStatus.OK));
+        assertThat(response.getBody(), equalTo(json(bookings)));
+    }
+
+    private byte[] json(Object value) {
+        try {
+            return mapper.writeValueAsBytes(value);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException(e);
+        }
     }
 
     private HttpHeaders defaultHeaders(Long userId) {
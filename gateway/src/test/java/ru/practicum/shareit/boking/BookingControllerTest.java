@@ -18,11 +18,13 @@ import ru.practicum.shareit.booking.dto.BookingState;
 import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
 
 import static org.hamcrest.Matchers.is;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
@@ -95,6 +97,25 @@ class BookingControllerTest {
                 .andExpect(jsonPath("$.status", is(bookingDto.getStatus().toString())));
     }
 
+    @Test
+    void findFreeIntervals() throws Exception {
+        LocalDateTime start = LocalDateTime.of(2030, 1, 1, 0, 0);
+        LocalDateTime end = start.plusDays(10);
+        when(bookingClient.getFreeIntervals(1L, 2L, start, end))
+                .thenReturn(ResponseEntity.ok(List.of(Map.of("start", "2030-01-02T00:00:00",
+                        "end", "2030-01-04T00:00:00"))));
+
+        mvc.perform(get("/bookings/availability")
+                        .param("itemId", "2")
+                        .param("start", "2030-01-01T00:00:00")
+                        .param("end", "2030-01-11T00:00:00")
+                        .header("X-Sharer-User-Id", 1L)
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].start", is("2030-01-02T00:00:00")))
+                .andExpect(jsonPath("$[0].end", is("2030-01-04T00:00:00")));
+    }
+
     @Test
     void findBookings() throws Exception {
         when(bookingClient.getBookings(1L, BookingState.ALL, 0, 10))
@@ -112,7 +133,7 @@ class BookingControllerTest {
 
     @Test
     void findOwnerBookings() throws Exception {
-        when(bookingClient.findOwnerBookings(1L, BookingState.ALL))
+        when(bookingClient.findOwnerBookings(1L, BookingState.ALL, 0, 10))
                 .thenReturn(ResponseEntity.ok(List.of(bookingDto)));
 
         mvc.perform(get("/bookings/owner")
@@ -124,4 +145,19 @@ class BookingControllerTest {
                 .andExpect(jsonPath("$[0].id", is(bookingDto.getId()), Long.class))
                 .andExpect(jsonPath("$[0].status", is(bookingDto.getStatus().toString())));
     }
-}
\ No newline at end of file
+
+    @Test
+    void findBookingsRelaysServerBytes() throws Exception {
+        byte[] serverBody = mapper.writeValueAsBytes(List.of(bookingDto));
+        when(bookingClient.getBookings(1L, BookingState.ALL, 0, 10))
+                .thenReturn(ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(serverBody));
+
+        mvc.perform(get("/bookings")
+                        .header("X-Sharer-User-Id", 1L)
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andExpect(content().bytes(serverBody))
+                .andExpect(jsonPath("$[0].id", is(bookingDto.getId()), Long.class));
+    }
+}
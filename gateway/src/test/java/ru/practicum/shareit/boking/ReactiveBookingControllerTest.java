@@ -0,0 +1,88 @@
+package ru.practicum.shareit.boking;
+
+import jakarta.servlet.ServletException;
+import jakarta.validation.ConstraintViolationException;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import reactor.core.publisher.Mono;
+import ru.practicum.shareit.booking.BookingController;
+import ru.practicum.shareit.booking.ReactiveBookingClient;
+import ru.practicum.shareit.booking.ReactiveBookingController;
+import ru.practicum.shareit.booking.dto.BookingState;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.instanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@ActiveProfiles("reactive")
+@WebMvcTest(controllers = {BookingController.class, ReactiveBookingController.class})
+class ReactiveBookingControllerTest {
+    @MockBean
+    ReactiveBookingClient bookingClient;
+
+    @Autowired
+    private MockMvc mvc;
+
+    @Test
+    void findBookingsRelaysServerResponseAsynchronously() throws Exception {
+        byte[] body = "[{\"id\":1,\"status\":\"WAITING\"}]".getBytes(StandardCharsets.UTF_8);
+        when(bookingClient.getBookings(1L, BookingState.ALL, 0, 10))
+                .thenReturn(Mono.just(ResponseEntity.status(HttpStatus.OK)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .body(body)));
+
+        MvcResult result = mvc.perform(get("/bookings")
+                        .header("X-Sharer-User-Id", 1L)
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andExpect(content().bytes(body));
+    }
+
+    @Test
+    void serverErrorStatusIsRelayed() throws Exception {
+        when(bookingClient.getBooking(1L, 99L))
+                .thenReturn(Mono.just(ResponseEntity.status(HttpStatus.NOT_FOUND).build()));
+
+        MvcResult result = mvc.perform(get("/bookings/99").header("X-Sharer-User-Id", 1L))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mvc.perform(asyncDispatch(result)).andExpect(status().isNotFound());
+    }
+
+    @Test
+    void invalidPageIsRejectedBeforeCallingServer() throws Exception {
+        ServletException exception = assertThrows(ServletException.class,
+                () -> mvc.perform(get("/bookings/owner?size=0").header("X-Sharer-User-Id", 1L)));
+
+        assertThat(exception.getCause(), instanceOf(ConstraintViolationException.class));
+
+        verify(bookingClient, never()).findOwnerBookings(anyLong(), any(BookingState.class), anyInt(), anyInt());
+    }
+}
@@ -1,5 +1,7 @@
 package ru.practicum.shareit.client;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -7,15 +9,29 @@ import org.mockito.Mock;
 import org.mockito.Mockito;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.http.*;
+import org.springframework.web.client.HttpClientErrorException;
 import org.springframework.web.client.HttpStatusCodeException;
+import org.springframework.web.client.ResourceAccessException;
 import org.springframework.web.client.RestTemplate;
 import ru.practicum.shareit.user.dto.UserDto;
 
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.instanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 
 @ExtendWith(MockitoExtension.class)
 class BaseClientTest {
@@ -23,6 +39,8 @@ class BaseClientTest {
     @Mock
     private RestTemplate restTemplate;
 
+    private final ObjectMapper mapper = new ObjectMapper().findAndRegisterModules();
+
     private BaseClient baseClient;
 
     private UserDto userDto = UserDto.builder()
@@ -40,24 +58,24 @@ class BaseClientTest {
     void testGetOne() {
         Mockito
                 .when(restTemplate.exchange("/", HttpMethod.GET, new HttpEntity<>(null,
-                        defaultHeaders(null)), Object.class))
-                .thenReturn(ResponseEntity.ok(userDto));
+                        defaultHeaders(null)), byte[].class))
+                .thenReturn(ResponseEntity.ok(json(userDto)));
 
         ResponseEntity<Object> response = baseClient.get("/");
         assertThat(response.getStatusCode(), equalTo(HttpStatus.OK));
-        assertThat(response.getBody(), equalTo(userDto));
+        assertThat(response.getBody(), equalTo(json(userDto)));
     }
 
     @Test
     void testGetTwo() {
         Mockito
                 .when(restTemplate.exchange("/", HttpMethod.GET, new HttpEntity<>(null,
-                        defaultHeaders(1L)), Object.class))
-                .thenReturn(ResponseEntity.ok(userDto));
+                        defaultHeaders(1L)), byte[].class))
+                .thenReturn(ResponseEntity.ok(json(userDto)));
 
         ResponseEntity<Object> response = baseClient.get("/", 1L);
         assertThat(response.getStatusCode(), equalTo(HttpStatus.OK));
-        assertThat(response.getBody(), equalTo(userDto));
+        assertThat(response.getBody(), equalTo(json(userDto)));
     }
 
     @Test
@@ -65,12 +83,12 @@ class BaseClientTest {
         Map<String, Object> params = Map.of("State", "All");
         Mockito
                 .when(restTemplate.exchange("/", HttpMethod.GET, new HttpEntity<>(null,
-                        defaultHeaders(1L)), Object.class, params))
-                .thenReturn(ResponseEntity.ok(userDto));
+                        defaultHeaders(1L)), byte[].class, params))
+                .thenReturn(ResponseEntity.ok(json(userDto)));
 
         ResponseEntity<Object> response = baseClient.get("/", 1L, params);
         assertThat(response.getStatusCode(), equalTo(HttpStatus.OK));
-        assertThat(response.getBody(), equalTo(userDto));
+        assertThat(response.getBody(), equalTo(json(userDto)));
     }
 
     @Test
@@ -78,7 +96,7 @@ class BaseClientTest {
         Map<String, Object> params = Map.of("State", "All");
         Mockito
                 .when(restTemplate.exchange("/", HttpMethod.GET, new HttpEntity<>(null,
-                        defaultHeaders(1L)), Object.class, params))
+                        defaultHeaders(1L)), byte[].class, params))
                 .thenThrow(new HttpStatusCodeException(HttpStatus.INTERNAL_SERVER_ERROR) {
                     @Override
                     public HttpStatusCode getStatusCode() {
@@ -94,7 +112,7 @@ class BaseClientTest {
     void testGetNotOk() {
         Mockito
                 .when(restTemplate.exchange("/", HttpMethod.GET, new HttpEntity<>(null,
-                        defaultHeaders(null)), Object.class))
+                        defaultHeaders(null)), byte[].class))
                 .thenReturn(ResponseEntity.badRequest().build());
 
         ResponseEntity<Object> response = baseClient.get("/");
@@ -105,100 +123,263 @@ class BaseClientTest {
     void testGetNotOkWithBody() {
         Mockito
                 .when(restTemplate.exchange("/", HttpMethod.GET, new HttpEntity<>(null,
-                        defaultHeaders(null)), Object.class))
-                .thenReturn(ResponseEntity.badRequest().body(userDto));
+                        defaultHeaders(null)), byte[].class))
+                .thenReturn(ResponseEntity.badRequest().body(json(userDto)));
 
         ResponseEntity<Object> response = baseClient.get("/");
         assertThat(response.getStatusCode(), equalTo(HttpStatus.BAD_REQUEST));
-        assertThat(response.getBody(), equalTo(userDto));
+        assertThat(response.getBody(), equalTo(json(userDto)));
+    }
+
+    @Test
+    void testGetRelaysHeadersWithoutHopByHop() {
+        HttpHeaders serverHeaders = new HttpHeaders();
+        serverHeaders.setContentType(MediaType.APPLICATION_JSON);
+        serverHeaders.set(HttpHeaders.TRANSFER_ENCODING, "chunked");
+        serverHeaders.set(HttpHeaders.CONNECTION, "keep-alive");
+        serverHeaders.set("X-Total-Count", "1");
+        Mockito
+                .when(restTemplate.exchange("/", HttpMethod.GET, new HttpEntity<>(null,
+                        defaultHeaders(null)), byte[].class))
+                .thenReturn(new ResponseEntity<>(json(userDto), serverHeaders, HttpStatus.OK));
+
+        ResponseEntity<Object> response = baseClient.get("/");
+        assertThat(response.getHeaders().getContentType(), equalTo(MediaType.APPLICATION_JSON));
+        assertThat(response.getHeaders().getFirst("X-Total-Count"), equalTo("1"));
+        assertThat(response.getHeaders().containsKey(HttpHeaders.TRANSFER_ENCODING), equalTo(false));
+        assertThat(response.getHeaders().containsKey(HttpHeaders.CONNECTION), equalTo(false));
+        assertThat(response.getBody(), equalTo(json(userDto)));
+    }
+
+    @Test
+    void testGetRelaysErrorBody() {
+        byte[] error = "{\"error\":\"Вещь не найдена\"}".getBytes(StandardCharsets.UTF_8);
+        HttpHeaders serverHeaders = new HttpHeaders();
+        serverHeaders.setContentType(MediaType.APPLICATION_JSON);
+        Mockito
+                .when(restTemplate.exchange("/", HttpMethod.GET, new HttpEntity<>(null,
+                        defaultHeaders(null)), byte[].class))
+                .thenThrow(HttpClientErrorException.create(HttpStatus.NOT_FOUND, "Not Found", serverHeaders, error,
+                        StandardCharsets.UTF_8));
+
+        ResponseEntity<Object> response = baseClient.get("/");
+        assertThat(response.getStatusCode(), equalTo(HttpStatus.NOT_FOUND));
+        assertThat(response.getHeaders().getContentType(), equalTo(MediaType.APPLICATION_JSON));
+        assertThat(response.getBody(), equalTo(error));
     }
 
     @Test
     void testPostOne() {
         Mockito
                 .when(restTemplate.exchange("/", HttpMethod.POST, new HttpEntity<>(userDto,
-                        defaultHeaders(null)), Object.class))
-                .thenReturn(ResponseEntity.ok(userDto));
+                        defaultHeaders(null)), byte[].class))
+                .thenReturn(ResponseEntity.ok(json(userDto)));
         ResponseEntity<Object> response = baseClient.post("/", userDto);
         assertThat(response.getStatusCode(), equalTo(HttpStatus.OK));
-        assertThat(response.getBody(), equalTo(userDto));
+        assertThat(response.getBody(), equalTo(json(userDto)));
     }
 
     @Test
     void testPostTwo() {
         Mockito
                 .when(restTemplate.exchange("/", HttpMethod.POST, new HttpEntity<>(userDto,
-                        defaultHeaders(1L)), Object.class))
-                .thenReturn(ResponseEntity.ok(userDto));
+                        defaultHeaders(1L)), byte[].class))
+                .thenReturn(ResponseEntity.ok(json(userDto)));
         ResponseEntity<Object> response = baseClient.post("/", 1L, userDto);
         assertThat(response.getStatusCode(), equalTo(HttpStatus.OK));
-        assertThat(response.getBody(), equalTo(userDto));
+        assertThat(response.getBody(), equalTo(json(userDto)));
     }
 
     @Test
     void testPut() {
         Mockito
                 .when(restTemplate.exchange("/", HttpMethod.PUT, new HttpEntity<>(userDto,
-                        defaultHeaders(1L)), Object.class))
-                .thenReturn(ResponseEntity.ok(userDto));
+                        defaultHeaders(1L)), byte[].class))
+                .thenReturn(ResponseEntity.ok(json(userDto)));
         ResponseEntity<Object> response = baseClient.put("/", 1L, userDto);
         assertThat(response.getStatusCode(), equalTo(HttpStatus.OK));
-        assertThat(response.getBody(), equalTo(userDto));
+        assertThat(response.getBody(), equalTo(json(userDto)));
     }
 
     @Test
     void testPatchOne() {
         Mockito
                 .when(restTemplate.exchange("/", HttpMethod.PATCH, new HttpEntity<>(userDto,
-                        defaultHeaders(null)), Object.class))
-                .thenReturn(ResponseEntity.ok(userDto));
+                        defaultHeaders(null)), byte[].class))
+                .thenReturn(ResponseEntity.ok(json(userDto)));
         ResponseEntity<Object> response = baseClient.patch("/", userDto);
         assertThat(response.getStatusCode(), equalTo(HttpStatus.OK));
-        assertThat(response.getBody(), equalTo(userDto));
+        assertThat(response.getBody(), equalTo(json(userDto)));
     }
 
     @Test
     void testPatchTwo() {
         Mockito
                 .when(restTemplate.exchange("/", HttpMethod.PATCH, new HttpEntity<>(null,
-                        defaultHeaders(1L)), Object.class))
-                .thenReturn(ResponseEntity.ok(userDto));
+                        defaultHeaders(1L)), byte[].class))
+                .thenReturn(ResponseEntity.ok(json(userDto)));
         ResponseEntity<Object> response = baseClient.patch("/", 1L);
         assertThat(response.getStatusCode(), equalTo(HttpStatus.OK));
-        assertThat(response.getBody(), equalTo(userDto));
+        assertThat(response.getBody(), equalTo(json(userDto)));
     }
 
     @Test
     void testPatchThree() {
         Mockito
                 .when(restTemplate.exchange("/", HttpMethod.PATCH, new HttpEntity<>(userDto,
-                        defaultHeaders(1L)), Object.class))
-                .thenReturn(ResponseEntity.ok(userDto));
+                        defaultHeaders(1L)), byte[].class))
+                .thenReturn(ResponseEntity.ok(json(userDto)));
         ResponseEntity<Object> response = baseClient.patch("/", 1L, userDto);
         assertThat(response.getStatusCode(), equalTo(HttpStatus.OK));
-        assertThat(response.getBody(), equalTo(userDto));
+        assertThat(response.getBody(), equalTo(json(userDto)));
     }
 
     @Test
     void testDeleteOne() {
         Mockito
                 .when(restTemplate.exchange("/", HttpMethod.DELETE, new HttpEntity<>(null,
-                        defaultHeaders(null)), Object.class))
-                .thenReturn(ResponseEntity.ok(userDto));
+                        defaultHeaders(null)), byte[].class))
+                .thenReturn(ResponseEntity.ok(json(userDto)));
         ResponseEntity<Object> response = baseClient.delete("/");
         assertThat(response.getStatusCode(), equalTo(HttpStatus.OK));
-        assertThat(response.getBody(), equalTo(userDto));
+        assertThat(response.getBody(), equalTo(json(userDto)));
     }
 
     @Test
     void testDeleteTwo() {
         Mockito
                 .when(restTemplate.exchange("/", HttpMethod.DELETE, new HttpEntity<>(null,
-                        defaultHeaders(1L)), Object.class))
-                .thenReturn(ResponseEntity.ok(userDto));
+                        defaultHeaders(1L)), byte[].class))
+                .thenReturn(ResponseEntity.ok(json(userDto)));
         ResponseEntity<Object> response = baseClient.delete("/", 1L);
         assertThat(response.getStatusCode(), equalTo(HttpStatus.OK));
-        assertThat(response.getBody(), equalTo(userDto));
+        assertThat(response.getBody(), equalTo(json(userDto)));
+    }
+
+    @Test
+    void concurrentIdenticalGetsShareOneServerCall() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger calls = new AtomicInteger();
+        Mockito
+                .when(restTemplate.exchange("/1", HttpMethod.GET, new HttpEntity<>(null, defaultHeaders(1L)),
+                        byte[].class))
+                .thenAnswer(invocation -> {
+                    calls.incrementAndGet();
+                    started.countDown();
+                    release.await(5, TimeUnit.SECONDS);
+                    return ResponseEntity.ok(json(userDto));
+                });
+
+        try (ExecutorService executor = Executors.newFixedThreadPool(4)) {
+            Future<ResponseEntity<Object>> leader = executor.submit(() -> baseClient.get("/1", 1L));
+            assertThat(started.await(5, TimeUnit.SECONDS), equalTo(true));
+            List<Thread> followers = new CopyOnWriteArrayList<>();
+            List<Future<ResponseEntity<Object>>> responses = new ArrayList<>();
+            for (int i = 0; i < 3; i++) {
+                responses.add(executor.submit(() -> {
+                    followers.add(Thread.currentThread());
+                    return baseClient.get("/1", 1L);
+                }));
+            }
+            awaitWaiting(followers, 3);
+            release.countDown();
+
+            assertThat(leader.get(5, TimeUnit.SECONDS).getBody(), equalTo(json(userDto)));
+            for (Future<ResponseEntity<Object>> response : responses) {
+                assertThat(response.get(5, TimeUnit.SECONDS).getBody(), equalTo(json(userDto)));
+            }
+        }
+        assertThat(calls.get(), equalTo(1));
+    }
+
+    @Test
+    void getStartedBeforeCompletedWriteIsNotJoined() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger calls = new AtomicInteger();
+        Mockito
+                .when(restTemplate.exchange("/1", HttpMethod.GET, new HttpEntity<>(null, defaultHeaders(1L)),
+                        byte[].class))
+                .thenAnswer(invocation -> {
+                    if (calls.incrementAndGet() == 1) {
+                        started.countDown();
+                        release.await(5, TimeUnit.SECONDS);
+                    }
+                    return ResponseEntity.ok(json(userDto));
+                });
+        Mockito
+                .when(restTemplate.exchange("/1", HttpMethod.PATCH, new HttpEntity<>(userDto, defaultHeaders(1L)),
+                        byte[].class))
+                .thenReturn(ResponseEntity.ok(json(userDto)));
+
+        try (ExecutorService executor = Executors.newSingleThreadExecutor()) {
+            Future<ResponseEntity<Object>> stale = executor.submit(() -> baseClient.get("/1", 1L));
+            assertThat(started.await(5, TimeUnit.SECONDS), equalTo(true));
+
+            baseClient.patch("/1", 1L, userDto);
+            baseClient.get("/1", 1L);
+            assertThat(calls.get(), equalTo(2));
+
+            release.countDown();
+            stale.get(5, TimeUnit.SECONDS);
+        }
+    }
+
+    @Test
+    void serverErrorIsRethrownToJoinedGets() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        Mockito
+                .when(restTemplate.exchange("/1", HttpMethod.GET, new HttpEntity<>(null, defaultHeaders(1L)),
+                        byte[].class))
+                .thenAnswer(invocation -> {
+                    started.countDown();
+                    release.await(5, TimeUnit.SECONDS);
+                    throw new ResourceAccessException("Connection refused");
+                });
+
+        try (ExecutorService executor = Executors.newFixedThreadPool(2)) {
+            Future<ResponseEntity<Object>> leader = executor.submit(() -> baseClient.get("/1", 1L));
+            assertThat(started.await(5, TimeUnit.SECONDS), equalTo(true));
+            List<Thread> followers = new CopyOnWriteArrayList<>();
+            Future<ResponseEntity<Object>> follower = executor.submit(() -> {
+                followers.add(Thread.currentThread());
+                return baseClient.get("/1", 1L);
+            });
+            awaitWaiting(followers, 1);
+            release.countDown();
+
+            ExecutionException leaderError = assertThrows(ExecutionException.class,
+                    () -> leader.get(5, TimeUnit.SECONDS));
+            ExecutionException followerError = assertThrows(ExecutionException.class,
+                    () -> follower.get(5, TimeUnit.SECONDS));
+            assertThat(leaderError.getCause(), instanceOf(ResourceAccessException.class));
+            assertThat(followerError.getCause(), instanceOf(ResourceAccessException.class));
+        }
+    }
+
+    /**
+     * Ждёт, пока присоединившиеся GET не заблокируются в ожидании ответа ведущего запроса.
+     */
+    private static void awaitWaiting(List<Thread> threads, int count) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (System.nanoTime() < deadline) {
+            List<Thread> snapshot = List.copyOf(threads);
+            if (snapshot.size() == count && snapshot.stream().allMatch(t -> t.getState() == Thread.State.WAITING)) {
+                return;
+            }
+            Thread.sleep(10);
+        }
+        throw new AssertionError("GET не присоединились к выполняющемуся запросу");
+    }
+
+    private byte[] json(Object value) {
+        try {
+            return mapper.writeValueAsBytes(value);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException(e);
+        }
     }
 
     private HttpHeaders defaultHeaders(Long userId) {
@@ -0,0 +1,72 @@
+package ru.practicum.shareit.client;
+
+import org.apache.hc.core5.http.ConnectionRequestTimeoutException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.client.ClientHttpRequest;
+import org.springframework.http.client.ClientHttpRequestFactory;
+import org.springframework.http.client.ClientHttpResponse;
+
+import java.io.IOException;
+import java.net.ConnectException;
+import java.net.URI;
+import java.time.Duration;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class BoundedClientHttpRequestFactoryTest {
+    private static final URI URI_ITEMS = URI.create("http://localhost:9090/items");
+
+    @Mock
+    private ClientHttpRequestFactory delegate;
+
+    @Mock
+    private ClientHttpRequest request;
+
+    @Mock
+    private ClientHttpResponse response;
+
+    private BoundedClientHttpRequestFactory requestFactory;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        requestFactory = new BoundedClientHttpRequestFactory(delegate, 1, Duration.ofMillis(50));
+        when(delegate.createRequest(URI_ITEMS, HttpMethod.GET)).thenReturn(request);
+    }
+
+    @Test
+    void permitIsHeldUntilResponseIsClosed() throws IOException {
+        when(request.execute()).thenReturn(response);
+
+        ClientHttpResponse first = requestFactory.createRequest(URI_ITEMS, HttpMethod.GET).execute();
+        assertThat(requestFactory.getAvailablePermits(), equalTo(0));
+        assertThrows(ConnectionRequestTimeoutException.class,
+                () -> requestFactory.createRequest(URI_ITEMS, HttpMethod.GET).execute());
+
+        first.close();
+        first.close();
+        assertThat(requestFactory.getAvailablePermits(), equalTo(1));
+        verify(response, times(2)).close();
+
+        requestFactory.createRequest(URI_ITEMS, HttpMethod.GET).execute().close();
+        assertThat(requestFactory.getAvailablePermits(), equalTo(1));
+    }
+
+    @Test
+    void permitIsReleasedWhenRequestFails() throws IOException {
+        when(request.execute()).thenThrow(new ConnectException("Connection refused"));
+
+        assertThrows(ConnectException.class, () -> requestFactory.createRequest(URI_ITEMS, HttpMethod.GET).execute());
+        assertThat(requestFactory.getAvailablePermits(), equalTo(1));
+    }
+}
@@ -0,0 +1,80 @@
+package ru.practicum.shareit.client;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.hc.client5.http.HttpRoute;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.core5.http.HttpHost;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationContext;
+import org.springframework.http.client.ClientHttpRequestFactory;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import ru.practicum.shareit.booking.BookingClient;
+import ru.practicum.shareit.item.ItemClient;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.instanceOf;
+import static org.hamcrest.Matchers.notNullValue;
+import static org.hamcrest.Matchers.sameInstance;
+
+@SpringBootTest(properties = {
+        "shareit-server.http-client.max-connections=64",
+        "shareit-server.http-client.max-connections-per-route=32"
+})
+class HttpClientConfigTest {
+    @Autowired
+    private PoolingHttpClientConnectionManager connectionManager;
+
+    @Autowired
+    private CloseableHttpClient httpClient;
+
+    @Autowired
+    private ClientHttpRequestFactory requestFactory;
+
+    @Autowired
+    private ItemClient itemClient;
+
+    @Autowired
+    private BookingClient bookingClient;
+
+    @Autowired
+    private ApplicationContext context;
+
+    @Test
+    void poolUsesConfiguredLimits() {
+        assertThat(connectionManager.getMaxTotal(), equalTo(64));
+        assertThat(connectionManager.getDefaultMaxPerRoute(), equalTo(32));
+        assertThat(connectionManager.getMaxPerRoute(new HttpRoute(new HttpHost("localhost", 9090))), equalTo(32));
+    }
+
+    @Test
+    void clientsShareOneRequestFactory() {
+        assertThat(requestFactory, instanceOf(BoundedClientHttpRequestFactory.class));
+        ClientHttpRequestFactory pooled = ((BoundedClientHttpRequestFactory) requestFactory).getDelegate();
+        assertThat(((HttpComponentsClientHttpRequestFactory) pooled).getHttpClient(), sameInstance(httpClient));
+        assertThat(((BoundedClientHttpRequestFactory) requestFactory).getAvailablePermits(), equalTo(64));
+        assertThat(itemClient.rest.getRequestFactory(), sameInstance(requestFactory));
+        assertThat(bookingClient.rest.getRequestFactory(), sameInstance(requestFactory));
+    }
+
+    @Test
+    void requestLimitIsOffOnPlatformThreads() {
+        assertThat(context.getBeanNamesForType(BoundedVirtualThreadExecutor.class).length, equalTo(0));
+    }
+
+    @Test
+    void poolMetricsAreRegistered() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        new HttpClientConfig().shareItServerConnectionPoolMetrics(connectionManager).bindTo(registry);
+
+        assertThat(registry.find("httpcomponents.httpclient.pool.total.max").gauge().value(), equalTo(64.0));
+        assertThat(registry.find("httpcomponents.httpclient.pool.total.connections").tag("state", "leased")
+                .gauge(), notNullValue());
+        assertThat(registry.find("httpcomponents.httpclient.pool.total.connections").tag("state", "available")
+                .gauge(), notNullValue());
+        assertThat(registry.find("httpcomponents.httpclient.pool.total.pending").gauge(), notNullValue());
+    }
+}
@@ -0,0 +1,87 @@
+package ru.practicum.shareit.client;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.nullValue;
+
+class ReactiveBaseClientTest {
+    private final List<ClientRequest> requests = new ArrayList<>();
+
+    private ClientResponse serverResponse;
+
+    private ReactiveBaseClient baseClient;
+
+    @BeforeEach
+    void setUp() {
+        baseClient = new ReactiveBaseClient(WebClient.builder()
+                .baseUrl("http://shareit-server/users")
+                .exchangeFunction(request -> {
+                    requests.add(request);
+                    return Mono.just(serverResponse);
+                })
+                .build());
+    }
+
+    @Test
+    void getRelaysStatusHeadersAndBody() {
+        serverResponse = ClientResponse.create(HttpStatus.OK)
+                .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                .header(HttpHeaders.CONNECTION, "keep-alive")
+                .body("{\"id\":1}")
+                .build();
+
+        ResponseEntity<Object> response = baseClient.get("?from={from}", 1L, Map.of("from", 0)).block();
+
+        assertThat(requests.get(0).method(), equalTo(HttpMethod.GET));
+        assertThat(requests.get(0).url().toString(), equalTo("http://shareit-server/users?from=0"));
+        assertThat(requests.get(0).headers().getFirst("X-Sharer-User-Id"), equalTo("1"));
+        assertThat(response.getStatusCode(), equalTo(HttpStatus.OK));
+        assertThat(response.getHeaders().getContentType(), equalTo(MediaType.APPLICATION_JSON));
+        assertThat(response.getHeaders().getConnection(), equalTo(List.of()));
+        assertThat(new String((byte[]) response.getBody(), StandardCharsets.UTF_8), equalTo("{\"id\":1}"));
+    }
+
+    @Test
+    void errorStatusIsRelayedWithoutException() {
+        serverResponse = ClientResponse.create(HttpStatus.NOT_FOUND)
+                .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                .body("{\"error\":\"Пользователь не найден\"}")
+                .build();
+
+        ResponseEntity<Object> response = baseClient.delete("/5").block();
+
+        assertThat(requests.get(0).method(), equalTo(HttpMethod.DELETE));
+        assertThat(requests.get(0).headers().containsKey("X-Sharer-User-Id"), equalTo(false));
+        assertThat(response.getStatusCode(), equalTo(HttpStatus.NOT_FOUND));
+        assertThat(new String((byte[]) response.getBody(), StandardCharsets.UTF_8),
+                equalTo("{\"error\":\"Пользователь не найден\"}"));
+    }
+
+    @Test
+    void emptyBodyIsNotRelayed() {
+        serverResponse = ClientResponse.create(HttpStatus.OK).build();
+
+        ResponseEntity<Object> response = baseClient.patch("/1", 2L).block();
+
+        assertThat(requests.get(0).method(), equalTo(HttpMethod.PATCH));
+        assertThat(response.getStatusCode(), equalTo(HttpStatus.OK));
+        assertThat(response.getBody(), nullValue());
+    }
+}
@@ -0,0 +1,94 @@
+package ru.practicum.shareit.client;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+
+class ServerResponseCacheTest {
+    private final AtomicInteger loads = new AtomicInteger();
+
+    private ServerResponseCache cache;
+
+    @BeforeEach
+    void setUp() {
+        cache = new ServerResponseCache(new ResponseCacheProperties());
+    }
+
+    @Test
+    void successfulResponseIsLoadedOncePerResourceAndUser() {
+        cache.get("/items/1", 1L, load(HttpStatus.OK));
+        cache.get("/items/1", 1L, load(HttpStatus.OK));
+        cache.get("/items/1", 2L, load(HttpStatus.OK));
+
+        assertThat(loads.get(), equalTo(2));
+    }
+
+    @Test
+    void errorResponseIsNotCached() {
+        cache.get("/items/1", 1L, load(HttpStatus.NOT_FOUND));
+        cache.get("/items/1", 1L, load(HttpStatus.NOT_FOUND));
+
+        assertThat(loads.get(), equalTo(2));
+    }
+
+    @Test
+    void evictRemovesResourceForAllUsersOnly() {
+        cache.get("/items/1", 1L, load(HttpStatus.OK));
+        cache.get("/items/1", 2L, load(HttpStatus.OK));
+        cache.get("/items/10", 1L, load(HttpStatus.OK));
+
+        cache.evict("/items/1");
+        cache.get("/items/1", 1L, load(HttpStatus.OK));
+        cache.get("/items/1", 2L, load(HttpStatus.OK));
+        cache.get("/items/10", 1L, load(HttpStatus.OK));
+
+        assertThat(loads.get(), equalTo(5));
+    }
+
+    @Test
+    void evictAllRemovesWholeCollection() {
+        cache.get("/items/1", 1L, load(HttpStatus.OK));
+        cache.get("/users/1", null, load(HttpStatus.OK));
+
+        cache.evictAll("/items");
+        cache.get("/items/1", 1L, load(HttpStatus.OK));
+        cache.get("/users/1", null, load(HttpStatus.OK));
+
+        assertThat(loads.get(), equalTo(3));
+    }
+
+    @Test
+    void responseLoadedDuringEvictionIsNotCached() {
+        cache.get("/items/1", 1L, () -> {
+            cache.evict("/items/1");
+            return load(HttpStatus.OK).get();
+        });
+        cache.get("/items/1", 1L, load(HttpStatus.OK));
+
+        assertThat(loads.get(), equalTo(2));
+    }
+
+    @Test
+    void disabledCacheAlwaysLoads() {
+        ServerResponseCache disabled = ServerResponseCache.disabled();
+
+        disabled.get("/items/1", 1L, load(HttpStatus.OK));
+        disabled.get("/items/1", 1L, load(HttpStatus.OK));
+
+        assertThat(loads.get(), equalTo(2));
+    }
+
+    private Supplier<ResponseEntity<Object>> load(HttpStatus status) {
+        return () -> {
+            loads.incrementAndGet();
+            return ResponseEntity.status(status).build();
+        };
+    }
+}
@@ -0,0 +1,82 @@
+package ru.practicum.shareit.client;
+
+import io.opentelemetry.api.common.AttributeKey;
+import io.opentelemetry.sdk.testing.exporter.InMemorySpanExporter;
+import io.opentelemetry.sdk.trace.SdkTracerProvider;
+import io.opentelemetry.sdk.trace.data.SpanData;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.client.MockRestServiceServer;
+import org.springframework.test.web.servlet.MockMvc;
+import ru.practicum.shareit.user.UserClient;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.hamcrest.Matchers.startsWith;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.header;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.requestTo;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withSuccess;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = {"shareit.tracing.exporter=none", "shareit-server.response-cache.enabled=false"})
+@AutoConfigureMockMvc
+@AutoConfigureObservability
+class TracingConfigTest {
+    private static final String TRACE_ID = "4bf92f3577b34da6a3ce929d0e0e4736";
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private UserClient userClient;
+    @Autowired
+    private InMemorySpanExporter spanExporter;
+    @Autowired
+    private SdkTracerProvider tracerProvider;
+
+    @Test
+    void traceIsPropagatedToServer() throws Exception {
+        MockRestServiceServer server = MockRestServiceServer.bindTo(userClient.rest).build();
+        server.expect(requestTo("http://localhost:9090/users/1"))
+                .andExpect(header("traceparent", startsWith("00-" + TRACE_ID + "-")))
+                .andRespond(withSuccess("{\"id\":1,\"name\":\"Иван\",\"email\":\"ivan@yandex.ru\"}",
+                        MediaType.APPLICATION_JSON));
+
+        mockMvc.perform(get("/users/1")
+                        .header(TracingConfig.USER_ID_HEADER, 1)
+                        .header("traceparent", "00-" + TRACE_ID + "-00f067aa0ba902b7-01"))
+                .andExpect(status().isOk());
+        server.verify();
+        tracerProvider.forceFlush().join(5, TimeUnit.SECONDS);
+
+        List<SpanData> spans = spanExporter.getFinishedSpanItems();
+        SpanData http = spans.stream().filter(span -> span.getName().equals("http get /users/{id}"))
+                .findFirst()
+                .orElseThrow(() -> new AssertionError("Нет входящего спана среди "
+                        + spans.stream().map(SpanData::getName).toList()));
+        SpanData client = spans.stream().filter(span -> span.getName().equals("http get"))
+                .findFirst()
+                .orElseThrow(() -> new AssertionError("Нет спана запроса в server среди "
+                        + spans.stream().map(SpanData::getName).toList()));
+
+        Assertions.assertEquals(TRACE_ID, http.getTraceId());
+        Assertions.assertEquals(http.getSpanId(), client.getParentSpanId());
+        Assertions.assertEquals("1", http.getAttributes().get(AttributeKey.stringKey(TracingConfig.USER_ID)));
+    }
+
+    @TestConfiguration
+    static class InMemoryExporterConfig {
+        @Bean
+        InMemorySpanExporter inMemorySpanExporter() {
+            return InMemorySpanExporter.create();
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package ru.practicum.shareit.client;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.web.embedded.tomcat.TomcatWebServer;
+import org.springframework.boot.web.servlet.context.ServletWebServerApplicationContext;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.sameInstance;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "spring.threads.virtual.enabled=true",
+        "shareit-server.http-client.max-concurrent-requests=2"
+})
+class VirtualThreadsConfigTest {
+    @Autowired
+    private ServletWebServerApplicationContext context;
+
+    @Autowired
+    private BoundedVirtualThreadExecutor executor;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    void tomcatUsesBoundedVirtualThreadExecutor() {
+        TomcatWebServer webServer = (TomcatWebServer) context.getWebServer();
+
+        assertThat(webServer.getTomcat().getConnector().getProtocolHandler().getExecutor(), sameInstance(executor));
+        assertThat(executor.getAvailablePermits(), equalTo(2));
+    }
+
+    @Test
+    void tasksOverLimitWaitForPermit() throws InterruptedException {
+        CountDownLatch running = new CountDownLatch(2);
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch third = new CountDownLatch(1);
+        for (int i = 0; i < 2; i++) {
+            executor.execute(() -> {
+                running.countDown();
+                await(release);
+            });
+        }
+        assertThat(running.await(5, TimeUnit.SECONDS), equalTo(true));
+
+        executor.execute(third::countDown);
+        assertThat(third.await(200, TimeUnit.MILLISECONDS), equalTo(false));
+        assertThat(meterRegistry.get("shareit.gateway.requests.waiting").gauge().value(), equalTo(1.0));
+
+        release.countDown();
+        assertThat(third.await(5, TimeUnit.SECONDS), equalTo(true));
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
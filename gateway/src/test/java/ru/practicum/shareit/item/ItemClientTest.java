@@ -1,5 +1,7 @@
 package ru.practicum.shareit.item;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -8,8 +10,11 @@ import org.mockito.Mockito;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.http.*;
+import org.springframework.http.client.ClientHttpRequestFactory;
 import org.springframework.web.client.RestTemplate;
 import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.client.ResponseCacheProperties;
+import ru.practicum.shareit.client.ServerResponseCache;
 import ru.practicum.shareit.comment.CommentDto;
 import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.user.dto.UserDto;
@@ -17,11 +22,14 @@ import ru.practicum.shareit.user.dto.UserDto;
 import java.time.ZoneId;
 import java.time.ZonedDateTime;
 import java.util.List;
+import java.util.Map;
 import java.util.function.Supplier;
 
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.equalTo;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
@@ -34,6 +42,11 @@ class ItemClientTest {
     @Mock
     private RestTemplate restTemplate;
 
+    @Mock
+    private ClientHttpRequestFactory requestFactory;
+
+    private final ObjectMapper mapper = new ObjectMapper().findAndRegisterModules();
+
     private ItemClient itemClient;
 
     private ItemDto itemDto = ItemDto.builder()
@@ -60,40 +73,86 @@ class ItemClientTest {
         when(builder.uriTemplateHandler(any())).thenReturn(builder);
         when(builder.requestFactory(any(Supplier.class))).thenReturn(builder);
         when(builder.build()).thenReturn(restTemplate);
-        itemClient = new ItemClient("", builder);
+        itemClient = new ItemClient("", builder, requestFactory, new ServerResponseCache(new ResponseCacheProperties()));
     }
 
     @Test
     void testСreateNewItem() {
         Mockito
                 .when(restTemplate.exchange("", HttpMethod.POST, new HttpEntity<>(itemDto,
-                        defaultHeaders(1L)), Object.class))
-                .thenReturn(ResponseEntity.ok(itemDto));
+                        defaultHeaders(1L)), byte[].class))
+                .thenReturn(ResponseEntity.ok(json(itemDto)));
         ResponseEntity<Object> response = itemClient.createNewItem(itemDto, 1L);
         assertThat(response.getStatusCode(), equalTo(HttpStatus.OK));
-        assertThat(response.getBody(), equalTo(itemDto));
+        assertThat(response.getBody(), equalTo(json(itemDto)));
     }
 
     @Test
     void testUpdateItemOfUserById() {
         Mockito
                 .when(restTemplate.exchange("/2", HttpMethod.PATCH, new HttpEntity<>(itemDto,
-                        defaultHeaders(1L)), Object.class))
-                .thenReturn(ResponseEntity.ok(itemDto));
+                        defaultHeaders(1L)), byte[].class))
+                .thenReturn(ResponseEntity.ok(json(itemDto)));
         ResponseEntity<Object> response = itemClient.updateItemOfUserById(2L, itemDto, 1L);
         assertThat(response.getStatusCode(), equalTo(HttpStatus.OK));
-        assertThat(response.getBody(), equalTo(itemDto));
+        assertThat(response.getBody(), equalTo(json(itemDto)));
     }
 
     @Test
     void testGetItemById() {
         Mockito
                 .when(restTemplate.exchange("/2", HttpMethod.GET, new HttpEntity<>(null,
-                        defaultHeaders(1L)), Object.class))
-                .thenReturn(ResponseEntity.ok(itemDto));
+                        defaultHeaders(1L)), byte[].class))
+                .thenReturn(ResponseEntity.ok(json(itemDto)));
         ResponseEntity<Object> response = itemClient.getItemById(2L, 1L);
         assertThat(response.getStatusCode(), equalTo(HttpStatus.OK));
-        assertThat(response.getBody(), equalTo(itemDto));
+        assertThat(response.getBody(), equalTo(json(itemDto)));
+    }
+
+    @Test
+    void getItemsByIdsSendsIdsInOneRequest() {
+        Mockito
+                .when(restTemplate.exchange("?ids={ids}", HttpMethod.GET, new HttpEntity<>(null, defaultHeaders(1L)),
+                        byte[].class, Map.of("ids", "3,1,2")))
+                .thenReturn(ResponseEntity.ok(json(List.of(itemDto))));
+
+        ResponseEntity<Object> response = itemClient.getItemsByIds(List.of(3L, 1L, 2L), 1L);
+
+        assertThat(response.getStatusCode(), equalTo(HttpStatus.OK));
+        assertThat(response.getBody(), equalTo(json(List.of(itemDto))));
+    }
+
+    @Test
+    void getItemByIdIsCachedPerUserUntilUpdate() {
+        HttpEntity<Object> asOwner = new HttpEntity<>(null, defaultHeaders(1L));
+        Mockito
+                .when(restTemplate.exchange("/2", HttpMethod.GET, asOwner, byte[].class))
+                .thenReturn(ResponseEntity.ok(json(itemDto)));
+        Mockito
+                .when(restTemplate.exchange("/2", HttpMethod.GET, new HttpEntity<>(null, defaultHeaders(3L)),
+                        byte[].class))
+                .thenReturn(ResponseEntity.ok(json(itemDto)));
+        Mockito
+                .when(restTemplate.exchange("/2", HttpMethod.PATCH, new HttpEntity<>(itemDto, defaultHeaders(1L)),
+                        byte[].class))
+                .thenReturn(ResponseEntity.ok(json(itemDto)));
+
+        itemClient.getItemById(2L, 1L);
+        itemClient.getItemById(2L, 1L);
+        itemClient.getItemById(2L, 3L);
+        verify(restTemplate, times(1)).exchange("/2", HttpMethod.GET, asOwner, byte[].class);
+
+        itemClient.updateItemOfUserById(2L, itemDto, 1L);
+        itemClient.getItemById(2L, 1L);
+        verify(restTemplate, times(2)).exchange("/2", HttpMethod.GET, asOwner, byte[].class);
+    }
+
+    private byte[] json(Object value) {
+        try {
+            return mapper.writeValueAsBytes(value);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException(e);
+        }
     }
 
     private HttpHeaders defaultHeaders(Long userId) {
@@ -1,6 +1,8 @@
 package ru.practicum.shareit.item;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.ServletException;
+import jakarta.validation.ConstraintViolationException;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
@@ -17,6 +19,17 @@ import java.nio.charset.StandardCharsets;
 import java.time.ZoneId;
 import java.time.ZonedDateTime;
 import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.instanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
@@ -105,6 +118,29 @@ class ItemControllerTest {
 
     }
 
+    @Test
+    void testGetItemsByIds() throws Exception {
+        when(itemClient.getItemsByIds(List.of(3L, 1L), 2L))
+                .thenReturn(ResponseEntity.ok(List.of(itemDto)));
+        mvc.perform(get("/items?ids=3,1")
+                        .header("X-Sharer-User-Id", 2L)
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk());
+
+        verify(itemClient, never()).getItemsOfUserById(anyInt(), anyInt(), anyLong());
+    }
+
+    @Test
+    void tooManyIdsAreRejectedBeforeCallingServer() throws Exception {
+        String ids = LongStream.rangeClosed(1, 101).mapToObj(String::valueOf).collect(Collectors.joining(","));
+
+        ServletException exception = assertThrows(ServletException.class,
+                () -> mvc.perform(get("/items?ids=" + ids).header("X-Sharer-User-Id", 2L)));
+
+        assertThat(exception.getCause(), instanceOf(ConstraintViolationException.class));
+        verify(itemClient, never()).getItemsByIds(any(), anyLong());
+    }
+
     @Test
     void testGetItemById() throws Exception {
         when(itemClient.getItemById(2L, 1L))
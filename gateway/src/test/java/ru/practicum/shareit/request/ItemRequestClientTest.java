@@ -1,5 +1,7 @@
 package ru.practicum.shareit.request;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -8,7 +10,9 @@ import org.mockito.Mockito;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.http.*;
+import org.springframework.http.client.ClientHttpRequestFactory;
 import org.springframework.web.client.RestTemplate;
+import ru.practicum.shareit.client.ServerResponseCache;
 import ru.practicum.shareit.request.dto.ItemRequestDto;
 
 import java.time.LocalDateTime;
@@ -29,6 +33,11 @@ class ItemRequestClientTest {
     @Mock
     private RestTemplate restTemplate;
 
+    @Mock
+    private ClientHttpRequestFactory requestFactory;
+
+    private final ObjectMapper mapper = new ObjectMapper().findAndRegisterModules();
+
     private ItemRequestClient itemRequestClient;
 
     private ItemRequestDto itemRequestDto = ItemRequestDto.builder()
@@ -42,18 +51,18 @@ class ItemRequestClientTest {
         when(builder.uriTemplateHandler(any())).thenReturn(builder);
         when(builder.requestFactory(any(Supplier.class))).thenReturn(builder);
         when(builder.build()).thenReturn(restTemplate);
-        itemRequestClient = new ItemRequestClient("", builder);
+        itemRequestClient = new ItemRequestClient("", builder, requestFactory, ServerResponseCache.disabled());
     }
 
     @Test
     void testCreateRequest() {
         Mockito
                 .when(restTemplate.exchange("", HttpMethod.POST, new HttpEntity<>(itemRequestDto,
-                        defaultHeaders(1L)), Object.class))
-                .thenReturn(ResponseEntity.ok(itemRequestDto));
+                        defaultHeaders(1L)), byte[].class))
+                .thenReturn(ResponseEntity.ok(json(itemRequestDto)));
         ResponseEntity<Object> response = itemRequestClient.createRequest(itemRequestDto, 1L);
         assertThat(response.getStatusCode(), equalTo(HttpStatus.OK));
-        assertThat(response.getBody(), equalTo(itemRequestDto));
+        assertThat(response.getBody(), equalTo(json(itemRequestDto)));
     }
 
     @Test
@@ -61,11 +70,19 @@ class ItemRequestClientTest {
         List<ItemRequestDto> requests = List.of(itemRequestDto);
         Mockito
                 .when(restTemplate.exchange("", HttpMethod.GET, new HttpEntity<>(null,
-                        defaultHeaders(1L)), Object.class))
-                .thenReturn(ResponseEntity.ok(requests));
+                        defaultHeaders(1L)), byte[].class))
+                .thenReturn(ResponseEntity.ok(json(requests)));
         ResponseEntity<Object> response = itemRequestClient.getAllForRequestor(1L);
         assertThat(response.getStatusCode(), equalTo(HttpStatus.OK));
-        assertThat(response.getBody(), equalTo(requests));
+        assertThat(response.getBody(), equalTo(json(requests)));
+    }
+
+    private byte[] json(Object value) {
+        try {
+            return mapper.writeValueAsBytes(value);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException(e);
+        }
     }
 
     private HttpHeaders defaultHeaders(Long userId) {
@@ -1,5 +1,7 @@
 package ru.practicum.shareit.user;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -8,7 +10,9 @@ import org.mockito.Mockito;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.http.*;
+import org.springframework.http.client.ClientHttpRequestFactory;
 import org.springframework.web.client.RestTemplate;
+import ru.practicum.shareit.client.ServerResponseCache;
 import ru.practicum.shareit.user.dto.UserDto;
 
 import java.util.List;
@@ -29,6 +33,11 @@ class UserClientTest {
     @Mock
     private RestTemplate restTemplate;
 
+    @Mock
+    private ClientHttpRequestFactory requestFactory;
+
+    private final ObjectMapper mapper = new ObjectMapper().findAndRegisterModules();
+
     private UserClient userClient;
 
     private UserDto userDto = UserDto.builder()
@@ -42,52 +51,60 @@ class UserClientTest {
         when(builder.uriTemplateHandler(any())).thenReturn(builder);
         when(builder.requestFactory(any(Supplier.class))).thenReturn(builder);
         when(builder.build()).thenReturn(restTemplate);
-        userClient = new UserClient("", builder);
+        userClient = new UserClient("", builder, requestFactory, ServerResponseCache.disabled());
     }
 
     @Test
     void testCreateNewUser() {
         Mockito
                 .when(restTemplate.exchange("", HttpMethod.POST, new HttpEntity<>(userDto,
-                        defaultHeaders(null)), Object.class))
-                .thenReturn(ResponseEntity.ok(userDto));
+                        defaultHeaders(null)), byte[].class))
+                .thenReturn(ResponseEntity.ok(json(userDto)));
         ResponseEntity<Object> response = userClient.createNewUser(userDto);
         assertThat(response.getStatusCode(), equalTo(HttpStatus.OK));
-        assertThat(response.getBody(), equalTo(userDto));
+        assertThat(response.getBody(), equalTo(json(userDto)));
     }
 
     @Test
     void testUpdateUserById() {
         Mockito
                 .when(restTemplate.exchange("/1", HttpMethod.PATCH, new HttpEntity<>(userDto,
-                        defaultHeaders(null)), Object.class))
-                .thenReturn(ResponseEntity.ok(userDto));
+                        defaultHeaders(null)), byte[].class))
+                .thenReturn(ResponseEntity.ok(json(userDto)));
         ResponseEntity<Object> response = userClient.updateUserById(1L, userDto);
         assertThat(response.getStatusCode(), equalTo(HttpStatus.OK));
-        assertThat(response.getBody(), equalTo(userDto));
+        assertThat(response.getBody(), equalTo(json(userDto)));
     }
 
     @Test
     void testGetUserById() {
         Mockito
                 .when(restTemplate.exchange("/1", HttpMethod.GET, new HttpEntity<>(null,
-                        defaultHeaders(null)), Object.class))
-                .thenReturn(ResponseEntity.ok(userDto));
+                        defaultHeaders(null)), byte[].class))
+                .thenReturn(ResponseEntity.ok(json(userDto)));
         ResponseEntity<Object> response = userClient.getUserById(1L);
         assertThat(response.getStatusCode(), equalTo(HttpStatus.OK));
-        assertThat(response.getBody(), equalTo(userDto));
+        assertThat(response.getBody(), equalTo(json(userDto)));
     }
 
     @Test
     void testDeleteUserById() {
         Mockito
                 .when(restTemplate.exchange("/1", HttpMethod.DELETE, new HttpEntity<>(null,
-                        defaultHeaders(null)), Object.class))
+                        defaultHeaders(null)), byte[].class))
                 .thenReturn(ResponseEntity.ok().build());
         ResponseEntity<Object> response = userClient.deleteUserById(1L);
         assertThat(response.getStatusCode(), equalTo(HttpStatus.OK));
     }
 
+    private byte[] json(Object value) {
+        try {
+            return mapper.writeValueAsBytes(value);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
     private HttpHeaders defaultHeaders(Long userId) {
         HttpHeaders headers = new HttpHeaders();
         headers.setContentType(MediaType.APPLICATION_JSON);
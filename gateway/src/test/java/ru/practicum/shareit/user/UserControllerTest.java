@@ -11,6 +11,8 @@ import org.springframework.test.web.servlet.MockMvc;
 import ru.practicum.shareit.user.dto.UserDto;
 
 import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
 
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyLong;
@@ -86,6 +88,18 @@ class UserControllerTest {
                 .andExpect(jsonPath("$.email", is(userDto.getEmail())));
     }
 
+    @Test
+    void getUsersByIds() throws Exception {
+        when(userClient.getUsersByIds(List.of(1L, 7L)))
+                .thenReturn(ResponseEntity.ok(Map.of("users", List.of(userDto), "missingIds", List.of(7L))));
+
+        mvc.perform(get("/users?ids=1,7")
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.users[0].id", is(userDto.getId()), Long.class))
+                .andExpect(jsonPath("$.missingIds[0]", is(7L), Long.class));
+    }
+
     @Test
     void deleteUser() throws Exception {
 
@@ -0,0 +1,146 @@
+package ru.practicum.shareit.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Запускает исполняемый jar Spring Boot отдельной JVM и ждёт, пока /actuator/health не ответит 200.
+ * Две встроенные Tomcat в одной JVM не уживаются: каждая регистрирует общий для JVM URLStreamHandlerFactory.
+ * К тому же так сборка мусора в генераторе нагрузки не искажает задержки приложений.
+ * При нехватке памяти приложение завершается (-XX:+ExitOnOutOfMemoryError), а не продолжает работать вполсилы.
+ */
+public final class ApplicationProcess {
+    private static final Duration STARTUP_TIMEOUT = Duration.ofMinutes(2);
+    private static final Duration METRICS_TIMEOUT = Duration.ofSeconds(5);
+
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+    private final String name;
+    private final int port;
+    private final Process process;
+    private final HttpClient client = HttpClient.newHttpClient();
+
+    private ApplicationProcess(String name, int port, Process process) {
+        this.name = name;
+        this.port = port;
+        this.process = process;
+    }
+
+    public static ApplicationProcess start(String name, Path jar, int port, List<String> jvmArgs, List<String> args,
+                                           Path log) throws IOException, InterruptedException {
+        List<String> command = new ArrayList<>();
+        command.add(Path.of(System.getProperty("java.home"), "bin", "java").toString());
+        command.add("-XX:+ExitOnOutOfMemoryError");
+        command.addAll(jvmArgs);
+        command.add("-jar");
+        command.add(jar.toAbsolutePath().toString());
+        command.add("--server.port=" + port);
+        command.addAll(args);
+        Process process = new ProcessBuilder(command)
+                .redirectErrorStream(true)
+                .redirectOutput(log.toFile())
+                .start();
+        ApplicationProcess application = new ApplicationProcess(name, port, process);
+        Runtime.getRuntime().addShutdownHook(new Thread(application::stop));
+        application.awaitHealthy(port, log);
+        return application;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Пиковое число потоков и занятая куча по /actuator/metrics: при одинаковом -Xmx по ним сравниваются
+     * режимы платформенных и виртуальных потоков.
+     */
+    public Map<String, Object> jvmMetrics() {
+        Map<String, Object> metrics = new LinkedHashMap<>();
+        if (!process.isAlive()) {
+            metrics.put("exitCode", process.exitValue());
+            return metrics;
+        }
+        metrics.put("threadsPeak", metric("jvm.threads.peak"));
+        metrics.put("heapUsedMb", metric("jvm.memory.used", "area:heap") / (1024 * 1024));
+        metrics.put("heapMaxMb", metric("jvm.memory.max", "area:heap") / (1024 * 1024));
+        return metrics;
+    }
+
+    /**
+     * Сколько запросов с данным методом и шаблоном пути приложение обработало с запуска (http.server.requests).
+     * Разница счётчиков gateway и server показывает, сколько запросов gateway ответил сам.
+     */
+    public long requestCount(String method, String uri) {
+        if (!process.isAlive()) {
+            return 0;
+        }
+        double count = metric("http.server.requests", "method:" + method, "uri:" + uri);
+        return Double.isNaN(count) ? 0 : (long) count;
+    }
+
+    public void stop() {
+        process.destroy();
+    }
+
+    private double metric(String metric, String... tags) {
+        StringBuilder query = new StringBuilder();
+        for (String tag : tags) {
+            query.append(query.isEmpty() ? "?" : "&")
+                    .append("tag=")
+                    .append(URLEncoder.encode(tag, StandardCharsets.UTF_8));
+        }
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/actuator/metrics/"
+                + metric + query)).timeout(METRICS_TIMEOUT).build();
+        try {
+            HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+            if (response.statusCode() != 200) {
+                return Double.NaN;
+            }
+            JsonNode measurements = OBJECT_MAPPER.readTree(response.body()).get("measurements");
+            return measurements.get(0).get("value").asDouble();
+        } catch (IOException e) {
+            return Double.NaN;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return Double.NaN;
+        }
+    }
+
+    private void awaitHealthy(int port, Path log) throws InterruptedException {
+        HttpRequest health = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/actuator/health"))
+                .timeout(Duration.ofSeconds(5))
+                .build();
+        long deadline = System.nanoTime() + STARTUP_TIMEOUT.toNanos();
+        while (System.nanoTime() < deadline) {
+            if (!process.isAlive()) {
+                throw new IllegalStateException(name + " завершился с кодом " + process.exitValue()
+                        + ", подробности в " + log);
+            }
+            try {
+                if (client.send(health, HttpResponse.BodyHandlers.discarding()).statusCode() == 200) {
+                    return;
+                }
+            } catch (IOException e) {
+                // порт ещё не слушается
+            }
+            Thread.sleep(200);
+        }
+        stop();
+        throw new IllegalStateException(name + " не запустился за " + STARTUP_TIMEOUT.toSeconds()
+                + " с, подробности в " + log);
+    }
+}
@@ -0,0 +1,64 @@
+package ru.practicum.shareit.loadtest;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Идентификаторы, созданные при заполнении данных, и словарь для поиска.
+ */
+public class Dataset {
+    static final List<String> WORDS = List.of("дрель", "пила", "палатка", "велосипед", "лестница", "проектор",
+            "самокат", "гитара", "камера", "шуруповёрт", "перфоратор", "байдарка", "мангал", "сапборд", "коляска");
+
+    final List<Long> users = new ArrayList<>();
+    final List<Long> owners = new ArrayList<>();
+    final List<Long> items = new ArrayList<>();
+    final List<Long> itemOwners = new ArrayList<>();
+    final List<Long> bookings = new ArrayList<>();
+    final List<Long> bookingUsers = new ArrayList<>();
+    /**
+     * Бронирования в статусе WAITING вместе с владельцем вещи: их подтверждает сценарий booking-burst.
+     */
+    final Queue<long[]> waiting = new ConcurrentLinkedQueue<>();
+
+    long randomUser() {
+        return users.get(ThreadLocalRandom.current().nextInt(users.size()));
+    }
+
+    long randomOwner() {
+        return owners.get(ThreadLocalRandom.current().nextInt(owners.size()));
+    }
+
+    int randomItem() {
+        return ThreadLocalRandom.current().nextInt(items.size());
+    }
+
+    int randomBooking() {
+        return ThreadLocalRandom.current().nextInt(bookings.size());
+    }
+
+    String randomWord() {
+        return WORDS.get(ThreadLocalRandom.current().nextInt(WORDS.size()));
+    }
+
+    /**
+     * Пользователь, который смотрит первую вещь в сценарии hot-item.
+     */
+    long hotItemViewer() {
+        return users.get(itemOwners.get(0).equals(users.get(0)) ? 1 : 0);
+    }
+
+    /**
+     * Пользователь, который не владеет вещью с данным индексом.
+     */
+    long randomBooker(int item) {
+        long booker;
+        do {
+            booker = randomUser();
+        } while (booker == itemOwners.get(item));
+        return booker;
+    }
+}
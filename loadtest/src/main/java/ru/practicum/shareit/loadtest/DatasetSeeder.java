@@ -0,0 +1,116 @@
+package ru.practicum.shareit.loadtest;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Заполняет сервис данными через публичный API gateway, чтобы данные прошли ту же валидацию, что и в проде.
+ * Отзывы можно оставить только после завершённой аренды, поэтому для них создаются короткие бронирования,
+ * которые заканчиваются через пару секунд после заполнения.
+ */
+public class DatasetSeeder {
+    static final DateTimeFormatter DATE_TIME = DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm:ss");
+
+    private final ShareItHttp http;
+    private final LoadTestSettings settings;
+    private final Random random;
+
+    public DatasetSeeder(ShareItHttp http, LoadTestSettings settings) {
+        this.http = http;
+        this.settings = settings;
+        this.random = new Random(settings.seed());
+    }
+
+    public Dataset seed() throws InterruptedException {
+        Dataset dataset = new Dataset();
+        for (int i = 0; i < settings.users(); i++) {
+            dataset.users.add(http.create("/users", null,
+                    Map.of("name", "Пользователь " + i, "email", "user" + i + "@loadtest.ru")));
+        }
+        int owners = Math.max(1, settings.users() / 2);
+        for (int i = 0; i < owners; i++) {
+            long owner = dataset.users.get(i);
+            dataset.owners.add(owner);
+            for (int j = 0; j < settings.itemsPerUser(); j++) {
+                String name = word() + " " + i + "-" + j;
+                String description = "Хорошая " + word() + ", в комплекте " + word();
+                dataset.items.add(http.create("/items", owner,
+                        Map.of("name", name, "description", description, "available", true)));
+                dataset.itemOwners.add(owner);
+            }
+        }
+        for (int i = 0; i < settings.requests(); i++) {
+            http.create("/requests", dataset.users.get(random.nextInt(dataset.users.size())),
+                    Map.of("description", "Нужна " + word()));
+        }
+
+        LocalDateTime future = LocalDateTime.now().plusDays(30).truncatedTo(ChronoUnit.SECONDS);
+        for (int item = 0; item < dataset.items.size(); item++) {
+            for (int j = 0; j < settings.bookingsPerItem(); j++) {
+                long booker = booker(dataset, item);
+                LocalDateTime start = future.plusDays(random.nextInt(365)).plusHours(j);
+                long booking = book(dataset.items.get(item), booker, start, start.plusHours(1));
+                dataset.bookings.add(booking);
+                dataset.bookingUsers.add(booker);
+                if (random.nextBoolean()) {
+                    approve(booking, dataset.itemOwners.get(item));
+                }
+            }
+        }
+
+        List<long[]> finished = new ArrayList<>();
+        LocalDateTime soon = LocalDateTime.now().plusSeconds(2 + settings.comments() / 10)
+                .truncatedTo(ChronoUnit.SECONDS);
+        // Подтверждённые бронирования одной вещи не могут пересекаться, поэтому каждый следующий круг по вещам
+        // бронирует следующую секунду.
+        int offset = random.nextInt(dataset.items.size());
+        int rounds = (settings.comments() + dataset.items.size() - 1) / dataset.items.size();
+        for (int i = 0; i < settings.comments(); i++) {
+            int item = (offset + i) % dataset.items.size();
+            long booker = booker(dataset, item);
+            LocalDateTime start = soon.plusSeconds(1 + i / dataset.items.size());
+            long booking = book(dataset.items.get(item), booker, start, start.plusSeconds(1));
+            approve(booking, dataset.itemOwners.get(item));
+            finished.add(new long[]{dataset.items.get(item), booker});
+        }
+        if (!finished.isEmpty()) {
+            Thread.sleep(Math.max(0, Duration.between(LocalDateTime.now(), soon.plusSeconds(2 + rounds))
+                    .toMillis()));
+        }
+        for (long[] itemAndAuthor : finished) {
+            http.create("/items/" + itemAndAuthor[0] + "/comment", itemAndAuthor[1],
+                    Map.of("text", "Всё отлично, " + word() + " в порядке"));
+        }
+        return dataset;
+    }
+
+    private long book(long item, long booker, LocalDateTime start, LocalDateTime end) {
+        return http.create("/bookings", booker,
+                Map.of("itemId", item, "start", DATE_TIME.format(start), "end", DATE_TIME.format(end)));
+    }
+
+    private void approve(long booking, long owner) {
+        ShareItHttp.Response response = http.patch("/bookings/" + booking + "?approved=true", owner);
+        if (!response.isSuccess()) {
+            throw new IllegalStateException("Не удалось подтвердить бронирование " + booking + ": " + response.body());
+        }
+    }
+
+    private long booker(Dataset dataset, int item) {
+        long booker;
+        do {
+            booker = dataset.users.get(random.nextInt(dataset.users.size()));
+        } while (booker == dataset.itemOwners.get(item));
+        return booker;
+    }
+
+    private String word() {
+        return Dataset.WORDS.get(random.nextInt(Dataset.WORDS.size()));
+    }
+}
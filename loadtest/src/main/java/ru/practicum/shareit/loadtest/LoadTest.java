@@ -0,0 +1,129 @@
+package ru.practicum.shareit.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Сквозной нагрузочный тест: поднимает server и gateway на свободных портах поверх встроенной базы
+ * (H2 в памяти server или PostgreSQL, запущенный этим процессом), заполняет данные и по очереди гоняет сценарии.
+ * Если передан --gateway-url, приложения не запускаются и нагрузка идёт на уже работающий стенд.
+ */
+public final class LoadTest {
+    private static final DateTimeFormatter TIMESTAMP = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss");
+    /**
+     * Запросы к одной вещи: их gateway может отдать из кэша или объединить с уже идущим запросом.
+     */
+    private static final String ITEM_URI = "/items/{id}";
+
+    private LoadTest() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        LoadTestSettings settings = new LoadTestSettings(args);
+        Files.createDirectories(settings.resultsDir());
+        List<ApplicationProcess> applications = new ArrayList<>();
+        String gatewayUrl = settings.gatewayUrl();
+        if (gatewayUrl == null) {
+            gatewayUrl = startApplications(settings, applications);
+        }
+
+        ShareItHttp http = new ShareItHttp(gatewayUrl);
+        long seedStart = System.nanoTime();
+        Dataset dataset = new DatasetSeeder(http, settings).seed();
+        System.out.printf("Данные заполнены за %d мс: пользователей %d, вещей %d, бронирований %d%n",
+                (System.nanoTime() - seedStart) / 1_000_000, dataset.users.size(), dataset.items.size(),
+                dataset.bookings.size());
+
+        WorkloadRunner runner = new WorkloadRunner(http, dataset, settings);
+        String timestamp = TIMESTAMP.format(LocalDateTime.now());
+        ObjectMapper objectMapper = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+        for (Workload workload : settings.workloads()) {
+            Map<String, Long> itemRequestsBefore = new HashMap<>();
+            applications.forEach(application -> itemRequestsBefore.put(application.getName(),
+                    application.requestCount("GET", ITEM_URI)));
+            WorkloadResult result = runner.run(workload);
+            applications.forEach(application -> {
+                Map<String, Object> metrics = application.jvmMetrics();
+                if (!metrics.containsKey("exitCode")) {
+                    metrics.put("GET " + ITEM_URI, application.requestCount("GET", ITEM_URI)
+                            - itemRequestsBefore.get(application.getName()));
+                }
+                result.addApplicationMetrics(application.getName(), metrics);
+            });
+            result.print(System.out);
+            Path file = settings.resultsDir().resolve(workload.getName() + "-" + timestamp + ".json");
+            objectMapper.writeValue(file.toFile(), result.toMap());
+            System.out.println("Результаты записаны в " + file);
+        }
+        System.exit(0);
+    }
+
+    private static String startApplications(LoadTestSettings settings, List<ApplicationProcess> applications)
+            throws IOException, InterruptedException {
+        int serverPort = freePort();
+        int gatewayPort = freePort();
+
+        List<String> serverArgs = new ArrayList<>(List.of("--logging.level.root=WARN"));
+        serverArgs.addAll(database(settings));
+        serverArgs.addAll(settings.serverArgs());
+        applications.add(ApplicationProcess.start("server", settings.serverJar(), serverPort,
+                settings.serverJvmArgs(), serverArgs, settings.resultsDir().resolve("server.log")));
+
+        List<String> gatewayArgs = new ArrayList<>(List.of(
+                "--shareit-server.url=http://localhost:" + serverPort,
+                "--logging.level.root=WARN",
+                "--logging.level.org.springframework.web.client.RestTemplate=WARN"));
+        gatewayArgs.addAll(settings.gatewayArgs());
+        applications.add(ApplicationProcess.start("gateway", settings.gatewayJar(), gatewayPort,
+                settings.gatewayJvmArgs(), gatewayArgs, settings.resultsDir().resolve("gateway.log")));
+
+        System.out.printf("server слушает порт %d, gateway — порт %d%n", serverPort, gatewayPort);
+        return "http://localhost:" + gatewayPort;
+    }
+
+    private static List<String> database(LoadTestSettings settings) throws IOException {
+        return switch (settings.database()) {
+            case "h2" -> List.of(
+                    "--spring.datasource.url=jdbc:h2:mem:loadtest;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE",
+                    "--spring.datasource.driverClassName=org.h2.Driver",
+                    "--spring.datasource.username=sa",
+                    "--spring.datasource.password=",
+                    "--shareit.search.engine=like");
+            case "postgres" -> {
+                EmbeddedPostgres postgres = EmbeddedPostgres.start();
+                Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+                    try {
+                        postgres.close();
+                    } catch (IOException ignored) {
+                        // каталог с данными временный, при выходе он всё равно удаляется
+                    }
+                }));
+                yield List.of(
+                        "--spring.datasource.url=" + postgres.getJdbcUrl("postgres", "postgres"),
+                        "--spring.datasource.driverClassName=org.postgresql.Driver",
+                        "--spring.datasource.username=postgres",
+                        "--spring.datasource.password=");
+            }
+            default -> throw new IllegalArgumentException("Неизвестная база: " + settings.database()
+                    + ", поддерживаются h2 и postgres");
+        };
+    }
+
+    private static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+}
@@ -0,0 +1,167 @@
+package ru.practicum.shareit.loadtest;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+/**
+ * Параметры прогона в виде --ключ=значение. Ключи --server-arg, --gateway-arg, --server-jvm-arg и --gateway-jvm-arg
+ * можно повторять, они передаются приложениям как есть
+ * (например, --server-arg=--spring.threads.virtual.enabled=true или --server-jvm-arg=-Xmx512m).
+ */
+public class LoadTestSettings {
+    private final Map<String, String> values = new HashMap<>();
+    private final List<String> serverArgs = new ArrayList<>();
+    private final List<String> gatewayArgs = new ArrayList<>();
+    private final List<String> serverJvmArgs = new ArrayList<>();
+    private final List<String> gatewayJvmArgs = new ArrayList<>();
+
+    public LoadTestSettings(String[] args) {
+        for (String arg : args) {
+            if (!arg.startsWith("--") || !arg.contains("=")) {
+                throw new IllegalArgumentException("Ожидается аргумент вида --ключ=значение: " + arg);
+            }
+            String key = arg.substring(2, arg.indexOf('='));
+            String value = arg.substring(arg.indexOf('=') + 1);
+            switch (key) {
+                case "server-arg" -> serverArgs.add(value);
+                case "gateway-arg" -> gatewayArgs.add(value);
+                case "server-jvm-arg" -> serverJvmArgs.add(value);
+                case "gateway-jvm-arg" -> gatewayJvmArgs.add(value);
+                default -> values.put(key, value);
+            }
+        }
+    }
+
+    public String database() {
+        return values.getOrDefault("db", "h2");
+    }
+
+    public String gatewayUrl() {
+        return values.get("gateway-url");
+    }
+
+    public Path serverJar() {
+        return jar("server-jar", "server", "shareit-server-", "-exec.jar");
+    }
+
+    public Path gatewayJar() {
+        return jar("gateway-jar", "gateway", "shareit-gateway-", "-exec.jar");
+    }
+
+    public List<String> serverArgs() {
+        return serverArgs;
+    }
+
+    public List<String> gatewayArgs() {
+        return gatewayArgs;
+    }
+
+    public List<String> serverJvmArgs() {
+        return serverJvmArgs;
+    }
+
+    public List<String> gatewayJvmArgs() {
+        return gatewayJvmArgs;
+    }
+
+    public int users() {
+        return integer("users", 50);
+    }
+
+    public int itemsPerUser() {
+        return integer("items-per-user", 10);
+    }
+
+    public int bookingsPerItem() {
+        return integer("bookings-per-item", 2);
+    }
+
+    public int comments() {
+        return integer("comments", 50);
+    }
+
+    public int requests() {
+        return integer("requests", 50);
+    }
+
+    public List<Workload> workloads() {
+        String workload = values.getOrDefault("workload", "all");
+        if (workload.equals("all")) {
+            return List.of(Workload.values());
+        }
+        return Stream.of(workload.split(",")).map(Workload::byName).toList();
+    }
+
+    public int threads() {
+        return integer("threads", 16);
+    }
+
+    /**
+     * Целевая нагрузка в запросах в секунду на все потоки. 0 — замкнутый цикл без пауз.
+     */
+    public int rate() {
+        return integer("rate", 0);
+    }
+
+    public Duration warmup() {
+        return duration("warmup", "10s");
+    }
+
+    public Duration duration() {
+        return duration("duration", "30s");
+    }
+
+    public long seed() {
+        return Long.parseLong(values.getOrDefault("seed", "42"));
+    }
+
+    public Path resultsDir() {
+        return Path.of(values.getOrDefault("results", "results"));
+    }
+
+    private int integer(String key, int defaultValue) {
+        return Integer.parseInt(values.getOrDefault(key, String.valueOf(defaultValue)));
+    }
+
+    private Duration duration(String key, String defaultValue) {
+        String value = values.getOrDefault(key, defaultValue);
+        if (value.endsWith("ms")) {
+            return Duration.ofMillis(Long.parseLong(value.substring(0, value.length() - 2)));
+        }
+        if (value.endsWith("m")) {
+            return Duration.ofMinutes(Long.parseLong(value.substring(0, value.length() - 1)));
+        }
+        return Duration.ofSeconds(Long.parseLong(value.endsWith("s") ? value.substring(0, value.length() - 1) : value));
+    }
+
+    private Path jar(String key, String module, String prefix, String suffix) {
+        if (values.containsKey(key)) {
+            return Path.of(values.get(key));
+        }
+        for (Path target : List.of(Path.of(module, "target"), Path.of("..", module, "target"))) {
+            if (!Files.isDirectory(target)) {
+                continue;
+            }
+            try (Stream<Path> files = Files.list(target)) {
+                List<Path> jars = files.filter(file -> {
+                    String name = file.getFileName().toString();
+                    return name.startsWith(prefix) && name.endsWith(suffix);
+                }).toList();
+                if (!jars.isEmpty()) {
+                    return jars.get(0);
+                }
+            } catch (IOException e) {
+                throw new IllegalStateException("Не удалось прочитать " + target, e);
+            }
+        }
+        throw new IllegalArgumentException("Не найден jar модуля " + module
+                + ", соберите его (mvn package -DskipTests) или укажите --" + key);
+    }
+}
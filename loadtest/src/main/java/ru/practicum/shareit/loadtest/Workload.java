@@ -0,0 +1,125 @@
+package ru.practicum.shareit.loadtest;
+
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.BiFunction;
+
+/**
+ * Смешанные сценарии нагрузки. Операция выбирается случайно пропорционально весу.
+ */
+public enum Workload {
+    SEARCH_HEAVY("search-heavy", List.of(
+            new Operation("GET /items/search", 70, (http, data) ->
+                    http.get("/items/search?text=" + encode(data.randomWord()) + "&from=0&size=10",
+                            data.randomUser())),
+            new Operation("GET /items/{id}", 20, (http, data) ->
+                    http.get("/items/" + data.items.get(data.randomItem()), data.randomUser())),
+            new Operation("GET /items", 10, (http, data) ->
+                    http.get("/items", data.randomOwner())))),
+
+    OWNER_DASHBOARD("owner-dashboard", List.of(
+            new Operation("GET /items", 40, (http, data) ->
+                    http.get("/items", data.randomOwner())),
+            new Operation("GET /bookings/owner?state=ALL", 30, (http, data) ->
+                    http.get("/bookings/owner?state=ALL&from=0&size=20", data.randomOwner())),
+            new Operation("GET /bookings/owner?state=FUTURE", 10, (http, data) ->
+                    http.get("/bookings/owner?state=FUTURE&from=0&size=20", data.randomOwner())),
+            new Operation("GET /requests/all", 10, (http, data) ->
+                    http.get("/requests/all?from=0&size=20", data.randomUser())),
+            new Operation("GET /bookings?state=ALL", 10, (http, data) ->
+                    http.get("/bookings?state=ALL&from=0&size=20", data.randomUser())))),
+
+    BOOKING_BURST("booking-burst", List.of(
+            new Operation("POST /bookings", 60, Workload::book),
+            new Operation("PATCH /bookings/{id}", 20, Workload::approve),
+            new Operation("GET /bookings/{id}", 20, (http, data) -> {
+                int booking = data.randomBooking();
+                return http.get("/bookings/" + data.bookings.get(booking), data.bookingUsers.get(booking));
+            }))),
+
+    /**
+     * Всплеск одинаковых запросов: один пользователь открывает одну и ту же вещь из всех потоков.
+     * Сколько из них дошло до server, видно по счётчику GET /items/{id} приложений.
+     */
+    HOT_ITEM("hot-item", List.of(
+            new Operation("GET /items/{id}", 100, (http, data) ->
+                    http.get("/items/" + data.items.get(0), data.hotItemViewer()))));
+
+    /**
+     * В booking-burst бронируется небольшое множество «горячих» вещей, чтобы запросы конкурировали за них.
+     */
+    private static final int HOT_ITEMS = 10;
+
+    private final String name;
+    private final List<Operation> operations;
+    private final int totalWeight;
+
+    Workload(String name, List<Operation> operations) {
+        this.name = name;
+        this.operations = operations;
+        this.totalWeight = operations.stream().mapToInt(Operation::weight).sum();
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public List<Operation> getOperations() {
+        return operations;
+    }
+
+    public Operation next() {
+        int point = ThreadLocalRandom.current().nextInt(totalWeight);
+        for (Operation operation : operations) {
+            point -= operation.weight();
+            if (point < 0) {
+                return operation;
+            }
+        }
+        return operations.get(operations.size() - 1);
+    }
+
+    public static Workload byName(String name) {
+        for (Workload workload : values()) {
+            if (workload.name.equals(name)) {
+                return workload;
+            }
+        }
+        throw new IllegalArgumentException("Неизвестный сценарий: " + name);
+    }
+
+    private static ShareItHttp.Response book(ShareItHttp http, Dataset data) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int item = random.nextInt(Math.min(HOT_ITEMS, data.items.size()));
+        long booker = data.randomBooker(item);
+        LocalDateTime start = LocalDateTime.now().plusDays(1 + random.nextInt(3650)).truncatedTo(ChronoUnit.HOURS);
+        ShareItHttp.Response response = http.post("/bookings", booker, Map.of(
+                "itemId", data.items.get(item),
+                "start", DatasetSeeder.DATE_TIME.format(start),
+                "end", DatasetSeeder.DATE_TIME.format(start.plusHours(2))));
+        if (response.isSuccess()) {
+            data.waiting.add(new long[]{response.json().get("id").asLong(), data.itemOwners.get(item)});
+        }
+        return response;
+    }
+
+    private static ShareItHttp.Response approve(ShareItHttp http, Dataset data) {
+        long[] bookingAndOwner = data.waiting.poll();
+        if (bookingAndOwner == null) {
+            return book(http, data);
+        }
+        return http.patch("/bookings/" + bookingAndOwner[0] + "?approved=true", bookingAndOwner[1]);
+    }
+
+    private static String encode(String text) {
+        return URLEncoder.encode(text, StandardCharsets.UTF_8);
+    }
+
+    public record Operation(String name, int weight, BiFunction<ShareItHttp, Dataset, ShareItHttp.Response> call) {
+    }
+}
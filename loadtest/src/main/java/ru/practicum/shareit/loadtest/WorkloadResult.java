@@ -0,0 +1,97 @@
+package ru.practicum.shareit.loadtest;
+
+import org.HdrHistogram.Histogram;
+
+import java.io.PrintStream;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Итог прогона сценария: задержки по операциям и в сумме, пропускная способность и число ошибок.
+ */
+public class WorkloadResult {
+    private static final double NANOS_IN_MILLI = 1_000_000.0;
+
+    private final String workload;
+    private final int threads;
+    private final int rate;
+    private final Duration duration;
+    private final Map<String, Histogram> histograms;
+    private final Map<String, Long> errors;
+    private final Histogram total;
+    private final Map<String, Map<String, Object>> applications = new LinkedHashMap<>();
+
+    public WorkloadResult(String workload, int threads, int rate, Duration duration,
+                          Map<String, Histogram> histograms, Map<String, Long> errors) {
+        this.workload = workload;
+        this.threads = threads;
+        this.rate = rate;
+        this.duration = duration;
+        this.histograms = histograms;
+        this.errors = errors;
+        this.total = new Histogram(3);
+        histograms.values().forEach(total::add);
+    }
+
+    public String getWorkload() {
+        return workload;
+    }
+
+    public void addApplicationMetrics(String application, Map<String, Object> metrics) {
+        applications.put(application, metrics);
+    }
+
+    public void print(PrintStream out) {
+        out.printf("%nСценарий %s: потоков %d, %s, замер %d с%n", workload, threads,
+                rate > 0 ? "нагрузка " + rate + " запр/с" : "замкнутый цикл", duration.toSeconds());
+        out.printf("%-34s %9s %8s %9s %9s %9s %9s %9s %9s%n",
+                "операция", "запросов", "ошибок", "запр/с", "p50 мс", "p90 мс", "p99 мс", "p99.9 мс", "max мс");
+        histograms.forEach((name, histogram) -> printRow(out, name, histogram, errors.get(name)));
+        printRow(out, "всего", total, errors.values().stream().mapToLong(Long::longValue).sum());
+        applications.forEach((application, metrics) -> out.printf("%s: %s%n", application, metrics));
+    }
+
+    public Map<String, Object> toMap() {
+        Map<String, Object> operations = new LinkedHashMap<>();
+        histograms.forEach((name, histogram) -> operations.put(name, summary(histogram, errors.get(name))));
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("workload", workload);
+        result.put("threads", threads);
+        result.put("rate", rate);
+        result.put("durationSeconds", duration.toSeconds());
+        result.put("total", summary(total, errors.values().stream().mapToLong(Long::longValue).sum()));
+        result.put("operations", operations);
+        if (!applications.isEmpty()) {
+            result.put("applications", applications);
+        }
+        return result;
+    }
+
+    private void printRow(PrintStream out, String name, Histogram histogram, long errorCount) {
+        out.printf("%-34s %9d %8d %9.1f %9.2f %9.2f %9.2f %9.2f %9.2f%n", name, histogram.getTotalCount(), errorCount,
+                throughput(histogram), millis(histogram, 50), millis(histogram, 90), millis(histogram, 99),
+                millis(histogram, 99.9), histogram.getMaxValue() / NANOS_IN_MILLI);
+    }
+
+    private Map<String, Object> summary(Histogram histogram, long errorCount) {
+        Map<String, Object> summary = new LinkedHashMap<>();
+        summary.put("count", histogram.getTotalCount());
+        summary.put("errors", errorCount);
+        summary.put("throughput", throughput(histogram));
+        summary.put("p50Ms", millis(histogram, 50));
+        summary.put("p90Ms", millis(histogram, 90));
+        summary.put("p99Ms", millis(histogram, 99));
+        summary.put("p999Ms", millis(histogram, 99.9));
+        summary.put("maxMs", histogram.getMaxValue() / NANOS_IN_MILLI);
+        return summary;
+    }
+
+    private double throughput(Histogram histogram) {
+        return histogram.getTotalCount() / (double) duration.toSeconds();
+    }
+
+    private static double millis(Histogram histogram, double percentile) {
+        return histogram.getValueAtPercentile(percentile) / NANOS_IN_MILLI;
+    }
+}
@@ -0,0 +1,88 @@
+package ru.practicum.shareit.loadtest;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Гоняет сценарий заданным числом потоков: сначала прогрев, результаты которого отбрасываются, затем замер.
+ * Задержки пишутся в HdrHistogram по каждой операции отдельно. При заданном --rate потоки отправляют запросы
+ * по расписанию, и задержка считается от запланированного момента, а не от фактической отправки,
+ * чтобы не прятать очередь на стороне клиента (coordinated omission).
+ * Потоки генератора виртуальные, поэтому --threads в тысячи не упирается в память клиента.
+ */
+public class WorkloadRunner {
+    private static final long MAX_LATENCY_NANOS = TimeUnit.MINUTES.toNanos(1);
+
+    private final ShareItHttp http;
+    private final Dataset dataset;
+    private final LoadTestSettings settings;
+
+    public WorkloadRunner(ShareItHttp http, Dataset dataset, LoadTestSettings settings) {
+        this.http = http;
+        this.dataset = dataset;
+        this.settings = settings;
+    }
+
+    public WorkloadResult run(Workload workload) throws InterruptedException {
+        Map<String, Recorder> recorders = new LinkedHashMap<>();
+        Map<String, AtomicLong> errors = new LinkedHashMap<>();
+        for (Workload.Operation operation : workload.getOperations()) {
+            recorders.put(operation.name(), new Recorder(MAX_LATENCY_NANOS, 3));
+            errors.put(operation.name(), new AtomicLong());
+        }
+
+        long warmupEnd = System.nanoTime() + settings.warmup().toNanos();
+        long end = warmupEnd + settings.duration().toNanos();
+        long intervalNanos = settings.rate() > 0 ? TimeUnit.SECONDS.toNanos(settings.threads()) / settings.rate() : 0;
+        Thread[] threads = new Thread[settings.threads()];
+        for (int i = 0; i < threads.length; i++) {
+            threads[i] = Thread.ofVirtual().name(workload.getName() + "-" + i).start(() -> {
+                boolean measuring = false;
+                long next = System.nanoTime();
+                while (true) {
+                    long now = System.nanoTime();
+                    if (now >= end) {
+                        return;
+                    }
+                    if (!measuring && now >= warmupEnd) {
+                        measuring = true;
+                        next = now;
+                    }
+                    if (intervalNanos > 0) {
+                        if (next > now) {
+                            LockSupport.parkNanos(next - now);
+                        }
+                    } else {
+                        next = System.nanoTime();
+                    }
+                    Workload.Operation operation = workload.next();
+                    ShareItHttp.Response response = operation.call().apply(http, dataset);
+                    long latency = System.nanoTime() - next;
+                    next += intervalNanos;
+                    if (measuring) {
+                        recorders.get(operation.name()).recordValue(Math.min(latency, MAX_LATENCY_NANOS));
+                        if (!response.isSuccess()) {
+                            errors.get(operation.name()).incrementAndGet();
+                        }
+                    }
+                }
+            });
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        Map<String, Histogram> histograms = new LinkedHashMap<>();
+        Map<String, Long> errorCounts = new LinkedHashMap<>();
+        recorders.forEach((name, recorder) -> histograms.put(name, recorder.getIntervalHistogram()));
+        errors.forEach((name, count) -> errorCounts.put(name, count.get()));
+        return new WorkloadResult(workload.getName(), settings.threads(), settings.rate(), settings.duration(),
+                histograms, errorCounts);
+    }
+}
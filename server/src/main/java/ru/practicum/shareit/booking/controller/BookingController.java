@@ -2,14 +2,18 @@ package ru.practicum.shareit.booking.controller;
 
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Controller;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
 import ru.practicum.shareit.booking.dto.BookingRequestDto;
 import ru.practicum.shareit.booking.dto.BookingResponseDto;
+import ru.practicum.shareit.booking.dto.IntervalDto;
 import ru.practicum.shareit.booking.service.BookingService;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 @Slf4j
@@ -43,6 +47,17 @@ public class BookingController {
         return new ResponseEntity<>(bookingService.confirm(bookingId, userOwnerId, approved), HttpStatus.OK);
     }
 
+    @GetMapping("/availability")
+    public ResponseEntity<List<IntervalDto>> getFreeIntervals(
+            @RequestParam long itemId,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime start,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime end,
+            @RequestHeader(USER_ID_HEADER) long userId) {
+        log.info("Эндпоинт /bookings/availability. GET запрос от пользователя с id {} на получение свободных окон" +
+                " вещи с id {} в интервале [{}, {}).", userId, itemId, start, end);
+        return new ResponseEntity<>(bookingService.getFreeIntervals(itemId, start, end, userId), HttpStatus.OK);
+    }
+
     @GetMapping("/{bookingId}")
     public ResponseEntity<BookingResponseDto> getById(@PathVariable("bookingId")
                                                       long bookingId,
@@ -58,9 +73,16 @@ public class BookingController {
             @RequestParam(defaultValue = "ALL") String state,
             @RequestParam(defaultValue = "0") int from,
             @RequestParam(defaultValue = "10") int size,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+            LocalDateTime afterStart,
+            @RequestParam(required = false) Long afterId,
             @RequestHeader(USER_ID_HEADER) long bookerId) {
         log.info("Эндпоинт /bookings. GET запрос от пользователя с id {} на получение списка всех бронирований" +
                 " этого пользователя.", bookerId);
+        if (isKeyset(afterStart, afterId)) {
+            return new ResponseEntity<>(bookingService.getAllByBooker(afterStart, afterId, size, state, bookerId),
+                    HttpStatus.OK);
+        }
         return new ResponseEntity<>(bookingService.getAllByBooker(from, size, state, bookerId), HttpStatus.OK);
     }
 
@@ -69,10 +91,25 @@ public class BookingController {
             @RequestParam(defaultValue = "ALL") String state,
             @RequestParam(defaultValue = "0") int from,
             @RequestParam(defaultValue = "10") int size,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+            LocalDateTime afterStart,
+            @RequestParam(required = false) Long afterId,
             @RequestHeader(USER_ID_HEADER) long ownerId) {
         log.info("Эндпоинт /bookings/owner. GET запрос на получение списка всех бронирований для вещей, которыми" +
                         " владеет пользователь с id {}.",
                 ownerId);
+        if (isKeyset(afterStart, afterId)) {
+            return new ResponseEntity<>(bookingService.getAllByOwner(afterStart, afterId, size, state, ownerId),
+                    HttpStatus.OK);
+        }
         return new ResponseEntity<>(bookingService.getAllByOwner(from, size, state, ownerId), HttpStatus.OK);
     }
+
+    private static boolean isKeyset(LocalDateTime afterStart, Long afterId) {
+        if ((afterStart == null) != (afterId == null)) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "Параметры afterStart и afterId передаются только вместе");
+        }
+        return afterStart != null;
+    }
 }
\ No newline at end of file
@@ -0,0 +1,19 @@
+package ru.practicum.shareit.booking.enums;
+
+import java.time.LocalDateTime;
+
+/**
+ * Положение бронирования во времени: FUTURE до начала, CURRENT от начала до окончания, PAST после окончания.
+ */
+public enum PhaseType {
+    FUTURE,
+    CURRENT,
+    PAST;
+
+    public static PhaseType at(LocalDateTime start, LocalDateTime end, LocalDateTime now) {
+        if (now.isBefore(start)) {
+            return FUTURE;
+        }
+        return now.isBefore(end) ? CURRENT : PAST;
+    }
+}
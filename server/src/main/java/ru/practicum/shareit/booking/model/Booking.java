@@ -4,6 +4,7 @@ import jakarta.persistence.*;
 import lombok.*;
 import org.hibernate.annotations.OnDelete;
 import org.hibernate.annotations.OnDeleteAction;
+import ru.practicum.shareit.booking.enums.PhaseType;
 import ru.practicum.shareit.booking.enums.StatusType;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.user.model.User;
@@ -36,4 +37,35 @@ public class Booking {
     @Enumerated(EnumType.STRING)
     @Column(name = "status")
     private StatusType status;
+    @Enumerated(EnumType.STRING)
+    @Column(name = "phase", nullable = false)
+    private PhaseType phase;
+    /**
+     * Момент, когда фаза сменится: начало для FUTURE, окончание для CURRENT; у PAST равен null.
+     */
+    @Column(name = "phase_until")
+    private LocalDateTime phaseUntil;
+
+    public Booking(Long id, LocalDateTime start, LocalDateTime end, Item item, User booker, StatusType status) {
+        this(id, start, end, item, booker, status, null, null);
+    }
+
+    public void setPhaseAt(LocalDateTime now) {
+        phase = PhaseType.at(start, end, now);
+        phaseUntil = switch (phase) {
+            case FUTURE -> start;
+            case CURRENT -> end;
+            case PAST -> null;
+        };
+    }
+
+    /**
+     * Бронирование, сохранённое в обход BookingServiceManager, получает фазу по системным часам.
+     */
+    @PrePersist
+    void assignPhase() {
+        if (phase == null) {
+            setPhaseAt(LocalDateTime.now());
+        }
+    }
 }
\ No newline at end of file
@@ -0,0 +1,136 @@
+package ru.practicum.shareit.booking.phase;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Переводит бронирования по фазам FUTURE → CURRENT → PAST. Очередь с приоритетом — сама таблица bookings:
+ * phase_until хранит момент следующей смены фазы, и по индексу на нём двумя UPDATE продвигаются все бронирования,
+ * чей момент наступил. В памяти хранится самый ранний известный phase_until: пока он не наступил, ни фоновая
+ * задача, ни чтение списка по фазе в БД не обращаются. Когда наступил, фазы продвигаются сразу перед чтением,
+ * так что списки не отстают от часов.
+ */
+@Slf4j
+@Component
+public class BookingPhaseEngine {
+    private final BookingRepository bookingRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final Clock clock;
+    private final ReentrantLock advanceLock = new ReentrantLock();
+    private final AtomicReference<LocalDateTime> nextDue = new AtomicReference<>(LocalDateTime.MIN);
+    private final AtomicReference<LocalDateTime> dueDuringAdvance = new AtomicReference<>(LocalDateTime.MAX);
+
+    public BookingPhaseEngine(BookingRepository bookingRepository, PlatformTransactionManager transactionManager,
+                              Clock clock) {
+        this.bookingRepository = bookingRepository;
+        // Продвижение всегда фиксируется в собственной транзакции, даже если вызывающий код уже в транзакции.
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.clock = clock;
+    }
+
+    /**
+     * Вызывается в транзакции создания бронирования после того, как ему назначена фаза.
+     */
+    public void bookingCreated(Booking booking) {
+        if (booking.getPhaseUntil() != null) {
+            dueAfterCommit(booking.getPhaseUntil());
+        }
+    }
+
+    /**
+     * Продвигает фазы, только если к моменту now какое-то бронирование должно было сменить фазу;
+     * иначе в БД не обращается. Вызывается вне транзакции: поток ждёт advanceLock, и соединение открытой
+     * транзакции простаивало бы всё это время.
+     *
+     * @return число бронирований, сменивших фазу
+     */
+    public int advanceIfDue(LocalDateTime now) {
+        if (nextDue.get().isAfter(now)) {
+            return 0;
+        }
+        advanceLock.lock();
+        try {
+            // Пока ждали блокировку, фазы мог продвинуть другой поток.
+            return nextDue.get().isAfter(now) ? 0 : advanceLocked(now);
+        } finally {
+            advanceLock.unlock();
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void advanceOnStartup() {
+        advance(LocalDateTime.now(clock));
+    }
+
+    @Scheduled(fixedDelayString = "${shareit.booking-phase.advance-interval}",
+            initialDelayString = "${shareit.booking-phase.advance-interval}")
+    public void advanceScheduled() {
+        advanceIfDue(LocalDateTime.now(clock));
+    }
+
+    /**
+     * Продвигает фазы без проверки самого раннего известного phase_until: при запуске он ещё не известен,
+     * а бронирования, сохранённые в обход bookingCreated, в нём не учтены.
+     */
+    public int advance(LocalDateTime now) {
+        advanceLock.lock();
+        try {
+            return advanceLocked(now);
+        } finally {
+            advanceLock.unlock();
+        }
+    }
+
+    private int advanceLocked(LocalDateTime now) {
+        dueDuringAdvance.set(LocalDateTime.MAX);
+        int advanced = transactionTemplate.execute(status ->
+                bookingRepository.advanceToPast(now) + bookingRepository.advanceToCurrent(now));
+        LocalDateTime earliest = bookingRepository.findEarliestPhaseUntil();
+        nextDue.set(earliest == null ? LocalDateTime.MAX : earliest);
+        // Моменты бронирований, зафиксированных во время продвижения, собраны в dueDuringAdvance;
+        // зафиксированные после этой строки понизят nextDue сами.
+        due(dueDuringAdvance.get());
+        if (advanced > 0) {
+            log.info("Сменили фазу бронирований: {}.", advanced);
+        }
+        return advanced;
+    }
+
+    private void dueAfterCommit(LocalDateTime time) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            due(time);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                due(time);
+            }
+        });
+    }
+
+    private void due(LocalDateTime time) {
+        dueDuringAdvance.accumulateAndGet(time, BookingPhaseEngine::earliest);
+        nextDue.accumulateAndGet(time, BookingPhaseEngine::earliest);
+    }
+
+    private static LocalDateTime earliest(LocalDateTime current, LocalDateTime candidate) {
+        return candidate.isBefore(current) ? candidate : current;
+    }
+}
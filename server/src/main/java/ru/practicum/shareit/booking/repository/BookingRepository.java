@@ -1,46 +1,106 @@
 package ru.practicum.shareit.booking.repository;
 
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import ru.practicum.shareit.booking.dto.IntervalDto;
+import ru.practicum.shareit.booking.enums.PhaseType;
 import ru.practicum.shareit.booking.enums.StatusType;
 import ru.practicum.shareit.booking.model.Booking;
-import ru.practicum.shareit.user.model.User;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface BookingRepository extends JpaRepository<Booking, Long> {
 
-    List<Booking> findBookingByBookerOrderByStartDesc(User user);
-
-    List<Booking> findBookingByBookerAndStatusOrderByStartDesc(User user, StatusType state);
-
-    List<Booking> findBookingByBookerAndStartBeforeAndEndAfterOrderByStartDesc(User user, LocalDateTime dateTime,
-                                                                               LocalDateTime dateTime1);
-
-    List<Booking> findBookingByBookerAndEndBeforeOrderByStartDesc(User user, LocalDateTime dateTime);
-
-    List<Booking> findBookingByBookerAndStartAfterOrderByStartDesc(User user, LocalDateTime dateTime);
-
-    @Query(value = "SELECT B FROM Booking B WHERE B.item.owner.id = ?1 AND B.status = ?2 order by B.start desc")
-    List<Booking> getBookingsForOwnerByStatus(Long ownerId, StatusType status);
-
-    @Query(value = "SELECT B FROM Booking B WHERE B.item.owner.id = ?1 ORDER BY B.start DESC")
-    List<Booking> getAllBookingsForOwner(Long ownerId);
-
-    @Query(value = "SELECT B FROM Booking B WHERE B.item.owner.id = ?1 " +
-            "AND B.start < ?2 AND B.end > ?3 ORDER BY B.start DESC")
-    List<Booking> getCurrentBookingForOwner(Long ownerId, LocalDateTime date1, LocalDateTime date2);
-
-    @Query(value = "SELECT B FROM Booking B WHERE B.item.owner.id = ?1 AND B.end < ?2 ORDER BY B.start DESC")
-    List<Booking> getPastBookingForOwner(Long ownerId, LocalDateTime date);
-
-    @Query(value = "SELECT B FROM Booking B WHERE B.item.owner.id = ?1 AND B.start > ?2 ORDER BY B.start DESC")
-    List<Booking> getFutureBookingForOwner(Long ownerId, LocalDateTime date);
+    String FETCH_BOOKINGS = "SELECT B FROM Booking B JOIN FETCH B.item I JOIN FETCH I.owner JOIN FETCH B.booker ";
+
+    String ORDER = " ORDER BY B.start DESC, B.id DESC";
+
+    String BEFORE_CURSOR = " AND (B.start < :cursorStart OR (B.start = :cursorStart AND B.id < :cursorId))";
+
+    @Query(FETCH_BOOKINGS + "WHERE B.booker.id = :bookerId" + ORDER)
+    List<Booking> findBookingByBookerOrderByStartDesc(@Param("bookerId") Long bookerId, Pageable pageable);
+
+    @Query(FETCH_BOOKINGS + "WHERE B.booker.id = :bookerId" + BEFORE_CURSOR + ORDER)
+    List<Booking> findBookingByBookerBeforeCursor(@Param("bookerId") Long bookerId,
+                                                  @Param("cursorStart") LocalDateTime cursorStart,
+                                                  @Param("cursorId") Long cursorId, Pageable pageable);
+
+    @Query(FETCH_BOOKINGS + "WHERE B.booker.id = :bookerId AND B.status = :status" + ORDER)
+    List<Booking> findBookingByBookerAndStatusOrderByStartDesc(@Param("bookerId") Long bookerId,
+                                                               @Param("status") StatusType status,
+                                                               Pageable pageable);
+
+    @Query(FETCH_BOOKINGS + "WHERE B.booker.id = :bookerId AND B.status = :status" + BEFORE_CURSOR + ORDER)
+    List<Booking> findBookingByBookerAndStatusBeforeCursor(@Param("bookerId") Long bookerId,
+                                                           @Param("status") StatusType status,
+                                                           @Param("cursorStart") LocalDateTime cursorStart,
+                                                           @Param("cursorId") Long cursorId, Pageable pageable);
+
+    @Query(FETCH_BOOKINGS + "WHERE B.booker.id = :bookerId AND B.phase = :phase" + ORDER)
+    List<Booking> findBookingByBookerAndPhaseOrderByStartDesc(@Param("bookerId") Long bookerId,
+                                                              @Param("phase") PhaseType phase, Pageable pageable);
+
+    @Query(FETCH_BOOKINGS + "WHERE B.booker.id = :bookerId AND B.phase = :phase" + BEFORE_CURSOR + ORDER)
+    List<Booking> findBookingByBookerAndPhaseBeforeCursor(@Param("bookerId") Long bookerId,
+                                                          @Param("phase") PhaseType phase,
+                                                          @Param("cursorStart") LocalDateTime cursorStart,
+                                                          @Param("cursorId") Long cursorId, Pageable pageable);
+
+    @Query(FETCH_BOOKINGS + "WHERE I.owner.id = :ownerId" + ORDER)
+    List<Booking> getAllBookingsForOwner(@Param("ownerId") Long ownerId, Pageable pageable);
+
+    @Query(FETCH_BOOKINGS + "WHERE I.owner.id = :ownerId" + BEFORE_CURSOR + ORDER)
+    List<Booking> getAllBookingsForOwnerBeforeCursor(@Param("ownerId") Long ownerId,
+                                                     @Param("cursorStart") LocalDateTime cursorStart,
+                                                     @Param("cursorId") Long cursorId, Pageable pageable);
+
+    @Query(FETCH_BOOKINGS + "WHERE I.owner.id = :ownerId AND B.status = :status" + ORDER)
+    List<Booking> getBookingsForOwnerByStatus(@Param("ownerId") Long ownerId, @Param("status") StatusType status,
+                                              Pageable pageable);
+
+    @Query(FETCH_BOOKINGS + "WHERE I.owner.id = :ownerId AND B.status = :status" + BEFORE_CURSOR + ORDER)
+    List<Booking> getBookingsForOwnerByStatusBeforeCursor(@Param("ownerId") Long ownerId,
+                                                          @Param("status") StatusType status,
+                                                          @Param("cursorStart") LocalDateTime cursorStart,
+                                                          @Param("cursorId") Long cursorId, Pageable pageable);
+
+    @Query(FETCH_BOOKINGS + "WHERE I.owner.id = :ownerId AND B.phase = :phase" + ORDER)
+    List<Booking> getBookingsForOwnerByPhase(@Param("ownerId") Long ownerId, @Param("phase") PhaseType phase,
+                                             Pageable pageable);
+
+    @Query(FETCH_BOOKINGS + "WHERE I.owner.id = :ownerId AND B.phase = :phase" + BEFORE_CURSOR + ORDER)
+    List<Booking> getBookingsForOwnerByPhaseBeforeCursor(@Param("ownerId") Long ownerId,
+                                                         @Param("phase") PhaseType phase,
+                                                         @Param("cursorStart") LocalDateTime cursorStart,
+                                                         @Param("cursorId") Long cursorId, Pageable pageable);
+
+    /**
+     * Переводит в PAST бронирования, у которых к моменту now наступило и время смены фазы, и окончание.
+     */
+    @Modifying
+    @Query("UPDATE Booking B SET B.phase = ru.practicum.shareit.booking.enums.PhaseType.PAST, B.phaseUntil = NULL " +
+            "WHERE B.phaseUntil <= :now AND B.end <= :now")
+    int advanceToPast(@Param("now") LocalDateTime now);
+
+    /**
+     * Переводит в CURRENT начавшиеся бронирования; вызывается после advanceToPast, поэтому окончание у них ещё впереди.
+     */
+    @Modifying
+    @Query("UPDATE Booking B SET B.phase = ru.practicum.shareit.booking.enums.PhaseType.CURRENT, " +
+            "B.phaseUntil = B.end " +
+            "WHERE B.phaseUntil <= :now AND B.phase = ru.practicum.shareit.booking.enums.PhaseType.FUTURE")
+    int advanceToCurrent(@Param("now") LocalDateTime now);
+
+    @Query("SELECT MIN(B.phaseUntil) FROM Booking B")
+    LocalDateTime findEarliestPhaseUntil();
 
     List<Booking> findAllByBookerIdAndItemIdAndEndBefore(Long userId, Long itemId, LocalDateTime localDateTime);
 
@@ -50,6 +110,36 @@ public interface BookingRepository extends JpaRepository<Booking, Long> {
     Booking findFirstByItemIdAndStartAfterAndStatusOrderByStartAsc(long itemId, LocalDateTime start,
                                                                    StatusType statusType);
 
+    @Query("SELECT B FROM Booking B JOIN FETCH B.item JOIN FETCH B.booker " +
+            "WHERE B.item.id IN ?1 AND B.status = ?3 AND B.start < ?2 " +
+            "AND B.end = (SELECT MAX(L.end) FROM Booking L " +
+            "WHERE L.item.id = B.item.id AND L.status = ?3 AND L.start < ?2)")
+    List<Booking> findLastBookingsForItems(Collection<Long> itemIds, LocalDateTime date, StatusType status);
+
+    @Query("SELECT B FROM Booking B JOIN FETCH B.item JOIN FETCH B.booker " +
+            "WHERE B.item.id IN ?1 AND B.status = ?3 AND B.start > ?2 " +
+            "AND B.start = (SELECT MIN(N.start) FROM Booking N " +
+            "WHERE N.item.id = B.item.id AND N.status = ?3 AND N.start > ?2)")
+    List<Booking> findNextBookingsForItems(Collection<Long> itemIds, LocalDateTime date, StatusType status);
+
+    /**
+     * Есть ли у вещи бронирование в данном статусе, пересекающееся с полуинтервалом [start, end).
+     * Бронирование с id excludedId не учитывается.
+     */
+    @Query("SELECT COUNT(B) > 0 FROM Booking B " +
+            "WHERE B.item.id = :itemId AND B.status = :status AND B.start < :end AND B.end > :start " +
+            "AND B.id <> :excludedId")
+    boolean existsOverlapping(@Param("itemId") Long itemId, @Param("status") StatusType status,
+                              @Param("start") LocalDateTime start, @Param("end") LocalDateTime end,
+                              @Param("excludedId") Long excludedId);
+
+    @Query("SELECT new ru.practicum.shareit.booking.dto.IntervalDto(B.start, B.end) FROM Booking B " +
+            "WHERE B.item.id = :itemId AND B.status = :status AND B.start < :end AND B.end > :start " +
+            "ORDER BY B.start")
+    List<IntervalDto> findIntervalsOverlapping(@Param("itemId") Long itemId, @Param("status") StatusType status,
+                                               @Param("start") LocalDateTime start,
+                                               @Param("end") LocalDateTime end);
+
     @Query("SELECT bk FROM Booking bk " +
             "JOIN FETCH bk.item i " +
             "JOIN FETCH bk.booker b " +
@@ -2,7 +2,9 @@ package ru.practicum.shareit.booking.service;
 
 import ru.practicum.shareit.booking.dto.BookingRequestDto;
 import ru.practicum.shareit.booking.dto.BookingResponseDto;
+import ru.practicum.shareit.booking.dto.IntervalDto;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 public interface BookingService {
@@ -13,7 +15,18 @@ public interface BookingService {
 
     BookingResponseDto getById(Long bookingId, Long userId);
 
+    /**
+     * Свободные от подтверждённых бронирований окна вещи внутри [start, end) в порядке возрастания.
+     */
+    List<IntervalDto> getFreeIntervals(Long itemId, LocalDateTime start, LocalDateTime end, Long userId);
+
     List<BookingResponseDto> getAllByBooker(int from, int size, String state, Long bookerId);
 
+    List<BookingResponseDto> getAllByBooker(LocalDateTime afterStart, Long afterId, int size, String state,
+                                            Long bookerId);
+
     List<BookingResponseDto> getAllByOwner(int from, int size, String state, Long bookerId);
+
+    List<BookingResponseDto> getAllByOwner(LocalDateTime afterStart, Long afterId, int size, String state,
+                                           Long ownerId);
 }
\ No newline at end of file
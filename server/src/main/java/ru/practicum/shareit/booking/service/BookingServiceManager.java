@@ -1,42 +1,72 @@
 package ru.practicum.shareit.booking.service;
 
+import io.micrometer.core.annotation.Timed;
+import io.micrometer.core.aop.MeterTag;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.web.server.ResponseStatusException;
 import ru.practicum.shareit.booking.dto.BookingRequestDto;
+import ru.practicum.shareit.booking.dto.IntervalDto;
 import ru.practicum.shareit.booking.dto.BookingResponseDto;
+import ru.practicum.shareit.booking.enums.PhaseType;
 import ru.practicum.shareit.booking.enums.StatusType;
 import ru.practicum.shareit.booking.mapper.BookingMapper;
 import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.phase.BookingPhaseEngine;
 import ru.practicum.shareit.booking.repository.BookingRepository;
 import ru.practicum.shareit.exeption.ConditionsNotMetException;
 import ru.practicum.shareit.exeption.NotFoundException;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.item.summary.ItemBookingSummaryUpdater;
+import ru.practicum.shareit.metrics.BookingStateTag;
+import ru.practicum.shareit.metrics.ServiceMetrics;
+import ru.practicum.shareit.pagination.OffsetPageRequest;
 import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.repository.UserRepository;
 
+import java.time.Clock;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.stream.Collectors;
 
 @Service
 @Transactional(readOnly = true)
 @Slf4j
+@Timed(value = ServiceMetrics.TIMER, histogram = true)
 public class BookingServiceManager implements BookingService {
+    private static final long NO_BOOKING_ID = 0L;
+
     private final BookingRepository bookingRepository;
     private final ItemRepository itemRepository;
     private final UserRepository userRepository;
+    private final ItemBookingSummaryUpdater summaryUpdater;
+    private final BookingPhaseEngine phaseEngine;
+    private final Clock clock;
+    private final TransactionTemplate readTransaction;
 
     @Autowired
     public BookingServiceManager(BookingRepository bookingRepository, ItemRepository itemRepository,
-                                 UserRepository userRepository) {
+                                 UserRepository userRepository, ItemBookingSummaryUpdater summaryUpdater,
+                                 BookingPhaseEngine phaseEngine, Clock clock,
+                                 PlatformTransactionManager transactionManager) {
         this.bookingRepository = bookingRepository;
         this.userRepository = userRepository;
         this.itemRepository = itemRepository;
+        this.summaryUpdater = summaryUpdater;
+        this.phaseEngine = phaseEngine;
+        this.clock = clock;
+        this.readTransaction = new TransactionTemplate(transactionManager);
+        this.readTransaction.setReadOnly(true);
     }
 
     @Override
@@ -52,18 +82,25 @@ public class BookingServiceManager implements BookingService {
                 .equals(bookingRequestDto.getEnd())) {
             throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Время начала позже окончания бронирования");
         }
-        if (bookingRequestDto.getStart().isBefore(LocalDateTime.now())) {
+        LocalDateTime now = LocalDateTime.now(clock);
+        if (bookingRequestDto.getStart().isBefore(now)) {
             throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Дата начала не может быть в прошлом");
         }
         if (userId.equals(item.getOwner().getId())) {
             throw new ResponseStatusException(HttpStatus.NOT_FOUND,
                     "StateType для данного бронирования может установить только ее владелец");
         }
+        if (bookingRepository.existsOverlapping(item.getId(), StatusType.APPROVED, bookingRequestDto.getStart(),
+                bookingRequestDto.getEnd(), NO_BOOKING_ID)) {
+            throw new ResponseStatusException(HttpStatus.CONFLICT, "Вещь уже забронирована на это время");
+        }
         Booking booking = BookingMapper.requestToBooking(bookingRequestDto);
         booking.setStatus(StatusType.WAITING);
         booking.setBooker(user);
         booking.setItem(item);
+        booking.setPhaseAt(now);
         bookingRepository.save(booking);
+        phaseEngine.bookingCreated(booking);
         log.info("Создано бронирование {} от пользователя с id {}.", booking, userId);
         BookingResponseDto book = BookingMapper.bookingToResponse(booking);
         return book;
@@ -75,7 +112,7 @@ public class BookingServiceManager implements BookingService {
         Booking booking = bookingRepository.findById(bookingId)
                 .orElseThrow(() -> new NotFoundException("Бронирование не найдено"));
 
-        if (!userRepository.existsById(userOwnerId)) {
+        if (!userRepository.userExists(userOwnerId)) {
             throw new NotFoundException("Пользователь не найден");
         }
         if (booking.getStatus().equals(StatusType.APPROVED) ||
@@ -94,7 +131,16 @@ public class BookingServiceManager implements BookingService {
         }
 
         if (approved) {
+            // Пока строка вещи заблокирована, параллельное подтверждение пересекающегося бронирования ждёт
+            // и после фиксации этой транзакции уже увидит его в статусе APPROVED.
+            itemRepository.lockById(booking.getItem().getId());
+            if (bookingRepository.existsOverlapping(booking.getItem().getId(), StatusType.APPROVED,
+                    booking.getStart(), booking.getEnd(), booking.getId())) {
+                throw new ResponseStatusException(HttpStatus.CONFLICT,
+                        "Вещь уже забронирована на это время другим подтверждённым бронированием");
+            }
             booking.setStatus(StatusType.APPROVED);
+            summaryUpdater.bookingApproved(booking, LocalDateTime.now(clock));
             log.info("Владелец вещи  c id {} подтвердил запрос на бронирование с id {} ", userOwnerId, booking.getId());
         } else {
             booking.setStatus(StatusType.REJECTED);
@@ -119,31 +165,123 @@ public class BookingServiceManager implements BookingService {
     }
 
     @Override
-    public List<BookingResponseDto> getAllByBooker(int from, int size, String state, Long bookerId) {
-        User user = userRepository.findById(bookerId).orElseThrow(() -> new NotFoundException("Пользователь" +
-                "не найден"));
+    public List<IntervalDto> getFreeIntervals(Long itemId, LocalDateTime start, LocalDateTime end, Long userId) {
+        if (!userRepository.userExists(userId)) {
+            throw new NotFoundException("Пользователь не найден");
+        }
+        if (itemRepository.findById(itemId).isEmpty()) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Вещь не найдена.");
+        }
+        if (!start.isBefore(end)) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Время начала позже окончания интервала");
+        }
+        List<IntervalDto> free = new ArrayList<>();
+        LocalDateTime cursor = start;
+        for (IntervalDto busy : bookingRepository.findIntervalsOverlapping(itemId, StatusType.APPROVED, start,
+                end)) {
+            if (busy.getStart().isAfter(cursor)) {
+                free.add(new IntervalDto(cursor, busy.getStart()));
+            }
+            if (busy.getEnd().isAfter(cursor)) {
+                cursor = busy.getEnd();
+            }
+        }
+        if (cursor.isBefore(end)) {
+            free.add(new IntervalDto(cursor, end));
+        }
+        log.info("Для вещи с id {} в интервале [{}, {}) найдено свободных окон: {}", itemId, start, end, free.size());
+        return free;
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    @Timed(value = ServiceMetrics.BOOKING_LIST_TIMER, histogram = true)
+    public List<BookingResponseDto> getAllByBooker(int from, int size,
+                                                   @MeterTag(key = "state", resolver = BookingStateTag.class)
+                                                   String state, Long bookerId) {
+        advancePhasesFor(state);
+        return readTransaction.execute(status ->
+                findByBooker(state, bookerId, null, null, OffsetPageRequest.of(from, size)));
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    @Timed(value = ServiceMetrics.BOOKING_LIST_TIMER, histogram = true)
+    public List<BookingResponseDto> getAllByBooker(LocalDateTime afterStart, Long afterId, int size,
+                                                   @MeterTag(key = "state", resolver = BookingStateTag.class)
+                                                   String state, Long bookerId) {
+        advancePhasesFor(state);
+        return readTransaction.execute(status ->
+                findByBooker(state, bookerId, afterStart, afterId, PageRequest.of(0, size)));
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    @Timed(value = ServiceMetrics.BOOKING_LIST_TIMER, histogram = true)
+    public List<BookingResponseDto> getAllByOwner(int from, int size,
+                                                  @MeterTag(key = "state", resolver = BookingStateTag.class)
+                                                  String state, Long ownerId) {
+        advancePhasesFor(state);
+        return readTransaction.execute(status ->
+                findByOwner(state, ownerId, null, null, OffsetPageRequest.of(from, size)));
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    @Timed(value = ServiceMetrics.BOOKING_LIST_TIMER, histogram = true)
+    public List<BookingResponseDto> getAllByOwner(LocalDateTime afterStart, Long afterId, int size,
+                                                  @MeterTag(key = "state", resolver = BookingStateTag.class)
+                                                  String state, Long ownerId) {
+        advancePhasesFor(state);
+        return readTransaction.execute(status ->
+                findByOwner(state, ownerId, afterStart, afterId, PageRequest.of(0, size)));
+    }
+
+    /**
+     * Списки по фазе читаются после продвижения фаз. Продвижение идёт до транзакции чтения: иначе каждый запрос,
+     * ждущий advanceLock, держал бы соединение открытой транзакции, а продвигающему потоку нужно ещё одно,
+     * и при десятке одновременных запросов пул соединений кончается. Поэтому списки помечены NOT_SUPPORTED
+     * и читают через readTransaction.
+     */
+    private void advancePhasesFor(String state) {
+        if (state.equals("CURRENT") || state.equals("PAST") || state.equals("FUTURE")) {
+            phaseEngine.advanceIfDue(LocalDateTime.now(clock));
+        }
+    }
+
+    /**
+     * Без курсора (cursorStart равен null) страница задаётся смещением в pageable, с курсором — бронированиями
+     * раньше (cursorStart, cursorId) в порядке start desc, id desc.
+     */
+    private List<BookingResponseDto> findByBooker(String state, Long bookerId, LocalDateTime cursorStart,
+                                                  Long cursorId, Pageable pageable) {
+        if (!userRepository.userExists(bookerId)) {
+            throw new NotFoundException("Пользователь не найден");
+        }
         List<Booking> bookList;
         switch (state) {
             case "ALL":
-                bookList = bookingRepository.findBookingByBookerOrderByStartDesc(user);
+                bookList = cursorStart == null
+                        ? bookingRepository.findBookingByBookerOrderByStartDesc(bookerId, pageable)
+                        : bookingRepository.findBookingByBookerBeforeCursor(bookerId, cursorStart, cursorId,
+                        pageable);
                 break;
             case "WAITING":
             case "REJECTED":
-                bookList = bookingRepository.findBookingByBookerAndStatusOrderByStartDesc(user,
-                        StatusType.valueOf(state));
+                bookList = cursorStart == null
+                        ? bookingRepository.findBookingByBookerAndStatusOrderByStartDesc(bookerId,
+                        StatusType.valueOf(state), pageable)
+                        : bookingRepository.findBookingByBookerAndStatusBeforeCursor(bookerId,
+                        StatusType.valueOf(state), cursorStart, cursorId, pageable);
                 break;
             case "CURRENT":
-                LocalDateTime dateTime = LocalDateTime.now();
-                bookList = bookingRepository.findBookingByBookerAndStartBeforeAndEndAfterOrderByStartDesc(user,
-                        dateTime, dateTime);
-                break;
             case "PAST":
-                LocalDateTime dateTime1 = LocalDateTime.now();
-                bookList = bookingRepository.findBookingByBookerAndEndBeforeOrderByStartDesc(user, dateTime1);
-                break;
             case "FUTURE":
-                LocalDateTime dateTime2 = LocalDateTime.now();
-                bookList = bookingRepository.findBookingByBookerAndStartAfterOrderByStartDesc(user, dateTime2);
+                bookList = cursorStart == null
+                        ? bookingRepository.findBookingByBookerAndPhaseOrderByStartDesc(bookerId,
+                        PhaseType.valueOf(state), pageable)
+                        : bookingRepository.findBookingByBookerAndPhaseBeforeCursor(bookerId,
+                        PhaseType.valueOf(state), cursorStart, cursorId, pageable);
                 break;
             default:
                 throw new ConditionsNotMetException("Данный BookingState не найден");
@@ -152,29 +290,33 @@ public class BookingServiceManager implements BookingService {
         return bookList.stream().map(BookingMapper::bookingToResponse).collect(Collectors.toList());
     }
 
-    @Override
-    public List<BookingResponseDto> getAllByOwner(int from, int size, String state, Long ownerId) {
-        userRepository.findById(ownerId).orElseThrow(() -> new NotFoundException("Пользователь не найден"));
+    private List<BookingResponseDto> findByOwner(String state, Long ownerId, LocalDateTime cursorStart,
+                                                 Long cursorId, Pageable pageable) {
+        if (!userRepository.userExists(ownerId)) {
+            throw new NotFoundException("Пользователь не найден");
+        }
         List<Booking> bookList;
         switch (state) {
             case "ALL":
-                bookList = bookingRepository.getAllBookingsForOwner(ownerId);
+                bookList = cursorStart == null
+                        ? bookingRepository.getAllBookingsForOwner(ownerId, pageable)
+                        : bookingRepository.getAllBookingsForOwnerBeforeCursor(ownerId, cursorStart, cursorId,
+                        pageable);
                 break;
             case "WAITING":
             case "REJECTED":
-                bookList = bookingRepository.getBookingsForOwnerByStatus(ownerId, StatusType.valueOf(state));
+                bookList = cursorStart == null
+                        ? bookingRepository.getBookingsForOwnerByStatus(ownerId, StatusType.valueOf(state), pageable)
+                        : bookingRepository.getBookingsForOwnerByStatusBeforeCursor(ownerId,
+                        StatusType.valueOf(state), cursorStart, cursorId, pageable);
                 break;
             case "CURRENT":
-                LocalDateTime dateTime = LocalDateTime.now();
-                bookList = bookingRepository.getCurrentBookingForOwner(ownerId, dateTime, dateTime);
-                break;
             case "PAST":
-                LocalDateTime dateTime1 = LocalDateTime.now();
-                bookList = bookingRepository.getPastBookingForOwner(ownerId, dateTime1);
-                break;
             case "FUTURE":
-                LocalDateTime dateTime2 = LocalDateTime.now();
-                bookList = bookingRepository.getFutureBookingForOwner(ownerId, dateTime2);
+                bookList = cursorStart == null
+                        ? bookingRepository.getBookingsForOwnerByPhase(ownerId, PhaseType.valueOf(state), pageable)
+                        : bookingRepository.getBookingsForOwnerByPhaseBeforeCursor(ownerId,
+                        PhaseType.valueOf(state), cursorStart, cursorId, pageable);
                 break;
             default:
                 throw new ConditionsNotMetException("Данный BookingState не найден");
@@ -182,4 +324,4 @@ public class BookingServiceManager implements BookingService {
 
         return bookList.stream().map(BookingMapper::bookingToResponse).collect(Collectors.toList());
     }
-}
\ No newline at end of file
+}
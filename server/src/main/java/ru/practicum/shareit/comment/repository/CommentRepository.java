@@ -1,12 +1,19 @@
 package ru.practicum.shareit.comment.repository;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 import ru.practicum.shareit.comment.model.Comment;
 
+import java.util.Collection;
 import java.util.List;
 
 @Repository
 public interface CommentRepository extends JpaRepository<Comment, Long> {
     List<Comment> findAllByItem_Id(Long itemId);
+
+    long countByItem_Id(Long itemId);
+
+    @Query("SELECT C FROM Comment C JOIN FETCH C.item JOIN FETCH C.author WHERE C.item.id IN ?1 ORDER BY C.id")
+    List<Comment> findAllByItemIdIn(Collection<Long> itemIds);
 }
\ No newline at end of file
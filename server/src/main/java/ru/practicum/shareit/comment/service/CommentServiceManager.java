@@ -1,5 +1,6 @@
 package ru.practicum.shareit.comment.service;
 
+import io.micrometer.core.annotation.Timed;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
@@ -14,32 +15,41 @@ import ru.practicum.shareit.comment.model.Comment;
 import ru.practicum.shareit.comment.repository.CommentRepository;
 import ru.practicum.shareit.exeption.NotFoundException;
 import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.item.summary.ItemBookingSummaryUpdater;
+import ru.practicum.shareit.metrics.ServiceMetrics;
 import ru.practicum.shareit.user.repository.UserRepository;
 
+import java.time.Clock;
 import java.time.LocalDateTime;
 
 @Slf4j
 @Service
 @Transactional(readOnly = true)
+@Timed(value = ServiceMetrics.TIMER, histogram = true)
 public class CommentServiceManager implements CommentService {
     private final UserRepository userRepository;
     private final ItemRepository itemRepository;
     private final CommentRepository commentRepository;
     private final BookingRepository bookingRepository;
+    private final ItemBookingSummaryUpdater summaryUpdater;
+    private final Clock clock;
 
     @Autowired
     public CommentServiceManager(ItemRepository itemRepository, UserRepository userRepository,
-                                 CommentRepository commentRepository, BookingRepository bookingRepository) {
+                                 CommentRepository commentRepository, BookingRepository bookingRepository,
+                                 ItemBookingSummaryUpdater summaryUpdater, Clock clock) {
         this.itemRepository = itemRepository;
         this.userRepository = userRepository;
         this.commentRepository = commentRepository;
         this.bookingRepository = bookingRepository;
+        this.summaryUpdater = summaryUpdater;
+        this.clock = clock;
     }
 
     @Transactional
     @Override
     public CommentResponseDto addComment(CommentDto commentDto, long itemId, long userId, LocalDateTime date) {
-        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime now = LocalDateTime.now(clock);
 
         if (bookingRepository.findAllByBookerIdAndItemIdAndEndBefore(userId, itemId, now).isEmpty()) {
             throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Только пользователи, завершившие бронирование" +
@@ -53,6 +63,7 @@ public class CommentServiceManager implements CommentService {
                 itemRepository.findById(itemId).orElseThrow(() -> new NotFoundException("Данная вещь не" +
                         " найдена.")));
         comment = commentRepository.save(comment);
+        summaryUpdater.commentAdded(itemId, now);
         log.info(" От пользователя с id = {} добавили комментарий для вещи c id = {}",
                 comment.getAuthor().getId(), comment.getItem().getId());
 
@@ -5,6 +5,7 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import ru.practicum.shareit.item.dto.ItemBatchResponseDto;
 import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.dto.ItemResponseDto;
 import ru.practicum.shareit.item.service.ItemService;
@@ -30,6 +31,15 @@ public class ItemController {
         return new ResponseEntity<>(itemService.getItemsOfUserById(userId), HttpStatus.OK);
     }
 
+    @GetMapping(params = "ids")
+    public ResponseEntity<ItemBatchResponseDto> getItems(@RequestParam List<Long> ids,
+                                                         @RequestHeader(value = USER_ID_HEADER) Long userId) {
+        log.info("Эндпоинт /items. Получен GET запрос от пользователя c id {} на получение вещей с id {}.",
+                userId, ids);
+
+        return new ResponseEntity<>(itemService.getItemsByIds(ids, userId), HttpStatus.OK);
+    }
+
     @GetMapping("/{id}")
     public ResponseEntity<ItemResponseDto> getItem(@PathVariable Long id,
                                                    @RequestHeader(value = USER_ID_HEADER) Long userId) {
@@ -59,9 +69,11 @@ public class ItemController {
 
     @GetMapping("/search")
     public ResponseEntity<List<ItemDto>> searchItems(@RequestParam(name = "text") String text,
+                                                     @RequestParam(defaultValue = "0") int from,
+                                                     @RequestParam(defaultValue = "10") int size,
                                                      @RequestHeader(value = USER_ID_HEADER) Long userId) {
         log.info("Эндпоинт /items/search. Получен GET запрос от пользователя c id {} на получение списка вещей" +
                 " по запросу '{}'.", userId, text);
-        return new ResponseEntity<>(itemService.findItemsOfUser(text, userId), HttpStatus.OK);
+        return new ResponseEntity<>(itemService.findItemsOfUser(text, from, size, userId), HttpStatus.OK);
     }
 }
\ No newline at end of file
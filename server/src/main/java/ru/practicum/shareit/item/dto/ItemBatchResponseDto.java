@@ -0,0 +1,20 @@
+package ru.practicum.shareit.item.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Ответ на GET /items?ids: найденные вещи в порядке запрошенных id и id, которых нет в базе.
+ */
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class ItemBatchResponseDto {
+    private List<ItemResponseDto> items;
+    private List<Long> missingIds;
+}
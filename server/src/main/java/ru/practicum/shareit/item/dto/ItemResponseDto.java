@@ -11,6 +11,7 @@ import ru.practicum.shareit.comment.CommentResponseDto;
 import ru.practicum.shareit.comment.mapper.CommentMapper;
 import ru.practicum.shareit.comment.model.Comment;
 import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.summary.ItemBookingSummary;
 
 import java.util.List;
 
@@ -42,4 +43,12 @@ public class ItemResponseDto {
                 .build();
     }
 
+    public static ItemResponseDto create(Item item, ItemBookingSummary summary, List<Comment> comments) {
+        ItemResponseDto itemResponseDto = create(null, null, item, comments);
+        if (summary != null) {
+            itemResponseDto.setLastBooking(summary.lastBooking());
+            itemResponseDto.setNextBooking(summary.nextBooking());
+        }
+        return itemResponseDto;
+    }
 }
\ No newline at end of file
@@ -0,0 +1,21 @@
+package ru.practicum.shareit.item.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+import ru.practicum.shareit.item.model.Item;
+
+@Getter
+@ToString
+@AllArgsConstructor
+public class ItemChangedEvent {
+    private final Long id;
+    private final String name;
+    private final String description;
+    private final boolean available;
+
+    public static ItemChangedEvent of(Item item) {
+        return new ItemChangedEvent(item.getId(), item.getName(), item.getDescription(),
+                Boolean.TRUE.equals(item.getAvailable()));
+    }
+}
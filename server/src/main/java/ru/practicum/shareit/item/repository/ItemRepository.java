@@ -1,15 +1,43 @@
 package ru.practicum.shareit.item.repository;
 
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.summary.ItemWithSummary;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface ItemRepository extends JpaRepository<Item, Long> {
-    List<Item> findAllByOwnerIdOrderByIdAsc(Long ownerId);
+    @EntityGraph(attributePaths = "owner")
+    @Override
+    List<Item> findAllById(Iterable<Long> ids);
+
+    /**
+     * Блокирует строку вещи до конца транзакции: подтверждения бронирований одной вещи выполняются по очереди.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select it from Item it where it.id = ?1")
+    Optional<Item> lockById(Long id);
+
+    /**
+     * Вещи владельца вместе со сводкой бронирований одним запросом по индексу items_owner_idx.
+     */
+    @Query("select new ru.practicum.shareit.item.summary.ItemWithSummary(it, s) "
+            + "from Item it "
+            + "left join ItemBookingSummary s on s.itemId = it.id "
+            + "where it.owner.id = ?1 "
+            + "order by it.id")
+    List<ItemWithSummary> findAllWithSummaryByOwnerId(Long ownerId);
 
     @Query("select it "
             + "from Item it "
@@ -18,7 +46,33 @@ public interface ItemRepository extends JpaRepository<Item, Long> {
             + "or lower (it.description) like concat('%', lower(?1), '%')) ")
     List<Item> findByText(String text);
 
+    @Query("select it "
+            + "from Item it "
+            + "where it.available = true "
+            + "and (lower (it.name) like concat('%', lower(?1), '%') "
+            + "or lower (it.description) like concat('%', lower(?1), '%')) "
+            + "order by case when lower (it.name) like concat('%', lower(?1), '%') then 0 else 1 end, it.id")
+    List<Item> findByTextOrderByRelevance(String text, Pageable pageable);
+
+    @Query(value = "select it.* "
+            + "from items it "
+            + "where it.available = true "
+            + "and (lower(it.name) like concat('%', lower(:text), '%') "
+            + "or lower(it.description) like concat('%', lower(:text), '%')) "
+            + "order by greatest(similarity(lower(it.name), lower(:text)), "
+            + "similarity(lower(it.description), lower(:text))) desc, it.id "
+            + "limit :size offset :from", nativeQuery = true)
+    List<Item> findByTrigramSimilarity(@Param("text") String text, @Param("from") int from, @Param("size") int size);
+
+    @Query("select it.id from Item it where it.id in ?1")
+    List<Long> findExistingIds(Collection<Long> ids);
+
     void deleteItemByIdAndOwner_Id(long itemId, long userId);
 
     List<Item> findAllByRequestIdOrderByIdAsc(Long requestId);
+
+    @EntityGraph(attributePaths = "owner")
+    List<Item> findAllByRequestIdInOrderByIdAsc(Collection<Long> requestIds);
+
+    List<Item> findAllByAvailableTrueAndIdGreaterThanOrderByIdAsc(Long id, Limit limit);
 }
\ No newline at end of file
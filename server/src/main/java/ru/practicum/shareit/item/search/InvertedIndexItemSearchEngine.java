@@ -0,0 +1,205 @@
+package ru.practicum.shareit.item.search;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import ru.practicum.shareit.item.event.ItemChangedEvent;
+import ru.practicum.shareit.item.event.ItemDeletedEvent;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.pagination.OffsetPageRequest;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Поиск по инвертированному индексу в памяти. Индекс строится при старте приложения и обновляется
+ * после коммита транзакций, в которых вещи создаются, изменяются или удаляются. Из БД загружается только
+ * запрошенная страница. Пока индекс не построен, поиск идёт через LIKE.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "shareit.search.engine", havingValue = "index")
+public class InvertedIndexItemSearchEngine implements ItemSearchEngine, MeterBinder {
+    private static final int BATCH_SIZE = 1000;
+
+    private final ItemRepository itemRepository;
+    private final List<Consumer<ItemSearchIndex>> pendingChanges = new ArrayList<>();
+    private volatile ItemSearchIndex index;
+    private boolean building;
+
+    public InvertedIndexItemSearchEngine(ItemRepository itemRepository) {
+        this.itemRepository = itemRepository;
+    }
+
+    @Override
+    public List<Item> search(String text, int from, int size) {
+        ItemSearchIndex current = index;
+        if (current == null) {
+            return itemRepository.findByTextOrderByRelevance(text, OffsetPageRequest.of(from, size));
+        }
+        List<Long> pageIds = livePage(current.search(text), from, size);
+        Map<Long, Item> items = itemRepository.findAllById(pageIds).stream()
+                .collect(Collectors.toMap(Item::getId, Function.identity()));
+        return pageIds.stream()
+                .map(items::get)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * id вещей страницы [from, from + size) среди найденных индексом вещей, которые ещё есть в БД. Удалённые,
+     * о которых индекс не узнал, отбрасываются до нарезки страницы и убираются из индекса, иначе страница
+     * оказалась бы короче и все следующие сдвинулись бы.
+     */
+    private List<Long> livePage(long[] ids, int from, int size) {
+        List<Long> live = new ArrayList<>(Math.min(ids.length, from + size));
+        int position = 0;
+        while (live.size() < from + size && position < ids.length) {
+            int end = (int) Math.min(ids.length, (long) position + from + size - live.size());
+            List<Long> chunk = Arrays.stream(ids, position, end).boxed().collect(Collectors.toList());
+            Set<Long> existing = new HashSet<>(itemRepository.findExistingIds(chunk));
+            for (Long id : chunk) {
+                if (existing.contains(id)) {
+                    live.add(id);
+                } else {
+                    apply(ix -> ix.remove(id));
+                }
+            }
+            position = end;
+        }
+        return from >= live.size() ? List.of() : live.subList(from, Math.min(live.size(), from + size));
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        synchronized (this) {
+            if (building) {
+                log.info("Перестроение поискового индекса уже выполняется.");
+                return;
+            }
+            building = true;
+        }
+        ItemSearchIndex fresh = new ItemSearchIndex();
+        try {
+            long lastId = 0;
+            List<Item> batch;
+            do {
+                batch = itemRepository.findAllByAvailableTrueAndIdGreaterThanOrderByIdAsc(lastId,
+                        Limit.of(BATCH_SIZE));
+                for (Item item : batch) {
+                    fresh.put(item.getId(), item.getName(), item.getDescription());
+                    lastId = item.getId();
+                }
+            } while (batch.size() == BATCH_SIZE);
+        } catch (RuntimeException e) {
+            synchronized (this) {
+                building = false;
+                pendingChanges.clear();
+            }
+            throw e;
+        }
+        synchronized (this) {
+            pendingChanges.forEach(change -> change.accept(fresh));
+            pendingChanges.clear();
+            index = fresh;
+            building = false;
+        }
+        log.info("Поисковый индекс построен: вещей {}, n-грамм {}.", fresh.documents(), fresh.terms());
+    }
+
+    @TransactionalEventListener
+    public void onItemChanged(ItemChangedEvent event) {
+        if (event.isAvailable()) {
+            apply(ix -> ix.put(event.getId(), event.getName(), event.getDescription()));
+        } else {
+            apply(ix -> ix.remove(event.getId()));
+        }
+    }
+
+    @TransactionalEventListener
+    public void onItemDeleted(ItemDeletedEvent event) {
+        apply(ix -> ix.remove(event.getId()));
+    }
+
+    /**
+     * Сравнивает результат поиска по индексу с {@link ItemRepository#findByText(String)}.
+     */
+    public Map<String, Object> check(String text) {
+        Set<Long> expected = itemRepository.findByText(text).stream()
+                .map(Item::getId)
+                .collect(Collectors.toCollection(TreeSet::new));
+        ItemSearchIndex current = index;
+        Set<Long> actual = current == null ? new TreeSet<>() : Arrays.stream(current.search(text))
+                .boxed()
+                .collect(Collectors.toCollection(TreeSet::new));
+        Set<Long> missing = new TreeSet<>(expected);
+        missing.removeAll(actual);
+        Set<Long> stale = new TreeSet<>(actual);
+        stale.removeAll(expected);
+
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("text", text);
+        result.put("consistent", missing.isEmpty() && stale.isEmpty());
+        result.put("expected", expected.size());
+        result.put("missing", missing);
+        result.put("stale", stale);
+        return result;
+    }
+
+    public Map<String, Object> stats() {
+        ItemSearchIndex current = index;
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("ready", current != null);
+        result.put("documents", current == null ? 0 : current.documents());
+        result.put("terms", current == null ? 0 : current.terms());
+        result.put("postings", current == null ? 0 : current.postings());
+        result.put("estimatedBytes", current == null ? 0 : current.estimatedBytes());
+        return result;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("shareit.search.index.documents", this, engine -> size(ItemSearchIndex::documents))
+                .description("Количество вещей в поисковом индексе")
+                .register(registry);
+        Gauge.builder("shareit.search.index.terms", this, engine -> size(ItemSearchIndex::terms))
+                .description("Количество n-грамм в словаре поискового индекса")
+                .register(registry);
+        Gauge.builder("shareit.search.index.memory", this, engine -> size(ItemSearchIndex::estimatedBytes))
+                .description("Оценка памяти, занимаемой поисковым индексом")
+                .baseUnit("bytes")
+                .register(registry);
+    }
+
+    private double size(Function<ItemSearchIndex, Number> metric) {
+        ItemSearchIndex current = index;
+        return current == null ? 0 : metric.apply(current).doubleValue();
+    }
+
+    private synchronized void apply(Consumer<ItemSearchIndex> change) {
+        if (index != null) {
+            change.accept(index);
+        }
+        if (building) {
+            pendingChanges.add(change);
+        }
+    }
+}
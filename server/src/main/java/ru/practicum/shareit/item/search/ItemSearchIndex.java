@@ -0,0 +1,266 @@
+package ru.practicum.shareit.item.search;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Pattern;
+
+/**
+ * Инвертированный индекс по названию и описанию доступных вещей.
+ * Ключи — все подстроки слов длиной от 1 до GRAM символов, для каждой хранится отсортированный массив id вещей.
+ * Слово запроса длиной до GRAM ищется одним обращением к словарю, более длинное — пересечением списков его
+ * подстрок длины GRAM. Для каждой вещи хранятся её текст и n-граммы, чтобы можно было удалить вещь из индекса
+ * и проверить совпадение подстроки так же, как это делает LIKE.
+ */
+public class ItemSearchIndex {
+    private static final Pattern TOKEN_DELIMITER = Pattern.compile("[^\\p{L}\\p{N}]+");
+    private static final long[] EMPTY = new long[0];
+    private static final int GRAM = 3;
+
+    private final Map<String, long[]> postings = new HashMap<>();
+    private final Map<Long, Document> documents = new HashMap<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private long postingsSize;
+
+    public void put(long id, String name, String description) {
+        Document document = new Document(lower(name), lower(description));
+        lock.writeLock().lock();
+        try {
+            removeLocked(id);
+            documents.put(id, document);
+            for (String gram : document.grams) {
+                long[] ids = postings.getOrDefault(gram, EMPTY);
+                postings.put(gram, insert(ids, id));
+                postingsSize++;
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(long id) {
+        lock.writeLock().lock();
+        try {
+            removeLocked(id);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Возвращает отсортированные по возрастанию id вещей, в названии или описании которых встречается text
+     * без учёта регистра.
+     */
+    public long[] search(String text) {
+        String query = lower(text);
+        String[] queryTokens = tokenize(query).toArray(new String[0]);
+        lock.readLock().lock();
+        try {
+            long[] candidates = null;
+            for (String queryToken : queryTokens) {
+                candidates = candidates == null ? lookup(queryToken) : intersect(candidates, lookup(queryToken));
+                if (candidates.length == 0) {
+                    return EMPTY;
+                }
+            }
+            if (candidates == null) {
+                candidates = documents.keySet().stream().mapToLong(Long::longValue).sorted().toArray();
+            }
+            return Arrays.stream(candidates)
+                    .filter(id -> documents.get(id).contains(query))
+                    .toArray();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Вещи, в словах которых встречается token. Каждая n-грамма token лежит внутри одного слова вещи,
+     * поэтому результат может содержать лишние вещи, но не теряет нужных.
+     */
+    private long[] lookup(String token) {
+        if (token.length() <= GRAM) {
+            return postings.getOrDefault(token, EMPTY);
+        }
+        long[] result = null;
+        for (int i = 0; i + GRAM <= token.length(); i++) {
+            long[] ids = postings.getOrDefault(token.substring(i, i + GRAM), EMPTY);
+            result = result == null ? ids : intersect(result, ids);
+            if (result.length == 0) {
+                return EMPTY;
+            }
+        }
+        return result;
+    }
+
+    public boolean contains(long id) {
+        lock.readLock().lock();
+        try {
+            return documents.containsKey(id);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int documents() {
+        lock.readLock().lock();
+        try {
+            return documents.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Число различных n-грамм в словаре.
+     */
+    public int terms() {
+        lock.readLock().lock();
+        try {
+            return postings.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public long postings() {
+        lock.readLock().lock();
+        try {
+            return postingsSize;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Приблизительный объём памяти индекса в байтах: массивы id, строки слов и тексты вещей
+     * с учётом заголовков объектов и записей хеш-таблиц.
+     */
+    public long estimatedBytes() {
+        lock.readLock().lock();
+        try {
+            long bytes = 0;
+            for (Map.Entry<String, long[]> entry : postings.entrySet()) {
+                bytes += 32 + stringBytes(entry.getKey()) + 16 + 8L * entry.getValue().length;
+            }
+            for (Document document : documents.values()) {
+                bytes += 32 + 16 + 24 + stringBytes(document.name) + stringBytes(document.description)
+                        + 16 + 4L * document.grams.length;
+            }
+            return bytes;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void removeLocked(long id) {
+        Document document = documents.remove(id);
+        if (document == null) {
+            return;
+        }
+        for (String gram : document.grams) {
+            long[] ids = delete(postings.get(gram), id);
+            postingsSize--;
+            if (ids.length == 0) {
+                postings.remove(gram);
+            } else {
+                postings.put(gram, ids);
+            }
+        }
+    }
+
+    static Set<String> tokenize(String text) {
+        Set<String> tokens = new LinkedHashSet<>();
+        for (String token : TOKEN_DELIMITER.split(text)) {
+            if (!token.isEmpty()) {
+                tokens.add(token);
+            }
+        }
+        return tokens;
+    }
+
+    static Set<String> grams(Set<String> tokens) {
+        Set<String> grams = new LinkedHashSet<>();
+        for (String token : tokens) {
+            for (int length = 1; length <= GRAM; length++) {
+                for (int i = 0; i + length <= token.length(); i++) {
+                    grams.add(token.substring(i, i + length));
+                }
+            }
+        }
+        return grams;
+    }
+
+    private static String lower(String text) {
+        return text == null ? "" : text.toLowerCase(Locale.ROOT);
+    }
+
+    private static long stringBytes(String value) {
+        return 40 + 2L * value.length();
+    }
+
+    private static long[] insert(long[] ids, long id) {
+        int position = Arrays.binarySearch(ids, id);
+        if (position >= 0) {
+            return ids;
+        }
+        position = -position - 1;
+        long[] result = new long[ids.length + 1];
+        System.arraycopy(ids, 0, result, 0, position);
+        result[position] = id;
+        System.arraycopy(ids, position, result, position + 1, ids.length - position);
+        return result;
+    }
+
+    private static long[] delete(long[] ids, long id) {
+        int position = Arrays.binarySearch(ids, id);
+        if (position < 0) {
+            return ids;
+        }
+        long[] result = new long[ids.length - 1];
+        System.arraycopy(ids, 0, result, 0, position);
+        System.arraycopy(ids, position + 1, result, position, ids.length - position - 1);
+        return result;
+    }
+
+    static long[] intersect(long[] left, long[] right) {
+        long[] result = new long[Math.min(left.length, right.length)];
+        int i = 0;
+        int j = 0;
+        int k = 0;
+        while (i < left.length && j < right.length) {
+            if (left[i] < right[j]) {
+                i++;
+            } else if (left[i] > right[j]) {
+                j++;
+            } else {
+                result[k++] = left[i++];
+                j++;
+            }
+        }
+        return Arrays.copyOf(result, k);
+    }
+
+    private static final class Document {
+        private final String name;
+        private final String description;
+        private final String[] grams;
+
+        private Document(String name, String description) {
+            this.name = name;
+            this.description = description;
+            Set<String> all = tokenize(name);
+            all.addAll(tokenize(description));
+            this.grams = grams(all).toArray(new String[0]);
+        }
+
+        private boolean contains(String query) {
+            return name.contains(query) || description.contains(query);
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package ru.practicum.shareit.item.search;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+
+/**
+ * /actuator/searchindex: состояние индекса (GET), перестроение (POST)
+ * и сверка с поиском в БД по тексту (GET /actuator/searchindex/{text}).
+ */
+@Component
+@RequiredArgsConstructor
+@Endpoint(id = "searchindex")
+@ConditionalOnProperty(name = "shareit.search.engine", havingValue = "index")
+public class ItemSearchIndexEndpoint {
+    private final InvertedIndexItemSearchEngine searchEngine;
+
+    @ReadOperation
+    public Map<String, Object> stats() {
+        return searchEngine.stats();
+    }
+
+    @ReadOperation
+    public Map<String, Object> check(@Selector String text) {
+        return searchEngine.check(text);
+    }
+
+    @WriteOperation
+    public Map<String, Object> rebuild() {
+        searchEngine.rebuild();
+        return searchEngine.stats();
+    }
+}
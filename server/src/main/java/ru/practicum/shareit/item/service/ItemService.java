@@ -1,5 +1,6 @@
 package ru.practicum.shareit.item.service;
 
+import ru.practicum.shareit.item.dto.ItemBatchResponseDto;
 import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.dto.ItemResponseDto;
 
@@ -11,11 +12,13 @@ public interface ItemService {
 
     ItemResponseDto getItemById(Long id, Long userId);
 
+    ItemBatchResponseDto getItemsByIds(List<Long> ids, Long userId);
+
     ItemDto createNewItem(ItemDto itemDto, Long userOwnerId);
 
     ItemDto updateItemOfUserById(Long id, ItemDto itemDto, Long userOwnerId);
 
     void deleteItemOfUserById(Long id, Long userOwnerId);
 
-    List<ItemDto> findItemsOfUser(String text, Long userId);
+    List<ItemDto> findItemsOfUser(String text, int from, int size, Long userId);
 }
\ No newline at end of file
@@ -1,59 +1,107 @@
 package ru.practicum.shareit.item.service;
 
+import io.micrometer.core.annotation.Timed;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.server.ResponseStatusException;
-import ru.practicum.shareit.booking.enums.StatusType;
-import ru.practicum.shareit.booking.model.Booking;
-import ru.practicum.shareit.booking.repository.BookingRepository;
 import ru.practicum.shareit.exeption.NotFoundException;
+import ru.practicum.shareit.item.dto.ItemBatchResponseDto;
 import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.dto.ItemResponseDto;
+import ru.practicum.shareit.item.event.ItemChangedEvent;
+import ru.practicum.shareit.item.event.ItemDeletedEvent;
 import ru.practicum.shareit.comment.mapper.CommentMapper;
 import ru.practicum.shareit.item.mapper.ItemMapper;
 import ru.practicum.shareit.comment.model.Comment;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.comment.repository.CommentRepository;
 import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.item.search.ItemSearchEngine;
+import ru.practicum.shareit.item.summary.ItemBookingSummary;
+import ru.practicum.shareit.item.summary.ItemBookingSummaryRepository;
+import ru.practicum.shareit.item.summary.ItemBookingSummaryUpdater;
+import ru.practicum.shareit.item.summary.ItemWithSummary;
+import ru.practicum.shareit.metrics.ServiceMetrics;
 import ru.practicum.shareit.user.repository.UserRepository;
 
+import java.time.Clock;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Slf4j
 @Service
 @Transactional(readOnly = true)
+@Timed(value = ServiceMetrics.TIMER, histogram = true)
 public class ItemServiceManager implements ItemService {
     private final UserRepository userRepository;
     private final ItemRepository itemRepository;
     private final CommentRepository commentRepository;
-    private final BookingRepository bookingRepository;
+    private final ItemBookingSummaryRepository summaryRepository;
+    private final ItemBookingSummaryUpdater summaryUpdater;
+    private final ItemSearchEngine itemSearchEngine;
+    private final ApplicationEventPublisher eventPublisher;
+    private final Clock clock;
 
     @Autowired
     public ItemServiceManager(ItemRepository itemRepository, UserRepository userRepository,
-                              CommentRepository commentRepository, BookingRepository bookingRepository) {
+                              CommentRepository commentRepository, ItemBookingSummaryRepository summaryRepository,
+                              ItemBookingSummaryUpdater summaryUpdater, ItemSearchEngine itemSearchEngine,
+                              ApplicationEventPublisher eventPublisher, Clock clock) {
         this.itemRepository = itemRepository;
         this.userRepository = userRepository;
         this.commentRepository = commentRepository;
-        this.bookingRepository = bookingRepository;
+        this.summaryRepository = summaryRepository;
+        this.summaryUpdater = summaryUpdater;
+        this.itemSearchEngine = itemSearchEngine;
+        this.eventPublisher = eventPublisher;
+        this.clock = clock;
     }
 
+    /**
+     * Вещи владельца одним запросом вместе со сводкой бронирований. По bookings last и next считаются только
+     * для вещей без сводки или с устаревшей сводкой, комментарии загружаются только для вещей, где они есть.
+     */
     @Override
     public List<ItemResponseDto> getItemsOfUserById(Long userId) {
-        userRepository.findById(userId).orElseThrow(() -> new NotFoundException("Пользователь с данным id не найден"));
-        List<ItemResponseDto> itemResponseDto = itemRepository.findAllByOwnerIdOrderByIdAsc(userId).stream()
-                .map(item -> {
-                    List<Comment> comments = commentRepository.findAllByItem_Id(item.getId());
-                    Booking lastBooking = bookingRepository.findFirstByItemIdAndStartBeforeAndStatusOrderByEndDesc(
-                            item.getId(), LocalDateTime.now(), StatusType.APPROVED);
-                    Booking nextBooking = bookingRepository.findFirstByItemIdAndStartAfterAndStatusOrderByStartAsc(
-                            item.getId(), LocalDateTime.now(), StatusType.APPROVED);
-                    return ItemResponseDto.create(lastBooking, nextBooking, item, comments);
-                })
+        if (!userRepository.userExists(userId)) {
+            throw new NotFoundException("Пользователь с данным id не найден");
+        }
+        List<ItemWithSummary> rows = itemRepository.findAllWithSummaryByOwnerId(userId);
+        if (rows.isEmpty()) {
+            log.info("У пользователя с id {} нет вещей.", userId);
+            return List.of();
+        }
+        Map<Long, ItemBookingSummary> stored = new HashMap<>();
+        List<Long> itemIds = new ArrayList<>(rows.size());
+        List<Long> commentedIds = new ArrayList<>();
+        for (ItemWithSummary row : rows) {
+            Long itemId = row.getItem().getId();
+            itemIds.add(itemId);
+            if (row.getSummary() != null) {
+                stored.put(itemId, row.getSummary());
+            }
+            if (row.getSummary() == null || row.getSummary().getCommentCount() > 0) {
+                commentedIds.add(itemId);
+            }
+        }
+        Map<Long, ItemBookingSummary> summaries = summaryUpdater.actual(itemIds, stored, LocalDateTime.now(clock));
+        Map<Long, List<Comment>> comments = commentedIds.isEmpty() ? Map.of()
+                : commentRepository.findAllByItemIdIn(commentedIds).stream()
+                .collect(Collectors.groupingBy(comment -> comment.getItem().getId()));
+
+        List<ItemResponseDto> itemResponseDto = rows.stream()
+                .map(ItemWithSummary::getItem)
+                .map(item -> ItemResponseDto.create(item, summaries.get(item.getId()),
+                        comments.getOrDefault(item.getId(), List.of())))
                 .collect(Collectors.toList());
         log.info("Получаем все вещи пользователя с id {}.", userId);
 
@@ -64,13 +112,12 @@ public class ItemServiceManager implements ItemService {
     public ItemResponseDto getItemById(Long id, Long userId) {
         Item item = itemRepository.findById(id).orElseThrow(() -> new NotFoundException("Вещь не найдена."));
         List<Comment> comments = commentRepository.findAllByItem_Id(id);
-        Booking lastBooking = bookingRepository.findFirstByItemIdAndStartBeforeAndStatusOrderByEndDesc(item.getId(),
-                LocalDateTime.now(), StatusType.APPROVED);
-        Booking nextBooking = bookingRepository.findFirstByItemIdAndStartAfterAndStatusOrderByStartAsc(item.getId(),
-                LocalDateTime.now(), StatusType.APPROVED);
 
         if (item.getOwner().getId().equals(userId)) {
-            ItemResponseDto itemResponseDto = ItemResponseDto.create(lastBooking, nextBooking, item, comments);
+            Map<Long, ItemBookingSummary> stored = new HashMap<>();
+            summaryRepository.findById(id).ifPresent(summary -> stored.put(id, summary));
+            ItemBookingSummary summary = summaryUpdater.actual(List.of(id), stored, LocalDateTime.now(clock)).get(id);
+            ItemResponseDto itemResponseDto = ItemResponseDto.create(item, summary, comments);
             log.info("Вещь по id {} получена для владельца с id {}.", id, userId);
 
             return itemResponseDto;
@@ -83,6 +130,46 @@ public class ItemServiceManager implements ItemService {
         return itemResponseDto;
     }
 
+    /**
+     * Вещи по списку id за фиксированное число запросов: сами вещи вместе с владельцами, комментарии ко всем
+     * найденным вещам и, если среди них есть вещи пользователя, сводки бронирований только для них.
+     * Повторяющиеся id отдаются один раз, порядок совпадает с порядком в запросе.
+     */
+    @Override
+    public ItemBatchResponseDto getItemsByIds(List<Long> ids, Long userId) {
+        List<Long> distinctIds = ids.stream().distinct().collect(Collectors.toList());
+        Map<Long, Item> items = itemRepository.findAllById(distinctIds).stream()
+                .collect(Collectors.toMap(Item::getId, Function.identity()));
+        List<Long> ownItemIds = items.values().stream()
+                .filter(item -> item.getOwner().getId().equals(userId))
+                .map(Item::getId)
+                .collect(Collectors.toList());
+        Map<Long, ItemBookingSummary> summaries = Map.of();
+        if (!ownItemIds.isEmpty()) {
+            Map<Long, ItemBookingSummary> stored = summaryRepository.findAllById(ownItemIds).stream()
+                    .collect(Collectors.toMap(ItemBookingSummary::getItemId, Function.identity()));
+            summaries = summaryUpdater.actual(ownItemIds, stored, LocalDateTime.now(clock));
+        }
+        Map<Long, List<Comment>> comments = items.isEmpty() ? Map.of()
+                : commentRepository.findAllByItemIdIn(items.keySet()).stream()
+                .collect(Collectors.groupingBy(comment -> comment.getItem().getId()));
+
+        List<ItemResponseDto> found = new ArrayList<>(items.size());
+        List<Long> missingIds = new ArrayList<>();
+        for (Long id : distinctIds) {
+            Item item = items.get(id);
+            if (item == null) {
+                missingIds.add(id);
+            } else {
+                found.add(ItemResponseDto.create(item, summaries.get(id), comments.getOrDefault(id, List.of())));
+            }
+        }
+        log.info("Получены вещи по {} id для пользователя с id {}, не найдены: {}.", distinctIds.size(), userId,
+                missingIds);
+
+        return new ItemBatchResponseDto(found, missingIds);
+    }
+
     @Transactional
     @Override
     public ItemDto createNewItem(ItemDto itemDto, Long userId) {
@@ -96,12 +183,15 @@ public class ItemServiceManager implements ItemService {
         if (itemDto.getDescription() == null || itemDto.getDescription().isBlank()) {
             throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Нет описания.");
         }
-        Item item = ItemMapper.itemDtoToItem(itemDto);
-        item.setOwner(userRepository.findById(userId).orElseThrow(() -> {
+        if (!userRepository.userExists(userId)) {
             log.info("Пользователь не найден");
-            return new ResponseStatusException(HttpStatus.NOT_FOUND, "Пользователь не найден.");
-        }));
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Пользователь не найден.");
+        }
+        Item item = ItemMapper.itemDtoToItem(itemDto);
+        item.setOwner(userRepository.getReferenceById(userId));
         itemRepository.save(item);
+        summaryUpdater.itemCreated(item.getId());
+        eventPublisher.publishEvent(ItemChangedEvent.of(item));
         log.info("Создана вещь c id {} ", item.getId());
 
         return ItemMapper.itemToItemDto(item);
@@ -126,6 +216,7 @@ public class ItemServiceManager implements ItemService {
             item.setAvailable(itemDto.getAvailable());
         }
         itemRepository.save(item);
+        eventPublisher.publishEvent(ItemChangedEvent.of(item));
         log.info("Обновили вещь с id {} .", itemId);
 
         return ItemMapper.itemToItemDto(item);
@@ -136,30 +227,31 @@ public class ItemServiceManager implements ItemService {
     public void deleteItemOfUserById(Long itemId, Long userOwnerId) {
         Item item = itemRepository.findById(itemId).orElseThrow(() -> new NotFoundException("Вещь не найдена"));
 
-        if (!userRepository.existsById(userOwnerId)) {
+        if (!userRepository.userExists(userOwnerId)) {
             throw new NotFoundException("Пользователь не найден");
         }
         if (!item.getOwner().getId().equals(userOwnerId)) {
             log.info("Пользователь с id {} не является владельцем данной вещи.", userOwnerId);
             throw new ResponseStatusException(HttpStatus.NOT_FOUND);
         }
-        if (itemRepository.existsById(itemId)) {
-            log.info("Пользователь с id {} удалён владельцем c id {}.", itemId, userOwnerId);
-            itemRepository.deleteItemByIdAndOwner_Id(itemId, userOwnerId);
-        }
+        log.info("Пользователь с id {} удалён владельцем c id {}.", itemId, userOwnerId);
+        itemRepository.deleteItemByIdAndOwner_Id(itemId, userOwnerId);
+        eventPublisher.publishEvent(new ItemDeletedEvent(itemId));
     }
 
     @Transactional(readOnly = true)
     @Override
-    public List<ItemDto> findItemsOfUser(String text, Long userId) {
-        userRepository.findById(userId).orElseThrow(() -> new NotFoundException("Пользователь не найден."));
+    public List<ItemDto> findItemsOfUser(String text, int from, int size, Long userId) {
+        if (!userRepository.userExists(userId)) {
+            throw new NotFoundException("Пользователь не найден.");
+        }
 
         if (text == null || text.isBlank()) {
             log.info("Получен пустой лист поиска по запросу пользователя id {}.", userId);
             return List.of();
         }
-        List<Item> items = itemRepository.findByText(text);
+        List<Item> items = itemSearchEngine.search(text, from, size);
         log.info("Получены все вещи  по текстовому запросу '{} 'для пользователя с id {}.", text, userId);
         return ItemMapper.itemsToItemsDto(items);
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,92 @@
+package ru.practicum.shareit.item.summary;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.springframework.data.domain.Persistable;
+import ru.practicum.shareit.booking.dto.BookingShortDto;
+import ru.practicum.shareit.booking.model.Booking;
+
+import java.time.LocalDateTime;
+
+/**
+ * Последнее и следующее подтверждённое бронирование вещи и число комментариев к ней на момент последнего
+ * пересчёта. Пока следующее бронирование не началось, last и next совпадают с тем, что дали бы запросы к bookings.
+ */
+@Entity
+@Table(name = "item_booking_summary")
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class ItemBookingSummary implements Persistable<Long> {
+    @Id
+    @Column(name = "item_id")
+    private Long itemId;
+    @Column(name = "last_booking_id")
+    private Long lastBookingId;
+    @Column(name = "last_booker_id")
+    private Long lastBookerId;
+    @Column(name = "last_end")
+    private LocalDateTime lastEnd;
+    @Column(name = "next_booking_id")
+    private Long nextBookingId;
+    @Column(name = "next_booker_id")
+    private Long nextBookerId;
+    @Column(name = "next_start")
+    private LocalDateTime nextStart;
+    @Column(name = "comment_count", nullable = false)
+    private long commentCount;
+    @Transient
+    @Builder.Default
+    @EqualsAndHashCode.Exclude
+    private boolean created = true;
+
+    public static ItemBookingSummary empty(Long itemId) {
+        return ItemBookingSummary.builder().itemId(itemId).build();
+    }
+
+    public boolean isActualAt(LocalDateTime now) {
+        return nextStart == null || nextStart.isAfter(now);
+    }
+
+    public void setLast(Booking booking) {
+        lastBookingId = booking == null ? null : booking.getId();
+        lastBookerId = booking == null ? null : booking.getBooker().getId();
+        lastEnd = booking == null ? null : booking.getEnd();
+    }
+
+    public void setNext(Booking booking) {
+        nextBookingId = booking == null ? null : booking.getId();
+        nextBookerId = booking == null ? null : booking.getBooker().getId();
+        nextStart = booking == null ? null : booking.getStart();
+    }
+
+    public BookingShortDto lastBooking() {
+        return lastBookingId == null ? null : BookingShortDto.builder().id(lastBookingId).bookerId(lastBookerId)
+                .build();
+    }
+
+    public BookingShortDto nextBooking() {
+        return nextBookingId == null ? null : BookingShortDto.builder().id(nextBookingId).bookerId(nextBookerId)
+                .build();
+    }
+
+    @Override
+    public Long getId() {
+        return itemId;
+    }
+
+    /**
+     * id задаётся вручную, поэтому без этого save() перед вставкой новой строки выполнял бы лишний SELECT.
+     */
+    @Override
+    public boolean isNew() {
+        return created;
+    }
+
+    @PostLoad
+    @PostPersist
+    void markStored() {
+        created = false;
+    }
+}
@@ -0,0 +1,47 @@
+package ru.practicum.shareit.item.summary;
+
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface ItemBookingSummaryRepository extends JpaRepository<ItemBookingSummary, Long> {
+
+    /**
+     * Блокирует строку сводки до конца транзакции, чтобы подтверждение бронирования и фоновый пересчёт
+     * не перезаписывали изменения друг друга.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT S FROM ItemBookingSummary S WHERE S.itemId = ?1")
+    Optional<ItemBookingSummary> lockById(Long itemId);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT S FROM ItemBookingSummary S WHERE S.itemId IN ?1")
+    List<ItemBookingSummary> lockAllById(Collection<Long> itemIds);
+
+    @Query("SELECT S.itemId FROM ItemBookingSummary S WHERE S.nextStart <= ?1 ORDER BY S.nextStart")
+    List<Long> findDueItemIds(LocalDateTime now, Limit limit);
+
+    @Query("SELECT MIN(S.nextStart) FROM ItemBookingSummary S")
+    LocalDateTime findEarliestNextStart();
+
+    @Modifying
+    @Query("UPDATE ItemBookingSummary S SET S.commentCount = S.commentCount + 1 WHERE S.itemId = ?1")
+    int incrementCommentCount(Long itemId);
+
+    /**
+     * Делает устаревшими сводки, в которых упоминаются бронирования пользователя.
+     */
+    @Modifying
+    @Query("UPDATE ItemBookingSummary S SET S.nextStart = ?2 WHERE S.lastBookerId = ?1 OR S.nextBookerId = ?1")
+    int expireForBooker(Long bookerId, LocalDateTime now);
+}
@@ -0,0 +1,220 @@
+package ru.practicum.shareit.item.summary;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.practicum.shareit.booking.enums.StatusType;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.comment.repository.CommentRepository;
+
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Поддерживает item_booking_summary. Подтверждение бронирования и новый комментарий меняют сводку в своей
+ * транзакции. Когда следующее бронирование начинается, сводка устаревает, и её пересчитывает фоновая задача.
+ * Чтобы задача не ходила в БД впустую, в памяти хранится самое раннее next_start, известное после её последнего
+ * запуска и подтверждений с тех пор.
+ */
+@Slf4j
+@Component
+public class ItemBookingSummaryUpdater {
+    private static final int BATCH_SIZE = 500;
+
+    private final ItemBookingSummaryRepository summaryRepository;
+    private final BookingRepository bookingRepository;
+    private final CommentRepository commentRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final Clock clock;
+    private final AtomicReference<LocalDateTime> nextDue = new AtomicReference<>(LocalDateTime.MIN);
+
+    public ItemBookingSummaryUpdater(ItemBookingSummaryRepository summaryRepository,
+                                     BookingRepository bookingRepository, CommentRepository commentRepository,
+                                     TransactionTemplate transactionTemplate, Clock clock) {
+        this.summaryRepository = summaryRepository;
+        this.bookingRepository = bookingRepository;
+        this.commentRepository = commentRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.clock = clock;
+    }
+
+    public void itemCreated(Long itemId) {
+        summaryRepository.save(ItemBookingSummary.empty(itemId));
+    }
+
+    /**
+     * Вызывается в транзакции подтверждения после смены статуса бронирования на APPROVED.
+     */
+    public void bookingApproved(Booking booking, LocalDateTime now) {
+        Long itemId = booking.getItem().getId();
+        Optional<ItemBookingSummary> stored = summaryRepository.lockById(itemId);
+        if (stored.isEmpty() || !stored.get().isActualAt(now)) {
+            refresh(itemId, stored.orElse(null), now);
+            return;
+        }
+        ItemBookingSummary summary = stored.get();
+        if (booking.getStart().isAfter(now)) {
+            if (summary.getNextStart() == null || booking.getStart().isBefore(summary.getNextStart())) {
+                summary.setNext(booking);
+                dueAfterCommit(booking.getStart());
+            }
+        } else if (summary.getLastEnd() == null || booking.getEnd().isAfter(summary.getLastEnd())) {
+            summary.setLast(booking);
+        }
+    }
+
+    public void commentAdded(Long itemId, LocalDateTime now) {
+        if (summaryRepository.incrementCommentCount(itemId) == 0) {
+            refresh(itemId, null, now);
+        }
+    }
+
+    /**
+     * Бронирования удалённого пользователя удаляет каскад в БД, поэтому сводки с ними помечаются устаревшими.
+     */
+    public void bookerDeleted(Long userId, LocalDateTime now) {
+        if (summaryRepository.expireForBooker(userId, now) > 0) {
+            dueAfterCommit(now);
+        }
+    }
+
+    /**
+     * Сводки для чтения: актуальные строки из stored как есть, для остальных вещей last и next считаются
+     * по bookings двумя запросами на все такие вещи. В БД ничего не пишется, число комментариев
+     * в посчитанных сводках не заполняется.
+     */
+    public Map<Long, ItemBookingSummary> actual(Collection<Long> itemIds, Map<Long, ItemBookingSummary> stored,
+                                                LocalDateTime now) {
+        Map<Long, ItemBookingSummary> result = new HashMap<>();
+        List<ItemBookingSummary> outdated = new ArrayList<>();
+        for (Long itemId : itemIds) {
+            ItemBookingSummary summary = stored.get(itemId);
+            if (summary == null || !summary.isActualAt(now)) {
+                summary = ItemBookingSummary.empty(itemId);
+                outdated.add(summary);
+            }
+            result.put(itemId, summary);
+        }
+        if (!outdated.isEmpty()) {
+            fill(outdated, now);
+        }
+        return result;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void refreshOnStartup() {
+        refreshDue(LocalDateTime.now(clock));
+    }
+
+    @Scheduled(fixedDelayString = "${shareit.item-summary.refresh-interval}",
+            initialDelayString = "${shareit.item-summary.refresh-interval}")
+    public void refreshDue() {
+        refreshDue(LocalDateTime.now(clock));
+    }
+
+    /**
+     * Пересчитывает сводки, у которых следующее бронирование началось к моменту now, пачками по BATCH_SIZE
+     * в отдельных транзакциях.
+     *
+     * @return число пересчитанных сводок
+     */
+    public int refreshDue(LocalDateTime now) {
+        if (nextDue.get().isAfter(now)) {
+            return 0;
+        }
+        // Подтверждения, зафиксированные после этой строки, понизят nextDue сами, более ранние увидит
+        // запрос MIN(next_start) ниже.
+        nextDue.set(LocalDateTime.MAX);
+        int refreshed = 0;
+        try {
+            int batch;
+            do {
+                batch = transactionTemplate.execute(status -> refreshBatch(now));
+                refreshed += batch;
+            } while (batch == BATCH_SIZE);
+            due(summaryRepository.findEarliestNextStart());
+        } catch (RuntimeException e) {
+            nextDue.set(LocalDateTime.MIN);
+            throw e;
+        }
+        if (refreshed > 0) {
+            log.info("Пересчитано сводок бронирований вещей: {}.", refreshed);
+        }
+        return refreshed;
+    }
+
+    private int refreshBatch(LocalDateTime now) {
+        List<Long> itemIds = summaryRepository.findDueItemIds(now, Limit.of(BATCH_SIZE));
+        if (itemIds.isEmpty()) {
+            return 0;
+        }
+        List<ItemBookingSummary> summaries = summaryRepository.lockAllById(itemIds);
+        fill(summaries, now);
+        return summaries.size();
+    }
+
+    private void refresh(Long itemId, ItemBookingSummary stored, LocalDateTime now) {
+        ItemBookingSummary summary = stored != null ? stored : ItemBookingSummary.builder()
+                .itemId(itemId)
+                .commentCount(commentRepository.countByItem_Id(itemId))
+                .build();
+        fill(List.of(summary), now);
+        summaryRepository.save(summary);
+        if (summary.getNextStart() != null) {
+            dueAfterCommit(summary.getNextStart());
+        }
+    }
+
+    private void fill(Collection<ItemBookingSummary> summaries, LocalDateTime now) {
+        List<Long> itemIds = summaries.stream().map(ItemBookingSummary::getItemId).collect(Collectors.toList());
+        Map<Long, Booking> lastBookings = firstByItemId(
+                bookingRepository.findLastBookingsForItems(itemIds, now, StatusType.APPROVED));
+        Map<Long, Booking> nextBookings = firstByItemId(
+                bookingRepository.findNextBookingsForItems(itemIds, now, StatusType.APPROVED));
+        for (ItemBookingSummary summary : summaries) {
+            summary.setLast(lastBookings.get(summary.getItemId()));
+            summary.setNext(nextBookings.get(summary.getItemId()));
+        }
+    }
+
+    private void dueAfterCommit(LocalDateTime time) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            due(time);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                due(time);
+            }
+        });
+    }
+
+    private void due(LocalDateTime time) {
+        if (time != null) {
+            nextDue.accumulateAndGet(time, (current, candidate) -> candidate.isBefore(current) ? candidate : current);
+        }
+    }
+
+    private static Map<Long, Booking> firstByItemId(List<Booking> bookings) {
+        return bookings.stream()
+                .collect(Collectors.toMap(booking -> booking.getItem().getId(), Function.identity(),
+                        (first, second) -> first));
+    }
+}
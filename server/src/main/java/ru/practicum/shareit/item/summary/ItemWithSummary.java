@@ -0,0 +1,15 @@
+package ru.practicum.shareit.item.summary;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import ru.practicum.shareit.item.model.Item;
+
+/**
+ * Вещь вместе со строкой сводки; summary равен null, если строки для вещи нет.
+ */
+@Getter
+@AllArgsConstructor
+public class ItemWithSummary {
+    private final Item item;
+    private final ItemBookingSummary summary;
+}
@@ -0,0 +1,18 @@
+package ru.practicum.shareit.metrics;
+
+import io.micrometer.common.annotation.ValueResolver;
+
+import java.util.Set;
+
+/**
+ * Значение тега state для списков бронирований. Параметр приходит из запроса как есть, поэтому всё,
+ * кроме известных состояний, сводится к UNKNOWN: иначе каждая опечатка стала бы отдельным таймером.
+ */
+public class BookingStateTag implements ValueResolver {
+    private static final Set<String> STATES = Set.of("ALL", "CURRENT", "PAST", "FUTURE", "WAITING", "REJECTED");
+
+    @Override
+    public String resolve(Object parameter) {
+        return STATES.contains(parameter) ? (String) parameter : "UNKNOWN";
+    }
+}
@@ -0,0 +1,95 @@
+package ru.practicum.shareit.metrics;
+
+import io.micrometer.common.KeyValues;
+import io.micrometer.core.aop.MeterTagAnnotationHandler;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.tracing.Tracer;
+import io.opentelemetry.exporter.logging.LoggingSpanExporter;
+import io.opentelemetry.sdk.trace.export.SpanExporter;
+import org.springframework.beans.BeanUtils;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.data.repository.core.support.RepositoryFactoryBeanSupport;
+import org.springframework.http.server.observation.DefaultServerRequestObservationConvention;
+import org.springframework.http.server.observation.ServerRequestObservationContext;
+import org.springframework.http.server.observation.ServerRequestObservationConvention;
+import org.springframework.util.function.SingletonSupplier;
+
+@Configuration
+@EnableConfigurationProperties(QueryBudgetProperties.class)
+public class MetricsConfig {
+
+    /**
+     * Позволяет тегировать таймер shareit.service значением параметра через @MeterTag.
+     */
+    @Bean
+    public MeterTagAnnotationHandler meterTagAnnotationHandler() {
+        return new MeterTagAnnotationHandler(BeanUtils::instantiateClass, BeanUtils::instantiateClass);
+    }
+
+    /**
+     * Добавляет RepositoryResultsRecorder и RepositorySpans в прокси каждого репозитория Spring Data.
+     * Реестр метрик и трассировщик берутся лениво: постпроцессоры создаются раньше остальных бинов.
+     */
+    @Bean
+    public static BeanPostProcessor repositoryObservability(ObjectProvider<MeterRegistry> meterRegistry,
+                                                            ObjectProvider<Tracer> tracerProvider) {
+        SingletonSupplier<MeterRegistry> registry = SingletonSupplier.of(meterRegistry::getObject);
+        SingletonSupplier<Tracer> tracer = SingletonSupplier.of(() -> tracerProvider.getIfAvailable(() -> Tracer.NOOP));
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessBeforeInitialization(Object bean, String beanName) {
+                if (bean instanceof RepositoryFactoryBeanSupport<?, ?, ?> factoryBean) {
+                    factoryBean.addRepositoryFactoryCustomizer(factory -> factory.addRepositoryProxyPostProcessor(
+                            (proxy, information) -> {
+                                proxy.addAdvice(new RepositorySpans(tracer, information.getRepositoryInterface()));
+                                proxy.addAdvice(
+                                        new RepositoryResultsRecorder(registry, information.getRepositoryInterface()));
+                            }));
+                }
+                return bean;
+            }
+        };
+    }
+
+    /**
+     * Пользователь запроса в спане http.server.requests. Высококардинальные значения попадают только в спаны.
+     */
+    @Bean
+    public ServerRequestObservationConvention serverRequestObservationConvention() {
+        return new DefaultServerRequestObservationConvention() {
+            @Override
+            public KeyValues getHighCardinalityKeyValues(ServerRequestObservationContext context) {
+                KeyValues keyValues = super.getHighCardinalityKeyValues(context);
+                String userId = context.getCarrier().getHeader(TracingTags.USER_ID_HEADER);
+                return userId == null ? keyValues : keyValues.and(TracingTags.USER_ID, userId);
+            }
+        };
+    }
+
+    /**
+     * Экспорт спанов без внешнего коллектора: каждый завершённый спан пишется в лог
+     * io.opentelemetry.exporter.logging.LoggingSpanExporter, который можно направить в отдельный файл.
+     * Включается явно, shareit.tracing.exporter=logging или профилем tracing.
+     */
+    @Bean
+    @ConditionalOnProperty(name = "shareit.tracing.exporter", havingValue = "logging")
+    public SpanExporter loggingSpanExporter() {
+        return LoggingSpanExporter.create();
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "shareit.query-budget.enabled", matchIfMissing = true)
+    public FilterRegistrationBean<QueryBudgetFilter> queryBudgetFilter(QueryBudgetProperties properties) {
+        FilterRegistrationBean<QueryBudgetFilter> registration =
+                new FilterRegistrationBean<>(new QueryBudgetFilter(properties));
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE);
+        return registration;
+    }
+}
@@ -0,0 +1,59 @@
+package ru.practicum.shareit.metrics;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Считает запросы к БД и их суммарное время за HTTP-запрос и пишет в лог запросы, вышедшие за бюджет,
+ * вместе с эндпоинтом и самыми повторяющимися запросами.
+ */
+@Slf4j
+public class QueryBudgetFilter extends OncePerRequestFilter {
+    private final QueryBudgetProperties properties;
+
+    public QueryBudgetFilter(QueryBudgetProperties properties) {
+        this.properties = properties;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        RequestSqlStats stats = RequestSqlStats.start();
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            RequestSqlStats.finish();
+            if (stats.getCount() > properties.getMaxStatements()
+                    || stats.getMillis() > properties.getMaxSqlTime().toMillis()) {
+                log.warn("{} {} вышел за бюджет запросов к БД: запросов {} (лимит {}), время SQL {} мс (лимит {} мс)."
+                                + " Чаще всего выполнялись:\n{}", request.getMethod(), endpoint(request),
+                        stats.getCount(), properties.getMaxStatements(), stats.getMillis(),
+                        properties.getMaxSqlTime().toMillis(), mostRepeated(stats));
+            }
+        }
+    }
+
+    private static Object endpoint(HttpServletRequest request) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        return pattern != null ? pattern : request.getRequestURI();
+    }
+
+    private String mostRepeated(RequestSqlStats stats) {
+        return stats.mostRepeated(properties.getLogTopStatements()).stream()
+                .map(QueryBudgetFilter::format)
+                .collect(Collectors.joining("\n"));
+    }
+
+    private static String format(Map.Entry<String, Integer> statement) {
+        return statement.getValue() + " × " + statement.getKey().replaceAll("\\s+", " ");
+    }
+}
@@ -0,0 +1,30 @@
+package ru.practicum.shareit.metrics;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Бюджет запросов к БД на один HTTP-запрос, см. QueryBudgetFilter.
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "shareit.query-budget")
+public class QueryBudgetProperties {
+    private boolean enabled = true;
+    /**
+     * Больше стольких запросов к БД на один HTTP-запрос — повод искать N+1.
+     */
+    private int maxStatements = 20;
+    private Duration maxSqlTime = Duration.ofMillis(200);
+    /**
+     * Отдавать ли X-Sql-Count и X-Sql-Time-Ms в ответе. Для отладки и тестов, в проде выключено.
+     */
+    private boolean headers = false;
+    /**
+     * Сколько самых повторяющихся запросов попадает в лог при превышении бюджета.
+     */
+    private int logTopStatements = 3;
+}
@@ -0,0 +1,45 @@
+package ru.practicum.shareit.metrics;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Пишет, сколько строк вернул метод репозитория. Время вызова уже измеряет spring.data.repository.invocations,
+ * а по размеру результата видно запросы, которые тянут из БД больше, чем нужно странице.
+ */
+public class RepositoryResultsRecorder implements MethodInterceptor {
+    private final Supplier<MeterRegistry> registry;
+    private final Class<?> repositoryInterface;
+    private final Map<Method, DistributionSummary> summaries = new ConcurrentHashMap<>();
+
+    public RepositoryResultsRecorder(Supplier<MeterRegistry> registry, Class<?> repositoryInterface) {
+        this.registry = registry;
+        this.repositoryInterface = repositoryInterface;
+    }
+
+    @Override
+    public Object invoke(MethodInvocation invocation) throws Throwable {
+        Object result = invocation.proceed();
+        Method method = invocation.getMethod();
+        if (ResultSize.isCountable(method.getReturnType())) {
+            summaries.computeIfAbsent(method, this::summary).record(ResultSize.of(result));
+        }
+        return result;
+    }
+
+    private DistributionSummary summary(Method method) {
+        return DistributionSummary.builder(ServiceMetrics.REPOSITORY_RESULTS)
+                .description("Количество строк в результате метода репозитория")
+                .tag("repository", repositoryInterface.getSimpleName())
+                .tag("method", method.getName())
+                .publishPercentileHistogram()
+                .register(registry.get());
+    }
+}
@@ -0,0 +1,41 @@
+package ru.practicum.shareit.metrics;
+
+import io.micrometer.tracing.Span;
+import io.micrometer.tracing.Tracer;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+
+import java.lang.reflect.Method;
+import java.util.function.Supplier;
+
+/**
+ * Спан на каждый вызов метода репозитория, например BookingRepository.getAllBookingsForOwner,
+ * с числом возвращённых строк. Вложен в спан метода сервиса.
+ */
+public class RepositorySpans implements MethodInterceptor {
+    private final Supplier<Tracer> tracer;
+    private final String repository;
+
+    public RepositorySpans(Supplier<Tracer> tracer, Class<?> repositoryInterface) {
+        this.tracer = tracer;
+        this.repository = repositoryInterface.getSimpleName();
+    }
+
+    @Override
+    public Object invoke(MethodInvocation invocation) throws Throwable {
+        Method method = invocation.getMethod();
+        Span span = tracer.get().nextSpan().name(repository + "." + method.getName());
+        try (Tracer.SpanInScope ignored = tracer.get().withSpan(span.start())) {
+            Object result = invocation.proceed();
+            if (ResultSize.isCountable(method.getReturnType())) {
+                span.tag(TracingTags.RESULT_SIZE, ResultSize.of(result));
+            }
+            return result;
+        } catch (Throwable e) {
+            span.error(e);
+            throw e;
+        } finally {
+            span.end();
+        }
+    }
+}
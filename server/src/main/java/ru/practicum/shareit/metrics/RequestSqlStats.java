@@ -0,0 +1,59 @@
+package ru.practicum.shareit.metrics;
+
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Запросы к БД, выполненные при обработке текущего HTTP-запроса. Создаётся QueryBudgetFilter и привязывается
+ * к потоку запроса, заполняется SqlStatementInspector (текст) и SqlTimingListener (время).
+ */
+public class RequestSqlStats {
+    private static final ThreadLocal<RequestSqlStats> CURRENT = new ThreadLocal<>();
+
+    private final Map<String, Integer> statements = new HashMap<>();
+    private int count;
+    private long nanos;
+
+    public static RequestSqlStats current() {
+        return CURRENT.get();
+    }
+
+    static RequestSqlStats start() {
+        RequestSqlStats stats = new RequestSqlStats();
+        CURRENT.set(stats);
+        return stats;
+    }
+
+    static void finish() {
+        CURRENT.remove();
+    }
+
+    void statement(String sql) {
+        count++;
+        statements.merge(sql, 1, Integer::sum);
+    }
+
+    void executed(long statementNanos) {
+        nanos += statementNanos;
+    }
+
+    public int getCount() {
+        return count;
+    }
+
+    public long getMillis() {
+        return nanos / 1_000_000;
+    }
+
+    /**
+     * Самые часто повторявшиеся запросы: N+1 выглядит как один и тот же запрос, выполненный много раз.
+     */
+    public List<Map.Entry<String, Integer>> mostRepeated(int limit) {
+        return statements.entrySet().stream()
+                .sorted(Map.Entry.<String, Integer>comparingByValue(Comparator.reverseOrder()))
+                .limit(limit)
+                .toList();
+    }
+}
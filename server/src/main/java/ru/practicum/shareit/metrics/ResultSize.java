@@ -0,0 +1,35 @@
+package ru.practicum.shareit.metrics;
+
+import org.springframework.data.domain.Slice;
+
+import java.util.Collection;
+import java.util.Optional;
+import java.util.stream.BaseStream;
+
+/**
+ * Сколько записей вернул метод: размер коллекции или страницы, 0 или 1 для Optional и одиночного объекта.
+ * Числа, boolean и потоки записями не считаются.
+ */
+class ResultSize {
+
+    static boolean isCountable(Class<?> type) {
+        return !type.isPrimitive() && !Number.class.isAssignableFrom(type) && !Boolean.class.equals(type)
+                && !BaseStream.class.isAssignableFrom(type);
+    }
+
+    static int of(Object result) {
+        if (result == null) {
+            return 0;
+        }
+        if (result instanceof Collection<?> collection) {
+            return collection.size();
+        }
+        if (result instanceof Slice<?> slice) {
+            return slice.getNumberOfElements();
+        }
+        if (result instanceof Optional<?> optional) {
+            return optional.isPresent() ? 1 : 0;
+        }
+        return 1;
+    }
+}
@@ -0,0 +1,15 @@
+package ru.practicum.shareit.metrics;
+
+/**
+ * Имена метрик server. Время каждого метода *ServiceManager пишется в таймер shareit.service с тегами class,
+ * method и exception, размер результата методов репозиториев — в shareit.repository.results.
+ */
+public class ServiceMetrics {
+    public static final String TIMER = "shareit.service";
+    /**
+     * Списки бронирований дополнительно тегируются состоянием. Prometheus требует одинакового набора тегов
+     * у всех рядов метрики, поэтому у них отдельный таймер.
+     */
+    public static final String BOOKING_LIST_TIMER = "shareit.service.bookings";
+    public static final String REPOSITORY_RESULTS = "shareit.repository.results";
+}
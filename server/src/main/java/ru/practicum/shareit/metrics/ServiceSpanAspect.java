@@ -0,0 +1,53 @@
+package ru.practicum.shareit.metrics;
+
+import io.micrometer.tracing.Span;
+import io.micrometer.tracing.Tracer;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.stereotype.Component;
+
+/**
+ * Спан на каждый вызов метода *ServiceManager с пользователем запроса, состоянием бронирований
+ * (параметр state) и размером результата.
+ */
+@Aspect
+@Component
+public class ServiceSpanAspect {
+    private final Tracer tracer;
+
+    public ServiceSpanAspect(Tracer tracer) {
+        this.tracer = tracer;
+    }
+
+    @Around("execution(public * ru.practicum.shareit..service.*ServiceManager.*(..))")
+    public Object trace(ProceedingJoinPoint joinPoint) throws Throwable {
+        MethodSignature signature = (MethodSignature) joinPoint.getSignature();
+        Span span = tracer.nextSpan()
+                .name(signature.getDeclaringType().getSimpleName() + "." + signature.getName());
+        String userId = TracingTags.currentUserId();
+        if (userId != null) {
+            span.tag(TracingTags.USER_ID, userId);
+        }
+        String[] names = signature.getParameterNames();
+        Object[] args = joinPoint.getArgs();
+        for (int i = 0; i < args.length; i++) {
+            if ("state".equals(names[i]) && args[i] != null) {
+                span.tag(TracingTags.BOOKING_STATE, args[i].toString());
+            }
+        }
+        try (Tracer.SpanInScope ignored = tracer.withSpan(span.start())) {
+            Object result = joinPoint.proceed();
+            if (ResultSize.isCountable(signature.getReturnType())) {
+                span.tag(TracingTags.RESULT_SIZE, ResultSize.of(result));
+            }
+            return result;
+        } catch (Throwable e) {
+            span.error(e);
+            throw e;
+        } finally {
+            span.end();
+        }
+    }
+}
@@ -0,0 +1,19 @@
+package ru.practicum.shareit.metrics;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+/**
+ * Считает подготовленные Hibernate запросы в RequestSqlStats текущего HTTP-запроса. Текст запроса не меняет.
+ * Подключается свойством hibernate.session_factory.statement_inspector.
+ */
+public class SqlStatementInspector implements StatementInspector {
+
+    @Override
+    public String inspect(String sql) {
+        RequestSqlStats stats = RequestSqlStats.current();
+        if (stats != null) {
+            stats.statement(sql);
+        }
+        return sql;
+    }
+}
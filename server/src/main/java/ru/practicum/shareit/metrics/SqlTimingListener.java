@@ -0,0 +1,38 @@
+package ru.practicum.shareit.metrics;
+
+import org.hibernate.SessionEventListener;
+
+/**
+ * Суммирует время выполнения JDBC-запросов в RequestSqlStats текущего HTTP-запроса.
+ * Hibernate создаёт свой экземпляр на каждую сессию, см. hibernate.session.events.auto.
+ */
+public class SqlTimingListener implements SessionEventListener {
+    private long started;
+
+    @Override
+    public void jdbcExecuteStatementStart() {
+        started = System.nanoTime();
+    }
+
+    @Override
+    public void jdbcExecuteStatementEnd() {
+        record();
+    }
+
+    @Override
+    public void jdbcExecuteBatchStart() {
+        started = System.nanoTime();
+    }
+
+    @Override
+    public void jdbcExecuteBatchEnd() {
+        record();
+    }
+
+    private void record() {
+        RequestSqlStats stats = RequestSqlStats.current();
+        if (stats != null) {
+            stats.executed(System.nanoTime() - started);
+        }
+    }
+}
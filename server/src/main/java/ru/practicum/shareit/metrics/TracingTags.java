@@ -0,0 +1,26 @@
+package ru.practicum.shareit.metrics;
+
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+/**
+ * Атрибуты спанов server.
+ */
+public class TracingTags {
+    public static final String USER_ID = "shareit.user.id";
+    public static final String BOOKING_STATE = "shareit.booking.state";
+    public static final String RESULT_SIZE = "shareit.result.size";
+    static final String USER_ID_HEADER = "X-Sharer-User-Id";
+
+    /**
+     * Пользователь текущего HTTP-запроса или null вне запроса.
+     */
+    static String currentUserId() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes instanceof ServletRequestAttributes servletAttributes) {
+            return servletAttributes.getRequest().getHeader(USER_ID_HEADER);
+        }
+        return null;
+    }
+}
@@ -2,6 +2,7 @@ package ru.practicum.shareit.request.repository;
 
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import ru.practicum.shareit.request.model.ItemRequest;
 
@@ -12,5 +13,6 @@ public interface ItemRequestRepository extends JpaRepository<ItemRequest, Long>
 
     List<ItemRequest> findAllByRequestor_idOrderByCreatedAsc(Long userId);
 
+    @EntityGraph(attributePaths = "requestor")
     Page<ItemRequest> findAllByRequestor_IdNotIn(Collection<Long> ownerId, Pageable pageable);
 }
\ No newline at end of file
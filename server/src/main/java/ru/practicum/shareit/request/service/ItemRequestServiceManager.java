@@ -1,5 +1,6 @@
 package ru.practicum.shareit.request.service;
 
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.PageRequest;
@@ -10,7 +11,9 @@ import org.springframework.transaction.annotation.Transactional;
 import ru.practicum.shareit.exeption.NotFoundException;
 import ru.practicum.shareit.item.dto.ItemResponseDto;
 import ru.practicum.shareit.item.mapper.ItemMapper;
+import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.metrics.ServiceMetrics;
 import ru.practicum.shareit.request.dto.ItemRequestDto;
 import ru.practicum.shareit.request.dto.ItemRequestResponseDto;
 import ru.practicum.shareit.request.mapper.ItemRequestMapper;
@@ -20,12 +23,14 @@ import ru.practicum.shareit.user.repository.UserRepository;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 @Service
 @Slf4j
 @Transactional(readOnly = true)
 @RequiredArgsConstructor
+@Timed(value = ServiceMetrics.TIMER, histogram = true)
 public class ItemRequestServiceManager implements ItemRequestService {
 
     private final ItemRequestRepository itemRequestRepository;
@@ -36,11 +41,11 @@ public class ItemRequestServiceManager implements ItemRequestService {
     @Transactional
     public ItemRequestDto createRequest(ItemRequestDto itemRequestDto, Long userId) {
         ItemRequest itemRequest = ItemRequestMapper.dtoToItemRequest(itemRequestDto);
-        itemRequest.setRequestor(userRepository.findById(userId).orElseThrow(() -> {
+        if (!userRepository.userExists(userId)) {
             log.info("Нет такого пользователя.");
-
-            return new NotFoundException("Нет такого пользователя.");
-        }));
+            throw new NotFoundException("Нет такого пользователя.");
+        }
+        itemRequest.setRequestor(userRepository.getReferenceById(userId));
         itemRequest.setCreated(LocalDateTime.now());
         log.info("Сохранение itemRequestDto {}.", itemRequestDto);
         itemRequestRepository.save(itemRequest);
@@ -50,19 +55,17 @@ public class ItemRequestServiceManager implements ItemRequestService {
 
     @Override
     public List<ItemRequestResponseDto> getAllForRequestor(Long userId) {
-        userRepository.findById(userId).orElseThrow(() -> new NotFoundException("Нет такого пользователя."));
+        if (!userRepository.userExists(userId)) {
+            throw new NotFoundException("Нет такого пользователя.");
+        }
 
-        if (itemRequestRepository.findAllByRequestor_idOrderByCreatedAsc(userId).isEmpty()) {
+        List<ItemRequest> itemRequests = itemRequestRepository.findAllByRequestor_idOrderByCreatedAsc(userId);
+        if (itemRequests.isEmpty()) {
             log.info("Получен пустой список ItemRequest для пользователя c id {}.", userId);
             return List.of();
         }
 
-        List<ItemRequestResponseDto> itemRequestResponseDtos
-                = itemRequestRepository.findAllByRequestor_idOrderByCreatedAsc(userId)
-                .stream()
-                .map(a -> ItemRequestResponseDto.create(a, ItemMapper.listItemsToListResponseDto(
-                        itemRepository.findAllByOwnerIdOrderByIdAsc(a.getRequestor().getId()))))
-                .collect(Collectors.toList());
+        List<ItemRequestResponseDto> itemRequestResponseDtos = withAnswers(itemRequests);
 
         log.info("Получен список ItemRequest вместе с данными об ответах на них для пользователя c id {}.", userId);
         return itemRequestResponseDtos;
@@ -70,15 +73,14 @@ public class ItemRequestServiceManager implements ItemRequestService {
 
     @Override
     public List<ItemRequestResponseDto> getAllRequests(int from, int size, long userId) {
-        userRepository.findById(userId).orElseThrow(() -> new NotFoundException("Нет такого пользователя."));
+        if (!userRepository.userExists(userId)) {
+            throw new NotFoundException("Нет такого пользователя.");
+        }
 
         Pageable pageable = PageRequest.of(from, size, Sort.by(Sort.Direction.DESC, "created"));
 
-        List<ItemRequestResponseDto> itemResponseDtos = (itemRequestRepository.findAllByRequestor_IdNotIn(
-                List.of(userId), pageable).getContent()).stream()
-                .map(a -> ItemRequestResponseDto.create(a, ItemMapper.listItemsToListResponseDto(
-                        itemRepository.findAllByOwnerIdOrderByIdAsc(a.getId()))))
-                .collect(Collectors.toList());
+        List<ItemRequestResponseDto> itemResponseDtos = withAnswers(itemRequestRepository.findAllByRequestor_IdNotIn(
+                List.of(userId), pageable).getContent());
 
         log.info("Получен список всех ItemRequest по запросу от пользователя c id {}.", userId);
         return itemResponseDtos;
@@ -86,10 +88,10 @@ public class ItemRequestServiceManager implements ItemRequestService {
 
     @Override
     public ItemRequestResponseDto getById(Long requestId, Long userId) {
-        userRepository.findById(userId).orElseThrow(() -> {
+        if (!userRepository.userExists(userId)) {
             log.info("Нет такого пользователя.");
-            return new NotFoundException("Нет такого пользователя.");
-        });
+            throw new NotFoundException("Нет такого пользователя.");
+        }
         ItemRequest itemRequest = itemRequestRepository.findById(requestId).orElseThrow(() -> {
             log.info("Нет такого пользователя.");
             return new NotFoundException("Нет такого пользователя.");
@@ -100,4 +102,18 @@ public class ItemRequestServiceManager implements ItemRequestService {
         log.info("Получен ItemRequest с id {} по запросу от пользователя c id {}.", requestId, userId);
         return ItemRequestResponseDto.create(itemRequest, items);
     }
+
+    private List<ItemRequestResponseDto> withAnswers(List<ItemRequest> itemRequests) {
+        if (itemRequests.isEmpty()) {
+            return List.of();
+        }
+        List<Long> requestIds = itemRequests.stream().map(ItemRequest::getId).collect(Collectors.toList());
+        Map<Long, List<Item>> answers = itemRepository.findAllByRequestIdInOrderByIdAsc(requestIds).stream()
+                .collect(Collectors.groupingBy(Item::getRequestId));
+
+        return itemRequests.stream()
+                .map(request -> ItemRequestResponseDto.create(request, ItemMapper.listItemsToListResponseDto(
+                        answers.getOrDefault(request.getId(), List.of()))))
+                .collect(Collectors.toList());
+    }
 }
\ No newline at end of file
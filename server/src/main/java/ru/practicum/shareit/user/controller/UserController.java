@@ -5,6 +5,7 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import ru.practicum.shareit.user.dto.UserBatchResponseDto;
 import ru.practicum.shareit.user.dto.UserDto;
 import ru.practicum.shareit.user.service.UserService;
 
@@ -28,6 +29,13 @@ public class UserController {
         return new ResponseEntity<>(userService.getAllUsers(), HttpStatus.OK);
     }
 
+    @GetMapping(params = "ids")
+    public ResponseEntity<UserBatchResponseDto> getUsers(@RequestParam List<Long> ids) {
+        log.info("Получен GET запрос на получение пользователей по id {}", ids);
+
+        return new ResponseEntity<>(userService.getUsersByIds(ids), HttpStatus.OK);
+    }
+
     @GetMapping("/{id}")
     public ResponseEntity<UserDto> getUser(@PathVariable Long id) {
         log.info("Получен Get запрос на получения пользователя по id {}", id);
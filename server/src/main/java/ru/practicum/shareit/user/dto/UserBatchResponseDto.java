@@ -0,0 +1,20 @@
+package ru.practicum.shareit.user.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Ответ на GET /users?ids: найденные пользователи в порядке запрошенных id и id, которых нет в базе.
+ */
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class UserBatchResponseDto {
+    private List<UserDto> users;
+    private List<Long> missingIds;
+}
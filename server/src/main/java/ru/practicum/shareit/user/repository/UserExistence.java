@@ -0,0 +1,13 @@
+package ru.practicum.shareit.user.repository;
+
+/**
+ * Проверка существования пользователя для методов, которым сам пользователь не нужен.
+ */
+public interface UserExistence {
+
+    /**
+     * Пользователь из кэша второго уровня проверяется без запроса к базе, остальные — одним запросом
+     * по первичному ключу без загрузки строки.
+     */
+    boolean userExists(Long userId);
+}
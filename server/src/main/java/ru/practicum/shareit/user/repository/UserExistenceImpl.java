@@ -0,0 +1,25 @@
+package ru.practicum.shareit.user.repository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import ru.practicum.shareit.user.model.User;
+
+public class UserExistenceImpl implements UserExistence {
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public boolean userExists(Long userId) {
+        if (userId == null) {
+            return false;
+        }
+        if (entityManager.getEntityManagerFactory().getCache().contains(User.class, userId)) {
+            return true;
+        }
+        return !entityManager.createQuery("select u.id from User u where u.id = :id", Long.class)
+                .setParameter("id", userId)
+                .setMaxResults(1)
+                .getResultList()
+                .isEmpty();
+    }
+}
@@ -1,10 +1,24 @@
 package ru.practicum.shareit.user.repository;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 import ru.practicum.shareit.user.model.User;
 
+import java.util.List;
+
 @Repository
-public interface UserRepository extends JpaRepository<User, Long> {
+public interface UserRepository extends JpaRepository<User, Long>, UserExistence {
+
+    @Query("select it.id from Item it where it.owner.id = ?1")
+    List<Long> findItemIdsOfUser(Long userId);
 
+    /**
+     * Вещи удаляются вместе с владельцем и каскадом в базе, но такое удаление не видно кэшу второго уровня.
+     * Запрос через Hibernate сбрасывает регион Item после коммита.
+     */
+    @Modifying
+    @Query("delete from Item it where it.owner.id = ?1")
+    void deleteItemsOfUser(Long userId);
 }
@@ -1,5 +1,6 @@
 package ru.practicum.shareit.user.service;
 
+import ru.practicum.shareit.user.dto.UserBatchResponseDto;
 import ru.practicum.shareit.user.dto.UserDto;
 
 import java.util.List;
@@ -9,6 +10,8 @@ public interface UserService {
 
     UserDto getUserById(Long id);
 
+    UserBatchResponseDto getUsersByIds(List<Long> ids);
+
     UserDto createNewUser(UserDto userDto);
 
     UserDto updateUserById(Long id, UserDto userDto);
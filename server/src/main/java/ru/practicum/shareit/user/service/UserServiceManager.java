@@ -1,6 +1,8 @@
 package ru.practicum.shareit.user.service;
 
+import io.micrometer.core.annotation.Timed;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
@@ -8,23 +10,41 @@ import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.server.ResponseStatusException;
 import ru.practicum.shareit.exeption.ConditionsNotMetException;
 import ru.practicum.shareit.exeption.NotFoundException;
+import ru.practicum.shareit.item.event.ItemDeletedEvent;
+import ru.practicum.shareit.item.summary.ItemBookingSummaryUpdater;
+import ru.practicum.shareit.metrics.ServiceMetrics;
 import ru.practicum.shareit.user.mapper.UserMapper;
 import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.dto.UserBatchResponseDto;
 import ru.practicum.shareit.user.dto.UserDto;
 import ru.practicum.shareit.user.repository.UserRepository;
 import lombok.extern.slf4j.Slf4j;
 
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
 @Slf4j
 @Transactional(readOnly = true)
+@Timed(value = ServiceMetrics.TIMER, histogram = true)
 public class UserServiceManager implements UserService {
     private final UserRepository userRepository;
+    private final ItemBookingSummaryUpdater summaryUpdater;
+    private final ApplicationEventPublisher eventPublisher;
+    private final Clock clock;
 
     @Autowired
-    public UserServiceManager(UserRepository userRepository) {
+    public UserServiceManager(UserRepository userRepository, ItemBookingSummaryUpdater summaryUpdater,
+                              ApplicationEventPublisher eventPublisher, Clock clock) {
         this.userRepository = userRepository;
+        this.summaryUpdater = summaryUpdater;
+        this.eventPublisher = eventPublisher;
+        this.clock = clock;
     }
 
     @Override
@@ -42,18 +62,36 @@ public class UserServiceManager implements UserService {
             throw new ConditionsNotMetException("Невозможно получить. Не указан id");
         }
         log.info("Пользователь по id {} получен.", id);
-        System.out.println(userRepository.findById(id)
-                .map(UserMapper::userToUserDto));
         return userRepository.findById(id)
                 .map(UserMapper::userToUserDto)
                 .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Пользователь не найден."));
     }
 
+    @Override
+    public UserBatchResponseDto getUsersByIds(List<Long> ids) {
+        List<Long> distinctIds = ids.stream().distinct().collect(Collectors.toList());
+        Map<Long, User> users = userRepository.findAllById(distinctIds).stream()
+                .collect(Collectors.toMap(User::getId, Function.identity()));
+        List<UserDto> found = new ArrayList<>(users.size());
+        List<Long> missingIds = new ArrayList<>();
+        for (Long id : distinctIds) {
+            User user = users.get(id);
+            if (user == null) {
+                missingIds.add(id);
+            } else {
+                found.add(UserMapper.userToUserDto(user));
+            }
+        }
+        log.info("Получены пользователи по {} id, не найдены: {}.", distinctIds.size(), missingIds);
+
+        return new UserBatchResponseDto(found, missingIds);
+    }
+
     @Transactional
     @Override
     public UserDto createNewUser(UserDto userDto) {
         validateUser(userDto);
-        userDto.setId(getNextId());
+        userDto.setId(null);
 
         try {
             log.info("Создание пользователя с id {}.", userDto);
@@ -89,21 +127,17 @@ public class UserServiceManager implements UserService {
     @Transactional
     @Override
     public void deleteUserById(Long id) {
-        if (!userRepository.existsById(id)) {
+        if (!userRepository.userExists(id)) {
             log.info("Пользователь с  id {} не найден.", id);
             throw new NotFoundException("Пользователь не найден");
         }
+        summaryUpdater.bookerDeleted(id, LocalDateTime.now(clock));
+        List<Long> itemIds = userRepository.findItemIdsOfUser(id);
+        userRepository.deleteItemsOfUser(id);
         userRepository.deleteById(id);
-        log.info("Удаление пользователя с id {}.", id);
-    }
-
-    private Long getNextId() {
-        Long currentMaxId = (long) Math.toIntExact(userRepository.findAll().stream()
-                .mapToLong(User::getId)
-                .max()
-                .orElse(0));
-
-        return ++currentMaxId;
+        // Массовое удаление вещей идёт мимо ItemServiceManager, поэтому события для поискового индекса публикуем здесь.
+        itemIds.forEach(itemId -> eventPublisher.publishEvent(new ItemDeletedEvent(itemId)));
+        log.info("Удаление пользователя с id {} и его вещей: {}.", id, itemIds.size());
     }
 
     private static void validateUser(UserDto user) {
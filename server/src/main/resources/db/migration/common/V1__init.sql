@@ -1,9 +1,3 @@
-drop table IF EXISTS users cascade;
-drop table IF EXISTS items cascade;
-drop table IF EXISTS bookings cascade;
-drop table IF EXISTS requests cascade;
-drop table IF EXISTS comments cascade;
-
 create TABLE IF NOT EXISTS users
 (
     id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
@@ -11,7 +5,7 @@ create TABLE IF NOT EXISTS users
     email varchar(512) UNIQUE NOT NULL
  );
 
- create TABLE IF NOT EXISTS requests
+create TABLE IF NOT EXISTS requests
 (
     id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
     description varchar(512) NOT NULL,
@@ -47,4 +41,11 @@ create TABLE IF NOT EXISTS comments
     created timestamp without time zone DEFAULT CURRENT_TIMESTAMP,
     item_id BIGINT REFERENCES items(id) ON delete CASCADE,
     author_id BIGINT REFERENCES users(id) ON delete CASCADE
-);
\ No newline at end of file
+);
+
+create INDEX IF NOT EXISTS bookings_booker_start_idx ON bookings (booker_id, start_date DESC, id DESC);
+create INDEX IF NOT EXISTS bookings_item_status_start_idx ON bookings (item_id, status, start_date);
+create INDEX IF NOT EXISTS items_owner_idx ON items (owner_id, id);
+create INDEX IF NOT EXISTS items_request_idx ON items (request_id);
+create INDEX IF NOT EXISTS comments_item_idx ON comments (item_id);
+create INDEX IF NOT EXISTS requests_requestor_created_idx ON requests (requestor_id, created);
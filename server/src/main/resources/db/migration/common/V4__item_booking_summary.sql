@@ -0,0 +1,21 @@
+-- Сводка для списка вещей владельца: последнее и следующее подтверждённое бронирование и число комментариев.
+-- Строка с next_start <= текущего времени устарела и пересчитывается фоновой задачей, пока что при чтении
+-- last/next берутся из bookings.
+create TABLE IF NOT EXISTS item_booking_summary
+(
+    item_id BIGINT PRIMARY KEY REFERENCES items(id) ON delete CASCADE,
+    last_booking_id BIGINT,
+    last_booker_id BIGINT,
+    last_end TIMESTAMP WITHOUT TIME ZONE,
+    next_booking_id BIGINT,
+    next_booker_id BIGINT,
+    next_start TIMESTAMP WITHOUT TIME ZONE,
+    comment_count BIGINT NOT NULL DEFAULT 0
+);
+
+create INDEX IF NOT EXISTS item_booking_summary_next_start_idx ON item_booking_summary (next_start);
+
+-- Для существующих вещей строки создаются сразу устаревшими: бронирования в них заполнит фоновая задача.
+insert into item_booking_summary (item_id, next_start, comment_count)
+select it.id, TIMESTAMP '1970-01-01 00:00:00', (select count(*) from comments c where c.item_id = it.id)
+from items it;
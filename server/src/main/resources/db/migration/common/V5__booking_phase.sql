@@ -0,0 +1,12 @@
+-- Фаза бронирования (FUTURE, CURRENT, PAST) хранится, чтобы списки по состоянию искали её по индексу, а не сравнивали
+-- даты с текущим временем. phase_until — момент следующей смены фазы, по нему фоновая задача находит бронирования,
+-- которые пора продвинуть.
+alter table bookings ADD COLUMN IF NOT EXISTS phase varchar(16) NOT NULL DEFAULT 'FUTURE';
+alter table bookings ADD COLUMN IF NOT EXISTS phase_until TIMESTAMP WITHOUT TIME ZONE;
+
+-- Существующие бронирования начинают с FUTURE до своего начала: прошедшие моменты продвинет задача при запуске.
+update bookings set phase_until = start_date;
+
+create INDEX IF NOT EXISTS bookings_phase_until_idx ON bookings (phase_until);
+create INDEX IF NOT EXISTS bookings_booker_phase_start_idx ON bookings (booker_id, phase, start_date DESC, id DESC);
+create INDEX IF NOT EXISTS bookings_item_phase_start_idx ON bookings (item_id, phase, start_date);
@@ -0,0 +1,4 @@
+create extension IF NOT EXISTS pg_trgm;
+
+create INDEX IF NOT EXISTS items_name_trgm_idx ON items USING gin (lower(name) gin_trgm_ops);
+create INDEX IF NOT EXISTS items_description_trgm_idx ON items USING gin (lower(description) gin_trgm_ops);
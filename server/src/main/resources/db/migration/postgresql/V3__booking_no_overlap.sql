@@ -0,0 +1,35 @@
+create extension IF NOT EXISTS btree_gist;
+
+-- До ограничения пересечения ничто не запрещало, и в базе могут быть пересекающиеся подтверждённые бронирования
+-- одной вещи. Из каждой такой группы подтверждённым остаётся созданное раньше (меньший id), остальные
+-- возвращаются в WAITING: владелец увидит их снова и отклонит. Их id выводятся в лог миграции.
+DO $$
+DECLARE
+    candidate record;
+    demoted bigint[] := '{}';
+BEGIN
+    FOR candidate IN
+        select DISTINCT b.id, b.item_id, b.start_date, b.end_date
+        from bookings b
+        join bookings o ON o.item_id = b.item_id AND o.id < b.id AND o.status = 'APPROVED'
+            AND tsrange(o.start_date, o.end_date) && tsrange(b.start_date, b.end_date)
+        where b.status = 'APPROVED'
+        order by b.id
+    LOOP
+        -- Более раннее бронирование могло само вернуться в WAITING на предыдущем шаге.
+        IF EXISTS (select 1 from bookings o
+                   where o.item_id = candidate.item_id AND o.id < candidate.id AND o.status = 'APPROVED'
+                     AND tsrange(o.start_date, o.end_date) && tsrange(candidate.start_date, candidate.end_date)) THEN
+            update bookings SET status = 'WAITING' where id = candidate.id;
+            demoted := demoted || candidate.id;
+        END IF;
+    END LOOP;
+    IF cardinality(demoted) > 0 THEN
+        RAISE WARNING 'Пересекающиеся подтверждённые бронирования возвращены в WAITING: %', demoted;
+    END IF;
+END $$;
+
+-- Подтверждённые бронирования одной вещи не пересекаются. GiST-индекс ограничения отвечает
+-- на вопрос «занята ли вещь в [start, end)» за логарифмическое время.
+alter table bookings ADD CONSTRAINT bookings_approved_no_overlap
+    EXCLUDE USING gist (item_id WITH =, tsrange(start_date, end_date) WITH &&) WHERE (status = 'APPROVED');
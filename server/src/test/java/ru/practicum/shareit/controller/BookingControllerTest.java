@@ -16,6 +16,7 @@ import ru.practicum.shareit.booking.controller.BookingController;
 import ru.practicum.shareit.booking.dto.BookingDto;
 import ru.practicum.shareit.booking.dto.BookingRequestDto;
 import ru.practicum.shareit.booking.dto.BookingResponseDto;
+import ru.practicum.shareit.booking.dto.IntervalDto;
 import ru.practicum.shareit.booking.enums.StatusType;
 import ru.practicum.shareit.booking.mapper.BookingMapper;
 import ru.practicum.shareit.booking.model.Booking;
@@ -122,6 +123,25 @@ public class BookingControllerTest {
         verify(bookingService).confirm(booking.getId(), user.getId(), approved);
     }
 
+    @Test
+    @SneakyThrows
+    void testGetFreeIntervals() {
+        LocalDateTime start = LocalDateTime.of(2030, 1, 1, 0, 0);
+        LocalDateTime end = start.plusDays(10);
+        Mockito
+                .when(bookingService.getFreeIntervals(1L, start, end, 2L))
+                .thenReturn(List.of(new IntervalDto(start.plusDays(1), start.plusDays(3))));
+
+        mockMvc.perform(get("/bookings/availability?itemId={itemId}&start={start}&end={end}", 1L,
+                        "2030-01-01T00:00:00", "2030-01-11T00:00:00")
+                        .header("X-Sharer-User-Id", 2L))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].start").value("2030-01-02T00:00:00"))
+                .andExpect(jsonPath("$[0].end").value("2030-01-04T00:00:00"));
+
+        verify(bookingService).getFreeIntervals(1L, start, end, 2L);
+    }
+
     @Test
     @SneakyThrows
     void testGetById() {
@@ -20,6 +20,7 @@ import org.springframework.test.web.servlet.result.MockMvcResultMatchers;
 import ru.practicum.shareit.booking.enums.StatusType;
 import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.item.controller.ItemController;
+import ru.practicum.shareit.item.dto.ItemBatchResponseDto;
 import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.dto.ItemResponseDto;
 import ru.practicum.shareit.item.mapper.ItemMapper;
@@ -177,6 +178,23 @@ public class ItemControllerTest {
         Mockito.verify(itemService).getItemsOfUserById(owner.getId());
     }
 
+    @Test
+    @SneakyThrows
+    void getItemsByIdsTest() {
+        ItemBatchResponseDto batch = new ItemBatchResponseDto(
+                List.of(ItemMapper.toResponseItem(mockItem2), ItemMapper.toResponseItem(mockItem1)), List.of(5L));
+        Mockito.when(itemService.getItemsByIds(List.of(2L, 5L, 1L), 1L)).thenReturn(batch);
+
+        mockMvc.perform(MockMvcRequestBuilders.get("/items?ids=2,5,1")
+                        .header("X-Sharer-User-Id", 1L))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.jsonPath("$.items[0].id").value(2))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.items[1].id").value(1))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.missingIds[0]").value(5));
+
+        Mockito.verify(itemService, Mockito.never()).getItemsOfUserById(Mockito.any());
+    }
+
     @Test
     public void dtoToItemNullDtoTest() {
         ItemDto itemDto = null;
@@ -209,7 +227,7 @@ public class ItemControllerTest {
         Long userId = 1L;
         Mockito.when(userRepository.findById(userId))
                 .thenReturn(Optional.of(new User()));
-        Mockito.when(itemRepository.findAllByOwnerIdOrderByIdAsc(userId))
+        Mockito.when(itemRepository.findAllWithSummaryByOwnerId(userId))
                 .thenReturn(List.of());
 
         MvcResult result = mockMvc.perform(MockMvcRequestBuilders.get("/items")
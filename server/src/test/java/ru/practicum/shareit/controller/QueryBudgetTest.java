@@ -0,0 +1,128 @@
+package ru.practicum.shareit.controller;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.system.CapturedOutput;
+import org.springframework.boot.test.system.OutputCaptureExtension;
+import org.springframework.test.web.servlet.MockMvc;
+import ru.practicum.shareit.booking.enums.StatusType;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.comment.model.Comment;
+import ru.practicum.shareit.comment.repository.CommentRepository;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.repository.UserRepository;
+import ru.practicum.shareit.util.EndpointQueryCounter;
+
+import java.time.LocalDateTime;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = {"shareit.query-budget.headers=true", "shareit.query-budget.max-statements=4"})
+@AutoConfigureMockMvc
+@ExtendWith(OutputCaptureExtension.class)
+public class QueryBudgetTest {
+    private static final String USER_ID_HEADER = "X-Sharer-User-Id";
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private ItemRepository itemRepository;
+    @Autowired
+    private BookingRepository bookingRepository;
+    @Autowired
+    private CommentRepository commentRepository;
+
+    private EndpointQueryCounter queryCounter;
+    private User owner;
+    private User booker;
+
+    @BeforeEach
+    void init() {
+        queryCounter = new EndpointQueryCounter(mockMvc, entityManagerFactory);
+        owner = userRepository.save(User.builder().name("Иван").email("owner@yandex.ru").build());
+        booker = userRepository.save(User.builder().name("Петр").email("booker@yandex.ru").build());
+    }
+
+    @AfterEach
+    void tearDown() {
+        commentRepository.deleteAll();
+        bookingRepository.deleteAll();
+        itemRepository.deleteAll();
+        userRepository.deleteAll();
+    }
+
+    @Test
+    public void responseCarriesStatementCountAndTime() throws Exception {
+        mockMvc.perform(get("/users/{id}", owner.getId()))
+                .andExpect(status().isOk())
+                .andExpect(header().string("X-Sql-Count", "1"))
+                .andExpect(header().exists("X-Sql-Time-Ms"));
+    }
+
+    @Test
+    public void ownerItemsQueryCountDoesNotGrowWithItems() throws Exception {
+        addItems(1);
+
+        queryCounter.assertDoesNotGrow(() -> get("/items").header(USER_ID_HEADER, owner.getId()),
+                () -> addItems(10));
+    }
+
+    @Test
+    public void ownerBookingsQueryCountDoesNotGrowWithBookings() throws Exception {
+        addItems(1);
+
+        queryCounter.assertDoesNotGrow(() -> get("/bookings/owner").header(USER_ID_HEADER, owner.getId()),
+                () -> addItems(10));
+    }
+
+    @Test
+    public void requestOverBudgetIsLoggedWithRepeatedStatement(CapturedOutput output) throws Exception {
+        addItems(1);
+
+        int count = queryCounter.count(get("/items").header(USER_ID_HEADER, owner.getId()));
+
+        Assertions.assertTrue(count > 4);
+        Assertions.assertTrue(output.getOut().contains("GET /items вышел за бюджет запросов к БД: запросов " + count));
+    }
+
+    private void addItems(int count) {
+        LocalDateTime now = LocalDateTime.now();
+        for (int i = 0; i < count; i++) {
+            Item item = itemRepository.save(Item.builder()
+                    .name("Дрель " + i)
+                    .description("Описание дрели " + i)
+                    .available(true)
+                    .owner(owner)
+                    .build());
+            addBooking(item, now.minusDays(5), now.minusDays(3));
+            addBooking(item, now.plusDays(3), now.plusDays(4));
+            commentRepository.save(Comment.builder().text("Отлично").item(item).author(booker).build());
+        }
+    }
+
+    private void addBooking(Item item, LocalDateTime start, LocalDateTime end) {
+        bookingRepository.save(Booking.builder()
+                .item(item)
+                .booker(booker)
+                .start(start)
+                .end(end)
+                .status(StatusType.APPROVED)
+                .build());
+    }
+}
@@ -0,0 +1,113 @@
+package ru.practicum.shareit.controller;
+
+import io.opentelemetry.api.common.AttributeKey;
+import io.opentelemetry.sdk.testing.exporter.InMemorySpanExporter;
+import io.opentelemetry.sdk.trace.SdkTracerProvider;
+import io.opentelemetry.sdk.trace.data.SpanData;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.test.web.servlet.MockMvc;
+import ru.practicum.shareit.booking.enums.StatusType;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.repository.UserRepository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = "shareit.tracing.exporter=none")
+@AutoConfigureMockMvc
+@AutoConfigureObservability
+public class TracingTest {
+    private static final String TRACE_ID = "4bf92f3577b34da6a3ce929d0e0e4736";
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private InMemorySpanExporter spanExporter;
+    @Autowired
+    private SdkTracerProvider tracerProvider;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private ItemRepository itemRepository;
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    private User owner;
+
+    @BeforeEach
+    void init() {
+        owner = userRepository.save(User.builder().name("Иван").email("owner@yandex.ru").build());
+        User booker = userRepository.save(User.builder().name("Петр").email("booker@yandex.ru").build());
+        Item item = itemRepository.save(Item.builder().name("Дрель").description("Описание дрели").available(true)
+                .owner(owner).build());
+        bookingRepository.save(Booking.builder().item(item).booker(booker).start(LocalDateTime.now().plusDays(1))
+                .end(LocalDateTime.now().plusDays(2)).status(StatusType.WAITING).build());
+        tracerProvider.forceFlush().join(5, TimeUnit.SECONDS);
+        spanExporter.reset();
+    }
+
+    @AfterEach
+    void tearDown() {
+        bookingRepository.deleteAll();
+        itemRepository.deleteAll();
+        userRepository.deleteAll();
+    }
+
+    @Test
+    public void incomingTraceIsContinuedThroughServiceAndRepository() throws Exception {
+        mockMvc.perform(get("/bookings/owner?state=ALL")
+                        .header("X-Sharer-User-Id", owner.getId())
+                        .header("traceparent", "00-" + TRACE_ID + "-00f067aa0ba902b7-01"))
+                .andExpect(status().isOk());
+        tracerProvider.forceFlush().join(5, TimeUnit.SECONDS);
+
+        List<SpanData> spans = spanExporter.getFinishedSpanItems();
+        SpanData http = span(spans, "http get /bookings/owner");
+        SpanData service = span(spans, "BookingServiceManager.getAllByOwner");
+        SpanData repository = span(spans, "BookingRepository.getAllBookingsForOwner");
+
+        Assertions.assertTrue(spans.stream().allMatch(span -> TRACE_ID.equals(span.getTraceId())));
+        Assertions.assertEquals(http.getSpanId(), service.getParentSpanId());
+        Assertions.assertEquals(service.getSpanId(), repository.getParentSpanId());
+        Assertions.assertEquals(owner.getId().toString(), attribute(http, "shareit.user.id"));
+        Assertions.assertEquals(owner.getId().toString(), attribute(service, "shareit.user.id"));
+        Assertions.assertEquals("ALL", attribute(service, "shareit.booking.state"));
+        Assertions.assertEquals(1L, service.getAttributes().get(AttributeKey.longKey("shareit.result.size")));
+        Assertions.assertEquals(1L, repository.getAttributes().get(AttributeKey.longKey("shareit.result.size")));
+    }
+
+    private static SpanData span(List<SpanData> spans, String name) {
+        return spans.stream().filter(span -> span.getName().equals(name)).findFirst()
+                .orElseThrow(() -> new AssertionError("Нет спана " + name + " среди "
+                        + spans.stream().map(SpanData::getName).toList()));
+    }
+
+    private static String attribute(SpanData span, String key) {
+        return span.getAttributes().get(AttributeKey.stringKey(key));
+    }
+
+    @TestConfiguration
+    static class InMemoryExporterConfig {
+        @Bean
+        InMemorySpanExporter inMemorySpanExporter() {
+            return InMemorySpanExporter.create();
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package ru.practicum.shareit.repository;
+
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Миграция с ограничением на пересечение проходит на базе, где пересекающиеся подтверждения уже есть.
+ */
+public class BookingOverlapMigrationTest {
+
+    @Test
+    public void overlappingApprovedBookingsAreReturnedToWaiting() throws IOException {
+        try (EmbeddedPostgres postgres = EmbeddedPostgres.start()) {
+            DataSource dataSource = postgres.getPostgresDatabase();
+            JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+            migrate(dataSource, "2");
+            jdbcTemplate.update("insert into users (id, name, email) values (1, 'Иван', 'ivan@yandex.ru')");
+            jdbcTemplate.update("insert into items (id, name, description, available, owner_id) "
+                    + "values (1, 'Дрель', 'Простая дрель', true, 1), (2, 'Пила', 'Ручная пила', true, 1)");
+            jdbcTemplate.update("insert into bookings (id, start_date, end_date, item_id, booker_id, status) values "
+                    + "(1, timestamp '2030-01-01 10:00', timestamp '2030-01-01 12:00', 1, 1, 'APPROVED'), "
+                    + "(2, timestamp '2030-01-01 11:00', timestamp '2030-01-01 13:00', 1, 1, 'APPROVED'), "
+                    + "(3, timestamp '2030-01-01 12:30', timestamp '2030-01-01 14:00', 1, 1, 'APPROVED'), "
+                    + "(4, timestamp '2030-01-01 11:00', timestamp '2030-01-01 12:00', 1, 1, 'WAITING'), "
+                    + "(5, timestamp '2030-01-01 10:00', timestamp '2030-01-01 12:00', 2, 1, 'APPROVED')");
+
+            migrate(dataSource, "latest");
+
+            // Второе пересекается с первым и уходит в WAITING, после чего третьему пересекаться уже не с чем.
+            Assertions.assertEquals(List.of("APPROVED", "WAITING", "APPROVED", "WAITING", "APPROVED"),
+                    jdbcTemplate.queryForList("select status from bookings order by id", String.class));
+        }
+    }
+
+    private static void migrate(DataSource dataSource, String target) {
+        Flyway.configure()
+                .dataSource(dataSource)
+                .locations("classpath:db/migration/common", "classpath:db/migration/postgresql")
+                .target(target)
+                .load()
+                .migrate();
+    }
+}
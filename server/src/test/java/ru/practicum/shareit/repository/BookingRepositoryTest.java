@@ -1,9 +1,99 @@
 package ru.practicum.shareit.repository;
 
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.booking.enums.StatusType;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.pagination.OffsetPageRequest;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.repository.UserRepository;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
 
 @DataJpaTest
 @Transactional
 public class BookingRepositoryTest {
+    @Autowired
+    private BookingRepository bookingRepository;
+    @Autowired
+    private ItemRepository itemRepository;
+    @Autowired
+    private UserRepository userRepository;
+
+    private User owner;
+    private User booker;
+
+    @BeforeEach
+    void init() {
+        owner = userRepository.save(User.builder().name("Иван").email("ivan@yandex.ru").build());
+        booker = userRepository.save(User.builder().name("Петр").email("petr@yandex.ru").build());
+        Item item = itemRepository.save(Item.builder()
+                .name("Дрель")
+                .description("Описание дрели")
+                .available(true)
+                .owner(owner)
+                .build());
+        LocalDateTime start = LocalDateTime.of(2030, 1, 1, 10, 0);
+        for (int i = 0; i < 7; i++) {
+            bookingRepository.save(Booking.builder()
+                    .item(item)
+                    .booker(booker)
+                    .start(start.plusDays(i / 2))
+                    .end(start.plusDays(i / 2 + 1))
+                    .status(StatusType.WAITING)
+                    .build());
+        }
+    }
+
+    @Test
+    void testOffsetPagesAreLimited() {
+        List<Booking> firstPage = bookingRepository.findBookingByBookerOrderByStartDesc(booker.getId(),
+                OffsetPageRequest.of(0, 3));
+        List<Booking> lastPage = bookingRepository.getAllBookingsForOwner(owner.getId(),
+                OffsetPageRequest.of(6, 3));
+
+        Assertions.assertEquals(3, firstPage.size());
+        Assertions.assertEquals(1, lastPage.size());
+        Assertions.assertTrue(firstPage.get(0).getStart().isAfter(lastPage.get(0).getStart()));
+    }
+
+    @Test
+    void testOffsetIsElementIndexNotPageNumber() {
+        List<Booking> all = bookingRepository.findBookingByBookerOrderByStartDesc(booker.getId(),
+                OffsetPageRequest.of(0, 100));
+
+        List<Booking> page = bookingRepository.findBookingByBookerOrderByStartDesc(booker.getId(),
+                OffsetPageRequest.of(5, 10));
+
+        Assertions.assertEquals(all.subList(5, 7), page);
+    }
+
+    @Test
+    void testKeysetPagesMatchOffsetPages() {
+        List<Booking> all = bookingRepository.findBookingByBookerAndStatusOrderByStartDesc(booker.getId(),
+                StatusType.WAITING, OffsetPageRequest.of(0, 100));
+
+        List<Booking> seek = new ArrayList<>(bookingRepository.findBookingByBookerAndStatusOrderByStartDesc(
+                booker.getId(), StatusType.WAITING, OffsetPageRequest.of(0, 2)));
+        List<Booking> page = seek;
+        while (!page.isEmpty()) {
+            Booking last = seek.get(seek.size() - 1);
+            page = bookingRepository.findBookingByBookerAndStatusBeforeCursor(booker.getId(),
+                    StatusType.WAITING, last.getStart(), last.getId(), PageRequest.of(0, 2));
+            seek.addAll(page);
+        }
+
+        Assertions.assertEquals(7, all.size());
+        Assertions.assertEquals(all, seek);
+    }
 }
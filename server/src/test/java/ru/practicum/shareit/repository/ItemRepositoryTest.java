@@ -1,17 +1,31 @@
 package ru.practicum.shareit.repository;
 
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.transaction.annotation.Transactional;
 import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.item.search.LikeItemSearchEngine;
 import ru.practicum.shareit.request.model.ItemRequest;
 import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.repository.UserRepository;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
 
 @DataJpaTest
 @Transactional
 public class ItemRepositoryTest {
 
+    @Autowired
+    private ItemRepository itemRepository;
+    @Autowired
+    private UserRepository userRepository;
+
     User userOwner = User.builder()
             .id(10L)
             .name("Иван")
@@ -37,4 +51,37 @@ public class ItemRepositoryTest {
             .owner(userOwner)
             .requestId(userRequestor.getId())
             .build();
-}
\ No newline at end of file
+
+    @Test
+    void testSearchByTextPutsNameMatchesFirstAndPages() {
+        User owner = userRepository.save(User.builder().name("Иван").email("owner@yandex.ru").build());
+        Item byDescription = itemRepository.save(Item.builder()
+                .name("Полка").description("Подходит для книги").available(true).owner(owner).build());
+        Item byName = itemRepository.save(Item.builder()
+                .name("Книга").description("Описание").available(true).owner(owner).build());
+        itemRepository.save(Item.builder()
+                .name("Книга на продажу").description("Не выдается").available(false).owner(owner).build());
+        itemRepository.save(Item.builder()
+                .name("Дрель").description("Описание дрели").available(true).owner(owner).build());
+
+        List<Item> firstPage = itemRepository.findByTextOrderByRelevance("КНИГ", PageRequest.of(0, 1));
+        List<Item> secondPage = itemRepository.findByTextOrderByRelevance("книг", PageRequest.of(1, 1));
+
+        Assertions.assertEquals(List.of(byName.getId()), firstPage.stream().map(Item::getId).toList());
+        Assertions.assertEquals(List.of(byDescription.getId()), secondPage.stream().map(Item::getId).toList());
+    }
+
+    @Test
+    void testLikeSearchSkipsFromItemsNotPages() {
+        User owner = userRepository.save(User.builder().name("Иван").email("owner@yandex.ru").build());
+        List<Long> ids = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            ids.add(itemRepository.save(Item.builder()
+                    .name("Книга " + i).description("Описание").available(true).owner(owner).build()).getId());
+        }
+
+        List<Item> page = new LikeItemSearchEngine(itemRepository).search("книга", 1, 2);
+
+        Assertions.assertEquals(ids.subList(1, 3), page.stream().map(Item::getId).toList());
+    }
+}
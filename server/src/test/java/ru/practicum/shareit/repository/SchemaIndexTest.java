@@ -0,0 +1,96 @@
+package ru.practicum.shareit.repository;
+
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.IOException;
+
+/**
+ * Проверяет по EXPLAIN в PostgreSQL, что горячие запросы репозиториев идут по индексам, а не полным сканом таблицы.
+ * H2 сам индексирует внешние ключи, поэтому на нём такая проверка прошла бы и без миграций с индексами.
+ */
+public class SchemaIndexTest {
+    private static final int USERS = 1000;
+    private static final int ITEMS_PER_USER = 10;
+    private static final int BOOKINGS_PER_ITEM = 10;
+
+    private static EmbeddedPostgres postgres;
+    private static JdbcTemplate jdbcTemplate;
+
+    @BeforeAll
+    static void start() throws IOException {
+        postgres = EmbeddedPostgres.start();
+        Flyway.configure()
+                .dataSource(postgres.getPostgresDatabase())
+                .locations("classpath:db/migration/common", "classpath:db/migration/postgresql")
+                .load()
+                .migrate();
+        jdbcTemplate = new JdbcTemplate(postgres.getPostgresDatabase());
+        seed();
+    }
+
+    @AfterAll
+    static void stop() throws IOException {
+        postgres.close();
+    }
+
+    /**
+     * Данных столько, чтобы планировщик выбирал индекс по стоимости, а не читал маленькую таблицу целиком.
+     * Бронирования одной вещи идут подряд по получасу и не пересекаются, фаза и статус чередуются.
+     */
+    private static void seed() {
+        int items = USERS * ITEMS_PER_USER;
+        int bookings = items * BOOKINGS_PER_ITEM;
+        jdbcTemplate.update("insert into users (id, name, email) "
+                + "select g, 'Пользователь ' || g, 'user' || g || '@yandex.ru' from generate_series(1, ?) g", USERS);
+        jdbcTemplate.update("insert into requests (id, description, requestor_id, created) "
+                + "select g, 'Запрос ' || g, g, timestamp '2020-01-01 00:00:00' + g * interval '1 hour' "
+                + "from generate_series(1, ?) g", USERS);
+        jdbcTemplate.update("insert into items (id, name, description, available, owner_id, request_id) "
+                + "select g, 'Вещь ' || g, 'Описание ' || g, true, (g - 1) / ? + 1, g % ? + 1 "
+                + "from generate_series(1, ?) g", ITEMS_PER_USER, USERS, items);
+        jdbcTemplate.update("insert into comments (id, text, item_id, author_id) "
+                + "select g, 'Отзыв ' || g, g, g % ? + 1 from generate_series(1, ?) g", USERS, items);
+        jdbcTemplate.update("insert into bookings (id, start_date, end_date, item_id, booker_id, status, phase, phase_until) "
+                + "select g, s, s + interval '20 minutes', (g - 1) / ? + 1, g % ? + 1, "
+                + "case when g % 2 = 0 then 'APPROVED' else 'WAITING' end, "
+                + "case g % 3 when 0 then 'FUTURE' when 1 then 'CURRENT' else 'PAST' end, "
+                + "case g % 3 when 0 then s when 1 then s + interval '20 minutes' end "
+                + "from generate_series(1, ?) g, lateral (select timestamp '2020-01-01 00:00:00' "
+                + "+ g * interval '30 minutes' as s) t", BOOKINGS_PER_ITEM, USERS, bookings);
+        jdbcTemplate.execute("analyze");
+    }
+
+    @ParameterizedTest
+    @CsvSource(delimiter = '|', value = {
+            "select * from bookings b where b.booker_id = 7 order by b.start_date desc, b.id desc limit 10",
+            "select * from bookings b where b.booker_id = 7 and b.status = 'WAITING' "
+                    + "order by b.start_date desc, b.id desc limit 10",
+            "select * from bookings b where b.booker_id = 7 and b.phase = 'CURRENT' "
+                    + "order by b.start_date desc, b.id desc limit 10",
+            "select b.* from bookings b join items i on i.id = b.item_id where i.owner_id = 7 and b.phase = 'PAST' "
+                    + "order by b.start_date desc, b.id desc limit 10",
+            "select * from bookings b where b.phase_until <= timestamp '2020-01-02 00:00:00'",
+            "select b.* from bookings b join items i on i.id = b.item_id where i.owner_id = 7 "
+                    + "order by b.start_date desc, b.id desc limit 10",
+            "select * from bookings b where b.item_id in (1, 2, 3) and b.status = 'APPROVED' "
+                    + "and b.start_date < timestamp '2031-01-01 00:00:00'",
+            "select * from bookings b where b.item_id = 6 and b.booker_id = 7 and b.status = 'APPROVED' "
+                    + "and b.end_date < timestamp '2031-01-01 00:00:00'",
+            "select * from items i where i.owner_id = 7 order by i.id",
+            "select * from items i where i.request_id in (7, 8) order by i.id",
+            "select * from comments c where c.item_id in (1, 2, 3) order by c.id",
+            "select * from requests r where r.requestor_id = 7 order by r.created"
+    })
+    void hotQueryDoesNotScanTable(String sql) {
+        String plan = String.join("\n", jdbcTemplate.queryForList("explain " + sql, String.class));
+
+        Assertions.assertFalse(plan.contains("Seq Scan"), () -> "Полный скан таблицы:\n" + plan);
+    }
+}
@@ -0,0 +1,62 @@
+package ru.practicum.shareit.repository;
+
+import org.flywaydb.core.Flyway;
+import org.flywaydb.core.api.output.MigrateResult;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import javax.sql.DataSource;
+import java.util.UUID;
+
+/**
+ * Миграции не трогают существующие данные и при повторном старте ничего не выполняют.
+ */
+public class SchemaMigrationTest {
+
+    @Test
+    void secondStartupRunsNoMigrations() {
+        DataSource dataSource = newDatabase();
+
+        MigrateResult first = flyway(dataSource).migrate();
+        new JdbcTemplate(dataSource).update("insert into users (name, email) values ('Иван', 'ivan@yandex.ru')");
+        MigrateResult second = flyway(dataSource).migrate();
+
+        Assertions.assertTrue(first.migrationsExecuted > 0);
+        Assertions.assertEquals(0, second.migrationsExecuted);
+        Assertions.assertEquals(1, count(dataSource));
+    }
+
+    @Test
+    void existingSchemaIsBaselinedWithoutLosingData() {
+        DataSource dataSource = newDatabase();
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("create table users (id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY, "
+                + "name varchar(255) NOT NULL, email varchar(512) UNIQUE NOT NULL)");
+        jdbcTemplate.update("insert into users (name, email) values ('Иван', 'ivan@yandex.ru')");
+
+        flyway(dataSource).migrate();
+
+        Assertions.assertEquals(1, count(dataSource));
+        Assertions.assertEquals(0, jdbcTemplate.queryForObject("select count(*) from bookings", Integer.class));
+    }
+
+    private static Flyway flyway(DataSource dataSource) {
+        return Flyway.configure()
+                .dataSource(dataSource)
+                .locations("classpath:db/migration/common")
+                .baselineOnMigrate(true)
+                .baselineVersion("0")
+                .load();
+    }
+
+    private static DataSource newDatabase() {
+        return new DriverManagerDataSource("jdbc:h2:mem:" + UUID.randomUUID()
+                + ";MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1", "sa", "");
+    }
+
+    private static int count(DataSource dataSource) {
+        return new JdbcTemplate(dataSource).queryForObject("select count(*) from users", Integer.class);
+    }
+}
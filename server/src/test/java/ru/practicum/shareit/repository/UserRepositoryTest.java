@@ -57,6 +57,17 @@ public class UserRepositoryTest {
         Assertions.assertTrue(userRepository.existsById(actual.getId()));
     }
 
+    @Test
+    @Transactional
+    @Rollback
+    void testUserExistsChecksId() {
+        User actual = userRepository.save(user);
+
+        Assertions.assertTrue(userRepository.userExists(actual.getId()));
+        Assertions.assertFalse(userRepository.userExists(actual.getId() + 1));
+        Assertions.assertFalse(userRepository.userExists(null));
+    }
+
     @Test
     @Transactional
     @Rollback
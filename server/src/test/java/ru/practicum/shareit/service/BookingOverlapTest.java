@@ -0,0 +1,135 @@
+package ru.practicum.shareit.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.web.server.ResponseStatusException;
+import ru.practicum.shareit.booking.dto.BookingRequestDto;
+import ru.practicum.shareit.booking.dto.IntervalDto;
+import ru.practicum.shareit.booking.enums.StatusType;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.booking.service.BookingService;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.item.service.ItemService;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.repository.UserRepository;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+@SpringBootTest
+public class BookingOverlapTest {
+    private static final int BOOKINGS = 8;
+
+    @Autowired
+    private BookingService bookingService;
+    @Autowired
+    private ItemService itemService;
+    @Autowired
+    private BookingRepository bookingRepository;
+    @Autowired
+    private ItemRepository itemRepository;
+    @Autowired
+    private UserRepository userRepository;
+
+    private User owner;
+    private User booker;
+    private Long itemId;
+    private LocalDateTime day;
+
+    @BeforeEach
+    void init() {
+        owner = userRepository.save(User.builder().name("Иван").email("owner@yandex.ru").build());
+        booker = userRepository.save(User.builder().name("Петр").email("booker@yandex.ru").build());
+        itemId = itemService.createNewItem(
+                ItemDto.builder().name("Дрель").description("Описание дрели").available(true).build(),
+                owner.getId()).getId();
+        day = LocalDateTime.now().plusDays(1).truncatedTo(ChronoUnit.DAYS);
+    }
+
+    @AfterEach
+    void tearDown() {
+        bookingRepository.deleteAll();
+        itemRepository.deleteAll();
+        userRepository.deleteAll();
+    }
+
+    @Test
+    public void parallelApprovalsOfOverlappingBookingsApproveOnlyOne() throws Exception {
+        List<Long> bookingIds = new ArrayList<>();
+        for (int i = 0; i < BOOKINGS; i++) {
+            bookingIds.add(book(day.plusHours(i), day.plusHours(i + 2)));
+        }
+        ExecutorService executor = Executors.newFixedThreadPool(BOOKINGS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> futures = new ArrayList<>();
+        try {
+            for (Long bookingId : bookingIds) {
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    return bookingService.confirm(bookingId, owner.getId(), true);
+                }));
+            }
+            start.countDown();
+
+            int conflicts = 0;
+            for (Future<?> future : futures) {
+                try {
+                    future.get();
+                } catch (ExecutionException e) {
+                    ResponseStatusException cause = (ResponseStatusException) e.getCause();
+                    Assertions.assertEquals(409, cause.getStatusCode().value());
+                    conflicts++;
+                }
+            }
+
+            List<IntervalDto> approved = bookingRepository.findIntervalsOverlapping(itemId, StatusType.APPROVED,
+                    day, day.plusDays(1));
+            Assertions.assertEquals(BOOKINGS - approved.size(), conflicts);
+            for (int i = 1; i < approved.size(); i++) {
+                Assertions.assertFalse(approved.get(i).getStart().isBefore(approved.get(i - 1).getEnd()));
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void bookingOverlappingApprovedIsRejected() {
+        bookingService.confirm(book(day.plusHours(10), day.plusHours(12)), owner.getId(), true);
+
+        ResponseStatusException exception = Assertions.assertThrows(ResponseStatusException.class,
+                () -> book(day.plusHours(11), day.plusHours(13)));
+
+        Assertions.assertEquals(409, exception.getStatusCode().value());
+        Assertions.assertNotNull(book(day.plusHours(12), day.plusHours(14)));
+    }
+
+    @Test
+    public void freeIntervalsExcludeOnlyApprovedBookings() {
+        bookingService.confirm(book(day.plusHours(10), day.plusHours(12)), owner.getId(), true);
+        book(day.plusHours(14), day.plusHours(16));
+        bookingService.confirm(book(day.plusHours(14), day.plusHours(15)), owner.getId(), false);
+
+        List<IntervalDto> free = bookingService.getFreeIntervals(itemId, day, day.plusDays(1), booker.getId());
+
+        Assertions.assertEquals(List.of(
+                new IntervalDto(day, day.plusHours(10)),
+                new IntervalDto(day.plusHours(12), day.plusDays(1))), free);
+    }
+
+    private Long book(LocalDateTime start, LocalDateTime end) {
+        return bookingService.createBooking(new BookingRequestDto(itemId, start, end), booker.getId()).getId();
+    }
+}
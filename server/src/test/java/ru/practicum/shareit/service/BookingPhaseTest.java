@@ -0,0 +1,221 @@
+package ru.practicum.shareit.service;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Primary;
+import ru.practicum.shareit.booking.dto.BookingRequestDto;
+import ru.practicum.shareit.booking.dto.BookingResponseDto;
+import ru.practicum.shareit.booking.enums.PhaseType;
+import ru.practicum.shareit.booking.enums.StatusType;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.phase.BookingPhaseEngine;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.booking.service.BookingService;
+import ru.practicum.shareit.item.dto.ItemResponseDto;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.item.service.ItemService;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.repository.UserRepository;
+import ru.practicum.shareit.util.MutableClock;
+import ru.practicum.shareit.util.QueryCounter;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Фазы бронирований при управляемых часах. Время в тестах на годы впереди настоящего, чтобы фоновые задачи
+ * других контекстов с системными часами не трогали эти бронирования; собственная задача этого контекста
+ * отключена длинным интервалом. Пул соединений уменьшен, чтобы одновременные списки быстро его исчерпали,
+ * если будут ждать продвижения фаз с открытой транзакцией.
+ */
+@SpringBootTest(properties = {"shareit.booking-phase.advance-interval=P365D",
+        "spring.datasource.hikari.maximum-pool-size=2", "spring.datasource.hikari.connection-timeout=5000"})
+public class BookingPhaseTest {
+    private static final LocalDateTime T0 = LocalDateTime.now().plusYears(10).truncatedTo(ChronoUnit.HOURS);
+
+    @Autowired
+    private BookingService bookingService;
+    @Autowired
+    private ItemService itemService;
+    @Autowired
+    private BookingPhaseEngine phaseEngine;
+    @Autowired
+    private MutableClock clock;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private ItemRepository itemRepository;
+    @Autowired
+    private BookingRepository bookingRepository;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private User owner;
+    private User booker;
+    private Item item;
+
+    @TestConfiguration
+    static class ClockConfig {
+        @Bean
+        @Primary
+        MutableClock mutableClock() {
+            return new MutableClock(Instant.now(), ZoneId.systemDefault());
+        }
+    }
+
+    @BeforeEach
+    void init() {
+        setClock(T0);
+        owner = userRepository.save(User.builder().name("Иван").email("owner@yandex.ru").build());
+        booker = userRepository.save(User.builder().name("Петр").email("booker@yandex.ru").build());
+        item = itemRepository.save(Item.builder()
+                .name("Дрель")
+                .description("Простая дрель")
+                .available(true)
+                .owner(owner)
+                .build());
+    }
+
+    @AfterEach
+    void tearDown() {
+        bookingRepository.deleteAll();
+        itemRepository.deleteAll();
+        userRepository.deleteAll();
+        clock.set(Instant.now());
+    }
+
+    @Test
+    public void bookingMovesThroughPhasesAsClockAdvances() {
+        Long bookingId = book(T0.plusHours(1), T0.plusHours(3)).getId();
+
+        assertListed(bookingId, "FUTURE");
+
+        setClock(T0.plusHours(2));
+        assertListed(bookingId, "CURRENT");
+
+        setClock(T0.plusHours(4));
+        assertListed(bookingId, "PAST");
+        Booking stored = bookingRepository.findById(bookingId).orElseThrow();
+        Assertions.assertEquals(PhaseType.PAST, stored.getPhase());
+        Assertions.assertNull(stored.getPhaseUntil());
+    }
+
+    @Test
+    public void engineDoesNotQueryDatabaseUntilPhaseChangeIsDue() {
+        book(T0.plusHours(1), T0.plusHours(3));
+        QueryCounter queryCounter = new QueryCounter(entityManagerFactory);
+
+        Assertions.assertEquals(0, queryCounter.count(() ->
+                Assertions.assertEquals(0, phaseEngine.advanceIfDue(T0.plusMinutes(30)))));
+        Assertions.assertEquals(1, phaseEngine.advanceIfDue(T0.plusHours(1)));
+        Assertions.assertEquals(0, queryCounter.count(() ->
+                Assertions.assertEquals(0, phaseEngine.advanceIfDue(T0.plusHours(2)))));
+        Assertions.assertEquals(1, phaseEngine.advanceIfDue(T0.plusHours(3)));
+    }
+
+    @Test
+    public void concurrentPhaseListingsDoNotExhaustConnectionPool() throws Exception {
+        Long bookingId = book(T0.plusHours(1), T0.plusHours(3)).getId();
+        setClock(T0.plusHours(2));
+        int threads = 16;
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<List<BookingResponseDto>>> listings = new ArrayList<>();
+            for (int i = 0; i < threads; i++) {
+                listings.add(executor.submit(() -> {
+                    start.await();
+                    return bookingService.getAllByBooker(0, 10, "CURRENT", booker.getId());
+                }));
+            }
+            start.countDown();
+            for (Future<List<BookingResponseDto>> listing : listings) {
+                Assertions.assertEquals(List.of(bookingId), ids(listing.get()));
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void bookingThatSkippedPhaseBetweenRunsGoesStraightToPast() {
+        Long bookingId = book(T0.plusHours(1), T0.plusHours(2)).getId();
+
+        Assertions.assertEquals(1, phaseEngine.advanceIfDue(T0.plusHours(5)));
+
+        Assertions.assertEquals(PhaseType.PAST, bookingRepository.findById(bookingId).orElseThrow().getPhase());
+    }
+
+    @Test
+    public void ownerItemListFollowsInjectedClock() {
+        Long bookingId = book(T0.plusHours(1), T0.plusHours(3)).getId();
+        bookingService.confirm(bookingId, owner.getId(), true);
+
+        ItemResponseDto before = itemService.getItemsOfUserById(owner.getId()).get(0);
+        setClock(T0.plusHours(2));
+        ItemResponseDto after = itemService.getItemsOfUserById(owner.getId()).get(0);
+
+        Assertions.assertEquals(bookingId, before.getNextBooking().getId());
+        Assertions.assertNull(before.getLastBooking());
+        Assertions.assertEquals(bookingId, after.getLastBooking().getId());
+        Assertions.assertNull(after.getNextBooking());
+    }
+
+    @Test
+    public void bookingSavedDirectlyGetsPhaseOnInsert() {
+        LocalDateTime now = LocalDateTime.now();
+        Booking booking = bookingRepository.save(Booking.builder()
+                .item(item)
+                .booker(booker)
+                .start(now.minusDays(1))
+                .end(now.plusDays(1))
+                .status(StatusType.APPROVED)
+                .build());
+
+        Assertions.assertEquals(PhaseType.CURRENT, booking.getPhase());
+        Assertions.assertEquals(booking.getEnd(), booking.getPhaseUntil());
+    }
+
+    private BookingResponseDto book(LocalDateTime start, LocalDateTime end) {
+        return bookingService.createBooking(BookingRequestDto.builder()
+                .itemId(item.getId())
+                .start(start)
+                .end(end)
+                .build(), booker.getId());
+    }
+
+    private void assertListed(Long bookingId, String state) {
+        for (String other : List.of("FUTURE", "CURRENT", "PAST")) {
+            List<Long> expected = other.equals(state) ? List.of(bookingId) : List.of();
+            Assertions.assertEquals(expected, ids(bookingService.getAllByBooker(0, 10, other, booker.getId())),
+                    () -> "Бронирования арендатора в состоянии " + other);
+            Assertions.assertEquals(expected, ids(bookingService.getAllByOwner(0, 10, other, owner.getId())),
+                    () -> "Бронирования владельца в состоянии " + other);
+        }
+    }
+
+    private void setClock(LocalDateTime time) {
+        clock.set(time.atZone(clock.getZone()).toInstant());
+    }
+
+    private static List<Long> ids(List<BookingResponseDto> bookings) {
+        return bookings.stream().map(BookingResponseDto::getId).toList();
+    }
+}
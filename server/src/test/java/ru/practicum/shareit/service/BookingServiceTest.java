@@ -7,23 +7,29 @@ import org.mockito.Mock;
 import org.mockito.Mockito;
 import org.mockito.MockitoSession;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.server.ResponseStatusException;
 import ru.practicum.shareit.booking.dto.BookingDto;
 import ru.practicum.shareit.booking.dto.BookingRequestDto;
 import ru.practicum.shareit.booking.dto.BookingResponseDto;
+import ru.practicum.shareit.booking.dto.IntervalDto;
+import ru.practicum.shareit.booking.enums.PhaseType;
 import ru.practicum.shareit.booking.enums.StatusType;
 import ru.practicum.shareit.booking.mapper.BookingMapper;
 import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.phase.BookingPhaseEngine;
 import ru.practicum.shareit.booking.repository.BookingRepository;
 import ru.practicum.shareit.booking.service.BookingServiceManager;
 import ru.practicum.shareit.exeption.ConditionsNotMetException;
 import ru.practicum.shareit.exeption.NotFoundException;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.item.summary.ItemBookingSummaryUpdater;
 import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.repository.UserRepository;
 
+import java.time.Clock;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
@@ -48,6 +54,12 @@ public class BookingServiceTest {
     UserRepository userRepository;
     @Mock
     BookingRepository bookingRepository;
+    @Mock
+    ItemBookingSummaryUpdater summaryUpdater;
+    @Mock
+    BookingPhaseEngine phaseEngine;
+    @Mock
+    PlatformTransactionManager transactionManager;
 
     @InjectMocks
     BookingServiceManager bookingServiceManager;
@@ -57,7 +69,8 @@ public class BookingServiceTest {
     @BeforeEach
     void init() {
         session = Mockito.mockitoSession().initMocks(this).startMocking();
-        bookingServiceManager = new BookingServiceManager(bookingRepository, itemRepository, userRepository);
+        bookingServiceManager = new BookingServiceManager(bookingRepository, itemRepository, userRepository,
+                summaryUpdater, phaseEngine, Clock.systemDefaultZone(), transactionManager);
         mockUser1 = new User(1L, "Иван", "ivan@yandex.ru");
         mockUser2 = new User(2L, "Петр", "petr@yandex.ru");
         mockItem1 = new Item(1L, "Книга", "Книга.Описание", true, mockUser1, 1L);
@@ -92,6 +105,8 @@ public class BookingServiceTest {
         BookingResponseDto result = bookingServiceManager.createBooking(bookingRequestDto, user.getId());
         assertThat(result).isNotNull();
         assertThat(result.getId()).isEqualTo(booking.getId());
+        Mockito.verify(phaseEngine).bookingCreated(Mockito.argThat(created -> created.getPhase() == PhaseType.FUTURE
+                && created.getPhaseUntil().equals(start)));
     }
 
     @Test
@@ -180,11 +195,88 @@ public class BookingServiceTest {
         booking.setStatus(StatusType.WAITING);
         booking.getItem().setOwner(mockUser1);
         Mockito.when(bookingRepository.findById(Mockito.any())).thenReturn(Optional.of(booking));
-        Mockito.when(userRepository.existsById(Mockito.any())).thenReturn(true);
+        Mockito.when(userRepository.userExists(Mockito.any())).thenReturn(true);
         bookingServiceManager.confirm(booking.getId(), booking.getItem().getOwner().getId(), true);
         Assertions.assertEquals(StatusType.APPROVED, booking.getStatus());
         Mockito.verify(bookingRepository, times(1)).findById(1L);
-        Mockito.verify(userRepository, times(1)).existsById(1L);
+        Mockito.verify(userRepository, times(1)).userExists(1L);
+        Mockito.verify(summaryUpdater).bookingApproved(Mockito.eq(booking), Mockito.any(LocalDateTime.class));
+    }
+
+    @Test
+    void createBookingOverlappingApprovedShouldThrowConflict() {
+        LocalDateTime start = LocalDateTime.now().plusDays(1);
+        LocalDateTime end = LocalDateTime.now().plusDays(3);
+        BookingRequestDto bookingRequestDto = new BookingRequestDto(1L, start, end);
+        Mockito.when(userRepository.findById(Mockito.any())).thenReturn(Optional.of(mockUser2));
+        Mockito.when(itemRepository.findById(Mockito.any())).thenReturn(Optional.of(mockItem1));
+        Mockito.when(bookingRepository.existsOverlapping(1L, StatusType.APPROVED, start, end, 0L)).thenReturn(true);
+
+        ResponseStatusException exception = assertThrows(ResponseStatusException.class,
+                () -> bookingServiceManager.createBooking(bookingRequestDto, mockUser2.getId()));
+
+        Assertions.assertEquals(409, exception.getStatusCode().value());
+        Mockito.verify(bookingRepository, never()).save(Mockito.any());
+    }
+
+    @Test
+    void testConfirmOverlappingApprovedShouldThrowConflict() {
+        Booking booking = mockBooking2;
+        booking.setStatus(StatusType.WAITING);
+        Mockito.when(bookingRepository.findById(Mockito.any())).thenReturn(Optional.of(booking));
+        Mockito.when(userRepository.userExists(Mockito.any())).thenReturn(true);
+        Mockito.when(bookingRepository.existsOverlapping(1L, StatusType.APPROVED, booking.getStart(),
+                booking.getEnd(), booking.getId())).thenReturn(true);
+
+        ResponseStatusException exception = assertThrows(ResponseStatusException.class,
+                () -> bookingServiceManager.confirm(booking.getId(), mockUser1.getId(), true));
+
+        Assertions.assertEquals(409, exception.getStatusCode().value());
+        Assertions.assertEquals(StatusType.WAITING, booking.getStatus());
+        Mockito.verify(itemRepository).lockById(1L);
+    }
+
+    @Test
+    void testRejectDoesNotCheckOverlap() {
+        Booking booking = mockBooking2;
+        booking.setStatus(StatusType.WAITING);
+        Mockito.when(bookingRepository.findById(Mockito.any())).thenReturn(Optional.of(booking));
+        Mockito.when(userRepository.userExists(Mockito.any())).thenReturn(true);
+
+        bookingServiceManager.confirm(booking.getId(), mockUser1.getId(), false);
+
+        Assertions.assertEquals(StatusType.REJECTED, booking.getStatus());
+        Mockito.verify(itemRepository, never()).lockById(Mockito.any());
+        Mockito.verifyNoInteractions(summaryUpdater);
+    }
+
+    @Test
+    void testGetFreeIntervalsSkipsApprovedBookings() {
+        LocalDateTime day = LocalDateTime.of(2030, 1, 1, 0, 0);
+        Mockito.when(userRepository.userExists(2L)).thenReturn(true);
+        Mockito.when(itemRepository.findById(1L)).thenReturn(Optional.of(mockItem1));
+        Mockito.when(bookingRepository.findIntervalsOverlapping(1L, StatusType.APPROVED, day, day.plusDays(10)))
+                .thenReturn(List.of(
+                        new IntervalDto(day.minusDays(1), day.plusDays(1)),
+                        new IntervalDto(day.plusDays(3), day.plusDays(5)),
+                        new IntervalDto(day.plusDays(4), day.plusDays(6)),
+                        new IntervalDto(day.plusDays(6), day.plusDays(7))));
+
+        List<IntervalDto> free = bookingServiceManager.getFreeIntervals(1L, day, day.plusDays(10), 2L);
+
+        Assertions.assertEquals(List.of(
+                new IntervalDto(day.plusDays(1), day.plusDays(3)),
+                new IntervalDto(day.plusDays(7), day.plusDays(10))), free);
+    }
+
+    @Test
+    void testGetFreeIntervalsOfUnknownItemShouldThrowNotFound() {
+        LocalDateTime day = LocalDateTime.of(2030, 1, 1, 0, 0);
+        Mockito.when(userRepository.userExists(2L)).thenReturn(true);
+        Mockito.when(itemRepository.findById(1L)).thenReturn(Optional.empty());
+
+        assertThrows(ResponseStatusException.class,
+                () -> bookingServiceManager.getFreeIntervals(1L, day, day.plusDays(1), 2L));
     }
 
     @Test
@@ -314,7 +406,7 @@ public class BookingServiceTest {
         Long userOwnerId = 1L;
         Mockito.when(bookingRepository.findById(bookingId))
                 .thenReturn(Optional.of(booking));
-        Mockito.when(userRepository.existsById(userOwnerId))
+        Mockito.when(userRepository.userExists(userOwnerId))
                 .thenReturn(true);
         assertThrows(ResponseStatusException.class, () -> bookingServiceManager.confirm(bookingId, userOwnerId, true));
         Mockito.verify(bookingRepository, never()).save(Mockito.any());
@@ -328,7 +420,7 @@ public class BookingServiceTest {
         Long userOwnerId = 1L;
         Mockito.when(bookingRepository.findById(bookingId))
                 .thenReturn(Optional.of(booking));
-        Mockito.when(userRepository.existsById(userOwnerId))
+        Mockito.when(userRepository.userExists(userOwnerId))
                 .thenReturn(true);
         assertThrows(ResponseStatusException.class, () -> bookingServiceManager.confirm(bookingId, userOwnerId, true));
         Mockito.verify(bookingRepository, never()).save(Mockito.any());
@@ -341,7 +433,7 @@ public class BookingServiceTest {
         Long userOwnerId = 2L;
         Mockito.when(bookingRepository.findById(bookingId))
                 .thenReturn(Optional.of(booking));
-        Mockito.when(userRepository.existsById(userOwnerId))
+        Mockito.when(userRepository.userExists(userOwnerId))
                 .thenReturn(true);
         assertThrows(ResponseStatusException.class, () -> bookingServiceManager.confirm(bookingId, userOwnerId, true));
         Mockito.verify(bookingRepository, never()).save(Mockito.any());
@@ -350,7 +442,7 @@ public class BookingServiceTest {
     @Test
     void testGetAllByBookerWithInvalidState() {
         Long bookerId = 1L;
-        Mockito.when(userRepository.findById(bookerId)).thenReturn(Optional.of(mockUser1));
+        Mockito.when(userRepository.userExists(bookerId)).thenReturn(true);
 
         assertThrows(ConditionsNotMetException.class, () -> {
             bookingServiceManager.getAllByBooker(0, 10, "INVALID_STATE", bookerId);
@@ -360,7 +452,7 @@ public class BookingServiceTest {
     @Test
     void testGetAllByOwnerWithInvalidState() {
         Long ownerId = 1L;
-        Mockito.when(userRepository.findById(ownerId)).thenReturn(Optional.of(mockUser1));
+        Mockito.when(userRepository.userExists(ownerId)).thenReturn(true);
 
         assertThrows(ConditionsNotMetException.class, () -> {
             bookingServiceManager.getAllByOwner(0, 10, "INVALID_STATE", ownerId);
@@ -372,7 +464,7 @@ public class BookingServiceTest {
         Booking booking = mockBooking1;
         booking.setStatus(StatusType.APPROVED);
         Mockito.when(bookingRepository.findById(booking.getId())).thenReturn(Optional.of(booking));
-        Mockito.when(userRepository.existsById(mockUser1.getId())).thenReturn(true);
+        Mockito.when(userRepository.userExists(mockUser1.getId())).thenReturn(true);
 
         assertThrows(ResponseStatusException.class, () -> {
             bookingServiceManager.confirm(booking.getId(), mockUser1.getId(), true);
@@ -384,7 +476,7 @@ public class BookingServiceTest {
         Booking booking = mockBooking1;
         booking.setStatus(StatusType.REJECTED);
         Mockito.when(bookingRepository.findById(booking.getId())).thenReturn(Optional.of(booking));
-        Mockito.when(userRepository.existsById(mockUser1.getId())).thenReturn(true);
+        Mockito.when(userRepository.userExists(mockUser1.getId())).thenReturn(true);
 
         assertThrows(ResponseStatusException.class, () -> {
             bookingServiceManager.confirm(booking.getId(), mockUser1.getId(), false);
@@ -416,8 +508,8 @@ public class BookingServiceTest {
     @Test
     void testGetAllByBookerWhenNoBookings() {
         Long bookerId = 1L;
-        Mockito.when(userRepository.findById(bookerId)).thenReturn(Optional.of(mockUser1));
-        Mockito.when(bookingRepository.findBookingByBookerOrderByStartDesc(mockUser1)).thenReturn(List.of());
+        Mockito.when(userRepository.userExists(bookerId)).thenReturn(true);
+        Mockito.when(bookingRepository.findBookingByBookerOrderByStartDesc(Mockito.eq(mockUser1.getId()), Mockito.any())).thenReturn(List.of());
 
         List<BookingResponseDto> bookings = bookingServiceManager.getAllByBooker(0, 10, "ALL", bookerId);
         assertThat(bookings).isEmpty();
@@ -426,8 +518,8 @@ public class BookingServiceTest {
     @Test
     void testGetAllByOwnerWhenNoBookings() {
         Long ownerId = 1L;
-        Mockito.when(userRepository.findById(ownerId)).thenReturn(Optional.of(mockUser1));
-        Mockito.when(bookingRepository.getAllBookingsForOwner(ownerId)).thenReturn(List.of());
+        Mockito.when(userRepository.userExists(ownerId)).thenReturn(true);
+        Mockito.when(bookingRepository.getAllBookingsForOwner(Mockito.eq(ownerId), Mockito.any())).thenReturn(List.of());
 
         List<BookingResponseDto> bookings = bookingServiceManager.getAllByOwner(0, 10, "ALL", ownerId);
         assertThat(bookings).isEmpty();
@@ -454,7 +546,7 @@ public class BookingServiceTest {
     void testConfirmBookingWithInvalidUser() {
         Booking booking = mockBooking1;
         Mockito.when(bookingRepository.findById(booking.getId())).thenReturn(Optional.of(booking));
-        Mockito.when(userRepository.existsById(2L)).thenReturn(true); // Другой ID пользователя
+        Mockito.when(userRepository.userExists(2L)).thenReturn(true); // Другой ID пользователя
 
         assertThrows(ResponseStatusException.class, () -> {
             bookingServiceManager.confirm(booking.getId(), 2L, true);
@@ -465,10 +557,10 @@ public class BookingServiceTest {
     void testGetAllByBookerWhenValidState() {
         Long bookerId = 1L;
         mockUser1.setId(bookerId);
-        Mockito.when(userRepository.findById(bookerId)).thenReturn(Optional.of(mockUser1));
+        Mockito.when(userRepository.userExists(bookerId)).thenReturn(true);
 
         List<Booking> bookings = List.of(mockBooking1, mockBooking2);
-        Mockito.when(bookingRepository.findBookingByBookerOrderByStartDesc(mockUser1)).thenReturn(bookings);
+        Mockito.when(bookingRepository.findBookingByBookerOrderByStartDesc(Mockito.eq(mockUser1.getId()), Mockito.any())).thenReturn(bookings);
 
         List<BookingResponseDto> bookingResponses = bookingServiceManager.getAllByBooker(0, 10, "ALL", bookerId);
         assertThat(bookingResponses).hasSize(2);
@@ -478,10 +570,10 @@ public class BookingServiceTest {
     void testGetAllByOwnerWhenValidState() {
         Long ownerId = 1L;
         mockUser1.setId(ownerId);
-        Mockito.when(userRepository.findById(ownerId)).thenReturn(Optional.of(mockUser1));
+        Mockito.when(userRepository.userExists(ownerId)).thenReturn(true);
 
         List<Booking> bookings = List.of(mockBooking1, mockBooking2);
-        Mockito.when(bookingRepository.getAllBookingsForOwner(ownerId)).thenReturn(bookings);
+        Mockito.when(bookingRepository.getAllBookingsForOwner(Mockito.eq(ownerId), Mockito.any())).thenReturn(bookings);
 
         List<BookingResponseDto> bookingResponses = bookingServiceManager.getAllByOwner(0, 10, "ALL", ownerId);
         assertThat(bookingResponses).hasSize(2);
@@ -493,7 +585,7 @@ public class BookingServiceTest {
         booking.setItem(mockItem1);
         booking.getItem().setOwner(mockUser1);
         Mockito.when(bookingRepository.findById(booking.getId())).thenReturn(Optional.of(booking));
-        Mockito.when(userRepository.existsById(mockUser2.getId())).thenReturn(true); // Пользователь не владелец
+        Mockito.when(userRepository.userExists(mockUser2.getId())).thenReturn(true); // Пользователь не владелец
 
         assertThrows(ResponseStatusException.class, () -> {
             bookingServiceManager.confirm(booking.getId(), mockUser2.getId(), true);
@@ -503,7 +595,7 @@ public class BookingServiceTest {
     @Test
     void testGetAllByBookerWhenUserNotFound() {
         Long bookerId = 1L;
-        Mockito.when(userRepository.findById(bookerId)).thenReturn(Optional.empty());
+        Mockito.when(userRepository.userExists(bookerId)).thenReturn(false);
 
         assertThrows(NotFoundException.class, () -> {
             bookingServiceManager.getAllByBooker(0, 10, "ALL", bookerId);
@@ -513,7 +605,7 @@ public class BookingServiceTest {
     @Test
     void testGetAllByOwnerWhenUserNotFound() {
         Long ownerId = 1L;
-        Mockito.when(userRepository.findById(ownerId)).thenReturn(Optional.empty());
+        Mockito.when(userRepository.userExists(ownerId)).thenReturn(false);
 
         assertThrows(NotFoundException.class, () -> {
             bookingServiceManager.getAllByOwner(0, 10, "ALL", ownerId);
@@ -565,8 +657,8 @@ public class BookingServiceTest {
     @Test
     void testGetAllByBookerWhenNoBookingsFound() {
         Long bookerId = 1L;
-        Mockito.when(userRepository.findById(bookerId)).thenReturn(Optional.of(mockUser1));
-        Mockito.when(bookingRepository.findBookingByBookerOrderByStartDesc(mockUser1)).thenReturn(List.of());
+        Mockito.when(userRepository.userExists(bookerId)).thenReturn(true);
+        Mockito.when(bookingRepository.findBookingByBookerOrderByStartDesc(Mockito.eq(mockUser1.getId()), Mockito.any())).thenReturn(List.of());
 
         List<BookingResponseDto> bookings = bookingServiceManager.getAllByBooker(0, 10, "ALL", bookerId);
         assertThat(bookings).isEmpty();
@@ -575,8 +667,8 @@ public class BookingServiceTest {
     @Test
     void testGetAllByOwnerWhenNoBookingsFound() {
         Long ownerId = 1L;
-        Mockito.when(userRepository.findById(ownerId)).thenReturn(Optional.of(mockUser1));
-        Mockito.when(bookingRepository.getAllBookingsForOwner(ownerId)).thenReturn(List.of());
+        Mockito.when(userRepository.userExists(ownerId)).thenReturn(true);
+        Mockito.when(bookingRepository.getAllBookingsForOwner(Mockito.eq(ownerId), Mockito.any())).thenReturn(List.of());
 
         List<BookingResponseDto> bookings = bookingServiceManager.getAllByOwner(0, 10, "ALL", ownerId);
         assertThat(bookings).isEmpty();
@@ -585,7 +677,7 @@ public class BookingServiceTest {
     @Test
     void testGetAllByBookerWithInvalid() {
         Long bookerId = 1L;
-        Mockito.when(userRepository.findById(bookerId)).thenReturn(Optional.of(mockUser1));
+        Mockito.when(userRepository.userExists(bookerId)).thenReturn(true);
 
         assertThrows(ConditionsNotMetException.class, () -> {
             bookingServiceManager.getAllByBooker(0, 10, "INVALID_STATE", bookerId);
@@ -595,7 +687,7 @@ public class BookingServiceTest {
     @Test
     void testGetAllByOwner() {
         Long ownerId = 1L;
-        Mockito.when(userRepository.findById(ownerId)).thenReturn(Optional.of(mockUser1));
+        Mockito.when(userRepository.userExists(ownerId)).thenReturn(true);
 
         assertThrows(ConditionsNotMetException.class, () -> {
             bookingServiceManager.getAllByOwner(0, 10, "INVALID_STATE", ownerId);
@@ -608,7 +700,7 @@ public class BookingServiceTest {
         booking.setItem(mockItem1);
         booking.getItem().setOwner(mockUser2);
         Mockito.when(bookingRepository.findById(booking.getId())).thenReturn(Optional.of(booking));
-        Mockito.when(userRepository.existsById(mockUser1.getId())).thenReturn(true);
+        Mockito.when(userRepository.userExists(mockUser1.getId())).thenReturn(true);
 
         assertThrows(ResponseStatusException.class, () -> {
             bookingServiceManager.confirm(booking.getId(), mockUser1.getId(), true);
@@ -651,8 +743,8 @@ public class BookingServiceTest {
     @Test
     void testGetAllByOwnerWithNoBookings() {
         Long ownerId = 1L;
-        Mockito.when(userRepository.findById(ownerId)).thenReturn(Optional.of(mockUser1));
-        Mockito.when(bookingRepository.getAllBookingsForOwner(ownerId)).thenReturn(List.of());
+        Mockito.when(userRepository.userExists(ownerId)).thenReturn(true);
+        Mockito.when(bookingRepository.getAllBookingsForOwner(Mockito.eq(ownerId), Mockito.any())).thenReturn(List.of());
 
         List<BookingResponseDto> bookings = bookingServiceManager.getAllByOwner(0, 10, "ALL", ownerId);
         assertThat(bookings).isEmpty();
@@ -671,7 +763,7 @@ public class BookingServiceTest {
         Booking booking = mockBooking1;
         booking.setStatus(StatusType.WAITING);
         Mockito.when(bookingRepository.findById(Mockito.any())).thenReturn(Optional.of(booking));
-        Mockito.when(userRepository.existsById(Mockito.any())).thenReturn(true);
+        Mockito.when(userRepository.userExists(Mockito.any())).thenReturn(true);
 
         assertThrows(ResponseStatusException.class, () -> bookingServiceManager.confirm(booking.getId(), mockUser2.getId(), true));
     }
@@ -680,8 +772,8 @@ public class BookingServiceTest {
     @DisplayName("Тест на получение всех бронирований для владельца, когда нет бронирований")
     void getAllByOwnerWhenNoBookings_shouldReturnEmptyList() {
         Long ownerId = 1L;
-        Mockito.when(userRepository.findById(ownerId)).thenReturn(Optional.of(mockUser1));
-        Mockito.when(bookingRepository.getAllBookingsForOwner(ownerId)).thenReturn(List.of());
+        Mockito.when(userRepository.userExists(ownerId)).thenReturn(true);
+        Mockito.when(bookingRepository.getAllBookingsForOwner(Mockito.eq(ownerId), Mockito.any())).thenReturn(List.of());
 
         List<BookingResponseDto> bookings = bookingServiceManager.getAllByOwner(0, 10, "ALL", ownerId);
         assertThat(bookings).isEmpty();
@@ -709,8 +801,8 @@ public class BookingServiceTest {
     @Test
     public void getAllByOwnerWhenNoBookingsShouldReturnEmptyList() {
         Long ownerId = 1L;
-        Mockito.when(userRepository.findById(ownerId)).thenReturn(Optional.of(mockUser1));
-        Mockito.when(bookingRepository.getAllBookingsForOwner(ownerId)).thenReturn(List.of());
+        Mockito.when(userRepository.userExists(ownerId)).thenReturn(true);
+        Mockito.when(bookingRepository.getAllBookingsForOwner(Mockito.eq(ownerId), Mockito.any())).thenReturn(List.of());
 
         List<BookingResponseDto> bookings = bookingServiceManager.getAllByOwner(0, 10, "ALL", ownerId);
         assertThat(bookings).isEmpty();
@@ -720,7 +812,7 @@ public class BookingServiceTest {
     @Test
     public void getAllByBookerWithInvalidStateShouldThrowConditionsNotMetException() {
         Long bookerId = 1L;
-        Mockito.when(userRepository.findById(bookerId)).thenReturn(Optional.of(mockUser1));
+        Mockito.when(userRepository.userExists(bookerId)).thenReturn(true);
 
         assertThrows(ConditionsNotMetException.class, () -> {
             bookingServiceManager.getAllByBooker(0, 10, "INVALID_STATE", bookerId);
@@ -732,7 +824,7 @@ public class BookingServiceTest {
         Booking booking = mockBooking1;
         booking.setStatus(StatusType.WAITING);
         Mockito.when(bookingRepository.findById(Mockito.any())).thenReturn(Optional.of(booking));
-        Mockito.when(userRepository.existsById(Mockito.any())).thenReturn(true);
+        Mockito.when(userRepository.userExists(Mockito.any())).thenReturn(true);
 
         assertThrows(ResponseStatusException.class, () -> {
             bookingServiceManager.confirm(booking.getId(), mockUser2.getId(), true);
@@ -772,7 +864,7 @@ public class BookingServiceTest {
         Booking booking = mockBooking1;
         booking.setStatus(StatusType.APPROVED);
         Mockito.when(bookingRepository.findById(Mockito.any())).thenReturn(Optional.of(booking));
-        Mockito.when(userRepository.existsById(Mockito.any())).thenReturn(true);
+        Mockito.when(userRepository.userExists(Mockito.any())).thenReturn(true);
 
         assertThrows(ResponseStatusException.class, () -> {
             bookingServiceManager.confirm(booking.getId(), booking.getItem().getOwner().getId(), true);
@@ -782,11 +874,12 @@ public class BookingServiceTest {
     @Test
     public void getAllByBookerCurrentStateShouldReturnCurrentBookings() {
         User user = mockUser1;
-        Mockito.when(userRepository.findById(user.getId())).thenReturn(Optional.of(user));
+        Mockito.when(userRepository.userExists(user.getId())).thenReturn(true);
 
         Booking currentBooking = new Booking(3L, LocalDateTime.now().minusDays(1), LocalDateTime.now().plusDays(1), mockItem1, user, StatusType.APPROVED);
         List<Booking> bookingList = List.of(currentBooking);
-        Mockito.when(bookingRepository.findBookingByBookerAndStartBeforeAndEndAfterOrderByStartDesc(Mockito.any(), Mockito.any(), Mockito.any()))
+        Mockito.when(bookingRepository.findBookingByBookerAndPhaseOrderByStartDesc(Mockito.any(),
+                        Mockito.eq(PhaseType.CURRENT), Mockito.any()))
                 .thenReturn(bookingList);
 
         List<BookingResponseDto> bookings = bookingServiceManager.getAllByBooker(0, 10, "CURRENT", user.getId());
@@ -797,10 +890,10 @@ public class BookingServiceTest {
     @Test
     void getAllByBookerShouldReturnAllBookings() {
         Long bookerId = 1L;
-        Mockito.when(userRepository.findById(bookerId)).thenReturn(Optional.of(mockUser1));
+        Mockito.when(userRepository.userExists(bookerId)).thenReturn(true);
 
         List<Booking> bookingList = List.of(mockBooking1, mockBooking2);
-        Mockito.when(bookingRepository.findBookingByBookerOrderByStartDesc(mockUser1)).thenReturn(bookingList);
+        Mockito.when(bookingRepository.findBookingByBookerOrderByStartDesc(Mockito.eq(mockUser1.getId()), Mockito.any())).thenReturn(bookingList);
 
         List<BookingResponseDto> bookings = bookingServiceManager.getAllByBooker(0, 10, "ALL", bookerId);
         assertThat(bookings).hasSize(2);
@@ -812,11 +905,12 @@ public class BookingServiceTest {
     @Test
     void getAllByBookerWaitingStateShouldReturnWaitingBookings() {
         Long bookerId = 1L;
-        Mockito.when(userRepository.findById(bookerId)).thenReturn(Optional.of(mockUser1));
+        Mockito.when(userRepository.userExists(bookerId)).thenReturn(true);
 
         Booking waitingBooking = new Booking(3L, LocalDateTime.now().plusDays(1), LocalDateTime.now().plusDays(2), mockItem1, mockUser1, StatusType.WAITING);
         List<Booking> bookingList = List.of(waitingBooking);
-        Mockito.when(bookingRepository.findBookingByBookerAndStatusOrderByStartDesc(mockUser1, StatusType.WAITING)).thenReturn(bookingList);
+        Mockito.when(bookingRepository.findBookingByBookerAndStatusOrderByStartDesc(Mockito.eq(mockUser1.getId()),
+                        Mockito.eq(StatusType.WAITING), Mockito.any())).thenReturn(bookingList);
 
         List<BookingResponseDto> bookings = bookingServiceManager.getAllByBooker(0, 10, "WAITING", bookerId);
         assertThat(bookings).hasSize(1);
@@ -826,10 +920,10 @@ public class BookingServiceTest {
     @Test
     void getAllByOwnerShouldReturnAllBookings() {
         Long ownerId = 1L;
-        Mockito.when(userRepository.findById(ownerId)).thenReturn(Optional.of(mockUser1));
+        Mockito.when(userRepository.userExists(ownerId)).thenReturn(true);
 
         List<Booking> bookingList = List.of(mockBooking1, mockBooking2);
-        Mockito.when(bookingRepository.getAllBookingsForOwner(ownerId)).thenReturn(bookingList);
+        Mockito.when(bookingRepository.getAllBookingsForOwner(Mockito.eq(ownerId), Mockito.any())).thenReturn(bookingList);
 
         List<BookingResponseDto> bookings = bookingServiceManager.getAllByOwner(0, 10, "ALL", ownerId);
         assertThat(bookings).hasSize(2);
@@ -840,10 +934,10 @@ public class BookingServiceTest {
     @Test
     void getAllByBookerShouldReturnBookings() {
         Long bookerId = 1L;
-        Mockito.when(userRepository.findById(bookerId)).thenReturn(Optional.of(mockUser1));
+        Mockito.when(userRepository.userExists(bookerId)).thenReturn(true);
 
         List<Booking> bookingList = List.of(mockBooking1, mockBooking2);
-        Mockito.when(bookingRepository.findBookingByBookerOrderByStartDesc(mockUser1)).thenReturn(bookingList);
+        Mockito.when(bookingRepository.findBookingByBookerOrderByStartDesc(Mockito.eq(mockUser1.getId()), Mockito.any())).thenReturn(bookingList);
 
         List<BookingResponseDto> bookings = bookingServiceManager.getAllByBooker(0, 10, "ALL", bookerId);
         assertThat(bookings).hasSize(2);
@@ -854,11 +948,12 @@ public class BookingServiceTest {
     @Test
     void getAllByBookerCurrentStateShouldReturnBookings() {
         User user = mockUser1;
-        Mockito.when(userRepository.findById(user.getId())).thenReturn(Optional.of(user));
+        Mockito.when(userRepository.userExists(user.getId())).thenReturn(true);
 
         Booking currentBooking = new Booking(3L, LocalDateTime.now().minusDays(1), LocalDateTime.now().plusDays(1), mockItem1, user, StatusType.APPROVED);
         List<Booking> bookingList = List.of(currentBooking);
-        Mockito.when(bookingRepository.findBookingByBookerAndStartBeforeAndEndAfterOrderByStartDesc(Mockito.any(), Mockito.any(), Mockito.any()))
+        Mockito.when(bookingRepository.findBookingByBookerAndPhaseOrderByStartDesc(Mockito.any(),
+                        Mockito.eq(PhaseType.CURRENT), Mockito.any()))
                 .thenReturn(bookingList);
 
         List<BookingResponseDto> bookings = bookingServiceManager.getAllByBooker(0, 10, "CURRENT", user.getId());
@@ -869,26 +964,29 @@ public class BookingServiceTest {
     @Test
     void getAllByBookerPastStateShouldReturnPastBookings() {
         User user = mockUser1;
-        Mockito.when(userRepository.findById(user.getId())).thenReturn(Optional.of(user));
+        Mockito.when(userRepository.userExists(user.getId())).thenReturn(true);
 
         Booking pastBooking = new Booking(4L, LocalDateTime.now().minusDays(5), LocalDateTime.now().minusDays(1), mockItem1, user, StatusType.APPROVED);
         List<Booking> bookingList = List.of(pastBooking);
-        Mockito.when(bookingRepository.findBookingByBookerAndEndBeforeOrderByStartDesc(Mockito.any(), Mockito.any()))
+        Mockito.when(bookingRepository.findBookingByBookerAndPhaseOrderByStartDesc(Mockito.any(),
+                        Mockito.eq(PhaseType.PAST), Mockito.any()))
                 .thenReturn(bookingList);
 
         List<BookingResponseDto> bookings = bookingServiceManager.getAllByBooker(0, 10, "PAST", user.getId());
         assertThat(bookings).hasSize(1);
         assertThat(bookings.get(0).getId()).isEqualTo(pastBooking.getId());
+        Mockito.verify(phaseEngine).advanceIfDue(Mockito.any(LocalDateTime.class));
     }
 
     @Test
     void getAllByBookerWaitingStateShouldReturnWaiting() {
         User user = mockUser1;
-        Mockito.when(userRepository.findById(user.getId())).thenReturn(Optional.of(user));
+        Mockito.when(userRepository.userExists(user.getId())).thenReturn(true);
 
         Booking waitingBooking = new Booking(5L, LocalDateTime.now().plusDays(1), LocalDateTime.now().plusDays(2), mockItem1, user, StatusType.WAITING);
         List<Booking> bookingList = List.of(waitingBooking);
-        Mockito.when(bookingRepository.findBookingByBookerAndStatusOrderByStartDesc(Mockito.any(), Mockito.any()))
+        Mockito.when(bookingRepository.findBookingByBookerAndStatusOrderByStartDesc(Mockito.any(), Mockito.any(),
+                        Mockito.any()))
                 .thenReturn(bookingList);
 
         List<BookingResponseDto> bookings = bookingServiceManager.getAllByBooker(0, 10, "WAITING", user.getId());
@@ -899,10 +997,22 @@ public class BookingServiceTest {
     @Test
     void getAllByBookerWithInvalidStateShouldThrowConditions() {
         Long bookerId = 1L;
-        Mockito.when(userRepository.findById(bookerId)).thenReturn(Optional.of(mockUser1));
+        Mockito.when(userRepository.userExists(bookerId)).thenReturn(true);
 
         assertThrows(ConditionsNotMetException.class, () -> {
             bookingServiceManager.getAllByBooker(0, 10, "INVALID_STATE", bookerId);
         });
     }
-}
\ No newline at end of file
+
+    @Test
+    void getAllByBookerPassesFromAsOffset() {
+        Long bookerId = 1L;
+        Mockito.when(userRepository.userExists(bookerId)).thenReturn(true);
+        Mockito.when(bookingRepository.findBookingByBookerOrderByStartDesc(Mockito.eq(bookerId),
+                Mockito.argThat(pageable -> pageable.getOffset() == 5 && pageable.getPageSize() == 10)))
+                .thenReturn(List.of(mockBooking1));
+
+        List<BookingResponseDto> bookings = bookingServiceManager.getAllByBooker(5, 10, "ALL", bookerId);
+        assertThat(bookings).hasSize(1);
+    }
+}
@@ -5,7 +5,6 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import ru.practicum.shareit.booking.enums.StatusType;
@@ -18,9 +17,11 @@ import ru.practicum.shareit.comment.repository.CommentRepository;
 import ru.practicum.shareit.comment.service.CommentServiceManager;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.item.summary.ItemBookingSummaryUpdater;
 import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.repository.UserRepository;
 
+import java.time.Clock;
 import java.time.LocalDateTime;
 import java.util.Collections;
 import java.util.Optional;
@@ -43,7 +44,9 @@ public class CommentServiceTest {
     @Mock
     private BookingRepository bookingRepository;
 
-    @InjectMocks
+    @Mock
+    private ItemBookingSummaryUpdater summaryUpdater;
+
     private CommentServiceManager commentService;
 
     private User mockUser;
@@ -52,6 +55,8 @@ public class CommentServiceTest {
 
     @BeforeEach
     public void setUp() {
+        commentService = new CommentServiceManager(itemRepository, userRepository, commentRepository, bookingRepository,
+                summaryUpdater, Clock.systemDefaultZone());
         mockUser = new User(1L, "User 1", "user1@example.com");
         mockItem1 = new Item(1L, "Item1", "Description", true, mockUser, null);
         mockBooking1 = new Booking(1L, LocalDateTime.now(), LocalDateTime.now().minusDays(1), mockItem1, mockUser, StatusType.APPROVED);
@@ -81,5 +86,6 @@ public class CommentServiceTest {
         verify(itemRepository).findById(1L);
         verify(bookingRepository).findAllByBookerIdAndItemIdAndEndBefore(any(), any(), any(LocalDateTime.class));
         verify(commentRepository).save(any(Comment.class));
+        verify(summaryUpdater).commentAdded(eq(1L), any(LocalDateTime.class));
     }
 }
\ No newline at end of file
@@ -0,0 +1,160 @@
+package ru.practicum.shareit.service;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import ru.practicum.shareit.booking.dto.BookingRequestDto;
+import ru.practicum.shareit.booking.dto.BookingResponseDto;
+import ru.practicum.shareit.booking.enums.StatusType;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.booking.service.BookingService;
+import ru.practicum.shareit.comment.CommentDto;
+import ru.practicum.shareit.comment.repository.CommentRepository;
+import ru.practicum.shareit.comment.service.CommentService;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.dto.ItemResponseDto;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.item.service.ItemService;
+import ru.practicum.shareit.item.summary.ItemBookingSummary;
+import ru.practicum.shareit.item.summary.ItemBookingSummaryRepository;
+import ru.practicum.shareit.item.summary.ItemBookingSummaryUpdater;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.repository.UserRepository;
+import ru.practicum.shareit.user.service.UserService;
+import ru.practicum.shareit.util.QueryCounter;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@SpringBootTest
+public class ItemBookingSummaryTest {
+    @Autowired
+    private ItemService itemService;
+    @Autowired
+    private BookingService bookingService;
+    @Autowired
+    private CommentService commentService;
+    @Autowired
+    private UserService userService;
+    @Autowired
+    private ItemBookingSummaryUpdater summaryUpdater;
+    @Autowired
+    private ItemBookingSummaryRepository summaryRepository;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private ItemRepository itemRepository;
+    @Autowired
+    private BookingRepository bookingRepository;
+    @Autowired
+    private CommentRepository commentRepository;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private User owner;
+    private User booker;
+
+    @BeforeEach
+    void init() {
+        owner = userRepository.save(User.builder().name("Иван").email("owner@yandex.ru").build());
+        booker = userRepository.save(User.builder().name("Петр").email("booker@yandex.ru").build());
+    }
+
+    @AfterEach
+    void tearDown() {
+        commentRepository.deleteAll();
+        bookingRepository.deleteAll();
+        itemRepository.deleteAll();
+        userRepository.deleteAll();
+    }
+
+    @Test
+    public void confirmedBookingIsShownFromSummaryWithoutBookingQueries() {
+        Long itemId = createItem();
+        LocalDateTime now = LocalDateTime.now();
+        BookingResponseDto booking = book(itemId, now.plusDays(1), now.plusDays(2));
+        bookingService.confirm(booking.getId(), owner.getId(), true);
+
+        QueryCounter queryCounter = new QueryCounter(entityManagerFactory);
+        long queries = queryCounter.countUncached(() -> itemService.getItemsOfUserById(owner.getId()));
+        List<ItemResponseDto> items = itemService.getItemsOfUserById(owner.getId());
+
+        Assertions.assertEquals(1, items.size());
+        Assertions.assertNull(items.get(0).getLastBooking());
+        Assertions.assertEquals(booking.getId(), items.get(0).getNextBooking().getId());
+        Assertions.assertEquals(booker.getId(), items.get(0).getNextBooking().getBookerId());
+        Assertions.assertTrue(items.get(0).getComments().isEmpty());
+        // Проверка пользователя, вещи со сводками и их владелец: ни bookings, ни comments не читаются.
+        Assertions.assertEquals(3, queries);
+    }
+
+    @Test
+    public void refreshDueMovesStartedBookingToLast() {
+        Long itemId = createItem();
+        LocalDateTime now = LocalDateTime.now();
+        BookingResponseDto first = book(itemId, now.plusDays(1), now.plusDays(2));
+        BookingResponseDto second = book(itemId, now.plusDays(3), now.plusDays(4));
+        bookingService.confirm(first.getId(), owner.getId(), true);
+        bookingService.confirm(second.getId(), owner.getId(), true);
+
+        Assertions.assertEquals(1, summaryUpdater.refreshDue(now.plusDays(1).plusHours(1)));
+
+        ItemBookingSummary summary = summaryRepository.findById(itemId).orElseThrow();
+        Assertions.assertEquals(first.getId(), summary.getLastBookingId());
+        Assertions.assertEquals(second.getId(), summary.getNextBookingId());
+        Assertions.assertEquals(0, summaryUpdater.refreshDue(now.plusDays(1).plusHours(2)));
+    }
+
+    @Test
+    public void commentIncrementsCount() {
+        Long itemId = createItem();
+        LocalDateTime now = LocalDateTime.now();
+        bookingRepository.save(Booking.builder()
+                .item(itemRepository.findById(itemId).orElseThrow())
+                .booker(booker)
+                .start(now.minusDays(3))
+                .end(now.minusDays(2))
+                .status(StatusType.APPROVED)
+                .build());
+
+        commentService.addComment(CommentDto.builder().text("Хорошая дрель").build(), itemId, booker.getId(), now);
+
+        Assertions.assertEquals(1, summaryRepository.findById(itemId).orElseThrow().getCommentCount());
+        Assertions.assertEquals(1, itemService.getItemsOfUserById(owner.getId()).get(0).getComments().size());
+    }
+
+    @Test
+    public void deletedBookerDisappearsFromOwnerList() {
+        Long itemId = createItem();
+        LocalDateTime now = LocalDateTime.now();
+        BookingResponseDto booking = book(itemId, now.plusDays(1), now.plusDays(2));
+        bookingService.confirm(booking.getId(), owner.getId(), true);
+
+        userService.deleteUserById(booker.getId());
+
+        ItemResponseDto item = itemService.getItemsOfUserById(owner.getId()).get(0);
+        Assertions.assertNull(item.getLastBooking());
+        Assertions.assertNull(item.getNextBooking());
+    }
+
+    private Long createItem() {
+        return itemService.createNewItem(ItemDto.builder()
+                .name("Дрель")
+                .description("Простая дрель")
+                .available(true)
+                .build(), owner.getId()).getId();
+    }
+
+    private BookingResponseDto book(Long itemId, LocalDateTime start, LocalDateTime end) {
+        return bookingService.createBooking(BookingRequestDto.builder()
+                .itemId(itemId)
+                .start(start)
+                .end(end)
+                .build(), booker.getId());
+    }
+}
@@ -0,0 +1,122 @@
+package ru.practicum.shareit.service;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.request.dto.ItemRequestResponseDto;
+import ru.practicum.shareit.request.model.ItemRequest;
+import ru.practicum.shareit.request.repository.ItemRequestRepository;
+import ru.practicum.shareit.request.service.ItemRequestService;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.repository.UserRepository;
+import ru.practicum.shareit.util.QueryCounter;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+@SpringBootTest
+public class ItemRequestServiceQueryCountTest {
+    private static final int OWNERS = 10;
+
+    @Autowired
+    private ItemRequestService itemRequestService;
+    @Autowired
+    private ItemRequestRepository itemRequestRepository;
+    @Autowired
+    private ItemRepository itemRepository;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private QueryCounter queryCounter;
+    private User requestor;
+    private User reader;
+    private final List<User> owners = new ArrayList<>();
+
+    @BeforeEach
+    void init() {
+        queryCounter = new QueryCounter(entityManagerFactory);
+        requestor = userRepository.save(User.builder().name("Иван").email("requestor@yandex.ru").build());
+        reader = userRepository.save(User.builder().name("Петр").email("reader@yandex.ru").build());
+        for (int i = 0; i < OWNERS; i++) {
+            owners.add(userRepository.save(User.builder().name("Владелец").email("owner" + i + "@yandex.ru").build()));
+        }
+    }
+
+    @AfterEach
+    void tearDown() {
+        itemRepository.deleteAll();
+        itemRequestRepository.deleteAll();
+        userRepository.deleteAll();
+    }
+
+    @Test
+    public void getAllForRequestorRunsFixedNumberOfQueries() {
+        addRequests(10);
+        long fewRequestsQueries = queryCounter.countUncached(
+                () -> itemRequestService.getAllForRequestor(requestor.getId()));
+
+        addRequests(990);
+        long manyRequestsQueries = queryCounter.countUncached(
+                () -> itemRequestService.getAllForRequestor(requestor.getId()));
+
+        Assertions.assertEquals(fewRequestsQueries, manyRequestsQueries);
+    }
+
+    @Test
+    public void getAllRequestsRunsFixedNumberOfQueries() {
+        addRequests(10);
+        long fewRequestsQueries = queryCounter.countUncached(
+                () -> itemRequestService.getAllRequests(0, 10, reader.getId()));
+
+        addRequests(990);
+        long manyRequestsQueries = queryCounter.countUncached(
+                () -> itemRequestService.getAllRequests(0, 1000, reader.getId()));
+
+        Assertions.assertEquals(fewRequestsQueries, manyRequestsQueries);
+    }
+
+    @Test
+    public void answersBelongToTheirRequest() {
+        addRequests(5);
+
+        List<ItemRequestResponseDto> requests = itemRequestService.getAllForRequestor(requestor.getId());
+
+        Assertions.assertEquals(5, requests.size());
+        for (ItemRequestResponseDto request : requests) {
+            Assertions.assertEquals(1, request.getItems().size());
+            Assertions.assertEquals(request.getId(), request.getItems().get(0).getRequestId());
+        }
+    }
+
+    private void addRequests(int count) {
+        LocalDateTime created = LocalDateTime.now();
+        List<ItemRequest> requests = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            requests.add(ItemRequest.builder()
+                    .description("Запрос " + i)
+                    .requestor(requestor)
+                    .created(created.plusSeconds(i))
+                    .build());
+        }
+        List<Item> items = new ArrayList<>();
+        for (ItemRequest request : itemRequestRepository.saveAll(requests)) {
+            items.add(Item.builder()
+                    .name("Ответ")
+                    .description("Ответ на запрос " + request.getId())
+                    .available(true)
+                    .owner(owners.get((int) (request.getId() % OWNERS)))
+                    .requestId(request.getId())
+                    .build());
+        }
+        itemRepository.saveAll(items);
+    }
+}
@@ -79,8 +79,8 @@ public class ItemRequestServiceTest {
                 .when(itemRequestRepository.save(any()))
                 .thenReturn(mockItemRequest1);
         Mockito
-                .when(userRepository.findById(any()))
-                .thenReturn(Optional.of(mockUser1));
+                .when(userRepository.userExists(any()))
+                .thenReturn(true);
         ItemRequestDto itemRequestDto2 = itemRequestServiceImpl.createRequest(itemRequestDto, mockUser1.getId());
         Mockito.verify(itemRepository, never()).save(mockItem1);
         Assertions.assertNotNull(itemRequestDto2);
@@ -93,8 +93,8 @@ public class ItemRequestServiceTest {
         ItemRequestDto itemRequestDto = ItemRequestMapper.itemRequestToDto(mockItemRequest1);
         Long userId = 1L;
         Mockito
-                .when(userRepository.findById(userId))
-                .thenReturn(Optional.empty());
+                .when(userRepository.userExists(userId))
+                .thenReturn(false);
         assertThrows(NotFoundException.class, () -> itemRequestServiceImpl.createRequest(itemRequestDto, userId));
         Mockito.verify(itemRequestRepository, never()).save(any());
     }
@@ -103,8 +103,8 @@ public class ItemRequestServiceTest {
     public void testGetAllForRequestorEmptyList() {
         User user = mockUser1;
         Mockito
-                .when(userRepository.findById(user.getId()))
-                .thenReturn(Optional.of(user));
+                .when(userRepository.userExists(user.getId()))
+                .thenReturn(true);
         Mockito
                 .when(itemRequestRepository.findAllByRequestor_idOrderByCreatedAsc(user.getId()))
                 .thenReturn(List.of());
@@ -120,8 +120,8 @@ public class ItemRequestServiceTest {
         itemRequest.setRequestor(user);
         List<Item> items = List.of(mockItem1, mockItem2);
         Mockito
-                .when(userRepository.findById(user.getId()))
-                .thenReturn(Optional.of(user));
+                .when(userRepository.userExists(user.getId()))
+                .thenReturn(true);
         Mockito
                 .when(itemRequestRepository.findById(itemRequest.getId()))
                 .thenReturn(Optional.of(itemRequest));
@@ -139,8 +139,8 @@ public class ItemRequestServiceTest {
         Long userId = 1L;
         Long requestId = 1L;
         Mockito
-                .when(userRepository.findById(userId))
-                .thenReturn(Optional.empty());
+                .when(userRepository.userExists(userId))
+                .thenReturn(false);
         assertThrows(NotFoundException.class,
                 () -> itemRequestServiceImpl.getById(requestId, userId));
     }
@@ -150,8 +150,8 @@ public class ItemRequestServiceTest {
         Long requestId = 1L;
         User user = mockUser1;
         Mockito
-                .when(userRepository.findById(user.getId()))
-                .thenReturn(Optional.of(user));
+                .when(userRepository.userExists(user.getId()))
+                .thenReturn(true);
         Mockito
                 .when(itemRequestRepository.findById(requestId))
                 .thenReturn(Optional.empty());
@@ -187,8 +187,8 @@ public class ItemRequestServiceTest {
         ItemRequestDto itemRequestDto = ItemRequestMapper.itemRequestToDto(mockItemRequest1);
         Long userId = 1L;
 
-        Mockito.when(userRepository.findById(userId))
-                .thenReturn(Optional.empty());
+        Mockito.when(userRepository.userExists(userId))
+                .thenReturn(false);
 
         assertThrows(NotFoundException.class, () -> itemRequestServiceImpl.createRequest(itemRequestDto, userId));
         Mockito.verify(itemRequestRepository, never()).save(any());
@@ -198,8 +198,8 @@ public class ItemRequestServiceTest {
     public void testGetAllForRequestor_UserHasNoRequests() {
         Long userId = 1L;
 
-        Mockito.when(userRepository.findById(userId))
-                .thenReturn(Optional.of(new User()));
+        Mockito.when(userRepository.userExists(userId))
+                .thenReturn(true);
         Mockito.when(itemRequestRepository.findAllByRequestor_idOrderByCreatedAsc(userId))
                 .thenReturn(List.of());
 
@@ -212,8 +212,8 @@ public class ItemRequestServiceTest {
     public void testGetAllForRequestor_UserNotFound() {
         Long userId = 1L;
 
-        Mockito.when(userRepository.findById(userId))
-                .thenReturn(Optional.empty());
+        Mockito.when(userRepository.userExists(userId))
+                .thenReturn(false);
 
         assertThrows(NotFoundException.class, () -> itemRequestServiceImpl.getAllForRequestor(userId));
     }
@@ -223,8 +223,8 @@ public class ItemRequestServiceTest {
         Long requestId = 1L;
         Long userId = 1L;
 
-        Mockito.when(userRepository.findById(userId))
-                .thenReturn(Optional.of(new User()));
+        Mockito.when(userRepository.userExists(userId))
+                .thenReturn(true);
         Mockito.when(itemRequestRepository.findById(requestId))
                 .thenReturn(Optional.empty());
 
@@ -237,8 +237,8 @@ public class ItemRequestServiceTest {
         int from = 0;
         int size = 10;
 
-        Mockito.when(userRepository.findById(userId))
-                .thenReturn(Optional.empty());
+        Mockito.when(userRepository.userExists(userId))
+                .thenReturn(false);
 
         assertThrows(NotFoundException.class, () -> itemRequestServiceImpl.getAllRequests(from, size, userId));
     }
@@ -249,8 +249,8 @@ public class ItemRequestServiceTest {
         int from = 0;
         int size = 10;
 
-        Mockito.when(userRepository.findById(userId))
-                .thenReturn(Optional.empty());
+        Mockito.when(userRepository.userExists(userId))
+                .thenReturn(false);
 
         assertThrows(NotFoundException.class, () -> itemRequestServiceImpl.getAllRequests(from, size, userId));
     }
@@ -263,7 +263,7 @@ public class ItemRequestServiceTest {
 
         List<ItemRequest> itemRequests = List.of(mockItemRequest1, mockItemRequest2);
 
-        Mockito.when(userRepository.findById(userId)).thenReturn(Optional.of(mockUser1));
+        Mockito.when(userRepository.userExists(userId)).thenReturn(true);
         Mockito.when(itemRequestRepository.findAllByRequestor_IdNotIn(List.of(userId), PageRequest.of(from, size, Sort.by(Sort.Direction.DESC, "created"))))
                 .thenReturn(new PageImpl<>(itemRequests));
 
@@ -290,7 +290,7 @@ public class ItemRequestServiceTest {
         int from = 0;
         int size = 10;
 
-        Mockito.when(userRepository.findById(userId)).thenReturn(Optional.of(mockUser1));
+        Mockito.when(userRepository.userExists(userId)).thenReturn(true);
         Mockito.when(itemRequestRepository.findAllByRequestor_IdNotIn(List.of(userId), PageRequest.of(from, size, Sort.by(Sort.Direction.DESC, "created"))))
                 .thenReturn(new PageImpl<>(List.of()));
 
@@ -305,7 +305,7 @@ public class ItemRequestServiceTest {
         int from = 0;
         int size = 10;
 
-        Mockito.when(userRepository.findById(userId)).thenReturn(Optional.of(mockUser1));
+        Mockito.when(userRepository.userExists(userId)).thenReturn(true);
         Mockito.when(itemRequestRepository.findAllByRequestor_IdNotIn(List.of(userId), PageRequest.of(from, size, Sort.by(Sort.Direction.DESC, "created"))))
                 .thenReturn(new PageImpl<>(List.of()));
 
@@ -322,7 +322,7 @@ public class ItemRequestServiceTest {
 
         List<ItemRequest> itemRequests = List.of(mockItemRequest1, mockItemRequest2);
 
-        Mockito.when(userRepository.findById(userId)).thenReturn(Optional.of(mockUser1));
+        Mockito.when(userRepository.userExists(userId)).thenReturn(true);
         Mockito.when(itemRequestRepository.findAllByRequestor_IdNotIn(List.of(userId), PageRequest.of(from, size, Sort.by(Sort.Direction.DESC, "created"))))
                 .thenReturn(new PageImpl<>(itemRequests));
 
@@ -337,7 +337,7 @@ public class ItemRequestServiceTest {
     public void testGetAllForRequestor_UserHasRequests() {
         Long userId = 1L;
 
-        Mockito.when(userRepository.findById(userId)).thenReturn(Optional.of(mockUser1));
+        Mockito.when(userRepository.userExists(userId)).thenReturn(true);
         Mockito.when(itemRequestRepository.findAllByRequestor_idOrderByCreatedAsc(userId))
                 .thenReturn(List.of(mockItemRequest1, mockItemRequest2));
 
@@ -348,13 +348,32 @@ public class ItemRequestServiceTest {
         Assertions.assertEquals(mockItemRequest2.getId(), result.get(1).getId());
     }
 
+    @Test
+    public void testGetAllForRequestor_AnswersGroupedByRequestId() {
+        Long userId = 1L;
+
+        Mockito.when(userRepository.userExists(userId)).thenReturn(true);
+        Mockito.when(itemRequestRepository.findAllByRequestor_idOrderByCreatedAsc(userId))
+                .thenReturn(List.of(mockItemRequest1, mockItemRequest2));
+        Mockito.when(itemRepository.findAllByRequestIdInOrderByIdAsc(List.of(1L, 2L)))
+                .thenReturn(List.of(mockItem1, mockItem2));
+
+        List<ItemRequestResponseDto> result = itemRequestServiceImpl.getAllForRequestor(userId);
+
+        Assertions.assertEquals(1, result.get(0).getItems().size());
+        Assertions.assertEquals(mockItem1.getId(), result.get(0).getItems().get(0).getId());
+        Assertions.assertEquals(1, result.get(1).getItems().size());
+        Assertions.assertEquals(mockItem2.getId(), result.get(1).getItems().get(0).getId());
+        Mockito.verify(itemRequestRepository, Mockito.times(1)).findAllByRequestor_idOrderByCreatedAsc(userId);
+    }
+
     @Test
     public void testGetAllRequests_UserWithNoRequests() {
         Long userId = 1L;
         int from = 0;
         int size = 10;
 
-        Mockito.when(userRepository.findById(userId)).thenReturn(Optional.of(mockUser1));
+        Mockito.when(userRepository.userExists(userId)).thenReturn(true);
         Mockito.when(itemRequestRepository.findAllByRequestor_IdNotIn(List.of(userId), PageRequest.of(from, size, Sort.by(Sort.Direction.DESC, "created"))))
                 .thenReturn(new PageImpl<>(List.of()));
 
@@ -368,7 +387,7 @@ public class ItemRequestServiceTest {
         Long requestId = 1L;
         Long userId = 1L;
 
-        Mockito.when(userRepository.findById(userId)).thenReturn(Optional.empty());
+        Mockito.when(userRepository.userExists(userId)).thenReturn(false);
         assertThrows(NotFoundException.class, () -> itemRequestServiceImpl.getById(requestId, userId));
     }
 }
\ No newline at end of file
@@ -0,0 +1,123 @@
+package ru.practicum.shareit.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.item.search.InvertedIndexItemSearchEngine;
+import ru.practicum.shareit.item.service.ItemService;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.repository.UserRepository;
+import ru.practicum.shareit.user.service.UserService;
+
+import java.util.List;
+import java.util.Map;
+
+@SpringBootTest(properties = "shareit.search.engine=index")
+public class ItemSearchIndexTest {
+    @Autowired
+    private ItemService itemService;
+    @Autowired
+    private InvertedIndexItemSearchEngine searchEngine;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private ItemRepository itemRepository;
+    @Autowired
+    private UserService userService;
+
+    private User owner;
+
+    @BeforeEach
+    void init() {
+        owner = userRepository.save(User.builder().name("Иван").email("index@yandex.ru").build());
+        searchEngine.rebuild();
+    }
+
+    @AfterEach
+    void tearDown() {
+        itemRepository.deleteAll();
+        userRepository.deleteAll();
+        searchEngine.rebuild();
+    }
+
+    @Test
+    public void searchFollowsCommittedChanges() {
+        ItemDto drill = create("Дрель", "Аккумуляторная дрель", true);
+        ItemDto saw = create("Пила", "Пила для дрели не подходит", true);
+        create("Дрель ударная", "В ремонте", false);
+
+        Assertions.assertEquals(List.of(drill.getId(), saw.getId()), search("ДРЕЛ", 0, 10));
+        Assertions.assertEquals(List.of(saw.getId()), search("дрел", 1, 1));
+        Assertions.assertEquals(List.of(drill.getId()), search("торная дре", 0, 10));
+
+        itemService.updateItemOfUserById(drill.getId(),
+                ItemDto.builder().available(false).build(), owner.getId());
+        Assertions.assertEquals(List.of(saw.getId()), search("дрел", 0, 10));
+
+        itemService.deleteItemOfUserById(saw.getId(), owner.getId());
+        Assertions.assertEquals(List.of(), search("дрел", 0, 10));
+        Assertions.assertEquals(Boolean.TRUE, searchEngine.check("дрел").get("consistent"));
+    }
+
+    @Test
+    public void rowsDeletedPastTheIndexDoNotShiftPages() {
+        ItemDto first = create("Дрель 1", "Описание", true);
+        ItemDto second = create("Дрель 2", "Описание", true);
+        ItemDto third = create("Дрель 3", "Описание", true);
+        ItemDto fourth = create("Дрель 4", "Описание", true);
+        itemRepository.deleteById(first.getId());
+
+        Assertions.assertEquals(List.of(second.getId(), third.getId()), search("дрель", 0, 2));
+        Assertions.assertEquals(List.of(fourth.getId()), search("дрель", 2, 2));
+        Assertions.assertEquals(List.of(second.getId(), third.getId(), fourth.getId()), search("ел", 0, 10));
+        Assertions.assertEquals(Boolean.TRUE, searchEngine.check("дрель").get("consistent"));
+    }
+
+    @Test
+    public void deletedOwnerTakesItemsOutOfIndex() {
+        create("Дрель", "Аккумуляторная дрель", true);
+        create("Пила", "Ручная пила", true);
+
+        userService.deleteUserById(owner.getId());
+
+        Assertions.assertEquals(0, searchEngine.stats().get("documents"));
+        Assertions.assertEquals(Boolean.TRUE, searchEngine.check("дрель").get("consistent"));
+    }
+
+    @Test
+    public void rebuildPicksUpRowsWrittenPastTheIndex() {
+        create("Книга", "Описание книги", true);
+        itemRepository.findAll().forEach(item -> {
+            item.setName("Журнал");
+            itemRepository.save(item);
+        });
+
+        Assertions.assertEquals(Boolean.FALSE, searchEngine.check("журнал").get("consistent"));
+
+        searchEngine.rebuild();
+        Map<String, Object> stats = searchEngine.stats();
+
+        Assertions.assertEquals(Boolean.TRUE, searchEngine.check("журнал").get("consistent"));
+        Assertions.assertEquals(1, stats.get("documents"));
+        Assertions.assertTrue((Long) stats.get("estimatedBytes") > 0);
+    }
+
+    private ItemDto create(String name, String description, boolean available) {
+        return itemService.createNewItem(ItemDto.builder()
+                .name(name)
+                .description(description)
+                .available(available)
+                .build(), owner.getId());
+    }
+
+    private List<Long> search(String text, int from, int size) {
+        return itemService.findItemsOfUser(text, from, size, owner.getId()).stream()
+                .map(ItemDto::getId)
+                .toList();
+    }
+}
@@ -0,0 +1,159 @@
+package ru.practicum.shareit.service;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import ru.practicum.shareit.booking.enums.StatusType;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.comment.model.Comment;
+import ru.practicum.shareit.comment.repository.CommentRepository;
+import ru.practicum.shareit.item.dto.ItemBatchResponseDto;
+import ru.practicum.shareit.item.dto.ItemResponseDto;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.item.service.ItemService;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.repository.UserRepository;
+import ru.practicum.shareit.util.QueryCounter;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+@SpringBootTest
+public class ItemServiceQueryCountTest {
+    @Autowired
+    private ItemService itemService;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private ItemRepository itemRepository;
+    @Autowired
+    private BookingRepository bookingRepository;
+    @Autowired
+    private CommentRepository commentRepository;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private QueryCounter queryCounter;
+    private User owner;
+    private User booker;
+
+    @BeforeEach
+    void init() {
+        queryCounter = new QueryCounter(entityManagerFactory);
+        owner = userRepository.save(User.builder().name("Иван").email("owner@yandex.ru").build());
+        booker = userRepository.save(User.builder().name("Петр").email("booker@yandex.ru").build());
+    }
+
+    @AfterEach
+    void tearDown() {
+        commentRepository.deleteAll();
+        bookingRepository.deleteAll();
+        itemRepository.deleteAll();
+        userRepository.deleteAll();
+    }
+
+    @Test
+    public void getItemsOfUserByIdRunsFixedNumberOfQueries() {
+        addItems(2);
+        long fewItemsQueries = queryCounter.countUncached(() -> itemService.getItemsOfUserById(owner.getId()));
+
+        addItems(20);
+        long manyItemsQueries = queryCounter.countUncached(() -> itemService.getItemsOfUserById(owner.getId()));
+
+        Assertions.assertEquals(fewItemsQueries, manyItemsQueries);
+    }
+
+    @Test
+    public void getItemsOfUserByIdReturnsLastAndNextBookingsWithComments() {
+        addItems(3);
+
+        List<ItemResponseDto> items = itemService.getItemsOfUserById(owner.getId());
+
+        Assertions.assertEquals(3, items.size());
+        for (ItemResponseDto item : items) {
+            Booking last = bookingRepository.findFirstByItemIdAndStartBeforeAndStatusOrderByEndDesc(item.getId(),
+                    LocalDateTime.now(), StatusType.APPROVED);
+            Booking next = bookingRepository.findFirstByItemIdAndStartAfterAndStatusOrderByStartAsc(item.getId(),
+                    LocalDateTime.now(), StatusType.APPROVED);
+            Assertions.assertEquals(last.getId(), item.getLastBooking().getId());
+            Assertions.assertEquals(next.getId(), item.getNextBooking().getId());
+            Assertions.assertEquals(2, item.getComments().size());
+        }
+    }
+
+    @Test
+    public void getItemsByIdsRunsFixedNumberOfQueries() {
+        List<Long> fewIds = addItems(2);
+        long fewItemsQueries = queryCounter.countUncached(() -> itemService.getItemsByIds(fewIds, owner.getId()));
+
+        List<Long> manyIds = addItems(20);
+        long manyItemsQueries = queryCounter.countUncached(() -> itemService.getItemsByIds(manyIds, owner.getId()));
+
+        Assertions.assertEquals(fewItemsQueries, manyItemsQueries);
+    }
+
+    @Test
+    public void getItemsByIdsKeepsRequestOrderAndShowsBookingsOnlyToOwner() {
+        List<Long> ids = new ArrayList<>(addItems(3));
+        Long missingId = ids.get(2) + 1000;
+        List<Long> requested = List.of(ids.get(2), missingId, ids.get(0), ids.get(1));
+
+        ItemBatchResponseDto forOwner = itemService.getItemsByIds(requested, owner.getId());
+        ItemBatchResponseDto forBooker = itemService.getItemsByIds(requested, booker.getId());
+
+        Assertions.assertEquals(List.of(ids.get(2), ids.get(0), ids.get(1)),
+                forOwner.getItems().stream().map(ItemResponseDto::getId).toList());
+        Assertions.assertEquals(List.of(missingId), forOwner.getMissingIds());
+        Assertions.assertEquals(List.of(missingId), forBooker.getMissingIds());
+        for (int i = 0; i < 3; i++) {
+            ItemResponseDto own = forOwner.getItems().get(i);
+            ItemResponseDto foreign = forBooker.getItems().get(i);
+            Assertions.assertNotNull(own.getLastBooking());
+            Assertions.assertNotNull(own.getNextBooking());
+            Assertions.assertNull(foreign.getLastBooking());
+            Assertions.assertNull(foreign.getNextBooking());
+            Assertions.assertEquals(2, own.getComments().size());
+            Assertions.assertEquals(2, foreign.getComments().size());
+        }
+    }
+
+    private List<Long> addItems(int count) {
+        LocalDateTime now = LocalDateTime.now();
+        List<Long> ids = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            Item item = itemRepository.save(Item.builder()
+                    .name("Дрель " + i)
+                    .description("Описание дрели " + i)
+                    .available(true)
+                    .owner(owner)
+                    .build());
+            ids.add(item.getId());
+            addBooking(item, now.minusDays(10), now.minusDays(8), StatusType.APPROVED);
+            addBooking(item, now.minusDays(5), now.minusDays(3), StatusType.APPROVED);
+            addBooking(item, now.minusDays(2), now.minusDays(1), StatusType.REJECTED);
+            addBooking(item, now.plusDays(3), now.plusDays(4), StatusType.APPROVED);
+            addBooking(item, now.plusDays(5), now.plusDays(6), StatusType.APPROVED);
+            addBooking(item, now.plusDays(1), now.plusDays(2), StatusType.WAITING);
+            commentRepository.save(Comment.builder().text("Отлично").item(item).author(booker).build());
+            commentRepository.save(Comment.builder().text("Хорошо").item(item).author(booker).build());
+        }
+        return ids;
+    }
+
+    private void addBooking(Item item, LocalDateTime start, LocalDateTime end, StatusType status) {
+        bookingRepository.save(Booking.builder()
+                .item(item)
+                .booker(booker)
+                .start(start)
+                .end(end)
+                .status(status)
+                .build());
+    }
+}
@@ -7,12 +7,12 @@ import org.mockito.Mock;
 import org.mockito.Mockito;
 import org.mockito.MockitoSession;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.http.HttpStatus;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.server.ResponseStatusException;
 import ru.practicum.shareit.booking.enums.StatusType;
 import ru.practicum.shareit.booking.model.Booking;
-import ru.practicum.shareit.booking.repository.BookingRepository;
 import ru.practicum.shareit.comment.mapper.CommentMapper;
 import ru.practicum.shareit.comment.model.Comment;
 import ru.practicum.shareit.comment.repository.CommentRepository;
@@ -22,10 +22,16 @@ import ru.practicum.shareit.item.dto.ItemResponseDto;
 import ru.practicum.shareit.item.mapper.ItemMapper;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.item.search.ItemSearchEngine;
 import ru.practicum.shareit.item.service.ItemServiceManager;
+import ru.practicum.shareit.item.summary.ItemBookingSummary;
+import ru.practicum.shareit.item.summary.ItemBookingSummaryRepository;
+import ru.practicum.shareit.item.summary.ItemBookingSummaryUpdater;
+import ru.practicum.shareit.item.summary.ItemWithSummary;
 import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.repository.UserRepository;
 
+import java.time.Clock;
 import java.time.LocalDateTime;
 import java.util.*;
 
@@ -48,9 +54,15 @@ public class ItemServiceTest {
     @Mock
     UserRepository userRepository;
     @Mock
-    BookingRepository bookingRepository;
+    ItemBookingSummaryRepository summaryRepository;
+    @Mock
+    ItemBookingSummaryUpdater summaryUpdater;
     @Mock
     CommentRepository commentRepository;
+    @Mock
+    ItemSearchEngine itemSearchEngine;
+    @Mock
+    ApplicationEventPublisher eventPublisher;
 
     @InjectMocks
     ItemServiceManager itemService;
@@ -60,7 +72,8 @@ public class ItemServiceTest {
     @BeforeEach
     void init() {
         session = Mockito.mockitoSession().initMocks(this).startMocking();
-        itemService = new ItemServiceManager(itemRepository, userRepository, commentRepository, bookingRepository);
+        itemService = new ItemServiceManager(itemRepository, userRepository, commentRepository, summaryRepository,
+                summaryUpdater, itemSearchEngine, eventPublisher, Clock.systemDefaultZone());
         mockUser1 = new User(1L, "Иван", "ivan@yandex.ru");
         mockUser2 = new User(2L, "Петр", "petr@yandex.ru");
         mockItem1 = new Item(1L, "Книга", "Описание книги",
@@ -84,8 +97,11 @@ public class ItemServiceTest {
     public void createTest() {
         ItemDto itemDto = ItemMapper.itemToItemDto(mockItem1);
         Mockito
-                .when(userRepository.findById(1L))
-                .thenReturn(Optional.of(mockUser1));
+                .when(userRepository.userExists(1L))
+                .thenReturn(true);
+        Mockito
+                .when(userRepository.getReferenceById(1L))
+                .thenReturn(mockUser1);
         Mockito
                 .when(itemRepository.save(Mockito.any()))
                 .thenReturn(ItemMapper.itemDtoToItem(itemDto));
@@ -104,8 +120,11 @@ public class ItemServiceTest {
         Mockito.when(userRepository.save(Mockito.any()))
                 .thenReturn(owner);
 
-        Mockito.when((userRepository.findById(Mockito.any())))
-                .thenReturn(Optional.of(mockUser1));
+        Mockito.when(userRepository.userExists(Mockito.any()))
+                .thenReturn(true);
+
+        Mockito.when(userRepository.getReferenceById(Mockito.any()))
+                .thenReturn(mockUser1);
 
         Mockito.when(itemRepository.save(Mockito.any()))
                 .thenReturn(ItemMapper.itemDtoToItem(itemDto1));
@@ -174,8 +193,11 @@ public class ItemServiceTest {
                 .when(userRepository.save(commentator))
                 .thenReturn(commentator);
         Mockito
-                .when((userRepository.findById(1L)))
-                .thenReturn(Optional.of(mockUser1));
+                .when(userRepository.userExists(1L))
+                .thenReturn(true);
+        Mockito
+                .when(userRepository.getReferenceById(1L))
+                .thenReturn(mockUser1);
         Mockito
                 .when(itemRepository.save(Mockito.any()))
                 .thenReturn(item);
@@ -205,8 +227,11 @@ public class ItemServiceTest {
         User userOwner = mockUser1;
         User commentator = mockUser2;
         Mockito
-                .when(userRepository.findById(userOwner.getId()))
-                .thenReturn(Optional.of(userOwner));
+                .when(userRepository.getReferenceById(userOwner.getId()))
+                .thenReturn(userOwner);
+        Mockito
+                .when(userRepository.userExists(userOwner.getId()))
+                .thenReturn(true);
 
         Item item1 = mockItem1;
         Item item2 = mockItem2;
@@ -219,10 +244,19 @@ public class ItemServiceTest {
                 .when(itemRepository.save(mockItem2))
                 .thenReturn(item2);
 
-        List<Item> items = Arrays.asList(item1, item2);
+        Booking lastBooking = mockBooking1;
+        Booking nextBooking = mockBooking2;
+        ItemBookingSummary summary1 = ItemBookingSummary.builder().itemId(item1.getId()).commentCount(2).build();
+        summary1.setLast(lastBooking);
+        summary1.setNext(nextBooking);
+        ItemBookingSummary summary2 = ItemBookingSummary.empty(item2.getId());
+        Mockito
+                .when(itemRepository.findAllWithSummaryByOwnerId(1L))
+                .thenReturn(List.of(new ItemWithSummary(item1, summary1), new ItemWithSummary(item2, summary2)));
         Mockito
-                .when(itemRepository.findAllByOwnerIdOrderByIdAsc(1L))
-                .thenReturn(items);
+                .when(summaryUpdater.actual(eq(List.of(1L, 2L)), eq(Map.of(1L, summary1, 2L, summary2)),
+                        Mockito.any(LocalDateTime.class)))
+                .thenReturn(Map.of(1L, summary1, 2L, summary2));
 
         Comment comment1 = Comment.builder()
                 .id(1L)
@@ -240,25 +274,11 @@ public class ItemServiceTest {
         List<Comment> comments = List.of(comment1, comment2);
 
         Mockito
-                .when(commentRepository.findAllByItem_Id(item1.getId()))
+                .when(commentRepository.findAllByItemIdIn(List.of(item1.getId())))
                 .thenReturn(comments);
 
-        Booking lastBooking = mockBooking1;
-        Booking nextBooking = mockBooking2;
-
-        Mockito
-                .when(bookingRepository.findFirstByItemIdAndStartBeforeAndStatusOrderByEndDesc(
-                        eq(1L), Mockito.any(LocalDateTime.class), eq(StatusType.APPROVED)))
-                .thenReturn(lastBooking);
-        Mockito
-                .when(bookingRepository.findFirstByItemIdAndStartAfterAndStatusOrderByStartAsc(
-                        eq(1L), Mockito.any(LocalDateTime.class), eq(StatusType.APPROVED)))
-                .thenReturn(nextBooking);
-
         itemService.createNewItem(ItemMapper.itemToItemDto(item1), userOwner.getId());
         itemService.createNewItem(ItemMapper.itemToItemDto(item2), userOwner.getId());
-        bookingRepository.save(lastBooking);
-        bookingRepository.save(nextBooking);
 
         List<ItemResponseDto> itemResponseDtos = itemService.getItemsOfUserById(userOwner.getId());
 
@@ -285,7 +305,7 @@ public class ItemServiceTest {
                 .when(itemRepository.findById(item.getId()))
                 .thenReturn(Optional.of(new Item()));
         Mockito
-                .when(userRepository.existsById(user.getId()))
+                .when(userRepository.userExists(user.getId()))
                 .thenReturn(false);
 
         Assertions.assertThrows(NotFoundException.class, () -> {
@@ -305,7 +325,7 @@ public class ItemServiceTest {
         item.setOwner(owner);
 
         Mockito.when(itemRepository.findById(id)).thenReturn(Optional.of(item));
-        Mockito.when(userRepository.existsById(userOwnerId)).thenReturn(true);
+        Mockito.when(userRepository.userExists(userOwnerId)).thenReturn(true);
 
         Assertions.assertThrows(ResponseStatusException.class, () -> {
             itemService.deleteItemOfUserById(id, userOwnerId);
@@ -320,10 +340,10 @@ public class ItemServiceTest {
 
         List<Item> items = List.of(mockItem1, mockItem2);
 
-        Mockito.when(userRepository.findById(user.getId())).thenReturn(Optional.of(user));
-        Mockito.when(itemRepository.findByText(text)).thenReturn(items);
+        Mockito.when(userRepository.userExists(user.getId())).thenReturn(true);
+        Mockito.when(itemSearchEngine.search(text, 0, 10)).thenReturn(items);
 
-        List<ItemDto> result = itemService.findItemsOfUser(text, user.getId());
+        List<ItemDto> result = itemService.findItemsOfUser(text, 0, 10, user.getId());
 
         Assertions.assertEquals(2, result.size());
     }
@@ -379,9 +399,9 @@ public class ItemServiceTest {
         items.add(new Item());
         items.add(new Item());
 
-        Mockito.when(userRepository.findById(userId)).thenReturn(Optional.of(user));
+        Mockito.when(userRepository.userExists(userId)).thenReturn(true);
 
-        List<ItemDto> result = itemService.findItemsOfUser(text, userId);
+        List<ItemDto> result = itemService.findItemsOfUser(text, 0, 10, userId);
 
         Assertions.assertEquals(0, result.size());
     }
@@ -392,10 +412,10 @@ public class ItemServiceTest {
         User user = new User();
         user.setId(userId);
 
-        Mockito.when(userRepository.findById(userId))
-                .thenReturn(Optional.of(user));
+        Mockito.when(userRepository.userExists(userId))
+                .thenReturn(true);
 
-        Mockito.when(itemRepository.findAllByOwnerIdOrderByIdAsc(userId))
+        Mockito.when(itemRepository.findAllWithSummaryByOwnerId(userId))
                 .thenReturn(List.of());
 
         List<ItemResponseDto> result = itemService.getItemsOfUserById(userId);
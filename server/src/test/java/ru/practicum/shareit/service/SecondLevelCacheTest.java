@@ -0,0 +1,99 @@
+package ru.practicum.shareit.service;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.item.service.ItemService;
+import ru.practicum.shareit.user.dto.UserDto;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.repository.UserRepository;
+import ru.practicum.shareit.user.service.UserService;
+import ru.practicum.shareit.util.QueryCounter;
+
+@SpringBootTest
+public class SecondLevelCacheTest {
+    @Autowired
+    private UserService userService;
+    @Autowired
+    private ItemService itemService;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private ItemRepository itemRepository;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private QueryCounter queryCounter;
+    private User owner;
+
+    @BeforeEach
+    void init() {
+        queryCounter = new QueryCounter(entityManagerFactory);
+        owner = userRepository.save(User.builder().name("Иван").email("owner@yandex.ru").build());
+    }
+
+    @AfterEach
+    void tearDown() {
+        itemRepository.deleteAll();
+        userRepository.deleteAll();
+    }
+
+    @Test
+    public void repeatedReadByIdIsServedFromCache() {
+        userService.getUserById(owner.getId());
+
+        Assertions.assertEquals(0, queryCounter.count(() -> userService.getUserById(owner.getId())));
+        Assertions.assertTrue(meterRegistry.get("hibernate.second.level.cache.requests")
+                .tag("region", "users")
+                .tag("result", "hit")
+                .functionCounter().count() > 0);
+    }
+
+    @Test
+    public void existenceOfCachedUserIsCheckedWithoutQueries() {
+        userService.getUserById(owner.getId());
+
+        Assertions.assertEquals(0, queryCounter.count(() -> userRepository.userExists(owner.getId())));
+        Assertions.assertEquals(1, queryCounter.countUncached(() -> userRepository.userExists(owner.getId())));
+    }
+
+    @Test
+    public void itemIsCreatedWithoutLoadingOwner() {
+        ItemDto drill = ItemDto.builder().name("Дрель").description("Описание дрели").available(true).build();
+
+        // Ключевая проверка владельца, вставка вещи и вставка её сводки.
+        Assertions.assertEquals(3, queryCounter.countUncached(() -> itemService.createNewItem(drill, owner.getId())));
+        Assertions.assertEquals(0, queryCounter.loads(User.class));
+    }
+
+    @Test
+    public void updateIsVisibleToNextRead() {
+        userService.getUserById(owner.getId());
+
+        userService.updateUserById(owner.getId(), UserDto.builder().name("Петр").build());
+
+        Assertions.assertEquals("Петр", userService.getUserById(owner.getId()).getName());
+    }
+
+    @Test
+    public void itemsAreEvictedWhenOwnerIsDeleted() {
+        ItemDto item = itemService.createNewItem(
+                ItemDto.builder().name("Дрель").description("Описание дрели").available(true).build(), owner.getId());
+        itemService.getItemById(item.getId(), owner.getId());
+        Assertions.assertTrue(entityManagerFactory.getCache().contains(Item.class, item.getId()));
+
+        userService.deleteUserById(owner.getId());
+
+        Assertions.assertTrue(itemRepository.findById(item.getId()).isEmpty());
+    }
+}
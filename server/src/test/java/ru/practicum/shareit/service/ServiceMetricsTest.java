@@ -0,0 +1,118 @@
+package ru.practicum.shareit.service;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+import ru.practicum.shareit.booking.service.BookingService;
+import ru.practicum.shareit.exeption.ConditionsNotMetException;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.item.service.ItemService;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.repository.UserRepository;
+import ru.practicum.shareit.user.service.UserService;
+import ru.practicum.shareit.user.service.UserServiceManager;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@AutoConfigureObservability
+public class ServiceMetricsTest {
+    @Autowired
+    private MeterRegistry meterRegistry;
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private BookingService bookingService;
+    @Autowired
+    private ItemService itemService;
+    @Autowired
+    private UserService userService;
+    @Autowired
+    private ItemRepository itemRepository;
+    @Autowired
+    private UserRepository userRepository;
+
+    private User owner;
+
+    @BeforeEach
+    void init() {
+        owner = userRepository.save(User.builder().name("Иван").email("owner@yandex.ru").build());
+    }
+
+    @AfterEach
+    void tearDown() {
+        itemRepository.deleteAll();
+        userRepository.deleteAll();
+    }
+
+    @Test
+    public void serviceMethodsAreTimed() {
+        userService.getUserById(owner.getId());
+
+        Assertions.assertEquals(1, meterRegistry.get("shareit.service")
+                .tag("class", UserServiceManager.class.getName())
+                .tag("method", "getUserById")
+                .tag("exception", "none")
+                .timer().count());
+    }
+
+    @Test
+    public void bookingListsAreTaggedByKnownState() {
+        bookingService.getAllByOwner(0, 10, "FUTURE", owner.getId());
+        Assertions.assertThrows(ConditionsNotMetException.class,
+                () -> bookingService.getAllByOwner(0, 10, "никакое", owner.getId()));
+
+        Assertions.assertEquals(1, meterRegistry.get("shareit.service.bookings")
+                .tag("method", "getAllByOwner")
+                .tag("state", "FUTURE")
+                .timer().count());
+        Assertions.assertEquals(1, meterRegistry.get("shareit.service.bookings")
+                .tag("method", "getAllByOwner")
+                .tag("state", "UNKNOWN")
+                .tag("exception", "ConditionsNotMetException")
+                .timer().count());
+    }
+
+    @Test
+    public void repositoryResultSizeIsRecorded() {
+        for (int i = 0; i < 3; i++) {
+            itemService.createNewItem(ItemDto.builder().name("Дрель " + i).description("Описание дрели")
+                    .available(true).build(), owner.getId());
+        }
+        double before = meterRegistry.find("shareit.repository.results")
+                .tag("repository", "ItemRepository")
+                .tag("method", "findAllWithSummaryByOwnerId")
+                .summaries().stream().mapToDouble(DistributionSummary::totalAmount).sum();
+
+        itemService.getItemsOfUserById(owner.getId());
+
+        Assertions.assertEquals(before + 3, meterRegistry.get("shareit.repository.results")
+                .tag("repository", "ItemRepository")
+                .tag("method", "findAllWithSummaryByOwnerId")
+                .summary().totalAmount());
+    }
+
+    @Test
+    public void metricsAreExposedInPrometheusFormat() throws Exception {
+        userService.getUserById(owner.getId());
+
+        mockMvc.perform(get("/actuator/prometheus"))
+                .andExpect(status().isOk())
+                .andExpect(content().string(containsString("shareit_service_seconds_count{")))
+                .andExpect(content().string(containsString("spring_data_repository_invocations_seconds_bucket{")))
+                .andExpect(content().string(containsString("hikaricp_connections_active{")));
+    }
+}
@@ -0,0 +1,80 @@
+package ru.practicum.shareit.service;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import ru.practicum.shareit.user.dto.UserDto;
+import ru.practicum.shareit.user.repository.UserRepository;
+import ru.practicum.shareit.user.service.UserService;
+import ru.practicum.shareit.util.QueryCounter;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+@SpringBootTest
+public class UserServiceConcurrencyTest {
+    private static final int USERS = 64;
+
+    @Autowired
+    private UserService userService;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @AfterEach
+    void tearDown() {
+        userRepository.deleteAll();
+    }
+
+    @Test
+    public void parallelCreatesGetDistinctIds() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<UserDto>> futures = new ArrayList<>();
+        try {
+            for (int i = 0; i < USERS; i++) {
+                UserDto userDto = UserDto.builder().name("Пользователь " + i).email("user" + i + "@yandex.ru").build();
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    return userService.createNewUser(userDto);
+                }));
+            }
+            start.countDown();
+
+            Set<Long> ids = new HashSet<>();
+            for (Future<UserDto> future : futures) {
+                ids.add(future.get().getId());
+            }
+
+            Assertions.assertEquals(USERS, ids.size());
+            Assertions.assertEquals(USERS, userRepository.count());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void createRunsSingleInsertRegardlessOfUserCount() {
+        for (int i = 0; i < USERS; i++) {
+            userService.createNewUser(UserDto.builder().name("Пользователь").email("seed" + i + "@yandex.ru").build());
+        }
+        QueryCounter queryCounter = new QueryCounter(entityManagerFactory);
+
+        long queries = queryCounter.count(() -> userService.createNewUser(UserDto.builder()
+                .name("Иван")
+                .email("ivan@yandex.ru")
+                .build()));
+
+        Assertions.assertEquals(1, queries);
+    }
+}
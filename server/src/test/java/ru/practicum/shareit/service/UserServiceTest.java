@@ -6,17 +6,22 @@ import org.mockito.Mock;
 import org.mockito.Mockito;
 import org.mockito.MockitoSession;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.server.ResponseStatusException;
 import ru.practicum.shareit.exeption.ConditionsNotMetException;
 import ru.practicum.shareit.exeption.NotFoundException;
+import ru.practicum.shareit.item.event.ItemDeletedEvent;
+import ru.practicum.shareit.item.summary.ItemBookingSummaryUpdater;
+import ru.practicum.shareit.user.dto.UserBatchResponseDto;
 import ru.practicum.shareit.user.dto.UserDto;
 import ru.practicum.shareit.user.mapper.UserMapper;
 import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.repository.UserRepository;
 import ru.practicum.shareit.user.service.UserServiceManager;
 
+import java.time.Clock;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
@@ -28,13 +33,18 @@ public class UserServiceTest {
     private User mockUser2;
     @Mock
     UserRepository userRepository;
+    @Mock
+    ItemBookingSummaryUpdater summaryUpdater;
+    @Mock
+    ApplicationEventPublisher eventPublisher;
     UserServiceManager userService;
     private MockitoSession session;
 
     @BeforeEach
     void init() {
         session = Mockito.mockitoSession().initMocks(this).startMocking();
-        userService = new UserServiceManager(userRepository);
+        userService = new UserServiceManager(userRepository, summaryUpdater, eventPublisher,
+                Clock.systemDefaultZone());
         mockUser1 = new User(1L, "Иван", "ivan@yandex.ru");
         mockUser2 = new User(2L, "Петр", "petr@yandex.ru");
     }
@@ -51,7 +61,7 @@ public class UserServiceTest {
                 .thenReturn(UserMapper.userDtoToUser(userDto));
         UserDto userDto2 = userService.createNewUser(userDto);
 
-        Mockito.verify(userRepository, Mockito.times(1)).save(mockUser1);
+        Mockito.verify(userRepository, Mockito.times(1)).save(new User(null, "Иван", "ivan@yandex.ru"));
     }
 
     @Test
@@ -78,6 +88,18 @@ public class UserServiceTest {
         Assertions.assertEquals(mockUser2.getEmail(), user2.getEmail());
     }
 
+    @Test
+    public void testGetUsersByIdsKeepsRequestOrderAndMarksMissing() {
+        Mockito.when(userRepository.findAllById(List.of(2L, 3L, 1L)))
+                .thenReturn(List.of(mockUser1, mockUser2));
+
+        UserBatchResponseDto result = userService.getUsersByIds(List.of(2L, 3L, 1L, 2L));
+
+        Assertions.assertEquals(List.of(UserMapper.userToUserDto(mockUser2), UserMapper.userToUserDto(mockUser1)),
+                result.getUsers());
+        Assertions.assertEquals(List.of(3L), result.getMissingIds());
+    }
+
     @Test
     public void testDeleteById() {
         UserDto userDto1 = UserMapper.userToUserDto(mockUser1);
@@ -87,11 +109,15 @@ public class UserServiceTest {
 
         User user1 = UserMapper.userDtoToUser(userService.createNewUser(userDto1));
 
-        Mockito.when((userRepository.existsById(Mockito.any())))
+        Mockito.when((userRepository.userExists(Mockito.any())))
                 .thenReturn(true);
+        Mockito.when(userRepository.findItemIdsOfUser(1L))
+                .thenReturn(List.of(3L, 4L));
 
         userService.deleteUserById(1L);
         Mockito.verify(userRepository, Mockito.times(1)).deleteById(1L);
+        Mockito.verify(eventPublisher).publishEvent(Mockito.refEq(new ItemDeletedEvent(3L)));
+        Mockito.verify(eventPublisher).publishEvent(Mockito.refEq(new ItemDeletedEvent(4L)));
     }
 
     @Test
@@ -155,7 +181,7 @@ public class UserServiceTest {
     public void testDeleteUserById_UserNotFound() {
         Long nonExistingId = 999L;
 
-        Mockito.when(userRepository.existsById(nonExistingId))
+        Mockito.when(userRepository.userExists(nonExistingId))
                 .thenReturn(false);
 
         Assertions.assertThrows(NotFoundException.class, () -> userService.deleteUserById(nonExistingId));
@@ -0,0 +1,43 @@
+package ru.practicum.shareit.util;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.Assertions;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.RequestBuilder;
+import org.springframework.test.web.servlet.ResultActions;
+import ru.practicum.shareit.metrics.QueryBudgetHeaders;
+
+import java.util.function.Supplier;
+
+/**
+ * Число запросов к БД за HTTP-запрос по заголовку X-Sql-Count. В отличие от QueryCounter учитывает всё,
+ * что выполняется за запрос, включая контроллер и сериализацию. Нужно shareit.query-budget.headers=true.
+ */
+public class EndpointQueryCounter {
+    private final MockMvc mockMvc;
+    private final EntityManagerFactory entityManagerFactory;
+
+    public EndpointQueryCounter(MockMvc mockMvc, EntityManagerFactory entityManagerFactory) {
+        this.mockMvc = mockMvc;
+        this.entityManagerFactory = entityManagerFactory;
+    }
+
+    public int count(RequestBuilder request) throws Exception {
+        entityManagerFactory.getCache().evictAll();
+        ResultActions result = mockMvc.perform(request);
+        String count = result.andReturn().getResponse().getHeader(QueryBudgetHeaders.COUNT_HEADER);
+        Assertions.assertNotNull(count, "Нет заголовка " + QueryBudgetHeaders.COUNT_HEADER);
+        return Integer.parseInt(count);
+    }
+
+    /**
+     * Падает, если после addData тот же запрос выполняет больше запросов к БД: так выглядит N+1.
+     */
+    public void assertDoesNotGrow(Supplier<RequestBuilder> request, Runnable addData) throws Exception {
+        int before = count(request.get());
+        addData.run();
+        int after = count(request.get());
+        Assertions.assertEquals(before, after, "Число запросов к БД растёт вместе с данными: было " + before
+                + ", стало " + after);
+    }
+}
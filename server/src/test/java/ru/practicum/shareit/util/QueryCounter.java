@@ -0,0 +1,38 @@
+package ru.practicum.shareit.util;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+
+public class QueryCounter {
+    private final EntityManagerFactory entityManagerFactory;
+    private final Statistics statistics;
+
+    public QueryCounter(EntityManagerFactory entityManagerFactory) {
+        this.entityManagerFactory = entityManagerFactory;
+        this.statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        this.statistics.setStatisticsEnabled(true);
+    }
+
+    public long count(Runnable action) {
+        statistics.clear();
+        action.run();
+        return statistics.getPrepareStatementCount();
+    }
+
+    /**
+     * Сколько сущностей класса entity загружено из БД с начала последнего подсчёта.
+     */
+    public long loads(Class<?> entity) {
+        return statistics.getEntityStatistics(entity.getName()).getLoadCount();
+    }
+
+    /**
+     * Число запросов при пустом кэше второго уровня: так сравнение на разных объёмах данных
+     * не зависит от того, что успело попасть в кэш при предыдущих вызовах.
+     */
+    public long countUncached(Runnable action) {
+        entityManagerFactory.getCache().evictAll();
+        return count(action);
+    }
+}